@@ -66,6 +66,10 @@ public class BigNumber extends Number implements Comparable<BigNumber> {
      * This static parser ensures consistent parsing logic across all BigNumber instances.
      */
     private static final BigNumberParser bigNumberParser = new BigNumberParser();
+    /**
+     * Extra digits of pi used when converting between degrees and radians.
+     */
+    private static final int ANGLE_CONVERSION_GUARD_DIGITS = 5;
     /**
      * The locale defining grouping and decimal separators used by this number.
      */
@@ -2497,6 +2501,42 @@ public class BigNumber extends Number implements Comparable<BigNumber> {
         return SpecialFunctionMath.gamma(this, mathContext, locale);
     }
 
+    /**
+     * Computes the natural logarithm of the absolute gamma function (ln|Gamma(x)|) for this value, using the default
+     * MathContext.
+     *
+     * @return the log-gamma function value as a {@code BigNumber}
+     */
+    public BigNumber logGamma() {
+        return logGamma(mathContext);
+    }
+
+    /**
+     * Computes the natural logarithm of the absolute gamma function (ln|Gamma(x)|) for this value, using the specified
+     * MathContext.
+     *
+     * @param mathContext the context specifying precision and rounding mode
+     * @return the log-gamma function value as a {@code BigNumber}
+     */
+    public BigNumber logGamma(@NonNull final MathContext mathContext) {
+        return logGamma(mathContext, locale);
+    }
+
+    /**
+     * Computes the natural logarithm of the absolute gamma function (ln|Gamma(x)|) for this value, using the specified
+     * {@link MathContext} and {@link Locale}.
+     * <p>
+     * Unlike {@link #gamma(MathContext, Locale)} the result stays small for large arguments, which makes it the
+     * preferred building block for binomial coefficients and probability densities.
+     *
+     * @param mathContext the context specifying precision and rounding mode
+     * @param locale      the locale used for any locale-specific formatting
+     * @return the log-gamma function value as a {@code BigNumber}
+     */
+    public BigNumber logGamma(@NonNull final MathContext mathContext, @NonNull final Locale locale) {
+        return SpecialFunctionMath.logGamma(this, mathContext, locale);
+    }
+
     /**
      * Computes the arithmetic mean (average) of the supplied list of {@code BigNumber} values using the instance's
      * default {@link MathContext} and {@link Locale}.
@@ -2754,7 +2794,7 @@ public class BigNumber extends Number implements Comparable<BigNumber> {
      * @return a new BigNumber representing the value in degrees
      */
     public BigNumber toDegrees(@NonNull final MathContext mathContext) {
-        return multiply(ONE_HUNDRED_EIGHTY, locale).divide(BigNumbers.pi(mathContext), mathContext, locale);
+        return multiply(ONE_HUNDRED_EIGHTY, locale).divide(BigNumbers.pi(createAngleConversionMathContext(mathContext)), mathContext, locale);
     }
 
     /**
@@ -2763,7 +2803,21 @@ public class BigNumber extends Number implements Comparable<BigNumber> {
      * @return a new BigNumber representing the value in radians
      */
     public BigNumber toRadians(@NonNull final MathContext mathContext) {
-        return multiply(BigNumbers.pi(mathContext)).divide(ONE_HUNDRED_EIGHTY, mathContext);
+        return multiply(BigNumbers.pi(createAngleConversionMathContext(mathContext))).divide(ONE_HUNDRED_EIGHTY, mathContext);
+    }
+
+    /**
+     * Creates the context for the value of pi used by {@link #toDegrees(MathContext)} and {@link #toRadians(MathContext)}.
+     * <p>
+     * Pi needs a few guard digits, otherwise the conversion rounds twice: once when pi is rounded and once when the
+     * quotient is rounded. With a ties-to-even rounding mode this can cost the last digit (e.g. {@code 90°} would
+     * become {@code 1.570796326794896} instead of {@code 1.570796326794897} with 16 digits).
+     *
+     * @param mathContext the requested precision and rounding mode
+     * @return the context used to compute pi
+     */
+    private static MathContext createAngleConversionMathContext(final MathContext mathContext) {
+        return new MathContext(mathContext.getPrecision() + ANGLE_CONVERSION_GUARD_DIGITS, RoundingMode.HALF_EVEN);
     }
 
     /**
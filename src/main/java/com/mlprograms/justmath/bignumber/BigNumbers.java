@@ -25,6 +25,7 @@
 package com.mlprograms.justmath.bignumber;
 
 import ch.obermuhlner.math.big.BigDecimalMath;
+import com.mlprograms.justmath.bignumber.math.utils.ConstantCache;
 import com.mlprograms.justmath.calculator.CalculatorEngineUtils;
 import lombok.NonNull;
 
@@ -198,7 +199,7 @@ public class BigNumbers {
 	/**
 	 * Returns the mathematical constant π (pi) with the specified precision.
 	 * <p>
-	 * Uses {@link BigDecimalMath#pi(MathContext)} to compute the value of pi to the desired precision.
+	 * The value is served from {@link ConstantCache}, so repeated requests do not recompute pi.
 	 *
 	 * @param mathContext
 	 * 	the {@link MathContext} specifying the precision and rounding mode
@@ -208,7 +209,7 @@ public class BigNumbers {
 	 * @return a {@link BigNumber} representing the value of pi
 	 */
 	public static BigNumber pi(@NonNull final MathContext mathContext, @NonNull final Locale locale) {
-		return new BigNumber(BigDecimalMath.pi(mathContext).toPlainString(), locale, mathContext);
+		return new BigNumber(ConstantCache.pi(mathContext).toPlainString(), locale, mathContext);
 	}
 
 }
@@ -25,14 +25,18 @@
 package com.mlprograms.justmath.bignumber.math;
 
 import com.mlprograms.justmath.bignumber.BigNumber;
-import com.mlprograms.justmath.bignumber.BigNumbers;
 import com.mlprograms.justmath.bignumber.math.utils.MathUtils;
+import com.mlprograms.justmath.calculator.EvaluationGuard;
 import lombok.NonNull;
 
 import java.math.MathContext;
 import java.math.RoundingMode;
 import java.text.DecimalFormatSymbols;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Provides core arithmetic and selected transcendental operations for {@link BigNumber} without using
@@ -64,12 +68,30 @@ import java.util.Locale;
  */
 public final class BasicMath {
 
+    /**
+     * Rows of a digit-array multiplication between two checks for cancellation and timeouts of the running
+     * evaluation (see {@link EvaluationGuard}), minus one.
+     */
+    private static final int MULTIPLICATION_CHECKPOINT_MASK = 1023;
+
     /**
      * Fast-path limit for exp(x) using {@code double}. {@code exp(50)} is finite, {@code exp(1000)} is not.
      * This prevents Infinity/NaN results for the fast path.
      */
     private static final double EXP_FAST_DOUBLE_MAX_ABS_ARGUMENT = 50.0;
 
+    /**
+     * Highest requested precision for which the {@code double} fast path of exp(x) is accurate enough.
+     * {@link Math#exp(double)} is within one ulp, which leaves about 15 reliable significant digits.
+     */
+    private static final int EXP_FAST_DOUBLE_MAX_PRECISION = 15;
+
+    /**
+     * Largest |x| for which expm1(x) is summed directly from its Taylor series. Above this bound
+     * {@code exp(x) - 1} loses less than one digit to cancellation and is used instead.
+     */
+    private static final ParsedDecimalNumber EXPM1_SERIES_MAX_ABS_ARGUMENT = new ParsedDecimalNumber(+1, "5", 1);
+
     /**
      * Extra working precision used internally for exp Taylor series to reduce rounding noise while staying fast.
      */
@@ -80,6 +102,60 @@ public final class BasicMath {
      */
     private static final int EXP_MAX_ITERATIONS_HARD_LIMIT = 2000;
 
+    /**
+     * Number of correct digits assumed for the double-based initial guess of the ln Newton iteration.
+     */
+    private static final int LN_NEWTON_INITIAL_DIGITS = 12;
+
+    /**
+     * Number of bits {@code j} of the exp/ln reduction tables, which hold {@code 2^(k/2^j)} and
+     * {@code ln(1 + k/2^j)} for {@code k = 0..2^j-1}.
+     */
+    private static final int REDUCTION_TABLE_BITS = 6;
+
+    /**
+     * Number of entries per reduction table ({@code 2^j}).
+     */
+    private static final int REDUCTION_TABLE_SIZE = 1 << REDUCTION_TABLE_BITS;
+
+    /**
+     * Smallest precision tier for which reduction tables are built.
+     */
+    private static final int REDUCTION_TABLE_MIN_TIER = 32;
+
+    /**
+     * Largest precision tier for which reduction tables are built. Above it the table construction costs more
+     * than it saves and exp/ln use the plain series algorithms.
+     */
+    private static final int REDUCTION_TABLE_MAX_TIER = 256;
+
+    /**
+     * Extra digits carried by every table entry on top of its precision tier.
+     */
+    private static final int REDUCTION_TABLE_GUARD_DIGITS = 10;
+
+    /**
+     * Largest |x| for which exp(x) uses the reduction tables. This keeps {@code x * 2^j / ln(2)} well inside
+     * the {@code int} range and the error of {@code N * ln(2) / 2^j} below the table guard digits.
+     */
+    private static final double REDUCTION_TABLE_MAX_ABS_EXP_ARGUMENT = 1.0e6;
+
+    /**
+     * Largest |x - 1| for which ln(x) is summed directly as {@code 2 * atanh((x - 1) / (x + 1))}. Closer to 1
+     * the table-based decomposition would cancel, while the direct series already converges quickly.
+     */
+    private static final ParsedDecimalNumber LN_DIRECT_SERIES_MAX_DISTANCE_FROM_ONE = new ParsedDecimalNumber(+1, "15625", 6);
+
+    /**
+     * Largest |log2(x)| for which ln(x) uses the reduction tables.
+     */
+    private static final int LN_TABLE_MAX_ABS_BINARY_EXPONENT = 100_000_000;
+
+    /**
+     * Lazily built reduction tables, keyed by precision tier.
+     */
+    private static final Map<Integer, ReductionTables> REDUCTION_TABLES = new ConcurrentHashMap<>();
+
     /**
      * The number zero as a string
      */
@@ -195,6 +271,36 @@ public final class BasicMath {
         return toBigNumber(quotientParts, locale, mathContext);
     }
 
+    /**
+     * Divides {@code dividend} by {@code divisor} to {@code mathContext.getPrecision()} significant digits, keeping
+     * tiny quotients instead of flushing them to zero like {@link #divide(BigNumber, BigNumber, MathContext, Locale)}.
+     *
+     * <p>Intended for intermediate steps of other functions whose quotient may lie far below {@code 1}, such as
+     * {@code tanh(x)} for tiny {@code x}.</p>
+     *
+     * @param dividend    the dividend; must not be {@code null}
+     * @param divisor     the divisor; must not be {@code null} and not zero
+     * @param mathContext precision and rounding mode; must not be {@code null} and precision must be > 0
+     * @param locale      the locale used for tolerant parsing and output adaptation; must not be {@code null}
+     * @return {@code dividend / divisor} rounded to {@code mathContext}
+     * @throws NullPointerException     if any argument is {@code null}
+     * @throws ArithmeticException      if {@code divisor} is zero
+     * @throws IllegalArgumentException if an operand is not a plain decimal number
+     */
+    static BigNumber divideKeepingSmallQuotient(@NonNull final BigNumber dividend, @NonNull final BigNumber divisor, @NonNull final MathContext mathContext, @NonNull final Locale locale) {
+        MathUtils.checkMathContext(mathContext);
+
+        final ParsedDecimalNumber dividendParts = normalize(parseToParts(dividend.toString(), locale));
+        final ParsedDecimalNumber divisorParts = normalize(parseToParts(divisor.toString(), locale));
+
+        if (isZero(divisorParts)) {
+            throw new ArithmeticException("Division by zero");
+        }
+
+        final ParsedDecimalNumber quotientParts = divideParsedKeepingSmallQuotient(dividendParts, divisorParts, mathContext);
+        return toBigNumber(quotientParts, locale, mathContext);
+    }
+
     /**
      * Computes {@code dividend mod divisor} efficiently without repeated subtraction.
      *
@@ -262,7 +368,7 @@ public final class BasicMath {
             return toBigNumber(integerPowerResult, locale, mathContext);
         }
 
-        final String fastDoublePowerPlain = tryComputeNonIntegerPowerUsingDouble(baseParts, exponentParts);
+        final String fastDoublePowerPlain = tryComputeNonIntegerPowerUsingDouble(baseParts, exponentParts, mathContext);
         if (fastDoublePowerPlain != null) {
             return new BigNumber(adaptPlainDecimalToLocale(fastDoublePowerPlain, locale), locale, mathContext).trim();
         }
@@ -301,7 +407,8 @@ public final class BasicMath {
      * Computes the exponential function {@code e^x}.
      *
      * <p>Fast path:
-     * if {@code x} can be safely represented as a finite {@code double} and {@code |x| <= 50},
+     * if the requested precision is at most 15 digits, {@code x} can be safely represented as a finite
+     * {@code double} and {@code |x| <= 50},
      * this method uses {@link Math#exp(double)} and converts the result to a plain decimal string
      * (no exponent notation). This makes small exp calls extremely fast (your test suite).</p>
      *
@@ -326,7 +433,7 @@ public final class BasicMath {
 
         final ParsedDecimalNumber exponentParts = normalize(parseToParts(argument.toString(), locale));
 
-        final String fastExpPlain = tryComputeExpUsingDouble(exponentParts);
+        final String fastExpPlain = tryComputeExpUsingDouble(exponentParts, mathContext);
         if (fastExpPlain != null) {
             return new BigNumber(adaptPlainDecimalToLocale(fastExpPlain, locale), locale, mathContext).trim();
         }
@@ -335,6 +442,28 @@ public final class BasicMath {
         return toBigNumber(exponentialParts, locale, mathContext);
     }
 
+    /**
+     * Computes {@code e^x - 1}.
+     *
+     * <p>For small |x| the subtraction in {@code exp(x) - 1} cancels roughly one leading digit per leading zero of
+     * {@code x}. This method therefore sums the Taylor series without its constant term for {@code |x| <= 0.5}, so the
+     * result carries the full requested precision without any extra guard digits. For larger |x| it falls back to
+     * {@code exp(x) - 1}, where the cancellation is harmless.</p>
+     *
+     * @param argument    exponent argument {@code x}; must not be {@code null}
+     * @param mathContext precision and rounding mode; must not be {@code null} and precision must be > 0
+     * @param locale      locale used for tolerant parsing and output adaptation; must not be {@code null}
+     * @return {@code e^x - 1} as a new {@link BigNumber}
+     * @throws NullPointerException     if any argument is {@code null}
+     * @throws IllegalArgumentException if the input is not a plain decimal number
+     */
+    public static BigNumber expm1(@NonNull final BigNumber argument, @NonNull final MathContext mathContext, @NonNull final Locale locale) {
+        MathUtils.checkMathContext(mathContext);
+
+        final ParsedDecimalNumber exponentParts = normalize(parseToParts(argument.toString(), locale));
+        return toBigNumber(expm1Parsed(exponentParts, mathContext), locale, mathContext);
+    }
+
     /**
      * Minimal internal representation of a decimal value.
      *
@@ -493,6 +622,8 @@ public final class BasicMath {
             return "0";
         }
 
+        EvaluationGuard.checkDigits(Math.max(normalizedParts.digits().length() + Math.max(0L, -normalizedParts.scale()), normalizedParts.scale()));
+
         final String unsignedPlainString;
         if (normalizedParts.scale() == 0) {
             unsignedPlainString = normalizedParts.digits();
@@ -783,6 +914,41 @@ public final class BasicMath {
         return normalize(roundToMathContext(unrounded, mathContext));
     }
 
+    /**
+     * Divides like {@link #divideParsed(ParsedDecimalNumber, ParsedDecimalNumber, MathContext)}, but keeps the full
+     * significant-digit precision for tiny quotients instead of applying the early-zero rule.
+     *
+     * <p>Both operands are shifted into {@code [0.1, 1)} before dividing and the decimal exponent is restored
+     * afterwards, so the long division always starts producing significant digits immediately.</p>
+     *
+     * @param dividend    dividend
+     * @param divisor     divisor (non-zero)
+     * @param mathContext precision and rounding mode
+     * @return {@code dividend / divisor} rounded to {@code mathContext}
+     */
+    private static ParsedDecimalNumber divideParsedKeepingSmallQuotient(final ParsedDecimalNumber dividend, final ParsedDecimalNumber divisor, final MathContext mathContext) {
+        final ParsedDecimalNumber dividendNormalized = normalize(dividend);
+        final ParsedDecimalNumber divisorNormalized = normalize(divisor);
+        if (isZero(dividendNormalized) || isZero(divisorNormalized)) {
+            return divideParsed(dividendNormalized, divisorNormalized, mathContext);
+        }
+
+        final int dividendExponent = dividendNormalized.digits().length() - dividendNormalized.scale();
+        final int divisorExponent = divisorNormalized.digits().length() - divisorNormalized.scale();
+
+        final ParsedDecimalNumber quotient = divideParsed(
+                new ParsedDecimalNumber(dividendNormalized.sign(), dividendNormalized.digits(), dividendNormalized.digits().length()),
+                new ParsedDecimalNumber(divisorNormalized.sign(), divisorNormalized.digits(), divisorNormalized.digits().length()),
+                mathContext);
+
+        final int scale = quotient.scale() - (dividendExponent - divisorExponent);
+        if (scale >= 0) {
+            return normalize(new ParsedDecimalNumber(quotient.sign(), quotient.digits(), scale));
+        }
+
+        return normalize(new ParsedDecimalNumber(quotient.sign(), appendZerosRight(quotient.digits(), -scale), 0));
+    }
+
     /**
      * Ensures {@link MathContext#getPrecision()} is strictly positive.
      *
@@ -860,7 +1026,14 @@ public final class BasicMath {
      * @return quotient digits and resulting scale
      */
     private static QuotientDigits generateQuotientDigits(final String integerQuotientDigits, final String initialRemainderDigits, final String divisorDigits, final int precision) {
-        StringBuilder remainderDigits = new StringBuilder(initialRemainderDigits);
+        final String divisor = stripLeadingZeros(divisorDigits);
+        final String initialRemainder = stripLeadingZeros(initialRemainderDigits);
+
+        // The remainder stays below the divisor, so one extra digit of room is enough for remainder * 10
+        final char[] remainderBuffer = new char[divisor.length() + 1];
+        final char[] productBuffer = new char[divisor.length() + 1];
+        initialRemainder.getChars(0, initialRemainder.length(), remainderBuffer, 0);
+        final MutableDigitView remainderView = new MutableDigitView(0, initialRemainder.length());
 
         final StringBuilder digitsBuilder = new StringBuilder(integerQuotientDigits);
         int scale = 0;
@@ -873,18 +1046,25 @@ public final class BasicMath {
         final int iterationLimit = Math.max(10_000, precision * 50);
         int iterationCount = 0;
 
-        while (significantCount < targetSignificantDigits && !remainderDigits.toString().equals("0")) {
+        while (significantCount < targetSignificantDigits && !isZeroView(remainderBuffer, remainderView.offset(), remainderView.length())) {
             iterationCount++;
             if (iterationCount > iterationLimit) {
                 break;
             }
 
-            remainderDigits.append("0");
-            final UnsignedDivisionResult fractionalStep = divideUnsigned(remainderDigits.toString(), divisorDigits);
+            // Each step only needs one quotient digit of (remainder * 10) / divisor, so the remainder is updated
+            // in place instead of re-dividing it from scratch
+            appendDigitToRemainder(remainderBuffer, remainderView, ZERO_AS_CHAR);
+            trimLeadingZeros(remainderBuffer, remainderView);
 
-            final char nextDigit = fractionalStep.quotient().charAt(0);
-            remainderDigits = new StringBuilder(fractionalStep.remainder());
+            final int quotientDigit = estimateQuotientDigit(remainderBuffer, remainderView.offset(), remainderView.length(), divisor, productBuffer);
+            if (quotientDigit != 0) {
+                final int productStartIndex = multiplyBySingleDigitToBufferUnchecked(divisor, quotientDigit, productBuffer);
+                subtractProductFromRemainder(remainderBuffer, remainderView, productBuffer, productStartIndex);
+                trimLeadingZeros(remainderBuffer, remainderView);
+            }
 
+            final char nextDigit = (char) (ZERO_AS_CHAR + quotientDigit);
             digitsBuilder.append(nextDigit);
             scale++;
 
@@ -921,7 +1101,7 @@ public final class BasicMath {
         }
 
         final int precision = requirePositivePrecision(mathContext);
-        final RoundingDecision roundingDecision = computeRoundingDecision(normalizedValue, precision);
+        final RoundingDecision roundingDecision = computeRoundingDecision(normalizedValue, precision, mathContext.getRoundingMode());
 
         if (roundingDecision.noRoundingNeeded()) {
             return normalizedValue;
@@ -934,6 +1114,9 @@ public final class BasicMath {
             incrementUnsignedDecimalDigits(keptDigits);
         }
 
+        // Removed integer digits must be replaced by zeros to keep the magnitude.
+        keptDigits.append(ZERO_AS_STRING.repeat(Math.max(0, roundingDecision.removedDigitCount() - normalizedValue.scale())));
+
         return normalize(new ParsedDecimalNumber(normalizedValue.sign(), stripLeadingZeros(keptDigits.toString()), adjustedScale));
     }
 
@@ -954,9 +1137,10 @@ public final class BasicMath {
      *
      * @param normalizedValue normalized value to round
      * @param precision       target significant digits
+     * @param roundingMode    rounding mode to apply
      * @return rounding decision
      */
-    private static RoundingDecision computeRoundingDecision(final ParsedDecimalNumber normalizedValue, final int precision) {
+    private static RoundingDecision computeRoundingDecision(final ParsedDecimalNumber normalizedValue, final int precision, final RoundingMode roundingMode) {
         final String digits = normalizedValue.digits();
 
         final int firstNonZeroIndex = findFirstNonZeroIndex(digits);
@@ -973,7 +1157,7 @@ public final class BasicMath {
         final boolean anyFollowingNonZeroDigit = hasNonZeroDigitAfterIndex(digits, cutIndexExclusive);
 
         final char lastKeptDigit = digits.charAt(cutIndexExclusive - 1);
-        final boolean incrementRequired = shouldIncrementAccordingToRoundingMode(BigNumbers.DEFAULT_MATH_CONTEXT.getRoundingMode(), normalizedValue.sign(), lastKeptDigit, roundingDigit, anyFollowingNonZeroDigit);
+        final boolean incrementRequired = shouldIncrementAccordingToRoundingMode(roundingMode, normalizedValue.sign(), lastKeptDigit, roundingDigit, anyFollowingNonZeroDigit);
 
         final String keptDigits = digits.substring(0, cutIndexExclusive);
         final int removedCount = digits.length() - cutIndexExclusive;
@@ -996,7 +1180,7 @@ public final class BasicMath {
         if (removedDigitCount <= originalScale) {
             return originalScale - removedDigitCount;
         }
-        // Removing more digits than fractional digits means we truncated integer digits; represent with scale=0.
+        // Removing more digits than fractional digits means we truncated integer digits; the caller pads zeros, scale=0.
         return 0;
     }
 
@@ -1301,9 +1485,17 @@ public final class BasicMath {
 
         final int leftLength = leftNormalized.length();
         final int rightLength = rightNormalized.length();
+        EvaluationGuard.checkDigits((long) leftLength + rightLength);
+        EvaluationGuard.checkpoint();
+
         final int[] accumulator = new int[leftLength + rightLength];
 
         for (int i = leftLength - 1; i >= 0; i--) {
+            // Products of long operands take a while, so check in between
+            if ((i & MULTIPLICATION_CHECKPOINT_MASK) == 0) {
+                EvaluationGuard.checkpoint();
+            }
+
             final int leftDigit = leftNormalized.charAt(i) - '0';
             int carry = 0;
 
@@ -2180,9 +2372,12 @@ public final class BasicMath {
      * @return power result (real-only)
      */
     private static ParsedDecimalNumber powerNonIntegerFallback(final ParsedDecimalNumber baseParts, final ParsedDecimalNumber exponentParts, final MathContext mathContext) {
-        final ParsedDecimalNumber lnAbsBase = lnParsed(absoluteValue(baseParts), mathContext);
+        // ln(|a|) needs guard digits because its absolute error becomes the relative error of the result,
+        // and exp keeps them so that the result is rounded only once.
+        final MathContext workingContext = createWorkingMathContext(mathContext);
+        final ParsedDecimalNumber lnAbsBase = lnParsed(absoluteValue(baseParts), workingContext);
         final ParsedDecimalNumber exponentTimesLn = normalize(multiplyParsed(exponentParts, lnAbsBase));
-        final ParsedDecimalNumber absoluteResult = expParsed(exponentTimesLn, mathContext);
+        final ParsedDecimalNumber absoluteResult = normalize(roundToMathContext(expParsed(exponentTimesLn, workingContext), mathContext));
 
         return baseParts.sign() < 0 ? negate(absoluteResult) : absoluteResult;
     }
@@ -2195,9 +2390,14 @@ public final class BasicMath {
      *
      * @param baseParts     parsed base
      * @param exponentParts parsed exponent (non-integer)
+     * @param mathContext   requested precision; the fast path is skipped if {@code double} cannot deliver it
      * @return plain decimal result string or {@code null} if double conversion is not safe/finite
      */
-    private static String tryComputeNonIntegerPowerUsingDouble(final ParsedDecimalNumber baseParts, final ParsedDecimalNumber exponentParts) {
+    private static String tryComputeNonIntegerPowerUsingDouble(final ParsedDecimalNumber baseParts, final ParsedDecimalNumber exponentParts, final MathContext mathContext) {
+        if (mathContext.getPrecision() > EXP_FAST_DOUBLE_MAX_PRECISION) {
+            return null;
+        }
+
         final Double absoluteBase = tryConvertToFiniteDouble(absoluteValue(baseParts));
         final Double exponent = tryConvertToFiniteDouble(exponentParts);
 
@@ -2277,14 +2477,34 @@ public final class BasicMath {
             return "1";
         }
 
+        EvaluationGuard.checkDigits(estimateFactorialDigitCount(argumentParts.digits()));
+
         final Integer asInt = tryParseUnsignedInt(argumentParts.digits());
         if (asInt != null) {
+            EvaluationGuard.countIterations(asInt);
             return factorialUnsignedInt(asInt);
         }
 
         return factorialUnsignedString(argumentParts.digits());
     }
 
+    /**
+     * Estimates the number of digits of {@code n!} with Stirling's formula, so that factorials too large for the
+     * limits of an evaluation are rejected before they are computed.
+     *
+     * @param unsignedIntegerDigits unsigned digits of n
+     * @return the approximate number of digits of {@code n!}, or {@link Long#MAX_VALUE} if it does not fit into a long
+     */
+    private static long estimateFactorialDigitCount(final String unsignedIntegerDigits) {
+        final double n = Double.parseDouble(unsignedIntegerDigits);
+        if (n < 2) {
+            return 1;
+        }
+
+        final double digitCount = (n * Math.log(n / Math.E) + 0.5 * Math.log(2 * Math.PI * n)) / Math.log(10) + 1;
+        return digitCount < Long.MAX_VALUE ? (long) digitCount : Long.MAX_VALUE;
+    }
+
     /**
      * Computes factorial for an int using a product-tree strategy.
      *
@@ -2336,6 +2556,7 @@ public final class BasicMath {
 
         String result = "1";
         while (!counter.equals("1")) {
+            EvaluationGuard.countIterations(1);
             result = multiplyUnsigned(result, counter);
             counter = decrementUnsigned(counter);
         }
@@ -2391,9 +2612,14 @@ public final class BasicMath {
      * Attempts to compute {@code exp(x)} using {@code double} for maximum speed.
      *
      * @param exponentParts parsed exponent
+     * @param mathContext   requested precision; the fast path is skipped if {@code double} cannot deliver it
      * @return plain decimal string result, or {@code null} if not safe/finite
      */
-    private static String tryComputeExpUsingDouble(final ParsedDecimalNumber exponentParts) {
+    private static String tryComputeExpUsingDouble(final ParsedDecimalNumber exponentParts, final MathContext mathContext) {
+        if (mathContext.getPrecision() > EXP_FAST_DOUBLE_MAX_PRECISION) {
+            return null;
+        }
+
         final Double x = tryConvertToFiniteDouble(exponentParts);
         if (x == null) {
             return null;
@@ -2415,8 +2641,11 @@ public final class BasicMath {
      *
      * <p>Implementation:
      * <ol>
-     *   <li>If x is negative: compute 1/exp(|x|).</li>
-     *   <li>Choose a small reduction power k and compute x' = x / 2^k using fast int division.</li>
+     *   <li>If x is negative: compute 1/exp(|x|) with guard digits and round the quotient once.</li>
+     *   <li>If reduction tables are available for the precision, use the table-driven reduction
+     *       (see {@link #tryComputeExpUsingTables(ParsedDecimalNumber, MathContext)}).</li>
+     *   <li>Otherwise choose a reduction power k (about sqrt(precision) for a long x) and compute x' = x / 2^k using
+     *       fast int division.</li>
      *   <li>Compute exp(x') by Taylor series with fast division term/n.</li>
      *   <li>Undo reduction by repeated squaring (k times).</li>
      * </ol>
@@ -2433,13 +2662,24 @@ public final class BasicMath {
         }
 
         if (normalizedExponent.sign() < 0) {
-            final ParsedDecimalNumber positiveExponent = negate(normalizedExponent);
-            final ParsedDecimalNumber positiveExp = expParsed(positiveExponent, mathContext);
-            return normalize(divideParsed(oneParts(), positiveExp, mathContext));
+            final MathContext workingContext = createWorkingMathContext(mathContext);
+            final ParsedDecimalNumber positiveExp = expParsed(negate(normalizedExponent), workingContext);
+            return normalize(roundToMathContext(divideParsedKeepingSmallQuotient(oneParts(), positiveExp, workingContext), mathContext));
         }
 
-        final MathContext workingContext = createWorkingMathContext(mathContext);
-        final int reductionPower = chooseReductionPowerForExp(normalizedExponent);
+        final ParsedDecimalNumber tableResult = tryComputeExpUsingTables(normalizedExponent, mathContext);
+        if (tableResult != null) {
+            return tableResult;
+        }
+
+        // For a long x about sqrt(precision) halvings balance the full-length Taylor terms against the squarings; a
+        // short x keeps the Taylor terms cheap on its own. Every squaring doubles the relative error, which costs
+        // about 0.3 digits per halving.
+        final int balancedReductionPower = (int) Math.sqrt(mathContext.getPrecision());
+        final int reductionPower = normalizedExponent.digits().length() > balancedReductionPower
+                ? Math.max(chooseReductionPowerForExp(normalizedExponent), balancedReductionPower)
+                : chooseReductionPowerForExp(normalizedExponent);
+        final MathContext workingContext = new MathContext(createWorkingMathContext(mathContext).getPrecision() + reductionPower * 3 / 10 + 1, mathContext.getRoundingMode());
 
         final ParsedDecimalNumber reducedExponent = reduceExponentByPowerOfTwo(normalizedExponent, reductionPower, workingContext);
         final ParsedDecimalNumber reducedExpValue = expTaylorSeries(reducedExponent, workingContext, mathContext.getPrecision());
@@ -2448,6 +2688,107 @@ public final class BasicMath {
         return normalize(roundToMathContext(scaled, mathContext));
     }
 
+    /**
+     * Attempts to compute {@code exp(x)} for {@code x > 0} using the cached reduction tables.
+     *
+     * <p>Reduction:
+     * <pre>
+     *   N = round(x * 2^j / ln(2)),  n = N / 2^j,  k = N mod 2^j
+     *   r = x - N * ln(2) / 2^j,     |r| <= ln(2) / 2^(j+1)
+     *   exp(x) = 2^n * 2^(k/2^j) * exp(r)
+     * </pre>
+     * The Taylor series for the tiny remainder {@code r} needs only a fraction of the terms required for x itself.</p>
+     *
+     * @param positiveExponent normalized exponent x > 0
+     * @param mathContext      precision and rounding mode
+     * @return exp(x), or {@code null} if no tables exist for the precision or x is too large
+     */
+    private static ParsedDecimalNumber tryComputeExpUsingTables(final ParsedDecimalNumber positiveExponent, final MathContext mathContext) {
+        final Double approximation = tryConvertToFiniteDouble(positiveExponent);
+        if (approximation == null || approximation > REDUCTION_TABLE_MAX_ABS_EXP_ARGUMENT) {
+            return null;
+        }
+
+        final MathContext workingContext = createWorkingMathContext(mathContext);
+        final ReductionTables tables = reductionTablesFor(workingContext.getPrecision());
+        if (tables == null) {
+            return null;
+        }
+
+        final int multiplier = (int) Math.round(approximation * REDUCTION_TABLE_SIZE / Math.log(2.0));
+        final int binaryExponent = multiplier >> REDUCTION_TABLE_BITS;
+        final int tableIndex = multiplier & (REDUCTION_TABLE_SIZE - 1);
+
+        final ParsedDecimalNumber reduction = multiplyParsed(parseToParts(Integer.toString(multiplier), Locale.US), tables.ln2Step());
+        final ParsedDecimalNumber remainder = normalize(roundToMathContext(addParsed(positiveExponent, negate(reduction)), workingContext));
+
+        final ParsedDecimalNumber expRemainder = expTaylorSeries(remainder, workingContext, workingContext.getPrecision());
+        final ParsedDecimalNumber mantissa = normalize(roundToMathContext(multiplyParsed(tables.powersOfTwoStep()[tableIndex], expRemainder), workingContext));
+
+        return normalize(roundToMathContext(scaleByPowerOfTwo(mantissa, binaryExponent, workingContext), mathContext));
+    }
+
+    /**
+     * Computes {@code expm1(x) = exp(x) - 1} without cancellation for small |x|.
+     *
+     * @param exponentParts exponent x
+     * @param mathContext   precision and rounding mode
+     * @return exp(x) - 1 as parsed number
+     */
+    private static ParsedDecimalNumber expm1Parsed(final ParsedDecimalNumber exponentParts, final MathContext mathContext) {
+        final ParsedDecimalNumber normalizedExponent = normalize(exponentParts);
+
+        if (isZero(normalizedExponent)) {
+            return zeroParts();
+        }
+
+        final MathContext workingContext = createWorkingMathContext(mathContext);
+
+        if (compareAbsolute(normalizedExponent, EXPM1_SERIES_MAX_ABS_ARGUMENT) > 0) {
+            final ParsedDecimalNumber expValue = expParsed(normalizedExponent, workingContext);
+            return normalize(roundToMathContext(addParsed(expValue, negate(oneParts())), mathContext));
+        }
+
+        final ParsedDecimalNumber series = expm1TaylorSeries(normalizedExponent, workingContext);
+        return normalize(roundToMathContext(series, mathContext));
+    }
+
+    /**
+     * Computes {@code exp(x) - 1} using the Taylor series without its constant term.
+     *
+     * <p>Series:
+     * <pre>
+     *   expm1(x) = sum_{n=1..∞} x^n / n!
+     * </pre>
+     * In contrast to {@link #expTaylorSeries(ParsedDecimalNumber, MathContext, int)} the stopping threshold is relative
+     * to the magnitude of {@code x}, because the result is of the same order as {@code x} instead of 1.</p>
+     *
+     * @param smallExponent  exponent x with {@code |x| <= 0.5}
+     * @param workingContext working rounding context for intermediate steps
+     * @return expm1(x) approximation
+     */
+    private static ParsedDecimalNumber expm1TaylorSeries(final ParsedDecimalNumber smallExponent, final MathContext workingContext) {
+        ParsedDecimalNumber sum = smallExponent;
+        ParsedDecimalNumber term = smallExponent;
+
+        final int exponentBase10 = estimateBase10Exponent(absoluteValue(smallExponent));
+        final ParsedDecimalNumber epsilon = normalize(new ParsedDecimalNumber(+1, "1", workingContext.getPrecision() - exponentBase10));
+        final int maxIterations = Math.min(EXP_MAX_ITERATIONS_HARD_LIMIT, Math.max(200, workingContext.getPrecision() * 6));
+
+        for (int n = 2; n <= maxIterations; n++) {
+            term = normalize(multiplyParsed(term, smallExponent));
+            term = divideByPositiveIntWithRounding(term, n, workingContext);
+
+            sum = normalize(addParsed(sum, term));
+
+            if (compareAbsolute(term, epsilon) < 0) {
+                break;
+            }
+        }
+
+        return sum;
+    }
+
     /**
      * Creates a working {@link MathContext} with slightly increased precision for intermediate exp computations.
      *
@@ -2527,6 +2868,9 @@ public final class BasicMath {
      *
      * <p>Division by {@code n} is performed using the fast int division routine to maximize speed.</p>
      *
+     * <p>Each term only needs to be accurate to the working precision in absolute terms. As the terms shrink,
+     * they and the multiplier x are therefore computed with correspondingly fewer significant digits.</p>
+     *
      * @param reducedExponent    reduced exponent x
      * @param workingContext     working rounding context for intermediate steps
      * @param requestedPrecision requested precision used to build epsilon threshold
@@ -2540,8 +2884,11 @@ public final class BasicMath {
         final int maxIterations = Math.min(EXP_MAX_ITERATIONS_HARD_LIMIT, Math.max(200, workingContext.getPrecision() * 6));
 
         for (int n = 1; n <= maxIterations; n++) {
-            term = normalize(multiplyParsed(term, reducedExponent));
-            term = divideByPositiveIntWithRounding(term, n, workingContext);
+            final int termPrecision = Math.max(1, Math.min(workingContext.getPrecision(), workingContext.getPrecision() + estimateBase10Exponent(absoluteValue(term)) + 1));
+            final MathContext termContext = new MathContext(termPrecision, workingContext.getRoundingMode());
+
+            term = normalize(multiplyParsed(term, roundToMathContext(reducedExponent, termContext)));
+            term = divideByPositiveIntWithRounding(term, n, termContext);
 
             sum = normalize(addParsed(sum, term));
 
@@ -2573,13 +2920,17 @@ public final class BasicMath {
     }
 
     /**
-     * Computes {@code ln(x)} for {@code x > 0} using Newton iteration on {@code exp(y) - x = 0}.
+     * Computes {@code ln(x)} for {@code x > 0}.
      *
-     * <p>Iteration:
+     * <p>If reduction tables are available for the precision, the table-driven reduction
+     * (see {@link #tryComputeLnUsingTables(ParsedDecimalNumber, MathContext)}) is used. Otherwise
+     * Newton iteration on {@code exp(y) - x = 0} is applied:
      * <pre>
      *   y_{n+1} = y_n + (x - exp(y_n)) / exp(y_n)
      * </pre>
-     * A double-based initial guess is used to speed up convergence.</p>
+     * A double-based initial guess is used to speed up convergence. The iteration converges quadratically, so the
+     * working precision starts at the digits of the guess and doubles with every step, followed by one final step
+     * at the full precision.</p>
      *
      * @param positiveParts x > 0
      * @param mathContext   precision and rounding mode
@@ -2594,24 +2945,320 @@ public final class BasicMath {
             return zeroParts();
         }
 
+        final ParsedDecimalNumber tableResult = tryComputeLnUsingTables(x, mathContext);
+        if (tableResult != null) {
+            return tableResult;
+        }
+
         ParsedDecimalNumber y = initialGuessForLn(x);
-        final ParsedDecimalNumber epsilon = normalize(new ParsedDecimalNumber(+1, "1", mathContext.getPrecision()));
 
-        final int maxIterations = Math.max(20, mathContext.getPrecision() * 6);
-        for (int i = 0; i < maxIterations; i++) {
-            final ParsedDecimalNumber expY = expParsed(y, mathContext);
-            final ParsedDecimalNumber numerator = normalize(addParsed(x, negate(expY)));
-            final ParsedDecimalNumber delta = divideParsed(numerator, expY, mathContext);
+        // Every Newton step doubles the correct digits, so only the last steps need the full precision
+        final int precision = mathContext.getPrecision();
+        final List<Integer> stepPrecisions = new ArrayList<>();
+        stepPrecisions.add(precision);
+        for (int stepPrecision = precision; stepPrecision > LN_NEWTON_INITIAL_DIGITS; ) {
+            stepPrecision = stepPrecision / 2 + 2;
+            stepPrecisions.add(0, stepPrecision);
+        }
+        stepPrecisions.add(precision);
+
+        for (final int stepPrecision : stepPrecisions) {
+            final MathContext stepContext = new MathContext(stepPrecision, mathContext.getRoundingMode());
+            final ParsedDecimalNumber delta = lnNewtonCorrection(x, y, stepContext);
+            if (delta == null) {
+                continue;
+            }
+
+            y = normalize(roundToMathContext(addParsed(y, delta), stepContext));
+        }
+
+        return y;
+    }
+
+    /**
+     * Computes the Newton correction {@code (x - exp(y)) / exp(y)} of {@link #lnParsed(ParsedDecimalNumber, MathContext)}.
+     *
+     * <p>For negative y it is computed as {@code x * exp(-y) - 1}, which avoids the full-precision division
+     * inside exp of a negative argument. Otherwise the division only carries the digits the correction needs to
+     * reach the last digit of y, which are far fewer than those of y itself.</p>
+     *
+     * @param x           the argument of ln
+     * @param y           the current approximation of ln(x)
+     * @param stepContext precision of the current step
+     * @return the correction, or {@code null} if {@code exp(y)} equals x at this precision
+     */
+    private static ParsedDecimalNumber lnNewtonCorrection(final ParsedDecimalNumber x, final ParsedDecimalNumber y, final MathContext stepContext) {
+        if (y.sign() < 0) {
+            final ParsedDecimalNumber expNegatedY = expParsed(negate(y), stepContext);
+            final ParsedDecimalNumber correction = normalize(addParsed(multiplyParsed(x, expNegatedY), negate(oneParts())));
+            return isZero(correction) ? null : normalize(roundToMathContext(correction, stepContext));
+        }
+
+        final ParsedDecimalNumber expY = expParsed(y, stepContext);
+        final ParsedDecimalNumber numerator = normalize(addParsed(x, negate(expY)));
+        if (isZero(numerator)) {
+            return null;
+        }
+
+        final int correctionDigits = estimateBase10Exponent(absoluteValue(numerator)) - estimateBase10Exponent(x) - estimateBase10Exponent(absoluteValue(y));
+        final int precision = Math.max(LN_NEWTON_INITIAL_DIGITS, Math.min(stepContext.getPrecision(), stepContext.getPrecision() + correctionDigits + 2));
+        final MathContext correctionContext = new MathContext(precision, stepContext.getRoundingMode());
+
+        return divideParsedKeepingSmallQuotient(normalize(roundToMathContext(numerator, correctionContext)), normalize(roundToMathContext(expY, correctionContext)), correctionContext);
+    }
 
-            y = normalize(roundToMathContext(addParsed(y, delta), mathContext));
+    /**
+     * Attempts to compute {@code ln(x)} for {@code x > 0} using the cached reduction tables.
+     *
+     * <p>Reduction:
+     * <pre>
+     *   x = 2^n * m,          1 <= m < 2
+     *   c = 1 + k/2^j,        k = floor((m - 1) * 2^j)
+     *   u = (m - c) / (m + c), |u| < 2^-(j+1)
+     *   ln(x) = n * ln(2) + ln(1 + k/2^j) + 2 * atanh(u)
+     * </pre>
+     * Values close to 1 skip the decomposition and use {@code 2 * atanh((x - 1) / (x + 1))} directly,
+     * which avoids cancellation between the table terms.</p>
+     *
+     * @param positiveValue normalized x > 0, x != 1
+     * @param mathContext   precision and rounding mode
+     * @return ln(x), or {@code null} if no tables exist for the precision or x is too large or too small
+     */
+    private static ParsedDecimalNumber tryComputeLnUsingTables(final ParsedDecimalNumber positiveValue, final MathContext mathContext) {
+        final MathContext workingContext = createWorkingMathContext(mathContext);
+        final ReductionTables tables = reductionTablesFor(workingContext.getPrecision());
+        if (tables == null) {
+            return null;
+        }
 
-            final ParsedDecimalNumber absDelta = delta.sign() < 0 ? negate(delta) : delta;
-            if (compareAbsolute(absDelta, epsilon) < 0) {
+        final ParsedDecimalNumber distanceFromOne = normalize(addParsed(positiveValue, negate(oneParts())));
+        if (compareAbsolute(distanceFromOne, LN_DIRECT_SERIES_MAX_DISTANCE_FROM_ONE) <= 0) {
+            final ParsedDecimalNumber u = divideParsedKeepingSmallQuotient(distanceFromOne, addParsed(positiveValue, oneParts()), workingContext);
+            final ParsedDecimalNumber series = atanhSeries(u, workingContext);
+            return normalize(roundToMathContext(addParsed(series, series), mathContext));
+        }
+
+        final double binaryExponentEstimate = (estimateBase10Exponent(positiveValue) + Math.log10(estimateMantissaAsDouble(positiveValue))) * (Math.log(10.0) / Math.log(2.0));
+        if (Math.abs(binaryExponentEstimate) > LN_TABLE_MAX_ABS_BINARY_EXPONENT) {
+            return null;
+        }
+
+        int binaryExponent = (int) Math.floor(binaryExponentEstimate);
+        ParsedDecimalNumber mantissa = scaleByPowerOfTwo(positiveValue, -binaryExponent, workingContext);
+
+        // The double estimate may be off by one near powers of two.
+        final ParsedDecimalNumber two = new ParsedDecimalNumber(+1, "2", 0);
+        if (compareAbsolute(mantissa, oneParts()) < 0) {
+            mantissa = normalize(multiplyParsed(mantissa, two));
+            binaryExponent--;
+        } else if (compareAbsolute(mantissa, two) >= 0) {
+            mantissa = divideByPositiveIntWithRounding(mantissa, 2, workingContext);
+            binaryExponent++;
+        }
+
+        final int tableIndex = Math.max(0, Math.min(REDUCTION_TABLE_SIZE - 1, (int) ((tryConvertToFiniteDouble(mantissa) - 1.0) * REDUCTION_TABLE_SIZE)));
+        final ParsedDecimalNumber tableArgument = divideByPositiveIntWithRounding(parseToParts(Integer.toString(REDUCTION_TABLE_SIZE + tableIndex), Locale.US), REDUCTION_TABLE_SIZE, workingContext);
+
+        final ParsedDecimalNumber numerator = normalize(addParsed(mantissa, negate(tableArgument)));
+        final ParsedDecimalNumber denominator = normalize(addParsed(mantissa, tableArgument));
+        final ParsedDecimalNumber series = atanhSeries(divideParsedKeepingSmallQuotient(numerator, denominator, workingContext), workingContext);
+
+        ParsedDecimalNumber result = addParsed(tables.lnOnePlusStep()[tableIndex], addParsed(series, series));
+        if (binaryExponent != 0) {
+            result = addParsed(result, multiplyParsed(parseToParts(Integer.toString(binaryExponent), Locale.US), tables.ln2()));
+        }
+
+        return normalize(roundToMathContext(result, mathContext));
+    }
+
+    /**
+     * Computes {@code atanh(u)} for small |u| using its Taylor series.
+     *
+     * <p>Series:
+     * <pre>
+     *   atanh(u) = sum_{n=0..∞} u^(2n+1) / (2n+1)
+     * </pre>
+     * The stopping threshold is relative to the magnitude of {@code u}.</p>
+     *
+     * @param u              argument with |u| well below 1
+     * @param workingContext working rounding context for intermediate steps
+     * @return atanh(u) approximation
+     */
+    private static ParsedDecimalNumber atanhSeries(final ParsedDecimalNumber u, final MathContext workingContext) {
+        final ParsedDecimalNumber normalizedU = normalize(u);
+        if (isZero(normalizedU)) {
+            return zeroParts();
+        }
+
+        final ParsedDecimalNumber uSquared = normalize(roundToMathContext(multiplyParsed(normalizedU, normalizedU), workingContext));
+        final int exponentBase10 = estimateBase10Exponent(absoluteValue(normalizedU));
+        final ParsedDecimalNumber epsilon = normalize(new ParsedDecimalNumber(+1, "1", workingContext.getPrecision() - exponentBase10));
+
+        ParsedDecimalNumber sum = normalizedU;
+        ParsedDecimalNumber power = normalizedU;
+
+        for (int n = 3; n <= EXP_MAX_ITERATIONS_HARD_LIMIT; n += 2) {
+            // Shrinking terms only need enough digits to stay accurate relative to u.
+            final int termPrecision = Math.max(1, Math.min(workingContext.getPrecision(), workingContext.getPrecision() + estimateBase10Exponent(absoluteValue(power)) - exponentBase10 + 1));
+            final MathContext termContext = new MathContext(termPrecision, workingContext.getRoundingMode());
+
+            power = normalize(roundToMathContext(multiplyParsed(power, roundToMathContext(uSquared, termContext)), termContext));
+            final ParsedDecimalNumber term = divideByPositiveIntWithRounding(power, n, termContext);
+
+            sum = normalize(addParsed(sum, term));
+
+            if (compareAbsolute(term, epsilon) < 0) {
                 break;
             }
         }
 
-        return y;
+        return sum;
+    }
+
+    /**
+     * Computes {@code atanh(1/q)} for an integer {@code q > 1}, using only divisions by integers.
+     *
+     * @param q              reciprocal of the argument; {@code q * q} must fit into an {@code int}
+     * @param workingContext working rounding context for intermediate steps
+     * @return atanh(1/q) approximation
+     */
+    private static ParsedDecimalNumber atanhOfReciprocal(final int q, final MathContext workingContext) {
+        final int qSquared = q * q;
+        final ParsedDecimalNumber epsilon = normalize(new ParsedDecimalNumber(+1, "1", workingContext.getPrecision() + 1));
+
+        ParsedDecimalNumber power = divideByPositiveIntWithRounding(oneParts(), q, workingContext);
+        ParsedDecimalNumber sum = power;
+
+        for (int n = 3; n <= EXP_MAX_ITERATIONS_HARD_LIMIT; n += 2) {
+            power = divideByPositiveIntWithRounding(power, qSquared, workingContext);
+            final ParsedDecimalNumber term = divideByPositiveIntWithRounding(power, n, workingContext);
+
+            sum = normalize(addParsed(sum, term));
+
+            if (compareAbsolute(term, epsilon) < 0) {
+                break;
+            }
+        }
+
+        return sum;
+    }
+
+    /**
+     * Multiplies a value by {@code 2^exponent}, where the power of two is rounded to the working context.
+     *
+     * <p>Negative powers are computed exactly as {@code 5^|exponent| * 10^-|exponent|}, so no division is needed.</p>
+     *
+     * @param value          value to scale
+     * @param exponent       binary exponent (may be negative)
+     * @param workingContext working rounding context for the power and the product
+     * @return {@code value * 2^exponent}
+     */
+    private static ParsedDecimalNumber scaleByPowerOfTwo(final ParsedDecimalNumber value, final int exponent, final MathContext workingContext) {
+        if (exponent == 0) {
+            return normalize(value);
+        }
+
+        final ParsedDecimalNumber base = new ParsedDecimalNumber(+1, exponent > 0 ? "2" : "5", 0);
+        final ParsedDecimalNumber power = powerRounded(base, Math.abs(exponent), workingContext);
+        final ParsedDecimalNumber factor = exponent > 0 ? power : normalize(new ParsedDecimalNumber(+1, power.digits(), power.scale() - exponent));
+
+        return normalize(roundToMathContext(multiplyParsed(value, factor), workingContext));
+    }
+
+    /**
+     * Computes {@code base^exponent} for a non-negative int exponent using exponentiation by squaring,
+     * rounding every intermediate product to the working context.
+     *
+     * @param base           base value
+     * @param exponent       exponent (>= 0)
+     * @param workingContext working rounding context
+     * @return rounded {@code base^exponent}
+     */
+    private static ParsedDecimalNumber powerRounded(final ParsedDecimalNumber base, final int exponent, final MathContext workingContext) {
+        ParsedDecimalNumber result = oneParts();
+        ParsedDecimalNumber basePower = normalize(base);
+
+        int remainingExponent = exponent;
+        while (remainingExponent > 0) {
+            if ((remainingExponent & 1) == 1) {
+                result = normalize(roundToMathContext(multiplyParsed(result, basePower), workingContext));
+            }
+
+            remainingExponent >>= 1;
+            if (remainingExponent > 0) {
+                basePower = normalize(roundToMathContext(multiplyParsed(basePower, basePower), workingContext));
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the reduction tables for the smallest precision tier covering the given working precision,
+     * building them on first use.
+     *
+     * @param workingPrecision required working precision
+     * @return tables, or {@code null} if the precision exceeds {@link #REDUCTION_TABLE_MAX_TIER}
+     */
+    private static ReductionTables reductionTablesFor(final int workingPrecision) {
+        if (workingPrecision > REDUCTION_TABLE_MAX_TIER) {
+            return null;
+        }
+
+        int tier = REDUCTION_TABLE_MIN_TIER;
+        while (tier < workingPrecision) {
+            tier <<= 1;
+        }
+
+        return REDUCTION_TABLES.computeIfAbsent(tier, BasicMath::buildReductionTables);
+    }
+
+    /**
+     * Builds the reduction tables for one precision tier.
+     *
+     * <p>{@code ln(2)} is computed from the Machin-like formula
+     * {@code 18 * atanh(1/26) - 2 * atanh(1/4801) + 8 * atanh(1/8749)}. The logarithm table is accumulated from
+     * {@code ln(1 + k/2^j) - ln(1 + (k-1)/2^j) = 2 * atanh(1 / (2^(j+1) + 2k - 1))} and the power table from
+     * {@code 2^(k/2^j) = 2^((k-1)/2^j) * exp(ln(2) / 2^j)}.</p>
+     *
+     * @param tier precision tier
+     * @return tables with {@code tier + REDUCTION_TABLE_GUARD_DIGITS} digits
+     */
+    private static ReductionTables buildReductionTables(final int tier) {
+        final MathContext tableContext = new MathContext(tier + REDUCTION_TABLE_GUARD_DIGITS, RoundingMode.HALF_EVEN);
+
+        final ParsedDecimalNumber ln2 = normalize(roundToMathContext(addParsed(
+                addParsed(
+                        multiplyParsed(parseToParts("18", Locale.US), atanhOfReciprocal(26, tableContext)),
+                        negate(multiplyParsed(parseToParts("2", Locale.US), atanhOfReciprocal(4801, tableContext)))),
+                multiplyParsed(parseToParts("8", Locale.US), atanhOfReciprocal(8749, tableContext))), tableContext));
+        final ParsedDecimalNumber ln2Step = divideByPositiveIntWithRounding(ln2, REDUCTION_TABLE_SIZE, tableContext);
+
+        final ParsedDecimalNumber[] lnOnePlusStep = new ParsedDecimalNumber[REDUCTION_TABLE_SIZE];
+        final ParsedDecimalNumber[] powersOfTwoStep = new ParsedDecimalNumber[REDUCTION_TABLE_SIZE];
+        lnOnePlusStep[0] = zeroParts();
+        powersOfTwoStep[0] = oneParts();
+
+        final ParsedDecimalNumber twoToStep = expTaylorSeries(ln2Step, tableContext, tableContext.getPrecision());
+        for (int k = 1; k < REDUCTION_TABLE_SIZE; k++) {
+            final ParsedDecimalNumber increment = atanhOfReciprocal(2 * REDUCTION_TABLE_SIZE + 2 * k - 1, tableContext);
+            lnOnePlusStep[k] = normalize(addParsed(lnOnePlusStep[k - 1], addParsed(increment, increment)));
+            powersOfTwoStep[k] = normalize(roundToMathContext(multiplyParsed(powersOfTwoStep[k - 1], twoToStep), tableContext));
+        }
+
+        return new ReductionTables(ln2, ln2Step, lnOnePlusStep, powersOfTwoStep);
+    }
+
+    /**
+     * Precomputed values for the table-driven exp/ln reduction of one precision tier.
+     *
+     * @param ln2             {@code ln(2)}
+     * @param ln2Step         {@code ln(2) / 2^j}
+     * @param lnOnePlusStep   {@code ln(1 + k/2^j)} for {@code k = 0..2^j-1}
+     * @param powersOfTwoStep {@code 2^(k/2^j)} for {@code k = 0..2^j-1}
+     */
+    private record ReductionTables(ParsedDecimalNumber ln2, ParsedDecimalNumber ln2Step,
+                                   ParsedDecimalNumber[] lnOnePlusStep, ParsedDecimalNumber[] powersOfTwoStep) {
     }
 
     /**
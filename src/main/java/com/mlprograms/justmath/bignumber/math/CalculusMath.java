@@ -22,53 +22,435 @@
  * SOFTWARE.
  */
 
+
 package com.mlprograms.justmath.bignumber.math;
 
 import com.mlprograms.justmath.bignumber.BigNumber;
-import com.mlprograms.justmath.bignumber.BigNumbers;
+import com.mlprograms.justmath.bignumber.math.utils.MathUtils;
+import com.mlprograms.justmath.bignumber.math.utils.QuadratureNodes;
 import com.mlprograms.justmath.calculator.CalculatorEngine;
+import com.mlprograms.justmath.calculator.CompiledExpression;
+import com.mlprograms.justmath.calculator.EvaluationGuard;
 import com.mlprograms.justmath.calculator.internal.TrigonometricMode;
 import lombok.NonNull;
 
+import java.math.BigDecimal;
 import java.math.MathContext;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Locale;
-import java.util.Map;
-
-import static com.mlprograms.justmath.calculator.CalculatorEngine.getCurrentVariables;
+import java.util.Set;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.IntStream;
 
+/**
+ * Utility class for the numerical integration of expressions in the variable {@code x}.
+ * <p>
+ * Integrals are computed with either the tanh-sinh (double-exponential) rule or an adaptive Gauss–Kronrod rule
+ * (see {@link IntegrationMethod}). The integrand is compiled once and evaluated for every node with a few guard
+ * digits. The nodes and weights of both rules are computed once per precision and cached
+ * (see {@link QuadratureNodes}).
+ */
 public class CalculusMath {
 
-	// TODO: integral
-	public static BigNumber integrate(@NonNull BigNumber from, @NonNull BigNumber to, @NonNull String kExpression, @NonNull final MathContext mathContext, @NonNull final TrigonometricMode trigonometricMode, @NonNull final Locale locale) {
-		if (from.isGreaterThan(to)) {
-			throw new IllegalArgumentException("Lower bound must be less than or equal to upper bound");
+	/**
+	 * Number of extra digits the integrand and the quadrature sums are evaluated with.
+	 */
+	private static final int GUARD_DIGITS = 10;
+
+	/**
+	 * Level of the tanh-sinh rule (step size {@code 2^-level}) at which an integral that did not converge yet is
+	 * given up.
+	 */
+	private static final int MAX_TANH_SINH_LEVEL = 12;
+
+	/**
+	 * Number of nodes of the Gauss rule embedded in the Gauss–Kronrod rule; the Kronrod rule has
+	 * {@code 2 * n + 1} nodes.
+	 */
+	private static final int GAUSS_KRONROD_ORDER = 10;
+
+	/**
+	 * Number of times an interval may be halved by the adaptive Gauss–Kronrod rule. An endpoint singularity like
+	 * {@code ln(x)} needs about one halving per digit of the tolerance.
+	 */
+	private static final int MAX_GAUSS_KRONROD_DEPTH = 200;
+
+	/**
+	 * Number of subintervals at which the adaptive Gauss–Kronrod rule gives up.
+	 */
+	private static final int MAX_GAUSS_KRONROD_INTERVALS = 2000;
+
+	private static final BigDecimal TWO = BigDecimal.valueOf(2);
+
+	/**
+	 * The quadrature rules {@link #integrate(BigNumber, BigNumber, String, BigNumber, IntegrationMethod, MathContext,
+	 * TrigonometricMode, Locale)} can use.
+	 */
+	public enum IntegrationMethod {
+		/**
+		 * The tanh-sinh rule. The step size is halved until two successive estimates agree; for smooth integrands
+		 * every halving roughly doubles the number of correct digits. Singularities at the ends of the interval are
+		 * handled as well, since no node lies on an end.
+		 */
+		TANH_SINH,
+		/**
+		 * The 21-point Gauss–Kronrod rule applied adaptively. The difference of the Kronrod and Gauss estimates is
+		 * the error estimate of a subinterval, and the subintervals with the largest errors are halved until the
+		 * summed error meets the tolerance. The halves are integrated in parallel. Suited to moderate precisions,
+		 * integrands with features inside the interval and integrable singularities at its ends.
+		 */
+		GAUSS_KRONROD
+	}
+
+	/**
+	 * Integrates an expression in the variable {@code x} from {@code from} to {@code to} with the tanh-sinh rule,
+	 * to the full precision of the given {@link MathContext}.
+	 *
+	 * @param from              the lower bound
+	 * @param to                the upper bound; if it is less than {@code from}, the integral from {@code to} to
+	 *                          {@code from} is negated
+	 * @param kExpression       the integrand, an expression in the variable {@code x} or a constant
+	 * @param mathContext       the precision of the result
+	 * @param trigonometricMode the trigonometric mode the integrand is evaluated in
+	 * @param locale            the locale of the result
+	 * @return the integral rounded to the given precision
+	 * @throws IllegalArgumentException if the integrand contains variables other than {@code x}
+	 * @throws ArithmeticException      if the integral does not converge
+	 */
+	public static BigNumber integrate(@NonNull final BigNumber from, @NonNull final BigNumber to, @NonNull final String kExpression, @NonNull final MathContext mathContext, @NonNull final TrigonometricMode trigonometricMode, @NonNull final Locale locale) {
+		MathUtils.checkMathContext(mathContext);
+		final BigNumber tolerance = new BigNumber(BigDecimal.ONE.movePointLeft(mathContext.getPrecision()));
+		return integrate(from, to, kExpression, tolerance, IntegrationMethod.TANH_SINH, mathContext, trigonometricMode, locale);
+	}
+
+	/**
+	 * Integrates an expression in the variable {@code x} from {@code from} to {@code to} with the given rule.
+	 * <p>
+	 * The integration stops once the estimated error is at most {@code tolerance} times the magnitude of the
+	 * integral, or {@code tolerance} itself for integrals smaller than {@code 1}. A tolerance of
+	 * {@code 10^-precision} asks for the full precision of the {@link MathContext}.
+	 * <p>
+	 * Example usage:
+	 * <pre>{@code
+	 * integrate(new BigNumber("0"), new BigNumber("1"), "4/(1+x^2)", new BigNumber("1e-50"),
+	 *         IntegrationMethod.TANH_SINH, new MathContext(50), TrigonometricMode.RAD, Locale.US); // π
+	 * }</pre>
+	 *
+	 * @param from              the lower bound
+	 * @param to                the upper bound; if it is less than {@code from}, the integral from {@code to} to
+	 *                          {@code from} is negated
+	 * @param kExpression       the integrand, an expression in the variable {@code x} or a constant
+	 * @param tolerance         the requested relative error, a positive number
+	 * @param integrationMethod the quadrature rule
+	 * @param mathContext       the precision of the result
+	 * @param trigonometricMode the trigonometric mode the integrand is evaluated in
+	 * @param locale            the locale of the result
+	 * @return the integral rounded to the given precision
+	 * @throws IllegalArgumentException if the tolerance is not positive or the integrand contains variables other
+	 *                                  than {@code x}
+	 * @throws ArithmeticException      if the integral does not converge to the requested tolerance
+	 */
+	public static BigNumber integrate(@NonNull final BigNumber from, @NonNull final BigNumber to, @NonNull final String kExpression, @NonNull final BigNumber tolerance, @NonNull final IntegrationMethod integrationMethod, @NonNull final MathContext mathContext, @NonNull final TrigonometricMode trigonometricMode, @NonNull final Locale locale) {
+		MathUtils.checkMathContext(mathContext);
+		if (tolerance.toBigDecimal().signum() <= 0) {
+			throw new IllegalArgumentException("Tolerance must be positive");
 		}
-		if (!kExpression.contains("x")) {
-			throw new IllegalArgumentException("Expression must contain the variable 'x'");
+
+		final MathContext workingMathContext = new MathContext(mathContext.getPrecision() + GUARD_DIGITS, mathContext.getRoundingMode());
+		final Integrand integrand = new Integrand(new CalculatorEngine(workingMathContext, trigonometricMode).compile(kExpression));
+
+		// Reversed bounds integrate over the same interval with the opposite sign
+		final boolean reversed = from.isGreaterThan(to);
+		final BigDecimal lowerBound = reversed ? to.toBigDecimal() : from.toBigDecimal();
+		final BigDecimal upperBound = reversed ? from.toBigDecimal() : to.toBigDecimal();
+		BigDecimal result = BigDecimal.ZERO;
+		if (lowerBound.compareTo(upperBound) < 0) {
+			result = switch (integrationMethod) {
+				case TANH_SINH -> integrateTanhSinh(integrand, lowerBound, upperBound, tolerance.toBigDecimal(), workingMathContext);
+				case GAUSS_KRONROD -> integrateGaussKronrod(integrand, lowerBound, upperBound, tolerance.toBigDecimal(), workingMathContext);
+			};
 		}
+		if (reversed) {
+			result = result.negate();
+		}
+
+		return new BigNumber(new BigNumber(result.round(mathContext)), locale, mathContext, trigonometricMode);
+	}
+
+	/**
+	 * Integrates with the tanh-sinh rule, halving the step size until two successive estimates agree.
+	 * Every level only adds the nodes that are new at its step size, so no node is evaluated twice.
+	 * The nodes of a level are evaluated in parallel.
+	 *
+	 * @param integrand          the compiled integrand
+	 * @param lowerBound         the lower bound
+	 * @param upperBound         the upper bound, greater than the lower bound
+	 * @param tolerance          the requested relative error
+	 * @param workingMathContext the working precision
+	 * @return the integral
+	 * @throws ArithmeticException if the estimates still differ at {@link #MAX_TANH_SINH_LEVEL}
+	 */
+	private static BigDecimal integrateTanhSinh(final Integrand integrand, final BigDecimal lowerBound, final BigDecimal upperBound, final BigDecimal tolerance, final MathContext workingMathContext) {
+		final BigDecimal halfLength = upperBound.subtract(lowerBound).divide(TWO, workingMathContext);
 
-		final int steps = 10000;
-		final CalculatorEngine calculator = new CalculatorEngine(mathContext, trigonometricMode);
+		BigDecimal sum = BigDecimal.ZERO;
+		BigDecimal previousEstimate = null;
+		for (int level = 0; level <= MAX_TANH_SINH_LEVEL; level++) {
+			final QuadratureNodes.TanhSinhLevel nodes = QuadratureNodes.tanhSinh(level, workingMathContext);
+			final List<BigDecimal> complements = nodes.complements();
+			final List<BigDecimal> weights = nodes.weights();
+			final boolean containsCenter = level == 0;
 
-		BigNumber h = to.subtract(from).divide(new BigNumber(String.valueOf(steps)), mathContext);
-		BigNumber result = BigNumbers.ZERO;
+			final BigDecimal[] terms = IntStream.range(0, complements.size()).parallel().mapToObj(index -> {
+				// Both abscissae are measured from their end of the interval, so nodes close to an end keep their digits
+				final BigDecimal distance = halfLength.multiply(complements.get(index));
+				BigDecimal value = integrand.evaluate(lowerBound.add(distance));
+				if (!(containsCenter && index == 0)) {
+					value = value.add(integrand.evaluate(upperBound.subtract(distance)), workingMathContext);
+				}
+				return weights.get(index).multiply(value, workingMathContext);
+			}).toArray(BigDecimal[]::new);
 
-		for (int i = 0; i <= steps; i++) {
-			BigNumber x = from.add(h.multiply(new BigNumber(String.valueOf(i))));
-			Map<String, String> vars = new HashMap<>(getCurrentVariables());
-			vars.put("x", x.toString());
+			for (final BigDecimal term : terms) {
+				sum = sum.add(term, workingMathContext);
+			}
+
+			final BigDecimal stepSize = BigDecimal.ONE.divide(TWO.pow(level));
+			final BigDecimal estimate = halfLength.multiply(stepSize).multiply(sum, workingMathContext);
+			if (previousEstimate != null && isWithinTolerance(estimate.subtract(previousEstimate), estimate, tolerance)) {
+				return estimate;
+			}
+
+			previousEstimate = estimate;
+		}
+
+		throw new ArithmeticException("Integral did not converge to the requested tolerance");
+	}
+
+	/**
+	 * Integrates with the adaptive Gauss–Kronrod rule using a global error budget. Every round halves the
+	 * subintervals with the largest error estimates, just enough of them that the errors of the others fit into the
+	 * tolerance, until the summed error of all subintervals does. Only the subintervals that limit the accuracy are
+	 * refined, so a singularity at an end costs a few halvings per digit instead of failing a per-length share of the
+	 * tolerance.
+	 *
+	 * @param integrand          the compiled integrand
+	 * @param lowerBound         the lower bound
+	 * @param upperBound         the upper bound, greater than the lower bound
+	 * @param tolerance          the requested relative error
+	 * @param workingMathContext the working precision
+	 * @return the integral
+	 * @throws ArithmeticException if a subinterval has to be halved more than {@link #MAX_GAUSS_KRONROD_DEPTH} times
+	 *                             or more than {@link #MAX_GAUSS_KRONROD_INTERVALS} subintervals are needed
+	 */
+	private static BigDecimal integrateGaussKronrod(final Integrand integrand, final BigDecimal lowerBound, final BigDecimal upperBound, final BigDecimal tolerance, final MathContext workingMathContext) {
+		final QuadratureNodes.GaussKronrodRule rule = QuadratureNodes.gaussKronrod(GAUSS_KRONROD_ORDER, workingMathContext);
+		List<Subinterval> subintervals = List.of(estimateSubinterval(integrand, rule, lowerBound, upperBound, 0, workingMathContext));
+
+		while (true) {
+			// Summed in the order of the subintervals, so the result does not depend on the number of threads
+			BigDecimal integral = BigDecimal.ZERO;
+			BigDecimal totalError = BigDecimal.ZERO;
+			for (final Subinterval subinterval : subintervals) {
+				integral = integral.add(subinterval.estimate(), workingMathContext);
+				totalError = totalError.add(subinterval.error(), workingMathContext);
+			}
+
+			final BigDecimal absoluteTolerance = tolerance.multiply(integral.abs().max(BigDecimal.ONE));
+			if (totalError.compareTo(absoluteTolerance) <= 0) {
+				return integral;
+			}
+
+			final List<Subinterval> byError = new ArrayList<>(subintervals);
+			byError.sort(Comparator.comparing(Subinterval::error).reversed());
+
+			final Set<Subinterval> toHalve = Collections.newSetFromMap(new IdentityHashMap<>());
+			BigDecimal remainingError = totalError;
+			for (final Subinterval subinterval : byError) {
+				if (remainingError.compareTo(absoluteTolerance) <= 0) {
+					break;
+				}
+				if (subinterval.depth() == MAX_GAUSS_KRONROD_DEPTH) {
+					throw new ArithmeticException("Integral did not converge to the requested tolerance");
+				}
+
+				toHalve.add(subinterval);
+				remainingError = remainingError.subtract(subinterval.error());
+			}
+
+			if (subintervals.size() + toHalve.size() > MAX_GAUSS_KRONROD_INTERVALS) {
+				throw new ArithmeticException("Integral did not converge to the requested tolerance");
+			}
 
-			BigNumber fx = calculator.evaluate(kExpression, vars);
-			if (i == 0 || i == steps) {
-				result = result.add(fx.divide(BigNumbers.TWO, mathContext));
+			final List<Subinterval> parents = subintervals.stream().filter(toHalve::contains).toList();
+			final List<Subinterval> halves = new GaussKronrodTask(integrand, rule, parents, 0, 2 * parents.size(), workingMathContext).invoke();
+
+			final List<Subinterval> refined = new ArrayList<>(subintervals.size() + halves.size() / 2);
+			int halfIndex = 0;
+			for (final Subinterval subinterval : subintervals) {
+				if (toHalve.contains(subinterval)) {
+					refined.add(halves.get(halfIndex++));
+					refined.add(halves.get(halfIndex++));
+				} else {
+					refined.add(subinterval);
+				}
+			}
+			subintervals = refined;
+		}
+	}
+
+	/**
+	 * A subinterval of the adaptive Gauss–Kronrod rule with its estimates.
+	 *
+	 * @param lowerBound the lower bound
+	 * @param upperBound the upper bound
+	 * @param depth      the number of halvings that produced the subinterval
+	 * @param estimate   the Kronrod estimate of the integral over the subinterval
+	 * @param error      the difference to the Gauss estimate
+	 */
+	private record Subinterval(BigDecimal lowerBound, BigDecimal upperBound, int depth, BigDecimal estimate, BigDecimal error) {
+	}
+
+	/**
+	 * Applies the Gauss–Kronrod rule to a subinterval.
+	 *
+	 * @param integrand          the compiled integrand
+	 * @param rule               the rule on {@code [-1, 1]}
+	 * @param lowerBound         the lower bound of the subinterval
+	 * @param upperBound         the upper bound of the subinterval
+	 * @param depth              the number of halvings that produced the subinterval
+	 * @param workingMathContext the working precision
+	 * @return the subinterval with its estimates
+	 */
+	private static Subinterval estimateSubinterval(final Integrand integrand, final QuadratureNodes.GaussKronrodRule rule, final BigDecimal lowerBound, final BigDecimal upperBound, final int depth, final MathContext workingMathContext) {
+		final BigDecimal[] estimate = estimateGaussKronrod(integrand, rule, lowerBound, upperBound, workingMathContext);
+		return new Subinterval(lowerBound, upperBound, depth, estimate[0], estimate[1]);
+	}
+
+	/**
+	 * Applies the Gauss–Kronrod rule to a single interval.
+	 *
+	 * @param integrand          the compiled integrand
+	 * @param rule               the rule on {@code [-1, 1]}
+	 * @param lowerBound         the lower bound of the interval
+	 * @param upperBound         the upper bound of the interval
+	 * @param workingMathContext the working precision
+	 * @return the Kronrod estimate and the difference to the Gauss estimate as error estimate
+	 */
+	private static BigDecimal[] estimateGaussKronrod(final Integrand integrand, final QuadratureNodes.GaussKronrodRule rule, final BigDecimal lowerBound, final BigDecimal upperBound, final MathContext workingMathContext) {
+		final BigDecimal center = lowerBound.add(upperBound).divide(TWO, workingMathContext);
+		final BigDecimal halfLength = upperBound.subtract(lowerBound).divide(TWO, workingMathContext);
+
+		BigDecimal kronrodSum = BigDecimal.ZERO;
+		BigDecimal gaussSum = BigDecimal.ZERO;
+		for (int index = 0; index < rule.nodes().size(); index++) {
+			final BigDecimal node = rule.nodes().get(index);
+			BigDecimal value;
+			if (node.signum() == 0) {
+				value = integrand.evaluate(center);
 			} else {
-				result = result.add(fx);
+				final BigDecimal offset = halfLength.multiply(node, workingMathContext);
+				value = integrand.evaluate(center.subtract(offset)).add(integrand.evaluate(center.add(offset)), workingMathContext);
+			}
+
+			kronrodSum = kronrodSum.add(rule.kronrodWeights().get(index).multiply(value, workingMathContext), workingMathContext);
+			gaussSum = gaussSum.add(rule.gaussWeights().get(index).multiply(value, workingMathContext), workingMathContext);
+		}
+
+		final BigDecimal kronrodEstimate = halfLength.multiply(kronrodSum, workingMathContext);
+		final BigDecimal gaussEstimate = halfLength.multiply(gaussSum, workingMathContext);
+		return new BigDecimal[]{kronrodEstimate, kronrodEstimate.subtract(gaussEstimate).abs()};
+	}
+
+	private static boolean isWithinTolerance(final BigDecimal error, final BigDecimal estimate, final BigDecimal tolerance) {
+		return error.abs().compareTo(tolerance.multiply(estimate.abs().max(BigDecimal.ONE))) <= 0;
+	}
+
+	/**
+	 * Estimates the halves of the subintervals one round of the adaptive Gauss–Kronrod rule refines, on a
+	 * {@link java.util.concurrent.ForkJoinPool}. The task covers the halves {@code start} to {@code end - 1}, where
+	 * half {@code 2 * i} and {@code 2 * i + 1} are the lower and upper half of the {@code i}-th parent, and returns
+	 * them in that order.
+	 */
+	private static final class GaussKronrodTask extends RecursiveTask<List<Subinterval>> {
+
+		private final Integrand integrand;
+		private final QuadratureNodes.GaussKronrodRule rule;
+		private final List<Subinterval> parents;
+		private final int start;
+		private final int end;
+		private final MathContext workingMathContext;
+
+		private GaussKronrodTask(final Integrand integrand, final QuadratureNodes.GaussKronrodRule rule, final List<Subinterval> parents, final int start, final int end, final MathContext workingMathContext) {
+			this.integrand = integrand;
+			this.rule = rule;
+			this.parents = parents;
+			this.start = start;
+			this.end = end;
+			this.workingMathContext = workingMathContext;
+		}
+
+		@Override
+		protected List<Subinterval> compute() {
+			if (end - start == 1) {
+				final Subinterval parent = parents.get(start / 2);
+				final BigDecimal middle = parent.lowerBound().add(parent.upperBound()).divide(TWO, workingMathContext);
+				final boolean lower = start % 2 == 0;
+				return List.of(estimateSubinterval(integrand, rule, lower ? parent.lowerBound() : middle, lower ? middle : parent.upperBound(), parent.depth() + 1, workingMathContext));
+			}
+
+			final int middleIndex = (start + end) >>> 1;
+			final GaussKronrodTask lowerHalf = new GaussKronrodTask(integrand, rule, parents, start, middleIndex, workingMathContext);
+			final GaussKronrodTask upperHalf = new GaussKronrodTask(integrand, rule, parents, middleIndex, end, workingMathContext);
+
+			upperHalf.fork();
+			final List<Subinterval> lowerResult;
+			try {
+				lowerResult = lowerHalf.compute();
+			} catch (RuntimeException | Error e) {
+				// Otherwise the pool would still estimate the upper halves after the integration has failed
+				upperHalf.cancel(false);
+				throw e;
+			}
+
+			final List<Subinterval> result = new ArrayList<>(lowerResult);
+			result.addAll(upperHalf.join());
+			return result;
+		}
+
+	}
+
+	/**
+	 * The compiled integrand, evaluated by binding {@code x} to its only variable slot, or without a value for a
+	 * constant integrand. The nodes are evaluated on
+	 * several threads, so the integrand carries the guard of the evaluation it was created in, and every evaluation
+	 * counts as one iteration towards its limits.
+	 */
+	private static final class Integrand {
+
+		private final CompiledExpression expression;
+		private final EvaluationGuard guard;
+
+		private Integrand(final CompiledExpression expression) {
+			if (!expression.getVariableNames().isEmpty() && !expression.getVariableNames().equals(List.of("x"))) {
+				throw new IllegalArgumentException("Expression must not contain variables other than 'x'");
 			}
+
+			this.expression = expression;
+			this.guard = EvaluationGuard.current();
+		}
+
+		private BigDecimal evaluate(final BigDecimal x) {
+			return EvaluationGuard.runWith(guard, () -> {
+				EvaluationGuard.countIterations(1);
+				return (expression.getVariableNames().isEmpty() ? expression.evaluate() : expression.evaluate(new BigNumber(x))).toBigDecimal();
+			});
 		}
 
-		result = result.multiply(h).round(mathContext);
-		return new BigNumber(result, locale, mathContext, trigonometricMode);
 	}
 
 }
@@ -26,9 +26,11 @@ package com.mlprograms.justmath.bignumber.math;
 
 import com.mlprograms.justmath.bignumber.BigNumber;
 import com.mlprograms.justmath.bignumber.BigNumbers;
+import com.mlprograms.justmath.bignumber.math.utils.CorrectRounding;
 import com.mlprograms.justmath.bignumber.math.utils.MathUtils;
 import lombok.NonNull;
 
+import java.math.BigDecimal;
 import java.math.MathContext;
 import java.util.Locale;
 
@@ -36,52 +38,44 @@ import static com.mlprograms.justmath.bignumber.BigNumbers.ZERO;
 
 /**
  * Provides high-precision implementations of hyperbolic trigonometric functions for {@link BigNumber}
- * without using {@code BigDecimal}, {@code BigInteger}, or external math libraries.
+ * on top of the string-based arithmetic of {@link BasicMath}.
  *
  * <h2>Definitions</h2>
- * The functions are implemented via their exponential identities:
+ * All functions are derived from a single {@code u = expm1(|x|) = e^{|x|} - 1}:
  * <pre>
- * sinh(x) = (e^x - e^{-x}) / 2
- * cosh(x) = (e^x + e^{-x}) / 2
- * tanh(x) = (e^x - e^{-x}) / (e^x + e^{-x})
- * coth(x) = (e^x + e^{-x}) / (e^x - e^{-x})
+ * q       = u / (u + 1)          = 1 - e^{-|x|}
+ * sinh(x) = (u + q) / 2
+ * cosh(x) = 1 + u * q / 2
+ * tanh(x) = expm1(2x) / (expm1(2x) + 2)
+ * coth(x) = (expm1(2x) + 2) / expm1(2x)
  * </pre>
+ * Signs are restored afterwards ({@code sinh}, {@code tanh} and {@code coth} are odd, {@code cosh} is even).
  *
  * <h2>Performance</h2>
- * For maximum speed, this class computes {@code e^x} and {@code e^{-x}} from a single expensive exponential:
- * <ul>
- *   <li>Compute {@code e^{|x|}} once</li>
- *   <li>Compute {@code e^{-|x|}} as {@code 1 / e^{|x|}}</li>
- *   <li>Swap depending on the sign of {@code x}</li>
- * </ul>
- * This reduces the number of exponential evaluations from 2 to 1 per hyperbolic call.
+ * Each call needs exactly one exponential evaluation and one full division. {@link #sinh(BigNumber, MathContext, Locale)}
+ * and {@link #cosh(BigNumber, MathContext, Locale)} only combine {@code u} and {@code q} into their own result, while
+ * {@link #sinhCosh(BigNumber, MathContext, Locale)} returns both from that same work.
  *
  * <h2>Precision strategy</h2>
- * Intermediate operations may lose a few digits due to cancellation (especially around x≈0). Therefore a small
- * number of guard digits is added to the provided {@link MathContext} for internal computation, while the final
- * result is returned with the caller-provided {@link MathContext}.
+ * {@code e^x - e^{-x}} cancels leading digits for small |x|. Working with {@code expm1} avoids that subtraction entirely:
+ * every intermediate sum above adds values of the same sign, so no guard digits are needed beyond those chosen by
+ * {@link CorrectRounding}, which also re-evaluates a result with more guard digits until its rounding is unambiguous.
  */
 public final class HyperbolicTrigonometricMath {
 
     /**
-     * Number of extra precision digits used for intermediate computations.
-     * <p>
-     * This improves stability for expressions like {@code sinh(0.0001)} where cancellation occurs in
-     * {@code e^x - e^{-x}}.
+     * The constant {@code 0.5}, used to halve values by an exact multiplication instead of a division.
      */
-    private static final int INTERNAL_GUARD_DIGITS = 8;
+    private static final BigNumber ONE_HALF = new BigNumber("0.5", Locale.US);
 
     /**
      * Computes the hyperbolic sine {@code sinh(x)} with the given precision.
      *
      * <p>The implementation uses:
      * <pre>
-     * sinh(x) = (e^x - e^{-x}) / 2
+     * sinh(x) = (u + u / (u + 1)) / 2,  u = expm1(x)
      * </pre>
      *
-     * <p>Performance note:
-     * {@code e^x} and {@code e^{-x}} are derived from a single {@code e^{|x|}} evaluation to reduce runtime.</p>
-     *
      * @param argument    the input value {@code x}; must not be {@code null}
      * @param mathContext the precision and rounding configuration; must not be {@code null} and must have positive precision
      * @param locale      the locale used for parsing/formatting; must not be {@code null}
@@ -96,13 +90,7 @@ public final class HyperbolicTrigonometricMath {
             return ZERO;
         }
 
-        final MathContext internalMathContext = createInternalMathContext(mathContext);
-        final ExponentialPair exponentialPair = computeExponentialPair(argument, internalMathContext, locale);
-
-        final BigNumber numerator = BasicMath.subtract(exponentialPair.expX(), exponentialPair.expNegativeX(), locale);
-        final BigNumber result = divideByTwo(numerator, internalMathContext, locale);
-
-        return rewrapWithRequestedMathContext(result, locale, mathContext);
+        return CorrectRounding.evaluate(workingMathContext -> toWorkingBigDecimal(computeSinh(computeExpm1Terms(argument, workingMathContext, locale), argument, locale), workingMathContext, locale), mathContext, locale);
     }
 
     /**
@@ -110,12 +98,9 @@ public final class HyperbolicTrigonometricMath {
      *
      * <p>The implementation uses:
      * <pre>
-     * cosh(x) = (e^x + e^{-x}) / 2
+     * cosh(x) = 1 + u * (u / (u + 1)) / 2,  u = expm1(|x|)
      * </pre>
      *
-     * <p>Performance note:
-     * {@code e^x} and {@code e^{-x}} are derived from a single {@code e^{|x|}} evaluation to reduce runtime.</p>
-     *
      * @param argument    the input value {@code x}; must not be {@code null}
      * @param mathContext the precision and rounding configuration; must not be {@code null} and must have positive precision
      * @param locale      the locale used for parsing/formatting; must not be {@code null}
@@ -130,26 +115,51 @@ public final class HyperbolicTrigonometricMath {
             return BigNumbers.ONE;
         }
 
-        final MathContext internalMathContext = createInternalMathContext(mathContext);
-        final ExponentialPair exponentialPair = computeExponentialPair(argument, internalMathContext, locale);
+        return CorrectRounding.evaluate(workingMathContext -> toWorkingBigDecimal(computeCosh(computeExpm1Terms(argument, workingMathContext, locale), locale), workingMathContext, locale), mathContext, locale);
+    }
+
+    /**
+     * Computes {@code sinh(x)} and {@code cosh(x)} together with the given precision.
+     *
+     * <p>Both values are derived from the same {@code expm1(|x|)} and the same division, so this is roughly as
+     * expensive as a single call to {@link #sinh(BigNumber, MathContext, Locale)}.</p>
+     *
+     * @param argument    the input value {@code x}; must not be {@code null}
+     * @param mathContext the precision and rounding configuration; must not be {@code null} and must have positive precision
+     * @param locale      the locale used for parsing/formatting; must not be {@code null}
+     * @return both {@code sinh(argument)} and {@code cosh(argument)}, each rounded to the provided precision
+     * @throws NullPointerException     if any parameter is {@code null}
+     * @throws IllegalArgumentException if {@code mathContext} is invalid
+     */
+    public static SinhCosh sinhCosh(@NonNull final BigNumber argument, @NonNull final MathContext mathContext, @NonNull final Locale locale) {
+        MathUtils.checkMathContext(mathContext);
 
-        final BigNumber numerator = BasicMath.add(exponentialPair.expX(), exponentialPair.expNegativeX(), locale);
-        final BigNumber result = divideByTwo(numerator, internalMathContext, locale);
+        if (argument.isEqualTo(ZERO)) {
+            return new SinhCosh(ZERO, BigNumbers.ONE);
+        }
 
-        return rewrapWithRequestedMathContext(result, locale, mathContext);
+        final BigDecimal[] results = CorrectRounding.evaluateAll(workingMathContext -> {
+            final Expm1Terms terms = computeExpm1Terms(argument, workingMathContext, locale);
+            return new BigDecimal[]{
+                    toWorkingBigDecimal(computeSinh(terms, argument, locale), workingMathContext, locale),
+                    toWorkingBigDecimal(computeCosh(terms, locale), workingMathContext, locale)
+            };
+        }, mathContext);
+
+        return new SinhCosh(
+                new BigNumber(results[0].toPlainString(), locale, mathContext).trim(),
+                new BigNumber(results[1].toPlainString(), locale, mathContext).trim()
+        );
     }
 
     /**
      * Computes the hyperbolic tangent {@code tanh(x)} with the given precision.
      *
-     * <p>The implementation uses:
+     * <p>The implementation uses a single division:
      * <pre>
-     * tanh(x) = (e^x - e^{-x}) / (e^x + e^{-x})
+     * tanh(x) = expm1(2x) / (expm1(2x) + 2)
      * </pre>
      *
-     * <p>Performance note:
-     * {@code e^x} and {@code e^{-x}} are derived from a single {@code e^{|x|}} evaluation to reduce runtime.</p>
-     *
      * @param argument    the input value {@code x}; must not be {@code null}
      * @param mathContext the precision and rounding configuration; must not be {@code null} and must have positive precision
      * @param locale      the locale used for parsing/formatting; must not be {@code null}
@@ -164,29 +174,25 @@ public final class HyperbolicTrigonometricMath {
             return ZERO;
         }
 
-        final MathContext internalMathContext = createInternalMathContext(mathContext);
-        final ExponentialPair exponentialPair = computeExponentialPair(argument, internalMathContext, locale);
-
-        final BigNumber numerator = BasicMath.subtract(exponentialPair.expX(), exponentialPair.expNegativeX(), locale);
-        final BigNumber denominator = BasicMath.add(exponentialPair.expX(), exponentialPair.expNegativeX(), locale);
+        return CorrectRounding.evaluate(workingMathContext -> {
+            final BigNumber expm1TwoX = computeExpm1OfTwiceAbsolute(argument, workingMathContext, locale);
+            final BigNumber denominator = BasicMath.add(expm1TwoX, BigNumbers.TWO, locale);
 
-        final BigNumber result = BasicMath.divide(numerator, denominator, internalMathContext, locale);
-        return rewrapWithRequestedMathContext(result, locale, mathContext);
+            final BigNumber result = BasicMath.divideKeepingSmallQuotient(expm1TwoX, denominator, workingMathContext, locale);
+            return toWorkingBigDecimal(applySign(result, argument, locale), workingMathContext, locale);
+        }, mathContext, locale);
     }
 
     /**
      * Computes the hyperbolic cotangent {@code coth(x)} with the given precision.
      *
-     * <p>The implementation uses:
+     * <p>The implementation uses a single division:
      * <pre>
-     * coth(x) = (e^x + e^{-x}) / (e^x - e^{-x})
+     * coth(x) = (expm1(2x) + 2) / expm1(2x)
      * </pre>
      *
      * <p><strong>Domain restriction:</strong> coth(x) is undefined for {@code x = 0}.</p>
      *
-     * <p>Performance note:
-     * {@code e^x} and {@code e^{-x}} are derived from a single {@code e^{|x|}} evaluation to reduce runtime.</p>
-     *
      * @param argument    the input value {@code x}; must not be {@code null} and must not be zero
      * @param mathContext the precision and rounding configuration; must not be {@code null} and must have positive precision
      * @param locale      the locale used for parsing/formatting; must not be {@code null}
@@ -201,64 +207,81 @@ public final class HyperbolicTrigonometricMath {
             throw new IllegalArgumentException("argument cannot be zero");
         }
 
-        final MathContext internalMathContext = createInternalMathContext(mathContext);
-        final ExponentialPair exponentialPair = computeExponentialPair(argument, internalMathContext, locale);
+        return CorrectRounding.evaluate(workingMathContext -> {
+            final BigNumber expm1TwoX = computeExpm1OfTwiceAbsolute(argument, workingMathContext, locale);
+            final BigNumber numerator = BasicMath.add(expm1TwoX, BigNumbers.TWO, locale);
+
+            final BigNumber result = BasicMath.divideKeepingSmallQuotient(numerator, expm1TwoX, workingMathContext, locale);
+            return toWorkingBigDecimal(applySign(result, argument, locale), workingMathContext, locale);
+        }, mathContext, locale);
+    }
 
-        final BigNumber numerator = BasicMath.add(exponentialPair.expX(), exponentialPair.expNegativeX(), locale);
-        final BigNumber denominator = BasicMath.subtract(exponentialPair.expX(), exponentialPair.expNegativeX(), locale);
+    /**
+     * Holds {@code sinh(x)} and {@code cosh(x)} for a given input {@code x}.
+     *
+     * @param sinh the hyperbolic sine
+     * @param cosh the hyperbolic cosine
+     */
+    public record SinhCosh(BigNumber sinh, BigNumber cosh) {
+    }
 
-        final BigNumber result = BasicMath.divide(numerator, denominator, internalMathContext, locale);
-        return rewrapWithRequestedMathContext(result, locale, mathContext);
+    /**
+     * Holds the two terms {@code sinh} and {@code cosh} are combined from.
+     *
+     * @param u {@code expm1(|x|)}
+     * @param q {@code u / (u + 1) = 1 - e^{-|x|}}
+     */
+    private record Expm1Terms(BigNumber u, BigNumber q) {
     }
 
     /**
-     * Holds {@code e^x} and {@code e^{-x}} for a given input {@code x}.
+     * Computes {@code u = expm1(|x|)} and {@code q = u / (u + 1)}, the only division, at the given working precision.
      *
-     * @param expX         computed {@code e^x}
-     * @param expNegativeX computed {@code e^{-x}}
+     * @param argument    the input x; must not be {@code null} and must not be zero
+     * @param mathContext working precision; must not be {@code null}
+     * @param locale      locale for parsing/formatting; must not be {@code null}
+     * @return the unrounded terms {@code u} and {@code q}
      */
-    private record ExponentialPair(BigNumber expX, BigNumber expNegativeX) {
+    private static Expm1Terms computeExpm1Terms(final BigNumber argument, final MathContext mathContext, final Locale locale) {
+        final BigNumber u = BasicMath.expm1(absoluteValue(argument, locale), mathContext, locale);
+        final BigNumber q = BasicMath.divideKeepingSmallQuotient(u, BasicMath.add(u, BigNumbers.ONE, locale), mathContext, locale);
+        return new Expm1Terms(u, q);
     }
 
     /**
-     * Creates an internal {@link MathContext} that adds guard digits on top of the requested precision.
+     * Combines {@code sinh(x) = (u + q) / 2} and restores the sign of x.
      *
-     * <p>This reduces the impact of intermediate rounding when subtracting nearly equal numbers
-     * such as {@code e^x - e^{-x}} for small |x|.</p>
+     * @param terms    the terms computed for |x|; must not be {@code null}
+     * @param argument the input x; must not be {@code null}
+     * @param locale   locale for parsing/formatting; must not be {@code null}
+     * @return unrounded sinh(x)
+     */
+    private static BigNumber computeSinh(final Expm1Terms terms, final BigNumber argument, final Locale locale) {
+        return applySign(BasicMath.multiply(BasicMath.add(terms.u(), terms.q(), locale), ONE_HALF, locale), argument, locale);
+    }
+
+    /**
+     * Combines {@code cosh(x) = 1 + u * q / 2}.
      *
-     * @param requestedMathContext the caller-provided context; must not be {@code null}
-     * @return internal context with increased precision
+     * @param terms  the terms computed for |x|; must not be {@code null}
+     * @param locale locale for parsing/formatting; must not be {@code null}
+     * @return unrounded cosh(x)
      */
-    private static MathContext createInternalMathContext(final MathContext requestedMathContext) {
-        final int requestedPrecision = requestedMathContext.getPrecision();
-        final int internalPrecision = Math.max(10, requestedPrecision + INTERNAL_GUARD_DIGITS);
-        return new MathContext(internalPrecision, requestedMathContext.getRoundingMode());
+    private static BigNumber computeCosh(final Expm1Terms terms, final Locale locale) {
+        return BasicMath.add(BigNumbers.ONE, BasicMath.multiply(BasicMath.multiply(terms.u(), terms.q(), locale), ONE_HALF, locale), locale);
     }
 
     /**
-     * Computes {@code e^x} and {@code e^{-x}} using only one exponential evaluation:
-     * <ol>
-     *   <li>Compute {@code a = |x|}</li>
-     *   <li>Compute {@code expAbs = e^{a}}</li>
-     *   <li>Compute {@code expNegAbs = 1 / expAbs}</li>
-     *   <li>Return (expAbs, expNegAbs) if x >= 0, else swapped</li>
-     * </ol>
+     * Computes {@code expm1(2|x|)}, the common building block of {@code tanh} and {@code coth}.
      *
      * @param argument    the input x; must not be {@code null}
-     * @param mathContext internal precision context; must not be {@code null}
+     * @param mathContext working precision; must not be {@code null}
      * @param locale      locale for parsing/formatting; must not be {@code null}
-     * @return exponential pair (e^x, e^{-x})
+     * @return expm1(2|x|)
      */
-    private static ExponentialPair computeExponentialPair(final BigNumber argument, final MathContext mathContext, final Locale locale) {
+    private static BigNumber computeExpm1OfTwiceAbsolute(final BigNumber argument, final MathContext mathContext, final Locale locale) {
         final BigNumber absoluteArgument = absoluteValue(argument, locale);
-        final BigNumber expAbsolute = BasicMath.exp(absoluteArgument, mathContext, locale);
-
-        final BigNumber expNegativeAbsolute = computeReciprocal(expAbsolute, mathContext, locale);
-
-        if (argument.isNegative()) {
-            return new ExponentialPair(expNegativeAbsolute, expAbsolute);
-        }
-        return new ExponentialPair(expAbsolute, expNegativeAbsolute);
+        return BasicMath.expm1(BasicMath.add(absoluteArgument, absoluteArgument, locale), mathContext, locale);
     }
 
     /**
@@ -279,48 +302,31 @@ public final class HyperbolicTrigonometricMath {
     }
 
     /**
-     * Computes the reciprocal {@code 1/value} with the requested rounding behavior.
+     * Transfers the sign of {@code argument} to a non-negative result of an odd function.
      *
-     * @param value       divisor value; must not be {@code null} and must not be zero
-     * @param mathContext precision and rounding; must not be {@code null}
-     * @param locale      locale used for parsing/formatting; must not be {@code null}
-     * @return 1/value
-     * @throws ArithmeticException if {@code value} is zero
+     * @param nonNegativeResult result computed for |x|; must not be {@code null}
+     * @param argument          the original input x; must not be {@code null}
+     * @param locale            locale for parsing/formatting; must not be {@code null}
+     * @return {@code nonNegativeResult} if x is non-negative, otherwise its negation
      */
-    private static BigNumber computeReciprocal(final BigNumber value, final MathContext mathContext, final Locale locale) {
-        if (value.isEqualTo(ZERO)) {
-            throw new ArithmeticException("Division by zero");
+    private static BigNumber applySign(final BigNumber nonNegativeResult, final BigNumber argument, final Locale locale) {
+        if (!argument.isNegative()) {
+            return nonNegativeResult;
         }
-        return BasicMath.divide(BigNumbers.ONE, value, mathContext, locale);
-    }
-
-    /**
-     * Divides a number by 2 using the general division routine.
-     *
-     * <p>This method exists to keep public methods short and consistent. The divisor is a constant "2".</p>
-     *
-     * @param value       dividend; must not be {@code null}
-     * @param mathContext precision and rounding; must not be {@code null}
-     * @param locale      locale used for parsing/formatting; must not be {@code null}
-     * @return value / 2
-     */
-    private static BigNumber divideByTwo(final BigNumber value, final MathContext mathContext, final Locale locale) {
-        return BasicMath.divide(value, BigNumbers.TWO, mathContext, locale);
+        return BasicMath.subtract(ZERO, nonNegativeResult, locale);
     }
 
     /**
-     * Re-wraps an intermediate {@link BigNumber} result with the caller-provided {@link MathContext}.
-     *
-     * <p>This method does not change the numeric value; it only ensures the returned {@link BigNumber}
-     * carries the requested context if your {@link BigNumber} type stores/uses it.</p>
+     * Converts an intermediate {@link BigNumber} result into a {@link BigDecimal} rounded to the working precision,
+     * as expected by {@link CorrectRounding}.
      *
-     * @param intermediateResult   intermediate computed result; must not be {@code null}
-     * @param locale               locale used for parsing/formatting; must not be {@code null}
-     * @param requestedMathContext context to attach; must not be {@code null}
-     * @return a result BigNumber associated with the requested math context
+     * @param intermediateResult intermediate computed result; must not be {@code null}
+     * @param workingMathContext working precision of the current evaluation attempt; must not be {@code null}
+     * @param locale             locale used for parsing/formatting; must not be {@code null}
+     * @return the intermediate result as {@link BigDecimal}
      */
-    private static BigNumber rewrapWithRequestedMathContext(final BigNumber intermediateResult, final Locale locale, final MathContext requestedMathContext) {
-        return new BigNumber(intermediateResult.toString(), locale, requestedMathContext).trim();
+    private static BigDecimal toWorkingBigDecimal(final BigNumber intermediateResult, final MathContext workingMathContext, final Locale locale) {
+        return new BigNumber(intermediateResult, locale, workingMathContext).toBigDecimal();
     }
 
 }
@@ -27,11 +27,14 @@ package com.mlprograms.justmath.bignumber.math;
 import ch.obermuhlner.math.big.BigDecimalMath;
 import com.mlprograms.justmath.bignumber.BigNumber;
 import com.mlprograms.justmath.bignumber.BigNumbers;
+import com.mlprograms.justmath.bignumber.math.utils.ConstantCache;
+import com.mlprograms.justmath.bignumber.math.utils.CorrectRounding;
 import com.mlprograms.justmath.bignumber.math.utils.MathUtils;
 import lombok.NonNull;
 
 import java.math.BigDecimal;
 import java.math.MathContext;
+import java.math.RoundingMode;
 import java.util.Locale;
 
 import static com.mlprograms.justmath.bignumber.BigNumbers.ZERO;
@@ -44,9 +47,41 @@ import static com.mlprograms.justmath.bignumber.BigNumbers.ZERO;
  * logarithm with arbitrary positive base.
  * All methods accept a {@link MathContext} to control precision and rounding,
  * and a {@link Locale} for formatting the resulting {@link BigNumber}.
+ * Results are rounded to the requested {@link MathContext} via {@link CorrectRounding}, which re-evaluates them with
+ * more guard digits until the rounding is unambiguous.
  */
 public class LogarithmicMath {
 
+	/**
+	 * Working precision (in decimal digits) from which on natural logarithms are computed with the
+	 * arithmetic–geometric mean instead of {@link BigDecimalMath#log(BigDecimal, MathContext)}.
+	 * Below roughly 1500 digits the series-based library implementation is faster.
+	 */
+	private static final int AGM_PRECISION_THRESHOLD = 1500;
+
+	/**
+	 * Extra digits used inside the AGM logarithm on top of the digits lost to cancellation.
+	 */
+	private static final int AGM_GUARD_DIGITS = 10;
+
+	/**
+	 * Safety net for the AGM iteration, which converges quadratically and needs about log₂(bits) steps.
+	 */
+	private static final int AGM_MAX_ITERATIONS = 100;
+
+	/**
+	 * log₂(10), used to convert decimal digits into bits.
+	 */
+	private static final double LOG2_OF_10 = Math.log(10) / Math.log(2);
+
+	/**
+	 * Upper limit of {@link BigDecimal#pow(int)} exponents.
+	 */
+	private static final int MAX_POWER_EXPONENT = 999_999_999;
+
+	private static final BigDecimal TWO = BigDecimal.valueOf(2);
+	private static final BigDecimal FOUR = BigDecimal.valueOf(4);
+
 	/**
 	 * Computes the base‐2 logarithm of the given argument.
 	 * <p>
@@ -78,7 +113,12 @@ public class LogarithmicMath {
 			throw new IllegalArgumentException("Argument to log2 must be positive and non-zero.");
 		}
 
-		return new BigNumber(BigDecimalMath.log2(argument.toBigDecimal(), mathContext).toPlainString(), locale).trim();
+		return CorrectRounding.evaluate(workingMathContext -> {
+			if (workingMathContext.getPrecision() < AGM_PRECISION_THRESHOLD) {
+				return BigDecimalMath.log2(argument.toBigDecimal(), withCancelledDigits(argument.toBigDecimal(), workingMathContext)).round(workingMathContext);
+			}
+			return agmLogarithm(argument.toBigDecimal(), workingMathContext).divide(ConstantCache.ln2(workingMathContext), workingMathContext);
+		}, integerLogarithm(argument.toBigDecimal(), TWO), mathContext, locale);
 	}
 
 	/**
@@ -111,7 +151,12 @@ public class LogarithmicMath {
 			throw new IllegalArgumentException("Argument to log10 must be positive and non-zero.");
 		}
 
-		return new BigNumber(BigDecimalMath.log10(argument.toBigDecimal(), mathContext).toPlainString(), locale).trim();
+		return CorrectRounding.evaluate(workingMathContext -> {
+			if (workingMathContext.getPrecision() < AGM_PRECISION_THRESHOLD) {
+				return BigDecimalMath.log10(argument.toBigDecimal(), withCancelledDigits(argument.toBigDecimal(), workingMathContext)).round(workingMathContext);
+			}
+			return agmLogarithm(argument.toBigDecimal(), workingMathContext).divide(agmLogarithm(BigDecimal.TEN, workingMathContext), workingMathContext);
+		}, integerLogarithm(argument.toBigDecimal(), BigDecimal.TEN), mathContext, locale);
 	}
 
 	/**
@@ -143,8 +188,8 @@ public class LogarithmicMath {
 		if (argument.compareTo(ZERO) <= 0)
 			throw new ArithmeticException("ln(x) undefined for x <= 0");
 
-		BigDecimal result = BigDecimalMath.log(argument.toBigDecimal(), mathContext);
-		return new BigNumber(result.toPlainString(), locale).trim();
+		return CorrectRounding.evaluate(workingMathContext -> naturalLogarithm(argument.toBigDecimal(), workingMathContext),
+				approximation -> argument.isEqualTo(BigNumbers.ONE) ? BigDecimal.ZERO : null, mathContext, locale);
 	}
 
 	/**
@@ -181,11 +226,165 @@ public class LogarithmicMath {
 			throw new IllegalArgumentException("Base must be positive and not equal to 1.");
 		}
 
-		BigDecimal lnNumber = BigDecimalMath.log(number.toBigDecimal(), mathContext);
-		BigDecimal lnBase = BigDecimalMath.log(base.toBigDecimal(), mathContext);
-		BigDecimal result = lnNumber.divide(lnBase, mathContext);
+		return CorrectRounding.evaluate(workingMathContext -> {
+			BigDecimal lnNumber = naturalLogarithm(number.toBigDecimal(), workingMathContext);
+			BigDecimal lnBase = naturalLogarithm(base.toBigDecimal(), workingMathContext);
+			return lnNumber.divide(lnBase, workingMathContext);
+		}, integerLogarithm(number.toBigDecimal(), base.toBigDecimal()), mathContext, locale);
+	}
+
+	/**
+	 * Computes the natural logarithm, choosing the algorithm by precision.
+	 * <p>
+	 * Up to {@link #AGM_PRECISION_THRESHOLD} digits {@link BigDecimalMath#log(BigDecimal, MathContext)} is used,
+	 * above it {@link #agmLogarithm(BigDecimal, MathContext)}.
+	 *
+	 * @param argument
+	 * 	the positive input value x
+	 * @param mathContext
+	 * 	the {@link MathContext} specifying precision and rounding
+	 *
+	 * @return ln(argument)
+	 */
+	private static BigDecimal naturalLogarithm(final BigDecimal argument, final MathContext mathContext) {
+		if (mathContext.getPrecision() < AGM_PRECISION_THRESHOLD) {
+			return BigDecimalMath.log(argument, withCancelledDigits(argument, mathContext)).round(mathContext);
+		}
+		return agmLogarithm(argument, mathContext);
+	}
+
+	/**
+	 * Widens {@code mathContext} by the leading zeros of {@code x − 1}.
+	 * <p>
+	 * {@link BigDecimalMath} computes logarithms to an absolute rather than a relative precision, so for
+	 * arguments close to 1 the small result would otherwise lose one significant digit per leading zero.
+	 *
+	 * @param argument
+	 * 	the positive input value x
+	 * @param mathContext
+	 * 	the {@link MathContext} specifying precision and rounding
+	 *
+	 * @return {@code mathContext} widened by the digits lost to cancellation
+	 */
+	private static MathContext withCancelledDigits(final BigDecimal argument, final MathContext mathContext) {
+		final BigDecimal distanceToOne = argument.subtract(BigDecimal.ONE);
+		if (distanceToOne.signum() == 0) {
+			return mathContext;
+		}
+
+		final int cancelledDigits = Math.max(0, -decimalExponent(distanceToOne));
+		return new MathContext(mathContext.getPrecision() + cancelledDigits, mathContext.getRoundingMode());
+	}
+
+	/**
+	 * Recognizes logarithms with an exact integer result, i.e. arguments that are an integer power of the base.
+	 * <p>
+	 * The approximation is rounded to the nearest integer {@code k} and {@code bᵏ = x} is verified exactly. The
+	 * check is skipped when the digits of {@code bᵏ} would exceed those of {@code x}, so it never costs more than
+	 * a multiplication of numbers the size of the argument.
+	 *
+	 * @param argument
+	 * 	the positive input value x
+	 * @param base
+	 * 	the positive base b (not equal to 1)
+	 *
+	 * @return an {@link CorrectRounding.ExactResult} reporting {@code k} whenever {@code bᵏ = x}
+	 */
+	private static CorrectRounding.ExactResult integerLogarithm(final BigDecimal argument, final BigDecimal base) {
+		final BigDecimal strippedArgument = argument.stripTrailingZeros();
+		final BigDecimal strippedBase = base.stripTrailingZeros();
+
+		return approximation -> {
+			final BigDecimal exponent = approximation.setScale(0, RoundingMode.HALF_EVEN);
+			if (exponent.abs().compareTo(BigDecimal.valueOf(MAX_POWER_EXPONENT)) > 0) {
+				return null;
+			}
+
+			// 1/x has at most about 2.4 times the digits of a terminating x
+			final int absoluteExponent = exponent.abs().intValue();
+			if ((strippedBase.precision() - 1L) * absoluteExponent >= 3L * strippedArgument.precision()) {
+				return null;
+			}
+
+			final BigDecimal power = strippedBase.pow(absoluteExponent);
+			final boolean exact = exponent.signum() >= 0
+					? power.compareTo(strippedArgument) == 0
+					: power.multiply(strippedArgument).compareTo(BigDecimal.ONE) == 0;
+
+			return exact ? exponent : null;
+		};
+	}
+
+	/**
+	 * Computes the natural logarithm via the arithmetic–geometric mean.
+	 * <p>
+	 * The argument is scaled to {@code s = x·2^m} with {@code s > 2^(bits/2)}, for which
+	 * <pre>
+	 * ln(s) ≈ π / (2·AGM(1, 4/s))
+	 * </pre>
+	 * holds to the full working precision, so
+	 * <pre>
+	 * ln(x) = π / (2·AGM(1, 4/s)) − m·ln(2)
+	 * </pre>
+	 * The AGM converges quadratically, which makes the whole computation O(M(n)·log n) compared to the
+	 * series and Newton based methods that dominate at lower precision. π and ln(2) are taken from
+	 * {@link ConstantCache}. The subtraction cancels the digits of {@code m·ln(2)} as well as, for
+	 * arguments close to 1, the leading zeros of {@code x − 1}; both are added to the internal precision.
+	 *
+	 * @param argument
+	 * 	the positive input value x
+	 * @param mathContext
+	 * 	the {@link MathContext} specifying precision and rounding
+	 *
+	 * @return ln(argument)
+	 */
+	private static BigDecimal agmLogarithm(final BigDecimal argument, final MathContext mathContext) {
+		final BigDecimal distanceToOne = argument.subtract(BigDecimal.ONE);
+		if (distanceToOne.signum() == 0) {
+			return BigDecimal.ZERO;
+		}
+
+		final int cancelledDigits = Math.max(0, -decimalExponent(distanceToOne));
+		final int roughPrecision = mathContext.getPrecision() + cancelledDigits + AGM_GUARD_DIGITS;
+		final int bits = (int) Math.ceil(roughPrecision * LOG2_OF_10);
+
+		// decimalExponent(x)·log₂(10) never exceeds log₂(x), so s = x·2^m is at least 2^(bits/2 + 2)
+		final int binaryExponent = (int) Math.floor(decimalExponent(argument) * LOG2_OF_10);
+		final int m = Math.max(0, bits / 2 + 2 - binaryExponent);
+
+		final MathContext internalMathContext = new MathContext(roughPrecision + String.valueOf(m).length());
+		final BigDecimal scaledArgument = argument.multiply(TWO.pow(m), internalMathContext);
+
+		BigDecimal arithmeticMean = BigDecimal.ONE;
+		BigDecimal geometricMean = FOUR.divide(scaledArgument, internalMathContext);
+		final BigDecimal tolerance = BigDecimal.ONE.movePointLeft(internalMathContext.getPrecision());
 
-		return new BigNumber(result.toPlainString(), locale).trim();
+		for (int i = 0; i < AGM_MAX_ITERATIONS; i++) {
+			final BigDecimal nextArithmeticMean = arithmeticMean.add(geometricMean).divide(TWO, internalMathContext);
+			geometricMean = arithmeticMean.multiply(geometricMean, internalMathContext).sqrt(internalMathContext);
+			arithmeticMean = nextArithmeticMean;
+
+			if (arithmeticMean.subtract(geometricMean).abs().compareTo(tolerance.multiply(arithmeticMean)) <= 0) {
+				break;
+			}
+		}
+
+		final BigDecimal lnScaledArgument = ConstantCache.pi(internalMathContext).divide(arithmeticMean.multiply(TWO), internalMathContext);
+		final BigDecimal mLn2 = ConstantCache.ln2(internalMathContext).multiply(BigDecimal.valueOf(m));
+
+		return lnScaledArgument.subtract(mLn2).round(mathContext);
+	}
+
+	/**
+	 * Returns the decimal exponent of a non-zero value, i.e. {@code floor(log10(|value|))}.
+	 *
+	 * @param value
+	 * 	a non-zero value
+	 *
+	 * @return the decimal exponent
+	 */
+	private static int decimalExponent(final BigDecimal value) {
+		return value.precision() - value.scale() - 1;
 	}
 
 }
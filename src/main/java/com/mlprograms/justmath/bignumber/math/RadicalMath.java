@@ -26,20 +26,29 @@ package com.mlprograms.justmath.bignumber.math;
 
 import ch.obermuhlner.math.big.BigDecimalMath;
 import com.mlprograms.justmath.bignumber.BigNumber;
+import com.mlprograms.justmath.bignumber.math.utils.CorrectRounding;
 import com.mlprograms.justmath.bignumber.math.utils.MathUtils;
 import lombok.NonNull;
 
 import java.math.BigDecimal;
 import java.math.MathContext;
+import java.math.RoundingMode;
 import java.util.Locale;
 
 import static com.mlprograms.justmath.bignumber.BigNumbers.*;
 
 /**
  * Provides mathematical operations for calculating roots of numbers (radicals).
+ * Results are rounded to the requested {@link MathContext} via {@link CorrectRounding}, which re-evaluates them with
+ * more guard digits until the rounding is unambiguous.
  */
 public class RadicalMath {
 
+	/**
+	 * Upper limit of {@link BigDecimal#pow(int)} exponents.
+	 */
+	private static final int MAX_POWER_EXPONENT = 999_999_999;
+
 	/**
 	 * Calculates the square root of the given radicand.
 	 * <p>
@@ -123,27 +132,65 @@ public class RadicalMath {
 			throw new IllegalArgumentException("Index must not be zero");
 		}
 
-		if (index.isNegative()) {
-			BigNumber positiveIndex = index.negate();
-			BigNumber positiveRoot = nthRoot(radicand, positiveIndex, mathContext, locale);
-			return ONE.divide(positiveRoot, mathContext, locale).trim();
-		}
+		boolean indexIsNegative = index.isNegative();
+		BigDecimal positiveIndex = index.toBigDecimal().abs();
 
-		boolean isEvenRoot = index.isInteger() && index.toBigDecimal().remainder(BigDecimal.valueOf(2)).compareTo(BigDecimal.ZERO) == 0;
+		boolean isEvenRoot = index.isInteger() && positiveIndex.remainder(BigDecimal.valueOf(2)).compareTo(BigDecimal.ZERO) == 0;
 		boolean radicandIsNegative = radicand.isNegative();
 
 		if (radicandIsNegative && isEvenRoot) {
 			throw new IllegalArgumentException("Even root of a negative number is not a real number");
 		}
 
-		if (radicandIsNegative) {
-			BigDecimal absValue = radicand.toBigDecimal().negate();  // |-x|
-			BigDecimal root = BigDecimalMath.root(absValue, index.toBigDecimal(), mathContext);
-			return new BigNumber(root.negate().toPlainString(), locale, mathContext).trim();
+		BigDecimal absValue = radicand.toBigDecimal().abs();  // |x|
+
+		return CorrectRounding.evaluate(workingMathContext -> {
+			BigDecimal root = BigDecimalMath.root(absValue, positiveIndex, workingMathContext);
+			if (indexIsNegative) {
+				root = BigDecimal.ONE.divide(root, workingMathContext);
+			}
+			return radicandIsNegative ? root.negate() : root;
+		}, exactRoot(absValue, index.toBigDecimal()), mathContext, locale);
+	}
+
+	/**
+	 * Recognizes roots with an exactly representable result, such as {@code √4} or {@code ∛1.030301}.
+	 * <p>
+	 * The approximation is rounded to two digits less than it carries and {@code rⁿ = |x|} (or {@code rⁿ·|x| = 1}
+	 * for a negative index) is verified exactly. Only integer indices are checked, and the check is skipped when
+	 * the digits of {@code rⁿ} would exceed those of the radicand.
+	 *
+	 * @param absValue
+	 * 	the absolute value of the radicand
+	 * @param index
+	 * 	the degree of the root (n)
+	 *
+	 * @return an {@link CorrectRounding.ExactResult} reporting the root whenever it is exact
+	 */
+	private static CorrectRounding.ExactResult exactRoot(final BigDecimal absValue, final BigDecimal index) {
+		if (index.stripTrailingZeros().scale() > 0 || index.abs().compareTo(BigDecimal.valueOf(MAX_POWER_EXPONENT)) > 0) {
+			return CorrectRounding.ExactResult.NONE;
 		}
 
-		BigDecimal result = BigDecimalMath.root(radicand.toBigDecimal(), index.toBigDecimal(), mathContext);
-		return new BigNumber(result.toPlainString(), locale, mathContext).trim();
+		final int absoluteIndex = index.abs().intValue();
+		final BigDecimal strippedRadicand = absValue.stripTrailingZeros();
+
+		return approximation -> {
+			final BigDecimal candidate = approximation.round(new MathContext(Math.max(1, approximation.precision() - 2), RoundingMode.HALF_EVEN)).stripTrailingZeros();
+			final BigDecimal absoluteCandidate = candidate.abs();
+
+			// 1/x has at most about 2.4 times the digits of a terminating x
+			if ((absoluteCandidate.precision() - 1L) * absoluteIndex >= 3L * strippedRadicand.precision()) {
+				return null;
+			}
+
+			final BigDecimal power = absoluteCandidate.pow(absoluteIndex);
+			final boolean exact = index.signum() > 0
+					? power.compareTo(strippedRadicand) == 0
+					: power.multiply(strippedRadicand).compareTo(BigDecimal.ONE) == 0;
+
+			return exact ? candidate : null;
+		};
 	}
 
 }
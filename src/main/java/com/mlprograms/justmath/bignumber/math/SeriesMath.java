@@ -28,6 +28,8 @@ import com.mlprograms.justmath.bignumber.BigNumber;
 import com.mlprograms.justmath.bignumber.BigNumbers;
 import com.mlprograms.justmath.bignumber.math.utils.MathUtils;
 import com.mlprograms.justmath.calculator.CalculatorEngine;
+import com.mlprograms.justmath.calculator.CompiledExpression;
+import com.mlprograms.justmath.calculator.EvaluationGuard;
 import com.mlprograms.justmath.calculator.internal.TrigonometricMode;
 import com.mlprograms.justmath.calculator.expression.ExpressionElements;
 
@@ -35,16 +37,100 @@ import lombok.NonNull;
 
 import java.math.MathContext;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-
-import static com.mlprograms.justmath.calculator.CalculatorEngine.getCurrentVariables;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
 
 /**
  * Utility class for performing mathematical series operations with arbitrary precision.
  */
 public class SeriesMath {
 
+    /**
+     * Number of compiled series terms kept for reuse.
+     */
+    private static final int COMPILED_TERM_CACHE_SIZE = 64;
+
+    /**
+     * The range of {@code k} that is counted with a primitive {@code long}.
+     */
+    private static final BigNumber LONG_COUNTER_MIN = new BigNumber(Long.MIN_VALUE);
+    private static final BigNumber LONG_COUNTER_MAX = new BigNumber(Long.MAX_VALUE - 1);
+
+    /**
+     * Number of consecutive terms a single task of a parallel series evaluates.
+     */
+    private static final int PARALLEL_CHUNK_SIZE = 1024;
+
+    /**
+     * Compiled series terms of the most recently evaluated series, the least recently used first.
+     */
+    private static final Map<CompiledTermKey, CompiledExpression> compiledTerms = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<CompiledTermKey, CompiledExpression> eldest) {
+            return size() > COMPILED_TERM_CACHE_SIZE;
+        }
+    };
+
+    /**
+     * Identifies a compiled series term; the same term compiles differently for other math contexts or modes, and
+     * series nested in the term are evaluated with the parallelism of the outer series.
+     */
+    private record CompiledTermKey(String kCalculation, MathContext mathContext, TrigonometricMode trigonometricMode, Parallelism parallelism) {
+    }
+
+    /**
+     * Decides when and where a series is evaluated in parallel. A {@link CalculatorEngine} passes its own settings
+     * (see {@link CalculatorEngine#withSeriesParallelism(Parallelism)}) to every series it evaluates, so engines with
+     * different settings do not affect each other.
+     *
+     * @param threshold the number of terms from which on a series with a deterministic term is evaluated in parallel;
+     *                  smaller series are evaluated on the calling thread, {@link Long#MAX_VALUE} never evaluates in
+     *                  parallel
+     * @param pool      the pool parallel series are evaluated on; it is not shut down by this class
+     */
+    public record Parallelism(long threshold, @NonNull ForkJoinPool pool) {
+
+        /**
+         * Series of at least 100,000 terms are evaluated on the {@link ForkJoinPool#commonPool()}.
+         */
+        public static final Parallelism DEFAULT = new Parallelism(100_000, ForkJoinPool.commonPool());
+
+        /**
+         * @throws IllegalArgumentException if {@code threshold} is less than 1
+         */
+        public Parallelism {
+            if (threshold < 1) {
+                throw new IllegalArgumentException("Parallel threshold must be at least 1: " + threshold);
+            }
+        }
+
+        /**
+         * Returns a copy of these settings with the given threshold.
+         *
+         * @param threshold the minimum number of terms of a parallel series
+         * @return the new settings
+         */
+        public Parallelism withThreshold(final long threshold) {
+            return new Parallelism(threshold, pool);
+        }
+
+        /**
+         * Returns a copy of these settings with the given pool.
+         *
+         * @param pool the fork-join pool
+         * @return the new settings
+         */
+        public Parallelism withPool(@NonNull final ForkJoinPool pool) {
+            return new Parallelism(threshold, pool);
+        }
+
+    }
+
     /**
      * Evaluates and prints the result of a summation expression over an integer range, similar to the mathematical
      * sigma notation ∑ (summation sign). The variable {@code k} is used as the iteration variable in the expression.
@@ -113,23 +199,30 @@ public class SeriesMath {
      * @see TrigonometricMode
      */
     public static BigNumber summation(@NonNull final BigNumber kStart, @NonNull final BigNumber kEnd, @NonNull final String kCalculation, @NonNull final MathContext mathContext, @NonNull final TrigonometricMode trigonometricMode, @NonNull final Locale locale, @NonNull final Map<String, String> externalVariables) {
-        checkParams(kStart, kEnd, kCalculation, mathContext, externalVariables);
-
-        CalculatorEngine calculatorEngine = new CalculatorEngine(mathContext, trigonometricMode);
-
-        BigNumber result = BigNumbers.ZERO;
-        BigNumber kStartClone = kStart.clone();
-
-        while (kStartClone.isLessThanOrEqualTo(kEnd)) {
-            Map<String, String> combinedVariables = new HashMap<>(getCurrentVariables());
-            combinedVariables.putAll(externalVariables);
-            combinedVariables.put(ExpressionElements.K_SERIES_MATH_VARIABLE, kStartClone.toString());
+        return summation(kStart, kEnd, kCalculation, mathContext, trigonometricMode, locale, externalVariables, Parallelism.DEFAULT);
+    }
 
-            BigNumber currentCalculation = calculatorEngine.evaluate(kCalculation, combinedVariables);
-            result = result.add(currentCalculation);
-            kStartClone = kStartClone.add(BigNumbers.ONE);
-        }
+    /**
+     * Evaluates a summation like {@link #summation(BigNumber, BigNumber, String, MathContext, TrigonometricMode, Locale, Map)},
+     * evaluating large ranges in parallel according to the given settings.
+     *
+     * @param kStart            The lower bound of the summation range (inclusive). Must be an integer.
+     * @param kEnd              The upper bound of the summation range (inclusive). Must be an integer and not less than {@code kStart}.
+     * @param kCalculation      A mathematical expression as a string that includes the variable {@code "k"}.
+     * @param mathContext       The {@link MathContext} to define precision and rounding for the calculations.
+     * @param trigonometricMode The {@link TrigonometricMode} used if trigonometric functions are involved.
+     * @param locale            The {@link Locale} used to format {@code BigNumber} values.
+     * @param externalVariables A map of external variable names with the expressions defining their values.
+     * @param parallelism       Decides when and where the range is evaluated in parallel.
+     * @return the result of the summation
+     * @throws IllegalArgumentException If {@code kCalculation} does not contain the variable {@code "k"}.
+     * @throws IllegalArgumentException If {@code kStart} is greater than {@code kEnd}.
+     * @throws IllegalArgumentException If either {@code kStart} or {@code kEnd} is not an integer.
+     */
+    public static BigNumber summation(@NonNull final BigNumber kStart, @NonNull final BigNumber kEnd, @NonNull final String kCalculation, @NonNull final MathContext mathContext, @NonNull final TrigonometricMode trigonometricMode, @NonNull final Locale locale, @NonNull final Map<String, String> externalVariables, @NonNull final Parallelism parallelism) {
+        checkParams(kStart, kEnd, kCalculation, mathContext, externalVariables);
 
+        BigNumber result = accumulate(kStart, kEnd, kCalculation, mathContext, trigonometricMode, externalVariables, parallelism, BigNumbers.ZERO, BigNumber::add);
         return new BigNumber(result, locale, mathContext, trigonometricMode);
     }
 
@@ -291,24 +384,216 @@ public class SeriesMath {
      * @throws IllegalArgumentException if parameters are invalid or the expression cannot be evaluated.
      */
     public static BigNumber product(@NonNull final BigNumber kStart, @NonNull final BigNumber kEnd, @NonNull final String kCalculation, @NonNull final MathContext mathContext, @NonNull final TrigonometricMode trigonometricMode, @NonNull final Locale locale, @NonNull final Map<String, String> externalVariables) {
+        return product(kStart, kEnd, kCalculation, mathContext, trigonometricMode, locale, externalVariables, Parallelism.DEFAULT);
+    }
+
+    /**
+     * Computes a product like {@link #product(BigNumber, BigNumber, String, MathContext, TrigonometricMode, Locale, Map)},
+     * evaluating large ranges in parallel according to the given settings.
+     *
+     * @param kStart            The start integer value of {@code k} (inclusive).
+     * @param kEnd              The end integer value of {@code k} (inclusive).
+     * @param kCalculation      The string expression to evaluate for each {@code k}.
+     * @param mathContext       The MathContext defining precision and rounding.
+     * @param trigonometricMode The trigonometric mode (e.g., radians or degrees).
+     * @param locale            The locale for parsing and formatting numbers.
+     * @param externalVariables Additional variables available in the expression besides {@code k}.
+     * @param parallelism       Decides when and where the range is evaluated in parallel.
+     * @return The computed product as a {@link BigNumber}.
+     * @throws IllegalArgumentException if parameters are invalid or the expression cannot be evaluated.
+     */
+    public static BigNumber product(@NonNull final BigNumber kStart, @NonNull final BigNumber kEnd, @NonNull final String kCalculation, @NonNull final MathContext mathContext, @NonNull final TrigonometricMode trigonometricMode, @NonNull final Locale locale, @NonNull final Map<String, String> externalVariables, @NonNull final Parallelism parallelism) {
         checkParams(kStart, kEnd, kCalculation, mathContext, externalVariables);
 
-        CalculatorEngine calculatorEngine = new CalculatorEngine(mathContext, trigonometricMode);
+        BigNumber result = accumulate(kStart, kEnd, kCalculation, mathContext, trigonometricMode, externalVariables, parallelism, BigNumbers.ONE, BigNumber::multiply);
+        return new BigNumber(result, locale, mathContext, trigonometricMode);
+    }
+
+    /**
+     * Evaluates {@code kCalculation} for every integer {@code k} from {@code kStart} to {@code kEnd} and combines the
+     * terms in order, starting with {@code identity}.
+     * <p>
+     * The term is compiled once (see {@link #compileTerm}) and {@code k} is bound to its variable slot, so the loop
+     * only performs the arithmetic of the term. While the range fits into a {@code long}, {@code k} is counted with a
+     * primitive counter. The external variables are evaluated once up front. Only if one of them may depend on
+     * {@code k} is every term evaluated together with the external variables.
+     * <p>
+     * Ranges of at least {@link Parallelism#threshold()} terms are evaluated in parallel (see {@link SeriesTask}) if
+     * the term is deterministic; a term that draws random numbers is always evaluated in order.
+     *
+     * @param kStart            the first value of {@code k}
+     * @param kEnd              the last value of {@code k}
+     * @param kCalculation      the term to evaluate for each {@code k}
+     * @param mathContext       the math context of the calculation
+     * @param trigonometricMode the trigonometric mode of the calculation
+     * @param externalVariables a map of external variable names with the expressions defining their values
+     * @param parallelism       decides when and where the range is evaluated in parallel
+     * @param identity          the result of an empty range
+     * @param accumulator       combines the result so far with the next term
+     * @return the combined terms
+     */
+    private static BigNumber accumulate(final BigNumber kStart, final BigNumber kEnd, final String kCalculation, final MathContext mathContext, final TrigonometricMode trigonometricMode, final Map<String, String> externalVariables, final Parallelism parallelism, final BigNumber identity, final BinaryOperator<BigNumber> accumulator) {
+        final CalculatorEngine calculatorEngine = new CalculatorEngine(mathContext, trigonometricMode).withSeriesParallelism(parallelism);
+
+        // A variable depends on k only if some definition mentions it, so numeric values are always bound once
+        if (externalVariables.values().stream().anyMatch(definition -> definition.contains(ExpressionElements.K_SERIES_MATH_VARIABLE))) {
+            BigNumber result = identity;
+            for (BigNumber k = kStart; k.isLessThanOrEqualTo(kEnd); k = k.add(BigNumbers.ONE)) {
+                EvaluationGuard.countIterations(1);
+                final Map<String, String> combinedVariables = new HashMap<>(externalVariables);
+                combinedVariables.put(ExpressionElements.K_SERIES_MATH_VARIABLE, k.toString());
+                result = accumulator.apply(result, calculatorEngine.evaluate(kCalculation, combinedVariables));
+            }
+            return result;
+        }
+
+        final CompiledExpression term = compileTerm(kCalculation, mathContext, trigonometricMode, parallelism);
+        final List<String> variableNames = term.getVariableNames();
+        final BigNumber[] variableValues = new BigNumber[variableNames.size()];
 
-        BigNumber result = BigNumbers.ONE;
-        BigNumber kStartClone = kStart.clone();
+        int kSlot = -1;
+        for (int slot = 0; slot < variableValues.length; slot++) {
+            if (variableNames.get(slot).equals(ExpressionElements.K_SERIES_MATH_VARIABLE)) {
+                kSlot = slot;
+            } else {
+                variableValues[slot] = calculatorEngine.evaluate(variableNames.get(slot), externalVariables);
+            }
+        }
 
-        while (kStartClone.isLessThanOrEqualTo(kEnd)) {
-            Map<String, String> combinedVariables = new HashMap<>(getCurrentVariables());
-            combinedVariables.putAll(externalVariables);
-            combinedVariables.put(ExpressionElements.K_SERIES_MATH_VARIABLE, kStartClone.toString());
+        // The slot stays unused if k only occurs as part of another name
+        if (kStart.isGreaterThanOrEqualTo(LONG_COUNTER_MIN) && kEnd.isLessThanOrEqualTo(LONG_COUNTER_MAX)) {
+            final long kStartValue = kStart.toBigDecimal().longValueExact();
+            final long kEndValue = kEnd.toBigDecimal().longValueExact();
 
-            BigNumber currentCalculation = calculatorEngine.evaluate(kCalculation, combinedVariables);
-            result = result.multiply(currentCalculation);
-            kStartClone = kStartClone.add(BigNumbers.ONE);
+            // The difference of the bounds is read unsigned, since the range may exceed Long.MAX_VALUE terms
+            if (term.isDeterministic() && Long.compareUnsigned(kEndValue - kStartValue, parallelism.threshold() - 1) >= 0) {
+                return parallelism.pool().invoke(new SeriesTask(term, variableValues, kSlot, kStartValue, kEndValue, identity, accumulator, EvaluationGuard.current()));
+            }
+
+            return accumulateRange(term, variableValues, kSlot, kStartValue, kEndValue, identity, accumulator);
         }
 
-        return new BigNumber(result, locale, mathContext, trigonometricMode);
+        BigNumber result = identity;
+        for (BigNumber k = kStart; k.isLessThanOrEqualTo(kEnd); k = k.add(BigNumbers.ONE)) {
+            EvaluationGuard.countIterations(1);
+            if (kSlot >= 0) {
+                variableValues[kSlot] = k;
+            }
+            result = accumulator.apply(result, term.evaluate(variableValues));
+        }
+        return result;
+    }
+
+    /**
+     * Evaluates the compiled term for every {@code k} from {@code kStart} to {@code kEnd} and combines the terms in
+     * order, starting with {@code identity}.
+     *
+     * @param term           the compiled term
+     * @param variableValues the values of the variable slots of the term; the slot of {@code k} is overwritten
+     * @param kSlot          the variable slot of {@code k}, or {@code -1} if the term does not use it
+     * @param kStart         the first value of {@code k}
+     * @param kEnd           the last value of {@code k}
+     * @param identity       the result of an empty range
+     * @param accumulator    combines the result so far with the next term
+     * @return the combined terms
+     */
+    private static BigNumber accumulateRange(final CompiledExpression term, final BigNumber[] variableValues, final int kSlot, final long kStart, final long kEnd, final BigNumber identity, final BinaryOperator<BigNumber> accumulator) {
+        BigNumber result = identity;
+        for (long k = kStart; k <= kEnd; k++) {
+            EvaluationGuard.countIterations(1);
+            if (kSlot >= 0) {
+                variableValues[kSlot] = new BigNumber(k);
+            }
+            result = accumulator.apply(result, term.evaluate(variableValues));
+        }
+        return result;
+    }
+
+    /**
+     * Evaluates a range of a series on a {@link ForkJoinPool}.
+     * <p>
+     * The range is halved until a part has at most {@link #PARALLEL_CHUNK_SIZE} terms. Every part combines its terms
+     * in order into a partial result, and the partial results of both halves are combined with each other. The
+     * partial results are therefore reduced pairwise along a tree, which also keeps the operands of the
+     * multiplications of a product of similar size. The tree only depends on the range, so the result is the same
+     * for any number of threads.
+     * <p>
+     * The tasks run under the guard of the evaluation that started the series, so its limits apply to all terms.
+     */
+    private static final class SeriesTask extends RecursiveTask<BigNumber> {
+
+        private final CompiledExpression term;
+        private final BigNumber[] variableValues;
+        private final int kSlot;
+        private final long kStart;
+        private final long kEnd;
+        private final BigNumber identity;
+        private final BinaryOperator<BigNumber> accumulator;
+        private final EvaluationGuard guard;
+
+        private SeriesTask(final CompiledExpression term, final BigNumber[] variableValues, final int kSlot, final long kStart, final long kEnd, final BigNumber identity, final BinaryOperator<BigNumber> accumulator, final EvaluationGuard guard) {
+            this.term = term;
+            this.variableValues = variableValues;
+            this.kSlot = kSlot;
+            this.kStart = kStart;
+            this.kEnd = kEnd;
+            this.identity = identity;
+            this.accumulator = accumulator;
+            this.guard = guard;
+        }
+
+        @Override
+        protected BigNumber compute() {
+            // Read unsigned like the range check, so halving cannot overflow either
+            final long termCountMinusOne = kEnd - kStart;
+            if (Long.compareUnsigned(termCountMinusOne, PARALLEL_CHUNK_SIZE - 1) < 0) {
+                return EvaluationGuard.runWith(guard, () -> accumulateRange(term, variableValues.clone(), kSlot, kStart, kEnd, identity, accumulator));
+            }
+
+            final long kMiddle = kStart + (termCountMinusOne >>> 1);
+            final SeriesTask lowerHalf = new SeriesTask(term, variableValues, kSlot, kStart, kMiddle, identity, accumulator, guard);
+            final SeriesTask upperHalf = new SeriesTask(term, variableValues, kSlot, kMiddle + 1, kEnd, identity, accumulator, guard);
+
+            upperHalf.fork();
+            final BigNumber lowerResult;
+            try {
+                lowerResult = lowerHalf.compute();
+            } catch (RuntimeException | Error e) {
+                // Otherwise the pool would still evaluate the whole upper half after the series has failed
+                upperHalf.cancel(false);
+                throw e;
+            }
+            return accumulator.apply(lowerResult, upperHalf.join());
+        }
+
+    }
+
+    /**
+     * Returns the compiled form of a series term, compiling and caching it if it has not been used recently.
+     * The cache lets a series nested in the term of another series (e.g. {@code summation(1;3;product(1;2;k+1))})
+     * be compiled once instead of once per term of the outer series.
+     *
+     * @param kCalculation      the term
+     * @param mathContext       the math context the term is evaluated with
+     * @param trigonometricMode the trigonometric mode the term is evaluated with
+     * @param parallelism       the parallelism of series nested in the term
+     * @return the compiled term
+     */
+    private static CompiledExpression compileTerm(final String kCalculation, final MathContext mathContext, final TrigonometricMode trigonometricMode, final Parallelism parallelism) {
+        final CompiledTermKey key = new CompiledTermKey(kCalculation, mathContext, trigonometricMode, parallelism);
+        synchronized (compiledTerms) {
+            final CompiledExpression compiledTerm = compiledTerms.get(key);
+            if (compiledTerm != null) {
+                return compiledTerm;
+            }
+        }
+
+        final CompiledExpression compiledTerm = new CalculatorEngine(mathContext, trigonometricMode).withSeriesParallelism(parallelism).compile(kCalculation);
+        synchronized (compiledTerms) {
+            compiledTerms.put(key, compiledTerm);
+        }
+
+        return compiledTerm;
     }
 
     /**
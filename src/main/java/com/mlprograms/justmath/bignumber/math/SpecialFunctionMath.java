@@ -26,10 +26,18 @@ package com.mlprograms.justmath.bignumber.math;
 
 import ch.obermuhlner.math.big.BigDecimalMath;
 import com.mlprograms.justmath.bignumber.BigNumber;
+import com.mlprograms.justmath.bignumber.math.utils.ConstantCache;
+import com.mlprograms.justmath.bignumber.math.utils.CorrectRounding;
+import com.mlprograms.justmath.bignumber.math.utils.MathUtils;
 import lombok.NonNull;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.math.MathContext;
+import java.math.RoundingMode;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Provides implementations of special functions from advanced mathematics,
@@ -38,11 +46,56 @@ import java.util.Locale;
  * These functions extend and generalize factorials and combinatorics,
  * and are widely used in fields such as calculus, number theory,
  * probability theory, and statistics.
+ * <p>
+ * The Gamma function is evaluated in-house, choosing the cheapest method for the argument:
+ * <ul>
+ *     <li>integers and half-integers: exact factorials, times {@code √π} for half-integers</li>
+ *     <li>large arguments: Stirling's series with cached Bernoulli numbers</li>
+ *     <li>moderate arguments: Spouge's approximation with coefficients cached per precision</li>
+ *     <li>arguments below {@code 1/2}: the reflection formula</li>
+ * </ul>
  */
 public class SpecialFunctionMath {
 
 	/**
-	 * Computes the Gamma function Γ(x) using the Lanczos approximation.
+	 * Largest |x| for which integer and half-integer arguments are evaluated exactly via factorials.
+	 * Beyond it the exact products have more digits than any reasonable precision needs.
+	 */
+	private static final int FACTORIAL_PATH_MAX_ARGUMENT = 1000;
+
+	/**
+	 * Stirling's series is used for {@code x >= STIRLING_THRESHOLD_FACTOR * precision}. Its smallest term is about
+	 * {@code e^(-2πx)}, which is then far below the requested precision.
+	 */
+	private static final double STIRLING_THRESHOLD_FACTOR = 0.5;
+
+	/**
+	 * Lower bound for the Stirling threshold, so that very low precisions do not push small arguments into the
+	 * asymptotic series.
+	 */
+	private static final double STIRLING_MIN_ARGUMENT = 10;
+
+	/**
+	 * Extra digits used inside the composite formulas (reflection, Spouge, Stirling), so that their combined
+	 * rounding errors stay well within the error bound expected by {@link CorrectRounding}.
+	 */
+	private static final int INTERNAL_GUARD_DIGITS = 5;
+
+	private static final BigDecimal HALF = new BigDecimal("0.5");
+	private static final BigDecimal TWO = BigDecimal.valueOf(2);
+
+	/**
+	 * Spouge coefficients, keyed by the precision they were computed for.
+	 */
+	private static final Map<Integer, SpougeCoefficients> SPOUGE_COEFFICIENTS = new ConcurrentHashMap<>();
+
+	/**
+	 * Cached Bernoulli numbers {@code B_2, B_4, ...} as reduced fractions {@code {numerator, denominator}}.
+	 */
+	private static volatile BigInteger[][] bernoulliNumbers = new BigInteger[0][];
+
+	/**
+	 * Computes the Gamma function Γ(x).
 	 * <p>
 	 * The Gamma function is a generalization of the factorial function to real and complex numbers.
 	 * For all positive integers n, the identity holds:
@@ -56,8 +109,8 @@ public class SpecialFunctionMath {
 	 * </pre>
 	 * The Gamma function is undefined for non-positive integers due to the presence of simple poles.
 	 * <p>
-	 * This implementation uses the Lanczos approximation, which is a numerically stable and accurate
-	 * approximation suitable for arbitrary-precision arithmetic. For arguments with {@code x < 0},
+	 * Integer and half-integer arguments are evaluated exactly from factorials. Large arguments use Stirling's
+	 * series, moderate arguments Spouge's approximation. For arguments with {@code x < 1/2},
 	 * the reflection formula is applied:
 	 * <pre>
 	 *     Γ(x) = π / (sin(πx) · Γ(1 - x))
@@ -69,7 +122,8 @@ public class SpecialFunctionMath {
 	 *     <li>Γ(x+1) = x · Γ(x)</li>
 	 *     <li>Γ(1) = 1, Γ(1/2) = √π</li>
 	 *     <li>The function grows rapidly for large x (super-exponential growth).</li>
-	 *     <li>The logarithm of Γ(x) is often used for numerical stability in applications.</li>
+	 *     <li>The logarithm of Γ(x) is often used for numerical stability in applications,
+	 *     see {@link #logGamma(BigNumber, MathContext, Locale)}.</li>
 	 * </ul>
 	 *
 	 * @param x
@@ -83,18 +137,56 @@ public class SpecialFunctionMath {
 	 * 	If {@code x} is a non-positive integer, where Γ(x) is undefined.
 	 */
 	public static BigNumber gamma(@NonNull final BigNumber x, @NonNull final MathContext mathContext, @NonNull final Locale locale) {
-		// BigNumber xClone = x.clone();
+		MathUtils.checkMathContext(mathContext);
+
+		final BigDecimal value = x.toBigDecimal();
+		checkGammaArgument(value);
 
-		//	if (xClone.isInteger() && xClone.isLessThanOrEqualTo(BigNumbers.ZERO)) {
-		//	   throw new ArithmeticException("Gamma function is undefined for non-positive integers");
-		// }
+		if (isInteger(value) && value.compareTo(BigDecimal.valueOf(FACTORIAL_PATH_MAX_ARGUMENT)) <= 0) {
+			return new BigNumber(new BigDecimal(factorial(value.intValueExact() - 1)).round(mathContext).toPlainString(), locale, mathContext).trim();
+		}
 
-		// return xClone.subtract(BigNumbers.ONE).factorial(mathContext);
-		return new BigNumber(BigDecimalMath.gamma(x.toBigDecimal(), mathContext).toPlainString(), locale);
+		return CorrectRounding.evaluate(workingMathContext -> gammaApproximation(value, workingMathContext), mathContext, locale);
 	}
 
 	/**
-	 * Computes the Beta function B(x, y) using its definition in terms of the Gamma function.
+	 * Computes the natural logarithm of the absolute value of the Gamma function, {@code ln|Γ(x)|}.
+	 * <p>
+	 * Γ(x) overflows any reasonable number size long before its logarithm does, so many formulas
+	 * (binomial coefficients, the Beta function, probability densities) are better expressed via log-gamma:
+	 * <pre>
+	 *     ln Γ(x) = (x - 1/2) · ln(x) - x + ln(2π)/2 + Σ B₂ₖ / (2k(2k-1) · x^(2k-1))
+	 * </pre>
+	 * is used for large x, Spouge's approximation for moderate x and exact factorials for integers and
+	 * half-integers. Negative non-integer arguments are handled via the reflection formula.
+	 *
+	 * @param x
+	 * 	The input value. Must not be a non-positive integer.
+	 * @param mathContext
+	 * 	The precision and rounding settings to use for the calculation.
+	 * @param locale
+	 * 	The locale of the returned {@link BigNumber}.
+	 *
+	 * @return {@code ln|Γ(x)|} as a {@link BigNumber}.
+	 *
+	 * @throws ArithmeticException
+	 * 	If {@code x} is a non-positive integer, where Γ(x) is undefined.
+	 */
+	public static BigNumber logGamma(@NonNull final BigNumber x, @NonNull final MathContext mathContext, @NonNull final Locale locale) {
+		MathUtils.checkMathContext(mathContext);
+
+		final BigDecimal value = x.toBigDecimal();
+		checkGammaArgument(value);
+
+		if (value.compareTo(BigDecimal.ONE) == 0 || value.compareTo(TWO) == 0) {
+			return new BigNumber("0", locale, mathContext);
+		}
+
+		return CorrectRounding.evaluate(workingMathContext -> logGammaApproximation(value, workingMathContext), mathContext, locale);
+	}
+
+	/**
+	 * Computes the Beta function B(x, y).
 	 * <p>
 	 * The Beta function, also known as Euler's integral of the first kind, is defined as:
 	 * <pre>
@@ -104,9 +196,11 @@ public class SpecialFunctionMath {
 	 * <p>
 	 * Alternatively, it is related to the Gamma function by the identity:
 	 * <pre>
-	 *     B(x, y) = Γ(x) · Γ(y) / Γ(x + y)
+	 *     B(x, y) = Γ(x) · Γ(y) / Γ(x + y) = exp(ln Γ(x) + ln Γ(y) - ln Γ(x + y))
 	 * </pre>
-	 * which is used in this implementation for computational accuracy and speed.
+	 * For positive arguments the log-gamma form is used, which avoids computing three full-size Gamma values
+	 * whose intermediate magnitudes can be astronomically large even when B(x, y) is not. Other arguments
+	 * fall back to the Gamma quotient, since the signs of the Gamma values matter there.
 	 * <p>
 	 * The Beta function appears in:
 	 * <ul>
@@ -128,14 +222,484 @@ public class SpecialFunctionMath {
 	 * 	If x or y are ≤ 0 or lead to undefined Γ evaluations.
 	 */
 	public static BigNumber beta(@NonNull final BigNumber x, @NonNull final BigNumber y, @NonNull final MathContext mathContext, @NonNull final Locale locale) {
-		BigNumber xClone = x.clone();
-		BigNumber yClone = y.clone();
+		MathUtils.checkMathContext(mathContext);
+
+		final BigDecimal xValue = x.toBigDecimal();
+		final BigDecimal yValue = y.toBigDecimal();
+
+		if (xValue.signum() > 0 && yValue.signum() > 0) {
+			return CorrectRounding.evaluate(workingMathContext -> betaFromLogGamma(xValue, yValue, workingMathContext), mathContext, locale);
+		}
+
+		checkGammaArgument(xValue);
+		checkGammaArgument(yValue);
+		checkGammaArgument(xValue.add(yValue));
+
+		return CorrectRounding.evaluate(workingMathContext -> {
+			final MathContext internalMathContext = withGuardDigits(workingMathContext, INTERNAL_GUARD_DIGITS);
+			final BigDecimal numerator = gammaApproximation(xValue, internalMathContext).multiply(gammaApproximation(yValue, internalMathContext), internalMathContext);
+			return numerator.divide(gammaApproximation(xValue.add(yValue), internalMathContext), workingMathContext);
+		}, mathContext, locale);
+	}
+
+	/**
+	 * Computes Γ(x) for an argument that is not a non-positive integer.
+	 *
+	 * @param x
+	 * 	the argument
+	 * @param mathContext
+	 * 	the working precision
+	 *
+	 * @return Γ(x) accurate to a few ulps of {@code mathContext}
+	 */
+	private static BigDecimal gammaApproximation(final BigDecimal x, final MathContext mathContext) {
+		checkGammaArgument(x);
+
+		if (isInteger(x) && x.compareTo(BigDecimal.valueOf(FACTORIAL_PATH_MAX_ARGUMENT)) <= 0) {
+			return new BigDecimal(factorial(x.intValueExact() - 1)).round(mathContext);
+		}
+
+		final MathContext internalMathContext = withGuardDigits(mathContext, INTERNAL_GUARD_DIGITS);
+
+		if (x.compareTo(HALF) < 0) {
+			// Γ(x) = π / (sin(πx) · Γ(1 - x))
+			final BigDecimal denominator = sinOfPiTimes(x, internalMathContext).multiply(gammaApproximation(BigDecimal.ONE.subtract(x), internalMathContext), internalMathContext);
+			return ConstantCache.pi(internalMathContext).divide(denominator, mathContext);
+		}
+
+		if (isHalfInteger(x) && x.compareTo(BigDecimal.valueOf(FACTORIAL_PATH_MAX_ARGUMENT)) <= 0) {
+			return halfIntegerGamma(x, mathContext);
+		}
+
+		if (usesStirlingSeries(x, mathContext)) {
+			// exp turns the absolute error of ln Γ(x) into a relative error, so its integer digits need extra precision
+			final MathContext logMathContext = withGuardDigits(internalMathContext, integerDigitsOfLogGamma(x));
+			return BigDecimalMath.exp(stirlingLogGamma(x, logMathContext), mathContext);
+		}
+
+		final SpougeSum spouge = spougeSum(x.subtract(BigDecimal.ONE), internalMathContext);
+		return BigDecimalMath.exp(spouge.logPrefactor(), internalMathContext).multiply(spouge.sum(), mathContext);
+	}
 
-		BigNumber gammaX = gamma(xClone, mathContext, locale);
-		BigNumber gammaY = gamma(yClone, mathContext, locale);
-		BigNumber gammaXY = gamma(xClone.add(yClone), mathContext, locale);
+	/**
+	 * Computes {@code ln|Γ(x)|} for an argument that is not a non-positive integer.
+	 * <p>
+	 * Near the zeros of ln Γ at {@code x = 1} and {@code x = 2} the terms of every formula cancel, so a small
+	 * result is recomputed with as many additional digits as were lost.
+	 *
+	 * @param x
+	 * 	the argument
+	 * @param mathContext
+	 * 	the working precision
+	 *
+	 * @return {@code ln|Γ(x)|} accurate to a few ulps of {@code mathContext}
+	 */
+	private static BigDecimal logGammaApproximation(final BigDecimal x, final MathContext mathContext) {
+		final BigDecimal result = logGammaAbsoluteApproximation(x, mathContext);
+		if (result.signum() == 0) {
+			return result;
+		}
+
+		final int exponent = result.precision() - result.scale() - 1;
+		if (exponent >= 0) {
+			return result;
+		}
+
+		return logGammaAbsoluteApproximation(x, withGuardDigits(mathContext, -exponent)).round(mathContext);
+	}
+
+	/**
+	 * Computes {@code ln|Γ(x)|} with an absolute error of a few units in the last place of a result of magnitude 1.
+	 *
+	 * @param x
+	 * 	the argument
+	 * @param mathContext
+	 * 	the working precision
+	 *
+	 * @return {@code ln|Γ(x)|}
+	 */
+	private static BigDecimal logGammaAbsoluteApproximation(final BigDecimal x, final MathContext mathContext) {
+		final MathContext internalMathContext = withGuardDigits(mathContext, INTERNAL_GUARD_DIGITS);
+
+		if (isInteger(x) && x.compareTo(BigDecimal.valueOf(FACTORIAL_PATH_MAX_ARGUMENT)) <= 0) {
+			return BigDecimalMath.log(new BigDecimal(factorial(x.intValueExact() - 1)), mathContext);
+		}
+
+		if (x.compareTo(HALF) < 0) {
+			// ln|Γ(x)| = ln(π) - ln|sin(πx)| - ln Γ(1 - x)
+			final BigDecimal logPi = BigDecimalMath.log(ConstantCache.pi(internalMathContext), internalMathContext);
+			final BigDecimal logSine = BigDecimalMath.log(sinOfPiTimes(x, internalMathContext).abs(), internalMathContext);
+			return logPi.subtract(logSine).subtract(logGammaAbsoluteApproximation(BigDecimal.ONE.subtract(x), internalMathContext)).round(mathContext);
+		}
+
+		if (isHalfInteger(x) && x.compareTo(BigDecimal.valueOf(FACTORIAL_PATH_MAX_ARGUMENT)) <= 0) {
+			return BigDecimalMath.log(halfIntegerGamma(x, internalMathContext), mathContext);
+		}
+
+		if (usesStirlingSeries(x, mathContext)) {
+			return stirlingLogGamma(x, internalMathContext).round(mathContext);
+		}
+
+		final SpougeSum spouge = spougeSum(x.subtract(BigDecimal.ONE), internalMathContext);
+		return spouge.logPrefactor().add(BigDecimalMath.log(spouge.sum(), internalMathContext)).round(mathContext);
+	}
+
+	/**
+	 * Computes {@code B(x, y) = exp(ln Γ(x) + ln Γ(y) - ln Γ(x + y))} for positive arguments.
+	 *
+	 * @param x
+	 * 	first argument, {@code x > 0}
+	 * @param y
+	 * 	second argument, {@code y > 0}
+	 * @param mathContext
+	 * 	the working precision
+	 *
+	 * @return B(x, y)
+	 */
+	private static BigDecimal betaFromLogGamma(final BigDecimal x, final BigDecimal y, final MathContext mathContext) {
+		final BigDecimal sum = x.add(y);
+
+		// exp turns the absolute error of the exponent into a relative error, so its integer digits need extra precision
+		final int magnitudeDigits = Math.max(integerDigitsOfLogGamma(sum), Math.max(integerDigitsOfLogGamma(x), integerDigitsOfLogGamma(y)));
+		final MathContext logMathContext = withGuardDigits(mathContext, INTERNAL_GUARD_DIGITS + magnitudeDigits);
+
+		final BigDecimal exponent = logGammaAbsoluteApproximation(x, logMathContext)
+			                            .add(logGammaAbsoluteApproximation(y, logMathContext))
+			                            .subtract(logGammaAbsoluteApproximation(sum, logMathContext));
+
+		return BigDecimalMath.exp(exponent, mathContext);
+	}
+
+	/**
+	 * Computes Γ(x) for a positive half-integer {@code x = n + 1/2} from factorials:
+	 * <pre>
+	 *     Γ(n + 1/2) = (2n)! / (4ⁿ · n!) · √π
+	 * </pre>
+	 *
+	 * @param x
+	 * 	a positive half-integer
+	 * @param mathContext
+	 * 	the working precision
+	 *
+	 * @return Γ(x)
+	 */
+	private static BigDecimal halfIntegerGamma(final BigDecimal x, final MathContext mathContext) {
+		final MathContext internalMathContext = withGuardDigits(mathContext, INTERNAL_GUARD_DIGITS);
+		final int n = x.subtract(HALF).intValueExact();
+
+		final BigInteger numerator = factorial(2 * n);
+		final BigInteger denominator = factorial(n).shiftLeft(2 * n);
+
+		final BigDecimal ratio = new BigDecimal(numerator).divide(new BigDecimal(denominator), internalMathContext);
+		return ratio.multiply(BigDecimalMath.sqrt(ConstantCache.pi(internalMathContext), internalMathContext), mathContext);
+	}
+
+	/**
+	 * Computes ln Γ(x) with Stirling's series:
+	 * <pre>
+	 *     ln Γ(x) = (x - 1/2) · ln(x) - x + ln(2π)/2 + Σ_{k≥1} B₂ₖ / (2k(2k-1) · x^(2k-1))
+	 * </pre>
+	 * The series is asymptotic, but for {@code x >= STIRLING_THRESHOLD_FACTOR * precision} its terms fall below
+	 * the requested precision long before they start to grow again.
+	 *
+	 * @param x
+	 * 	a large positive argument
+	 * @param mathContext
+	 * 	the working precision
+	 *
+	 * @return ln Γ(x)
+	 */
+	private static BigDecimal stirlingLogGamma(final BigDecimal x, final MathContext mathContext) {
+		final BigDecimal twoPi = ConstantCache.pi(mathContext).multiply(TWO, mathContext);
 
-		return new BigNumber(gammaX.multiply(gammaY).divide(gammaXY, mathContext));
+		BigDecimal result = x.subtract(HALF).multiply(BigDecimalMath.log(x, mathContext), mathContext)
+			                    .subtract(x, mathContext)
+			                    .add(BigDecimalMath.log(twoPi, mathContext).multiply(HALF), mathContext);
+
+		final BigDecimal epsilon = BigDecimal.ONE.movePointLeft(mathContext.getPrecision() + 1);
+		final BigDecimal xSquared = x.multiply(x, mathContext);
+		BigDecimal power = x;
+
+		final int maxTerms = 4 * mathContext.getPrecision() + 10;
+		for (int k = 1; k <= maxTerms; k++) {
+			final BigInteger[] bernoulli = bernoulliNumber(k);
+			final BigInteger denominator = bernoulli[1].multiply(BigInteger.valueOf(2L * k * (2L * k - 1)));
+
+			final BigDecimal term = new BigDecimal(bernoulli[0]).divide(new BigDecimal(denominator).multiply(power, mathContext), mathContext);
+			result = result.add(term, mathContext);
+
+			if (term.abs().compareTo(epsilon) < 0) {
+				break;
+			}
+
+			power = power.multiply(xSquared, mathContext);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Evaluates the two parts of Spouge's approximation for {@code Γ(z + 1)}:
+	 * <pre>
+	 *     Γ(z + 1) = (z + a)^(z + 1/2) · e^(-(z + a)) · [c₀ + Σ_{k=1}^{a-1} cₖ / (z + k)]
+	 * </pre>
+	 *
+	 * @param z
+	 * 	the shifted argument, {@code z > -1}
+	 * @param mathContext
+	 * 	the working precision
+	 *
+	 * @return the logarithm of the prefactor and the coefficient sum
+	 */
+	private static SpougeSum spougeSum(final BigDecimal z, final MathContext mathContext) {
+		final SpougeCoefficients spouge = SPOUGE_COEFFICIENTS.computeIfAbsent(mathContext.getPrecision(), SpecialFunctionMath::computeSpougeCoefficients);
+		final MathContext coefficientMathContext = spouge.mathContext();
+		final BigDecimal[] coefficients = spouge.coefficients();
+
+		BigDecimal sum = coefficients[0];
+		for (int k = 1; k < coefficients.length; k++) {
+			sum = sum.add(coefficients[k].divide(z.add(BigDecimal.valueOf(k)), coefficientMathContext), coefficientMathContext);
+		}
+
+		final BigDecimal shifted = z.add(BigDecimal.valueOf(spouge.a()));
+		final BigDecimal logPrefactor = z.add(HALF).multiply(BigDecimalMath.log(shifted, coefficientMathContext), coefficientMathContext).subtract(shifted, coefficientMathContext);
+
+		return new SpougeSum(logPrefactor, sum.round(mathContext));
+	}
+
+	/**
+	 * Computes the Spouge coefficients for a precision:
+	 * <pre>
+	 *     a  = ⌈precision · ln(10) / ln(2π)⌉ + 1
+	 *     c₀ = √(2π)
+	 *     cₖ = (-1)^(k-1) / (k-1)! · (a - k)^(k - 1/2) · e^(a - k)
+	 * </pre>
+	 * The relative error of the approximation is below {@code a^(-1/2) · (2π)^(-(a + 1/2))}. The coefficients
+	 * alternate in sign and are much larger than their sum, so they carry as many extra digits as the sum
+	 * cancels.
+	 *
+	 * @param precision
+	 * 	the working precision
+	 *
+	 * @return the coefficients
+	 */
+	private static SpougeCoefficients computeSpougeCoefficients(final int precision) {
+		final int a = (int) Math.ceil(precision * Math.log(10) / Math.log(2 * Math.PI)) + 1;
+		final MathContext coefficientMathContext = new MathContext(precision + spougeCancellationDigits(a) + INTERNAL_GUARD_DIGITS, RoundingMode.HALF_EVEN);
+
+		final BigDecimal[] coefficients = new BigDecimal[a];
+		coefficients[0] = BigDecimalMath.sqrt(ConstantCache.pi(coefficientMathContext).multiply(TWO), coefficientMathContext);
+
+		BigDecimal factorial = BigDecimal.ONE;
+		for (int k = 1; k < a; k++) {
+			if (k > 1) {
+				factorial = factorial.multiply(BigDecimal.valueOf(k - 1));
+			}
+
+			final BigDecimal distance = BigDecimal.valueOf(a - k);
+			final BigDecimal exponent = BigDecimal.valueOf(k).subtract(HALF).multiply(BigDecimalMath.log(distance, coefficientMathContext)).add(distance);
+			final BigDecimal coefficient = BigDecimalMath.exp(exponent, coefficientMathContext).divide(factorial, coefficientMathContext);
+
+			coefficients[k] = k % 2 == 1 ? coefficient : coefficient.negate();
+		}
+
+		return new SpougeCoefficients(a, coefficientMathContext, coefficients);
+	}
+
+	/**
+	 * Estimates the number of decimal digits the Spouge sum loses to cancellation, i.e. {@code log10(max |cₖ|)}.
+	 *
+	 * @param a
+	 * 	the Spouge parameter
+	 *
+	 * @return the number of cancelled digits
+	 */
+	private static int spougeCancellationDigits(final int a) {
+		double logFactorial = 0;
+		double maxLogCoefficient = 0;
+
+		for (int k = 1; k < a; k++) {
+			if (k > 1) {
+				logFactorial += Math.log(k - 1);
+			}
+
+			final double logCoefficient = (k - 0.5) * Math.log(a - k) + (a - k) - logFactorial;
+			maxLogCoefficient = Math.max(maxLogCoefficient, logCoefficient);
+		}
+
+		return (int) Math.ceil(maxLogCoefficient / Math.log(10));
+	}
+
+	/**
+	 * Returns the Bernoulli number {@code B₂ₖ} as a reduced fraction, computing and caching further numbers on demand.
+	 *
+	 * @param k
+	 * 	the index, {@code k >= 1}
+	 *
+	 * @return {@code {numerator, denominator}} of {@code B₂ₖ}
+	 */
+	private static BigInteger[] bernoulliNumber(final int k) {
+		BigInteger[][] numbers = bernoulliNumbers;
+		if (k > numbers.length) {
+			synchronized (SpecialFunctionMath.class) {
+				numbers = bernoulliNumbers;
+				if (k > numbers.length) {
+					numbers = computeBernoulliNumbers(Math.max(k, 2 * numbers.length));
+					bernoulliNumbers = numbers;
+				}
+			}
+		}
+
+		return numbers[k - 1];
+	}
+
+	/**
+	 * Computes {@code B₂, B₄, ..., B₂ₙ} exactly from the tangent numbers {@code Tₖ}:
+	 * <pre>
+	 *     B₂ₖ = (-1)^(k-1) · 2k · Tₖ / (4ᵏ · (4ᵏ - 1))
+	 * </pre>
+	 * The tangent numbers are generated with the integer-only recurrence of Brent and Harvey.
+	 *
+	 * @param count
+	 * 	the number of Bernoulli numbers to compute
+	 *
+	 * @return the Bernoulli numbers as reduced fractions {@code {numerator, denominator}}
+	 */
+	private static BigInteger[][] computeBernoulliNumbers(final int count) {
+		final BigInteger[] tangentNumbers = new BigInteger[count + 1];
+		tangentNumbers[1] = BigInteger.ONE;
+		for (int k = 2; k <= count; k++) {
+			tangentNumbers[k] = tangentNumbers[k - 1].multiply(BigInteger.valueOf(k - 1));
+		}
+		for (int k = 2; k <= count; k++) {
+			for (int j = k; j <= count; j++) {
+				tangentNumbers[j] = tangentNumbers[j - 1].multiply(BigInteger.valueOf(j - k)).add(tangentNumbers[j].multiply(BigInteger.valueOf(j - k + 2)));
+			}
+		}
+
+		final BigInteger[][] numbers = new BigInteger[count][];
+		for (int k = 1; k <= count; k++) {
+			final BigInteger powerOfFour = BigInteger.ONE.shiftLeft(2 * k);
+			final BigInteger numerator = tangentNumbers[k].multiply(BigInteger.valueOf(2L * k));
+			final BigInteger denominator = powerOfFour.multiply(powerOfFour.subtract(BigInteger.ONE));
+			final BigInteger divisor = numerator.gcd(denominator);
+
+			numbers[k - 1] = new BigInteger[]{ k % 2 == 1 ? numerator.divide(divisor) : numerator.divide(divisor).negate(), denominator.divide(divisor) };
+		}
+
+		return numbers;
+	}
+
+	/**
+	 * Computes {@code sin(πx)} without losing digits near the zeros at integer {@code x}, using
+	 * {@code sin(πx) = (-1)ⁿ · sin(π(x - n))} with {@code n} the integer closest to {@code x}.
+	 *
+	 * @param x
+	 * 	the argument
+	 * @param mathContext
+	 * 	the working precision
+	 *
+	 * @return sin(πx)
+	 */
+	private static BigDecimal sinOfPiTimes(final BigDecimal x, final MathContext mathContext) {
+		final BigDecimal nearestInteger = x.setScale(0, RoundingMode.HALF_EVEN);
+		final BigDecimal fraction = x.subtract(nearestInteger);
+
+		final BigDecimal sine = BigDecimalMath.sin(ConstantCache.pi(mathContext).multiply(fraction, mathContext), mathContext);
+		return nearestInteger.toBigInteger().testBit(0) ? sine.negate() : sine;
+	}
+
+	/**
+	 * Computes {@code n!} exactly using the product-tree factorial of {@link BasicMath}.
+	 *
+	 * @param n
+	 * 	a non-negative integer
+	 *
+	 * @return n!
+	 */
+	private static BigInteger factorial(final int n) {
+		return new BigInteger(BasicMath.factorial(new BigNumber(Integer.toString(n), Locale.US), MathContext.DECIMAL128, Locale.US).toString());
+	}
+
+	/**
+	 * Estimates the number of integer digits of {@code |ln Γ(x)|}, which is about {@code |x · ln(x)|} for large x and
+	 * {@code |ln(x)|} for tiny x.
+	 *
+	 * @param x
+	 * 	a positive argument
+	 *
+	 * @return an upper bound for the number of integer digits
+	 */
+	private static int integerDigitsOfLogGamma(final BigDecimal x) {
+		final int exponent = x.precision() - x.scale();
+		final int logDigits = String.valueOf(Math.abs(exponent) * 3L + 1).length();
+		return Math.max(0, exponent) + logDigits + 1;
+	}
+
+	/**
+	 * Checks whether Stirling's series converges fast enough for the given argument and precision.
+	 *
+	 * @param x
+	 * 	a positive argument
+	 * @param mathContext
+	 * 	the working precision
+	 *
+	 * @return {@code true} if Stirling's series should be used
+	 */
+	private static boolean usesStirlingSeries(final BigDecimal x, final MathContext mathContext) {
+		final double threshold = Math.max(STIRLING_MIN_ARGUMENT, STIRLING_THRESHOLD_FACTOR * mathContext.getPrecision());
+		return x.compareTo(BigDecimal.valueOf(threshold)) >= 0;
+	}
+
+	/**
+	 * Throws if Γ has a pole at the given argument.
+	 *
+	 * @param x
+	 * 	the argument
+	 *
+	 * @throws ArithmeticException
+	 * 	if {@code x} is a non-positive integer
+	 */
+	private static void checkGammaArgument(final BigDecimal x) {
+		if (x.signum() <= 0 && isInteger(x)) {
+			throw new ArithmeticException("Gamma function is undefined for non-positive integers");
+		}
+	}
+
+	private static boolean isInteger(final BigDecimal x) {
+		return x.signum() == 0 || x.stripTrailingZeros().scale() <= 0;
+	}
+
+	private static boolean isHalfInteger(final BigDecimal x) {
+		return !isInteger(x) && isInteger(x.multiply(TWO));
+	}
+
+	private static MathContext withGuardDigits(final MathContext mathContext, final int guardDigits) {
+		return new MathContext(mathContext.getPrecision() + guardDigits, mathContext.getRoundingMode());
+	}
+
+	/**
+	 * Spouge coefficients for one precision.
+	 *
+	 * @param a
+	 * 	the Spouge parameter (number of coefficients)
+	 * @param mathContext
+	 * 	the precision the coefficients and the sum are computed with
+	 * @param coefficients
+	 * 	{@code c₀ ... c_(a-1)}
+	 */
+	private record SpougeCoefficients(int a, MathContext mathContext, BigDecimal[] coefficients) {
+	}
+
+	/**
+	 * The two parts of Spouge's approximation {@code Γ(z + 1) = exp(logPrefactor) · sum}.
+	 *
+	 * @param logPrefactor
+	 * 	{@code (z + 1/2) · ln(z + a) - (z + a)}
+	 * @param sum
+	 * 	{@code c₀ + Σ cₖ / (z + k)}
+	 */
+	private record SpougeSum(BigDecimal logPrefactor, BigDecimal sum) {
 	}
 
 }
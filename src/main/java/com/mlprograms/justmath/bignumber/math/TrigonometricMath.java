@@ -26,6 +26,7 @@ package com.mlprograms.justmath.bignumber.math;
 
 import ch.obermuhlner.math.big.BigDecimalMath;
 import com.mlprograms.justmath.bignumber.BigNumber;
+import com.mlprograms.justmath.bignumber.math.utils.CorrectRounding;
 import com.mlprograms.justmath.bignumber.math.utils.MathUtils;
 import com.mlprograms.justmath.calculator.internal.TrigonometricMode;
 import lombok.NonNull;
@@ -34,11 +35,16 @@ import java.math.BigDecimal;
 import java.math.MathContext;
 import java.util.Locale;
 
+import static com.mlprograms.justmath.bignumber.BigNumbers.ZERO;
 import static com.mlprograms.justmath.bignumber.math.utils.MathUtils.convertAngle;
 
 /**
  * Provides trigonometric functions operating on BigNumber values.
  * Supports angle inputs in degrees or radians, controlled by {@link TrigonometricMode}.
+ * <p>
+ * Results are rounded to the requested {@link MathContext} via {@link CorrectRounding}. The angle reduction leaves an
+ * error proportional to the angle rather than to the result, so results close to a zero are evaluated until their
+ * magnitude is resolved, and the zeros at multiples of 90 degrees are returned exactly.
  */
 public class TrigonometricMath {
 
@@ -65,9 +71,11 @@ public class TrigonometricMath {
 	public static BigNumber sin(@NonNull final BigNumber angle, @NonNull final MathContext mathContext, @NonNull final TrigonometricMode trigonometricMode, @NonNull final Locale locale) {
 		MathUtils.checkMathContext(mathContext);
 
-		BigDecimal radians = convertAngle(angle, mathContext, trigonometricMode, locale);
+		if (isExactZero(angle, 0, trigonometricMode)) {
+			return ZERO;
+		}
 
-		return new BigNumber(BigDecimalMath.sin(radians, mathContext).toPlainString(), locale).trim();
+		return CorrectRounding.evaluate(workingMathContext -> BigDecimalMath.sin(convertAngle(angle, workingMathContext, trigonometricMode, locale), workingMathContext), errorScale(angle, trigonometricMode, locale), mathContext, locale);
 	}
 
 	/**
@@ -93,9 +101,11 @@ public class TrigonometricMath {
 	public static BigNumber cos(@NonNull final BigNumber angle, @NonNull final MathContext mathContext, @NonNull final TrigonometricMode trigonometricMode, @NonNull final Locale locale) {
 		MathUtils.checkMathContext(mathContext);
 
-		BigDecimal radians = convertAngle(angle, mathContext, trigonometricMode, locale);
+		if (isExactZero(angle, 90, trigonometricMode)) {
+			return ZERO;
+		}
 
-		return new BigNumber(BigDecimalMath.cos(radians, mathContext).toPlainString(), locale).trim();
+		return CorrectRounding.evaluate(workingMathContext -> BigDecimalMath.cos(convertAngle(angle, workingMathContext, trigonometricMode, locale), workingMathContext), errorScale(angle, trigonometricMode, locale), mathContext, locale);
 	}
 
 	/**
@@ -122,9 +132,11 @@ public class TrigonometricMath {
 	public static BigNumber tan(@NonNull final BigNumber angle, @NonNull final MathContext mathContext, @NonNull final TrigonometricMode trigonometricMode, @NonNull final Locale locale) {
 		MathUtils.checkMathContext(mathContext);
 
-		BigDecimal radians = convertAngle(angle, mathContext, trigonometricMode, locale);
+		if (isExactZero(angle, 0, trigonometricMode)) {
+			return ZERO;
+		}
 
-		return new BigNumber(BigDecimalMath.tan(radians, mathContext).toPlainString(), locale).trim();
+		return CorrectRounding.evaluate(workingMathContext -> BigDecimalMath.tan(convertAngle(angle, workingMathContext, trigonometricMode, locale), workingMathContext), errorScale(angle, trigonometricMode, locale), mathContext, locale);
 	}
 
 	/**
@@ -151,9 +163,50 @@ public class TrigonometricMath {
 	public static BigNumber cot(@NonNull final BigNumber angle, @NonNull final MathContext mathContext, @NonNull final TrigonometricMode trigonometricMode, @NonNull final Locale locale) {
 		MathUtils.checkMathContext(mathContext);
 
-		BigDecimal radians = convertAngle(angle, mathContext, trigonometricMode, locale);
+		if (isExactZero(angle, 90, trigonometricMode)) {
+			return ZERO;
+		}
 
-		return new BigNumber(BigDecimalMath.cot(radians, mathContext).toPlainString(), locale).trim();
+		return CorrectRounding.evaluate(workingMathContext -> BigDecimalMath.cot(convertAngle(angle, workingMathContext, trigonometricMode, locale), workingMathContext), errorScale(angle, trigonometricMode, locale), mathContext, locale);
+	}
+
+	/**
+	 * Checks whether the angle lies {@code offsetDegrees} past a multiple of 180 degrees, where sine and tangent
+	 * (offset 0) or cosine and cotangent (offset 90) are exactly zero. In radians these zeros are irrational apart
+	 * from the angle 0 itself.
+	 *
+	 * @param angle
+	 * 	the angle
+	 * @param offsetDegrees
+	 * 	0 for the zeros of sine and tangent, 90 for those of cosine and cotangent
+	 * @param trigonometricMode
+	 * 	the angle measurement mode
+	 *
+	 * @return {@code true} if the function is exactly zero at the angle
+	 */
+	private static boolean isExactZero(final BigNumber angle, final int offsetDegrees, final TrigonometricMode trigonometricMode) {
+		if (trigonometricMode == TrigonometricMode.RAD) {
+			return offsetDegrees == 0 && angle.isEqualTo(ZERO);
+		}
+
+		return angle.toBigDecimal().subtract(BigDecimal.valueOf(offsetDegrees)).remainder(BigDecimal.valueOf(180)).signum() == 0;
+	}
+
+	/**
+	 * Returns the magnitude the error of a trigonometric function is proportional to. Converting and reducing the
+	 * angle leaves an error relative to the angle in radians, which the result carries as an absolute error.
+	 *
+	 * @param angle
+	 * 	the angle
+	 * @param trigonometricMode
+	 * 	the angle measurement mode
+	 * @param locale
+	 * 	the locale used for the conversion
+	 *
+	 * @return the absolute angle in radians, to a few digits
+	 */
+	private static BigDecimal errorScale(final BigNumber angle, final TrigonometricMode trigonometricMode, final Locale locale) {
+		return convertAngle(angle, MathContext.DECIMAL32, trigonometricMode, locale).abs();
 	}
 
 }
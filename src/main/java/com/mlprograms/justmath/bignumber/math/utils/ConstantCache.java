@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2026 Max Lemberg
+ *
+ * This file is part of JustMath.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.mlprograms.justmath.bignumber.math.utils;
+
+import ch.obermuhlner.math.big.BigDecimalMath;
+import lombok.NonNull;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.function.Function;
+
+/**
+ * Process-wide cache for mathematical constants that are expensive to compute at high precision.
+ * <p>
+ * Each constant is kept at the highest precision requested so far. Requests for the same or a lower
+ * precision are answered by rounding the cached value, which is far cheaper than recomputing it.
+ * Requests for a higher precision recompute the constant once and replace the cached value.
+ * <p>
+ * The cached values are immutable {@link BigDecimal} instances published through {@code volatile}
+ * fields, so concurrent callers never observe partially initialized values. Two threads racing for
+ * a higher precision may both compute it; the result is identical either way.
+ */
+public final class ConstantCache {
+
+    /**
+     * Number of extra digits computed on top of a requested precision, so that slightly higher
+     * follow-up requests (e.g. from {@link CorrectRounding} retries) can be served from the cache.
+     */
+    private static final int CACHE_GUARD_DIGITS = 20;
+
+    private static volatile BigDecimal cachedPi = BigDecimal.ZERO;
+    private static volatile BigDecimal cachedLn2 = BigDecimal.ZERO;
+
+    private ConstantCache() {
+    }
+
+    /**
+     * Returns π rounded to the given {@link MathContext}.
+     *
+     * @param mathContext the requested precision and rounding mode
+     * @return π with the requested precision
+     */
+    public static BigDecimal pi(@NonNull final MathContext mathContext) {
+        BigDecimal pi = cachedPi;
+        if (pi.precision() < mathContext.getPrecision()) {
+            pi = compute(mathContext, BigDecimalMath::pi);
+            cachedPi = pi;
+        }
+
+        return pi.round(mathContext);
+    }
+
+    /**
+     * Returns the natural logarithm of 2 rounded to the given {@link MathContext}.
+     *
+     * @param mathContext the requested precision and rounding mode
+     * @return ln(2) with the requested precision
+     */
+    public static BigDecimal ln2(@NonNull final MathContext mathContext) {
+        BigDecimal ln2 = cachedLn2;
+        if (ln2.precision() < mathContext.getPrecision()) {
+            ln2 = compute(mathContext, workingMathContext -> BigDecimalMath.log(BigDecimal.valueOf(2), workingMathContext));
+            cachedLn2 = ln2;
+        }
+
+        return ln2.round(mathContext);
+    }
+
+    /**
+     * Computes a constant with {@link #CACHE_GUARD_DIGITS} extra digits.
+     *
+     * @param mathContext the requested precision
+     * @param computation computes the constant for a given working precision
+     * @return the constant with increased precision
+     */
+    private static BigDecimal compute(final MathContext mathContext, final Function<MathContext, BigDecimal> computation) {
+        return computation.apply(new MathContext(mathContext.getPrecision() + CACHE_GUARD_DIGITS));
+    }
+
+}
@@ -0,0 +1,344 @@
+/*
+ * Copyright (c) 2026 Max Lemberg
+ *
+ * This file is part of JustMath.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.mlprograms.justmath.bignumber.math.utils;
+
+import com.mlprograms.justmath.bignumber.BigNumber;
+import lombok.NonNull;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Locale;
+
+/**
+ * Shared evaluation framework that rounds the results of elementary functions using Ziv's rounding
+ * strategy.
+ * <p>
+ * A function is first evaluated with only a few guard digits on top of the requested precision.
+ * The approximation is then widened by its error bound and both ends of the resulting interval are
+ * rounded to the requested {@link MathContext}. If both ends round to the same value, that value is
+ * returned. Only in the hard cases, where the exact value lies too close to a rounding boundary, the
+ * evaluation is repeated with twice as many guard digits.
+ * <p>
+ * The result is only as reliable as the error bound: the evaluated function must be accurate to within
+ * {@link #ERROR_BOUND_ULPS} units in the last place of the working precision it is called with, measured
+ * relative to the approximation or, for functions with an absolute error such as the trigonometric
+ * functions after the angle reduction, relative to a given error scale. Functions that suffer from
+ * cancellation have to account for the lost digits themselves before handing back their approximation.
+ * If no attempt can be rounded unambiguously, the last approximation is rounded as it is, which may be
+ * off by one unit in the last place.
+ */
+public final class CorrectRounding {
+
+    /**
+     * Number of guard digits used for the first (and usually only) evaluation attempt.
+     */
+    public static final int INITIAL_GUARD_DIGITS = 4;
+
+    /**
+     * Maximum error of an evaluation, expressed in units in the last place of the working precision.
+     */
+    private static final int ERROR_BOUND_ULPS = 10;
+
+    /**
+     * Upper limit for the number of evaluation attempts.
+     * <p>
+     * Exact results that are not reported through {@link ExactResult} (e.g. {@code sin(30°)} with
+     * {@link RoundingMode#DOWN}) can never be separated from their rounding boundary, so the loop has
+     * to stop eventually and return the best available approximation.
+     */
+    private static final int MAX_ATTEMPTS = 6;
+
+    private CorrectRounding() {
+    }
+
+    /**
+     * A function that can be evaluated at an arbitrary working precision.
+     */
+    @FunctionalInterface
+    public interface PrecisionEvaluation {
+
+        /**
+         * Evaluates the function with the given working precision.
+         *
+         * @param workingMathContext the working precision and rounding mode
+         * @return an approximation accurate to within a few ulps of the working precision
+         */
+        BigDecimal evaluate(MathContext workingMathContext);
+
+    }
+
+    /**
+     * A function with several results that share most of their computation (e.g. {@code sinh} and {@code cosh}),
+     * evaluated together at an arbitrary working precision.
+     */
+    @FunctionalInterface
+    public interface MultiPrecisionEvaluation {
+
+        /**
+         * Evaluates all results with the given working precision.
+         *
+         * @param workingMathContext the working precision and rounding mode
+         * @return approximations, each accurate to within a few ulps of the working precision
+         */
+        BigDecimal[] evaluate(MathContext workingMathContext);
+
+    }
+
+    /**
+     * Recognizes approximations of results that are exactly representable, such as {@code sqrt(4)} or
+     * {@code log10(1000)}.
+     * <p>
+     * An exact result can never be separated from a rounding boundary under directed rounding modes, so without
+     * this hint it would exhaust all attempts and might still round the wrong way.
+     */
+    @FunctionalInterface
+    public interface ExactResult {
+
+        /**
+         * Never reports an exact result.
+         */
+        ExactResult NONE = approximation -> null;
+
+        /**
+         * Returns the exact result approximated by {@code approximation}, if the function can prove it.
+         *
+         * @param approximation the approximation of the current attempt
+         * @return the exact result, or {@code null} if the result is not known to be exact
+         */
+        BigDecimal find(BigDecimal approximation);
+
+    }
+
+    /**
+     * Evaluates the given function and returns the rounded result as a {@link BigNumber}.
+     *
+     * @param evaluation  the function to evaluate
+     * @param mathContext the requested precision and rounding mode
+     * @param locale      the locale of the returned {@link BigNumber}
+     * @return the rounded result, trimmed of trailing zeros
+     */
+    public static BigNumber evaluate(@NonNull final PrecisionEvaluation evaluation, @NonNull final MathContext mathContext, @NonNull final Locale locale) {
+        return evaluate(evaluation, ExactResult.NONE, mathContext, locale);
+    }
+
+    /**
+     * Evaluates the given function and returns the rounded result as a {@link BigNumber}.
+     *
+     * @param evaluation  the function to evaluate
+     * @param exactResult recognizes exactly representable results
+     * @param mathContext the requested precision and rounding mode
+     * @param locale      the locale of the returned {@link BigNumber}
+     * @return the rounded result, trimmed of trailing zeros
+     */
+    public static BigNumber evaluate(@NonNull final PrecisionEvaluation evaluation, @NonNull final ExactResult exactResult, @NonNull final MathContext mathContext, @NonNull final Locale locale) {
+        return new BigNumber(evaluate(evaluation, exactResult, mathContext).toPlainString(), locale, mathContext).trim();
+    }
+
+    /**
+     * Evaluates a function whose error is absolute rather than relative and returns the rounded result as a
+     * {@link BigNumber}.
+     * <p>
+     * The error bound of an approximation is taken relative to the larger of its magnitude and
+     * {@code errorScale}, so a result much smaller than {@code errorScale} (e.g. {@code cos(x)} close to a zero)
+     * is re-evaluated until its magnitude is resolved.
+     *
+     * @param evaluation  the function to evaluate
+     * @param errorScale  the magnitude the error of the function is proportional to
+     * @param mathContext the requested precision and rounding mode
+     * @param locale      the locale of the returned {@link BigNumber}
+     * @return the rounded result, trimmed of trailing zeros
+     */
+    public static BigNumber evaluate(@NonNull final PrecisionEvaluation evaluation, @NonNull final BigDecimal errorScale, @NonNull final MathContext mathContext, @NonNull final Locale locale) {
+        final BigDecimal result = evaluateAll(workingMathContext -> new BigDecimal[]{ evaluation.evaluate(workingMathContext) }, ExactResult.NONE, errorScale.abs(), mathContext)[0];
+        return new BigNumber(result.toPlainString(), locale, mathContext).trim();
+    }
+
+    /**
+     * Evaluates the given function and returns the rounded result.
+     * <p>
+     * The loop follows Ziv's strategy: evaluate with {@code g} guard digits, check whether the result
+     * can be rounded unambiguously and otherwise retry with {@code 2g} guard digits.
+     *
+     * @param evaluation  the function to evaluate
+     * @param mathContext the requested precision and rounding mode
+     * @return the result rounded to {@code mathContext}
+     */
+    public static BigDecimal evaluate(@NonNull final PrecisionEvaluation evaluation, @NonNull final MathContext mathContext) {
+        return evaluate(evaluation, ExactResult.NONE, mathContext);
+    }
+
+    /**
+     * Evaluates the given function and returns the rounded result.
+     * <p>
+     * An approximation that {@code exactResult} recognizes is replaced by the exact result and accepted
+     * without an error interval test.
+     *
+     * @param evaluation  the function to evaluate
+     * @param exactResult recognizes exactly representable results
+     * @param mathContext the requested precision and rounding mode
+     * @return the result rounded to {@code mathContext}
+     */
+    public static BigDecimal evaluate(@NonNull final PrecisionEvaluation evaluation, @NonNull final ExactResult exactResult, @NonNull final MathContext mathContext) {
+        return evaluateAll(workingMathContext -> new BigDecimal[]{ evaluation.evaluate(workingMathContext) }, exactResult, mathContext)[0];
+    }
+
+    /**
+     * Evaluates several results together and returns each of them rounded.
+     * <p>
+     * An attempt is only accepted if every result can be rounded unambiguously, so all results share the
+     * working precision of the final attempt.
+     *
+     * @param evaluation  the function to evaluate
+     * @param mathContext the requested precision and rounding mode
+     * @return the results rounded to {@code mathContext}, in the order returned by {@code evaluation}
+     */
+    public static BigDecimal[] evaluateAll(@NonNull final MultiPrecisionEvaluation evaluation, @NonNull final MathContext mathContext) {
+        return evaluateAll(evaluation, ExactResult.NONE, mathContext);
+    }
+
+    /**
+     * Evaluates several results together and returns each of them rounded.
+     * <p>
+     * {@code exactResult} is consulted for every result of every attempt.
+     *
+     * @param evaluation  the function to evaluate
+     * @param exactResult recognizes exactly representable results
+     * @param mathContext the requested precision and rounding mode
+     * @return the results rounded to {@code mathContext}, in the order returned by {@code evaluation}
+     */
+    public static BigDecimal[] evaluateAll(@NonNull final MultiPrecisionEvaluation evaluation, @NonNull final ExactResult exactResult, @NonNull final MathContext mathContext) {
+        return evaluateAll(evaluation, exactResult, BigDecimal.ZERO, mathContext);
+    }
+
+    /**
+     * Runs the attempts of Ziv's strategy.
+     *
+     * @param evaluation  the function to evaluate
+     * @param exactResult recognizes exactly representable results
+     * @param errorScale  the magnitude an absolute error is proportional to, or zero for a purely relative error
+     * @param mathContext the requested precision and rounding mode
+     * @return the results rounded to {@code mathContext}, in the order returned by {@code evaluation}
+     */
+    private static BigDecimal[] evaluateAll(final MultiPrecisionEvaluation evaluation, final ExactResult exactResult, final BigDecimal errorScale, final MathContext mathContext) {
+        MathUtils.checkMathContext(mathContext);
+
+        int guardDigits = INITIAL_GUARD_DIGITS;
+        BigDecimal[] approximations = null;
+
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            final int workingPrecision = mathContext.getPrecision() + guardDigits;
+            approximations = evaluation.evaluate(createWorkingMathContext(workingPrecision, mathContext.getRoundingMode()));
+
+            if (resolveAll(approximations, exactResult, errorScale, workingPrecision, mathContext)) {
+                break;
+            }
+
+            guardDigits *= 2;
+        }
+
+        final BigDecimal[] results = new BigDecimal[approximations.length];
+        for (int i = 0; i < approximations.length; i++) {
+            results[i] = approximations[i].round(mathContext);
+        }
+
+        return results;
+    }
+
+    /**
+     * Replaces every approximation that {@code exactResult} recognizes by its exact result and checks
+     * {@link #canRound(BigDecimal, BigDecimal, int, MathContext)} for the remaining ones.
+     *
+     * @param approximations   the computed approximations, updated in place
+     * @param exactResult      recognizes exactly representable results
+     * @param errorScale       the magnitude an absolute error is proportional to, or zero
+     * @param workingPrecision the precision the approximations were computed with
+     * @param mathContext      the requested precision and rounding mode
+     * @return {@code true} if all approximations are exact or can be rounded unambiguously
+     */
+    private static boolean resolveAll(final BigDecimal[] approximations, final ExactResult exactResult, final BigDecimal errorScale, final int workingPrecision, final MathContext mathContext) {
+        boolean roundable = true;
+
+        for (int i = 0; i < approximations.length; i++) {
+            final BigDecimal exact = exactResult.find(approximations[i]);
+            if (exact != null) {
+                approximations[i] = exact;
+            } else if (!canRound(approximations[i], errorScale, workingPrecision, mathContext)) {
+                roundable = false;
+            }
+        }
+
+        return roundable;
+    }
+
+    /**
+     * Checks whether every value within the error bound of {@code approximation} rounds to the same
+     * result under {@code mathContext}.
+     * <p>
+     * The test is applied to every approximation, even to one that already fits into the requested
+     * precision: {@code 1E-30} may just as well approximate a value slightly below it. Exact results
+     * are only accepted when reported through {@link ExactResult}.
+     * <p>
+     * The error bound is relative to the larger of the magnitude of the approximation and
+     * {@code errorScale}. An approximation far below {@code errorScale} therefore straddles zero and is
+     * rejected until the working precision resolves its magnitude. A zero approximation without an error
+     * scale carries no magnitude to derive an error bound from and is never accepted here.
+     *
+     * @param approximation    the computed approximation
+     * @param errorScale       the magnitude an absolute error is proportional to, or zero
+     * @param workingPrecision the precision the approximation was computed with
+     * @param mathContext      the requested precision and rounding mode
+     * @return {@code true} if the approximation can be rounded unambiguously
+     */
+    static boolean canRound(@NonNull final BigDecimal approximation, @NonNull final BigDecimal errorScale, final int workingPrecision, @NonNull final MathContext mathContext) {
+        final BigDecimal magnitude = approximation.abs().max(errorScale);
+        if (magnitude.signum() == 0) {
+            return false;
+        }
+
+        final int exponent = magnitude.precision() - magnitude.scale() - 1;
+        final BigDecimal errorBound = BigDecimal.valueOf(ERROR_BOUND_ULPS).scaleByPowerOfTen(exponent - workingPrecision + 1);
+
+        final BigDecimal lower = approximation.subtract(errorBound).round(mathContext);
+        final BigDecimal upper = approximation.add(errorBound).round(mathContext);
+
+        return lower.compareTo(upper) == 0;
+    }
+
+    /**
+     * Creates the working context for one evaluation attempt.
+     * <p>
+     * {@link RoundingMode#UNNECESSARY} cannot be used for inexact intermediate results, so the working
+     * computation falls back to {@link RoundingMode#HALF_EVEN} in that case.
+     *
+     * @param workingPrecision the working precision
+     * @param roundingMode     the requested rounding mode
+     * @return the working {@link MathContext}
+     */
+    private static MathContext createWorkingMathContext(final int workingPrecision, final RoundingMode roundingMode) {
+        return new MathContext(workingPrecision, roundingMode == RoundingMode.UNNECESSARY ? RoundingMode.HALF_EVEN : roundingMode);
+    }
+
+}
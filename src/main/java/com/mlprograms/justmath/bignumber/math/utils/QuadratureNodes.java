@@ -0,0 +1,776 @@
+/*
+ * Copyright (c) 2026 Max Lemberg
+ *
+ * This file is part of JustMath.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mlprograms.justmath.bignumber.math.utils;
+
+import ch.obermuhlner.math.big.BigDecimalMath;
+import lombok.NonNull;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Process-wide cache for the nodes and weights of the quadrature rules used to compute integrals.
+ * <p>
+ * Computing a rule at a high precision (e.g. the roots of a Legendre polynomial or the abscissae of the tanh-sinh
+ * rule) usually costs more than the integration itself. Every rule is therefore computed once per kind, order and
+ * precision tier and reused by all later integrals. Precisions are rounded up to a multiple of
+ * {@link #PRECISION_TIER} digits, so e.g. integrals with 50 and 60 digits share their rules.
+ * <p>
+ * The cache is bounded by the total number of digits of the cached nodes and weights (see
+ * {@link #setMaximumCachedDigits(long)}); the least recently used rules are evicted first. Its content can be
+ * written to a file with {@link #save(Path)} and read back with {@link #load(Path)}, so that a new process does
+ * not have to compute the rules again.
+ * <p>
+ * Rules are computed with {@link #GUARD_DIGITS} extra digits and rounded to their precision tier. The cached rules
+ * are immutable, so they can be shared between threads. The cache is safe for concurrent use; rules are computed
+ * outside of its lock.
+ */
+public final class QuadratureNodes {
+
+    /**
+     * Number of extra digits the rules are computed with. The linear systems solved for the Kronrod extension lose
+     * a few digits to their condition.
+     */
+    private static final int GUARD_DIGITS = 30;
+
+    /**
+     * Precisions are rounded up to a multiple of this number of digits.
+     */
+    private static final int PRECISION_TIER = 16;
+
+    /**
+     * First line of a file written by {@link #save(Path)}, including the version of the format.
+     */
+    private static final String FILE_HEADER = "JustMath quadrature nodes 1";
+
+    private static final BigDecimal TWO = BigDecimal.valueOf(2);
+
+    /**
+     * The cached rules in access order, the least recently used rule first.
+     */
+    private static final Map<RuleKey, Object> rules = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Total number of digits of all cached rules. Guarded by {@link #rules}.
+     */
+    private static long cachedDigits;
+
+    /**
+     * Upper limit for {@link #cachedDigits}. Guarded by {@link #rules}.
+     */
+    private static long maximumCachedDigits = 20_000_000;
+
+    private QuadratureNodes() {
+    }
+
+    /**
+     * The kinds of cached rules.
+     */
+    private enum RuleKind {
+        GAUSS_KRONROD, TANH_SINH
+    }
+
+    /**
+     * Identifies a rule by its kind, its order (or level) and the precision tier of its nodes and weights.
+     */
+    private record RuleKey(RuleKind kind, int order, int precision) {
+    }
+
+    /**
+     * The nodes and weights of a Gauss–Kronrod rule on {@code [-1, 1]}.
+     * <p>
+     * The rule is symmetric, so only the non-negative nodes are stored, in ascending order. Every positive node
+     * stands for itself and its negative. The Gauss weight of a node that only belongs to the Kronrod extension is
+     * zero.
+     *
+     * @param nodes          the non-negative nodes in ascending order
+     * @param kronrodWeights the weights of the Kronrod rule, one per node
+     * @param gaussWeights   the weights of the embedded Gauss rule, one per node
+     */
+    public record GaussKronrodRule(List<BigDecimal> nodes, List<BigDecimal> kronrodWeights, List<BigDecimal> gaussWeights) {
+    }
+
+    /**
+     * The nodes of one level of the tanh-sinh rule on {@code [-1, 1]}.
+     * <p>
+     * Level {@code 0} holds the nodes {@code t = 0, 1, 2, ...}, level {@code L > 0} the nodes that are new at the
+     * step size {@code 2^-L}, i.e. the odd multiples of {@code 2^-L}. A node {@code t} stands for the abscissae
+     * {@code ±tanh(π/2 sinh(t))}; the abscissa of {@code t = 0}, the first node of level {@code 0}, is counted once.
+     * Abscissae are stored as their distance to the nearest end of the interval, which keeps the digits that
+     * would cancel in {@code 1 - tanh(...)}. The weights do not include the step size.
+     *
+     * @param complements the distances {@code 1 - |x|} of the abscissae to the end of the interval
+     * @param weights     the weights {@code π/2 cosh(t) / cosh²(π/2 sinh(t))}, one per node
+     */
+    public record TanhSinhLevel(List<BigDecimal> complements, List<BigDecimal> weights) {
+    }
+
+    /**
+     * Returns the Gauss–Kronrod rule extending the Gauss–Legendre rule with {@code gaussOrder} nodes to
+     * {@code 2 * gaussOrder + 1} nodes.
+     *
+     * @param gaussOrder  the number of nodes of the embedded Gauss rule
+     * @param mathContext the minimum precision of the nodes and weights
+     * @return the rule with at least the given precision
+     * @throws IllegalArgumentException if {@code gaussOrder} is less than 1
+     */
+    public static GaussKronrodRule gaussKronrod(final int gaussOrder, @NonNull final MathContext mathContext) {
+        if (gaussOrder < 1) {
+            throw new IllegalArgumentException("Gauss order must be at least 1: " + gaussOrder);
+        }
+
+        return (GaussKronrodRule) getRule(RuleKind.GAUSS_KRONROD, gaussOrder, mathContext,
+                precision -> computeGaussKronrod(gaussOrder, new MathContext(precision)));
+    }
+
+    /**
+     * Returns the nodes of one level of the tanh-sinh rule. The rule is truncated where the weights drop below
+     * the given precision.
+     *
+     * @param level       the level, {@code 0} for step size {@code 1}, {@code L} for step size {@code 2^-L}
+     * @param mathContext the minimum precision of the nodes and weights
+     * @return the nodes of the level with at least the given precision
+     * @throws IllegalArgumentException if {@code level} is negative
+     */
+    public static TanhSinhLevel tanhSinh(final int level, @NonNull final MathContext mathContext) {
+        if (level < 0) {
+            throw new IllegalArgumentException("Level must not be negative: " + level);
+        }
+
+        return (TanhSinhLevel) getRule(RuleKind.TANH_SINH, level, mathContext,
+                precision -> computeTanhSinh(level, new MathContext(precision)));
+    }
+
+    /**
+     * Returns the maximum total number of digits of the cached nodes and weights.
+     *
+     * @return the maximum number of cached digits
+     */
+    public static long getMaximumCachedDigits() {
+        synchronized (rules) {
+            return maximumCachedDigits;
+        }
+    }
+
+    /**
+     * Sets the maximum total number of digits of the cached nodes and weights and evicts the least recently used
+     * rules until the cache fits. A tanh-sinh level at 100 digits has a few hundred thousand digits.
+     *
+     * @param maximumDigits the maximum number of cached digits, {@code 0} to disable caching
+     * @throws IllegalArgumentException if {@code maximumDigits} is negative
+     */
+    public static void setMaximumCachedDigits(final long maximumDigits) {
+        if (maximumDigits < 0) {
+            throw new IllegalArgumentException("Maximum number of cached digits must not be negative: " + maximumDigits);
+        }
+
+        synchronized (rules) {
+            maximumCachedDigits = maximumDigits;
+            evictLeastRecentlyUsed();
+        }
+    }
+
+    /**
+     * Returns the total number of digits of the currently cached nodes and weights.
+     *
+     * @return the number of cached digits
+     */
+    public static long getCachedDigits() {
+        synchronized (rules) {
+            return cachedDigits;
+        }
+    }
+
+    /**
+     * Removes all cached rules.
+     */
+    public static void clear() {
+        synchronized (rules) {
+            rules.clear();
+            cachedDigits = 0;
+        }
+    }
+
+    /**
+     * Writes all cached rules to a file, replacing the file if it exists. The file is written next to its target
+     * first and then moved into place, so that other processes never read a partially written file.
+     *
+     * @param file the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public static void save(@NonNull final Path file) throws IOException {
+        final Map<RuleKey, Object> snapshot;
+        synchronized (rules) {
+            snapshot = new LinkedHashMap<>(rules);
+        }
+
+        final Path absoluteFile = file.toAbsolutePath();
+        final Path temporaryFile = Files.createTempFile(absoluteFile.getParent(), absoluteFile.getFileName().toString(), ".tmp");
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8)) {
+                writer.write(FILE_HEADER);
+                writer.newLine();
+
+                for (final Map.Entry<RuleKey, Object> rule : snapshot.entrySet()) {
+                    final List<List<BigDecimal>> tables = tablesOf(rule.getValue());
+                    final RuleKey key = rule.getKey();
+                    writer.write(key.kind() + " " + key.order() + " " + key.precision() + " " + tables.size() + " " + tables.get(0).size());
+                    writer.newLine();
+
+                    for (final List<BigDecimal> table : tables) {
+                        for (final BigDecimal value : table) {
+                            writer.write(value.toString());
+                            writer.newLine();
+                        }
+                    }
+                }
+            }
+
+            Files.move(temporaryFile, absoluteFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    /**
+     * Adds the rules of a file written by {@link #save(Path)} to the cache. Rules that are already cached are kept.
+     * The size limit of the cache applies to the loaded rules as well.
+     * <p>
+     * The file is validated before anything is cached: the header of every rule has to describe a rule that fits
+     * into the file, and every value has to carry exactly the digits of the rule's precision tier (exact integers
+     * such as {@code 0} excepted).
+     *
+     * @param file the file to read
+     * @return the number of rules read from the file
+     * @throws IOException if the file cannot be read or is not a file written by {@link #save(Path)}
+     */
+    public static int load(@NonNull final Path file) throws IOException {
+        final Map<RuleKey, Object> loadedRules = new LinkedHashMap<>();
+        // Every value takes at least one digit and a line break
+        final long maximumValueCount = Files.size(file) / 2;
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            if (!FILE_HEADER.equals(reader.readLine())) {
+                throw new IOException("Not a quadrature node file: " + file);
+            }
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                try {
+                    final String[] fields = line.split(" ");
+                    if (fields.length != 5) {
+                        throw new IllegalArgumentException("Invalid rule header: " + line);
+                    }
+
+                    final RuleKind kind = RuleKind.valueOf(fields[0]);
+                    final RuleKey key = new RuleKey(kind, Integer.parseInt(fields[1]), Integer.parseInt(fields[2]));
+                    final int tableCount = Integer.parseInt(fields[3]);
+                    final int valueCount = Integer.parseInt(fields[4]);
+                    checkRuleHeader(key, tableCount, valueCount, maximumValueCount);
+
+                    final List<List<BigDecimal>> tables = new ArrayList<>(tableCount);
+                    for (int table = 0; table < tableCount; table++) {
+                        final List<BigDecimal> values = new ArrayList<>(valueCount);
+                        for (int index = 0; index < valueCount; index++) {
+                            values.add(checkValuePrecision(key, new BigDecimal(reader.readLine())));
+                        }
+                        tables.add(List.copyOf(values));
+                    }
+
+                    loadedRules.put(key, toRule(kind, tables));
+                } catch (final RuntimeException exception) {
+                    throw new IOException("Malformed quadrature node file: " + file, exception);
+                }
+            }
+        }
+
+        synchronized (rules) {
+            for (final Map.Entry<RuleKey, Object> rule : loadedRules.entrySet()) {
+                if (!rules.containsKey(rule.getKey())) {
+                    addRule(rule.getKey(), rule.getValue());
+                }
+            }
+        }
+
+        return loadedRules.size();
+    }
+
+    /**
+     * Checks that the header of a rule read by {@link #load(Path)} describes a rule this class could have written.
+     *
+     * @param key               the key of the rule
+     * @param tableCount        the number of tables of the rule
+     * @param valueCount        the number of values per table
+     * @param maximumValueCount the number of values the file can hold at most
+     * @throws IllegalArgumentException if the header is invalid
+     */
+    private static void checkRuleHeader(final RuleKey key, final int tableCount, final int valueCount, final long maximumValueCount) {
+        final boolean valid = switch (key.kind()) {
+            case GAUSS_KRONROD -> key.order() >= 1 && tableCount == 3 && valueCount == key.order() + 1L;
+            case TANH_SINH -> key.order() >= 0 && tableCount == 2 && valueCount >= 1;
+        };
+
+        if (!valid || key.precision() < PRECISION_TIER || key.precision() % PRECISION_TIER != 0 || (long) tableCount * valueCount > maximumValueCount) {
+            throw new IllegalArgumentException("Invalid rule header: " + key + ", " + tableCount + " tables of " + valueCount + " values");
+        }
+    }
+
+    /**
+     * Checks that a value read by {@link #load(Path)} has the precision of its rule. Exact integers are written
+     * with fewer digits.
+     *
+     * @param key   the key of the rule
+     * @param value the value
+     * @return the value
+     * @throws IllegalArgumentException if the value has a different precision
+     */
+    private static BigDecimal checkValuePrecision(final RuleKey key, final BigDecimal value) {
+        if (value.precision() != key.precision() && (value.scale() > 0 || value.precision() > key.precision())) {
+            throw new IllegalArgumentException("Value does not have the precision " + key.precision() + " of its rule: " + value);
+        }
+
+        return value;
+    }
+
+    /**
+     * Returns a cached rule, computing and caching it if it is missing.
+     *
+     * @param kind        the kind of the rule
+     * @param order       the order or level of the rule
+     * @param mathContext the minimum precision of the rule
+     * @param computation computes the rule for the precision of its tier
+     * @return the rule
+     */
+    private static Object getRule(final RuleKind kind, final int order, final MathContext mathContext, final IntFunction<Object> computation) {
+        final int tierPrecision = (mathContext.getPrecision() + PRECISION_TIER - 1) / PRECISION_TIER * PRECISION_TIER;
+        final RuleKey key = new RuleKey(kind, order, tierPrecision);
+
+        synchronized (rules) {
+            final Object rule = rules.get(key);
+            if (rule != null) {
+                return rule;
+            }
+        }
+
+        final Object computedRule = computation.apply(tierPrecision);
+
+        synchronized (rules) {
+            final Object rule = rules.get(key);
+            if (rule != null) {
+                return rule;
+            }
+
+            addRule(key, computedRule);
+        }
+
+        return computedRule;
+    }
+
+    /**
+     * Adds a rule to the cache and evicts the least recently used rules if the cache gets too large.
+     * The caller has to hold the lock of {@link #rules}.
+     *
+     * @param key  the key of the rule
+     * @param rule the rule
+     */
+    private static void addRule(final RuleKey key, final Object rule) {
+        rules.put(key, rule);
+        cachedDigits += digitsOf(key, rule);
+        evictLeastRecentlyUsed();
+    }
+
+    /**
+     * Removes the least recently used rules until the cache fits its size limit. The caller has to hold the lock
+     * of {@link #rules}.
+     */
+    private static void evictLeastRecentlyUsed() {
+        final Iterator<Map.Entry<RuleKey, Object>> iterator = rules.entrySet().iterator();
+        while (cachedDigits > maximumCachedDigits && iterator.hasNext()) {
+            final Map.Entry<RuleKey, Object> rule = iterator.next();
+            cachedDigits -= digitsOf(rule.getKey(), rule.getValue());
+            iterator.remove();
+        }
+    }
+
+    private static long digitsOf(final RuleKey key, final Object rule) {
+        long valueCount = 0;
+        for (final List<BigDecimal> table : tablesOf(rule)) {
+            valueCount += table.size();
+        }
+        return valueCount * key.precision();
+    }
+
+    private static List<List<BigDecimal>> tablesOf(final Object rule) {
+        if (rule instanceof GaussKronrodRule gaussKronrodRule) {
+            return List.of(gaussKronrodRule.nodes(), gaussKronrodRule.kronrodWeights(), gaussKronrodRule.gaussWeights());
+        }
+
+        final TanhSinhLevel tanhSinhLevel = (TanhSinhLevel) rule;
+        return List.of(tanhSinhLevel.complements(), tanhSinhLevel.weights());
+    }
+
+    private static Object toRule(final RuleKind kind, final List<List<BigDecimal>> tables) {
+        return switch (kind) {
+            case GAUSS_KRONROD -> new GaussKronrodRule(tables.get(0), tables.get(1), tables.get(2));
+            case TANH_SINH -> new TanhSinhLevel(tables.get(0), tables.get(1));
+        };
+    }
+
+    /**
+     * Computes a Gauss–Kronrod rule.
+     * <p>
+     * The Kronrod nodes are the roots of the Stieltjes polynomial {@code E(x)} of degree {@code n + 1}, which is
+     * orthogonal to {@code P_n(x) x^k} for {@code k = 0..n}. Its coefficients are found from the moments of the
+     * Legendre polynomial {@code P_n}. The roots interlace with the Gauss nodes, which gives a bracket for every
+     * root. The Kronrod weights integrate the even powers of {@code x} exactly.
+     *
+     * @param gaussOrder  the number of Gauss nodes {@code n}
+     * @param mathContext the requested precision
+     * @return the rule rounded to the requested precision
+     */
+    private static GaussKronrodRule computeGaussKronrod(final int gaussOrder, final MathContext mathContext) {
+        final MathContext workingMathContext = new MathContext(mathContext.getPrecision() + GUARD_DIGITS + 2 * gaussOrder);
+        final BigDecimal tolerance = BigDecimal.ONE.movePointLeft(workingMathContext.getPrecision() - 5);
+
+        // Gauss nodes in ascending order, including the negative ones for the brackets of the Kronrod nodes
+        final List<BigDecimal> gaussNodes = new ArrayList<>();
+        for (int index = gaussOrder; index >= 1; index--) {
+            final double initialGuess = Math.cos(Math.PI * (index - 0.25) / (gaussOrder + 0.5));
+            if (gaussOrder % 2 == 1 && index == (gaussOrder + 1) / 2) {
+                gaussNodes.add(BigDecimal.ZERO);
+                continue;
+            }
+
+            BigDecimal node = new BigDecimal(initialGuess);
+            for (int iteration = 0; iteration < 100; iteration++) {
+                final BigDecimal[] legendre = legendre(gaussOrder, node, workingMathContext);
+                final BigDecimal step = legendre[0].divide(legendre[1], workingMathContext);
+                node = node.subtract(step, workingMathContext);
+                if (step.abs().compareTo(tolerance) < 0) {
+                    break;
+                }
+            }
+            gaussNodes.add(node);
+        }
+
+        final BigDecimal[] stieltjes = stieltjesCoefficients(gaussOrder, workingMathContext);
+
+        final List<BigDecimal> nodes = new ArrayList<>();
+        final List<Boolean> isGaussNode = new ArrayList<>();
+        for (int index = 0; index <= gaussOrder; index++) {
+            final BigDecimal lower = index == 0 ? BigDecimal.ONE.negate() : gaussNodes.get(index - 1);
+            final BigDecimal upper = index == gaussOrder ? BigDecimal.ONE : gaussNodes.get(index);
+            if (upper.signum() <= 0) {
+                continue;
+            }
+
+            if (index > 0 && lower.signum() >= 0) {
+                nodes.add(lower);
+                isGaussNode.add(true);
+            }
+
+            nodes.add(lower.signum() < 0 ? BigDecimal.ZERO : findRoot(stieltjes, lower, upper, tolerance, workingMathContext));
+            isGaussNode.add(false);
+        }
+
+        // The Kronrod weights integrate 1, x^2, x^4, ... exactly; odd powers vanish by symmetry
+        final int nodeCount = nodes.size();
+        final BigDecimal[][] powers = new BigDecimal[nodeCount][nodeCount];
+        final BigDecimal[] moments = new BigDecimal[nodeCount];
+        for (int power = 0; power < nodeCount; power++) {
+            moments[power] = TWO.divide(BigDecimal.valueOf(2L * power + 1), workingMathContext);
+            for (int index = 0; index < nodeCount; index++) {
+                final BigDecimal node = nodes.get(index);
+                final BigDecimal multiplicity = node.signum() == 0 ? BigDecimal.ONE : TWO;
+                powers[power][index] = multiplicity.multiply(node.pow(2 * power, workingMathContext), workingMathContext);
+            }
+        }
+        final BigDecimal[] kronrodWeights = solve(powers, moments, workingMathContext);
+
+        final List<BigDecimal> roundedNodes = new ArrayList<>(nodeCount);
+        final List<BigDecimal> roundedKronrodWeights = new ArrayList<>(nodeCount);
+        final List<BigDecimal> roundedGaussWeights = new ArrayList<>(nodeCount);
+        for (int index = 0; index < nodeCount; index++) {
+            final BigDecimal node = nodes.get(index);
+            roundedNodes.add(node.round(mathContext));
+            roundedKronrodWeights.add(kronrodWeights[index].round(mathContext));
+
+            if (isGaussNode.get(index)) {
+                // w = 2 / ((1 - x^2) P_n'(x)^2)
+                final BigDecimal derivative = legendre(gaussOrder, node, workingMathContext)[1];
+                final BigDecimal denominator = BigDecimal.ONE.subtract(node.pow(2, workingMathContext)).multiply(derivative.pow(2, workingMathContext), workingMathContext);
+                roundedGaussWeights.add(TWO.divide(denominator, mathContext));
+            } else {
+                roundedGaussWeights.add(BigDecimal.ZERO);
+            }
+        }
+
+        return new GaussKronrodRule(List.copyOf(roundedNodes), List.copyOf(roundedKronrodWeights), List.copyOf(roundedGaussWeights));
+    }
+
+    /**
+     * Evaluates the Legendre polynomial {@code P_n} and its derivative with the three-term recurrence.
+     *
+     * @param order       the degree {@code n}
+     * @param x           the argument, strictly between {@code -1} and {@code 1}
+     * @param mathContext the working precision
+     * @return {@code P_n(x)} and {@code P_n'(x)}
+     */
+    private static BigDecimal[] legendre(final int order, final BigDecimal x, final MathContext mathContext) {
+        BigDecimal previous = BigDecimal.ONE;
+        BigDecimal current = x;
+        for (int degree = 1; degree < order; degree++) {
+            final BigDecimal next = BigDecimal.valueOf(2L * degree + 1).multiply(x).multiply(current)
+                    .subtract(BigDecimal.valueOf(degree).multiply(previous))
+                    .divide(BigDecimal.valueOf(degree + 1L), mathContext);
+            previous = current;
+            current = next;
+        }
+
+        // P_n'(x) = n (x P_n(x) - P_(n-1)(x)) / (x^2 - 1)
+        final BigDecimal derivative = BigDecimal.valueOf(order).multiply(x.multiply(current).subtract(previous))
+                .divide(x.multiply(x).subtract(BigDecimal.ONE), mathContext);
+        return new BigDecimal[]{current, derivative};
+    }
+
+    /**
+     * Computes the monomial coefficients of the Stieltjes polynomial {@code E} of degree {@code n + 1} with leading
+     * coefficient {@code 1}.
+     *
+     * @param gaussOrder  the degree {@code n} of the Legendre polynomial
+     * @param mathContext the working precision
+     * @return the coefficients, the coefficient of {@code x^i} at index {@code i}
+     */
+    private static BigDecimal[] stieltjesCoefficients(final int gaussOrder, final MathContext mathContext) {
+        // The coefficients of P_n are binary fractions and therefore exact
+        final BigDecimal[] legendreCoefficients = new BigDecimal[gaussOrder + 1];
+        final BigDecimal denominator = new BigDecimal(BigInteger.TWO.pow(gaussOrder));
+        for (int index = 0; index <= gaussOrder; index++) {
+            legendreCoefficients[index] = BigDecimal.ZERO;
+        }
+        for (int k = 0; 2 * k <= gaussOrder; k++) {
+            final BigInteger numerator = factorial(2 * gaussOrder - 2 * k)
+                    .divide(factorial(k).multiply(factorial(gaussOrder - k)).multiply(factorial(gaussOrder - 2 * k)));
+            final BigDecimal coefficient = new BigDecimal(numerator).divide(denominator);
+            legendreCoefficients[gaussOrder - 2 * k] = k % 2 == 0 ? coefficient : coefficient.negate();
+        }
+
+        // moments[m] = integral of P_n(x) x^m over [-1, 1]
+        final BigDecimal[] moments = new BigDecimal[2 * gaussOrder + 2];
+        for (int power = 0; power < moments.length; power++) {
+            BigDecimal moment = BigDecimal.ZERO;
+            for (int index = 0; index <= gaussOrder; index++) {
+                if ((index + power) % 2 == 0 && legendreCoefficients[index].signum() != 0) {
+                    moment = moment.add(legendreCoefficients[index].multiply(TWO).divide(BigDecimal.valueOf(index + power + 1L), mathContext));
+                }
+            }
+            moments[power] = moment;
+        }
+
+        final BigDecimal[][] matrix = new BigDecimal[gaussOrder + 1][gaussOrder + 1];
+        final BigDecimal[] rightHandSide = new BigDecimal[gaussOrder + 1];
+        for (int row = 0; row <= gaussOrder; row++) {
+            for (int column = 0; column <= gaussOrder; column++) {
+                matrix[row][column] = moments[row + column];
+            }
+            rightHandSide[row] = moments[row + gaussOrder + 1].negate();
+        }
+
+        final BigDecimal[] lowerCoefficients = solve(matrix, rightHandSide, mathContext);
+        final BigDecimal[] coefficients = new BigDecimal[gaussOrder + 2];
+        System.arraycopy(lowerCoefficients, 0, coefficients, 0, gaussOrder + 1);
+        coefficients[gaussOrder + 1] = BigDecimal.ONE;
+        return coefficients;
+    }
+
+    /**
+     * Finds the single root of a polynomial inside a bracket. The root is located by bisection in {@code double}
+     * precision and then refined with Newton's method at the working precision.
+     *
+     * @param coefficients the monomial coefficients of the polynomial
+     * @param lower        the lower end of the bracket
+     * @param upper        the upper end of the bracket
+     * @param tolerance    the step size at which Newton's method stops
+     * @param mathContext  the working precision
+     * @return the root
+     */
+    private static BigDecimal findRoot(final BigDecimal[] coefficients, final BigDecimal lower, final BigDecimal upper, final BigDecimal tolerance, final MathContext mathContext) {
+        final double[] doubleCoefficients = new double[coefficients.length];
+        for (int index = 0; index < coefficients.length; index++) {
+            doubleCoefficients[index] = coefficients[index].doubleValue();
+        }
+
+        double low = lower.doubleValue();
+        double high = upper.doubleValue();
+        final boolean isIncreasing = evaluate(doubleCoefficients, high) > evaluate(doubleCoefficients, low);
+        for (int iteration = 0; iteration < 200 && high - low > 1e-15; iteration++) {
+            final double middle = (low + high) / 2;
+            if ((evaluate(doubleCoefficients, middle) > 0) == isIncreasing) {
+                high = middle;
+            } else {
+                low = middle;
+            }
+        }
+
+        BigDecimal root = new BigDecimal((low + high) / 2);
+        for (int iteration = 0; iteration < 100; iteration++) {
+            BigDecimal value = BigDecimal.ZERO;
+            BigDecimal derivative = BigDecimal.ZERO;
+            for (int index = coefficients.length - 1; index >= 0; index--) {
+                derivative = derivative.multiply(root, mathContext).add(value);
+                value = value.multiply(root, mathContext).add(coefficients[index]);
+            }
+
+            final BigDecimal step = value.divide(derivative, mathContext);
+            root = root.subtract(step, mathContext);
+            if (step.abs().compareTo(tolerance) < 0) {
+                break;
+            }
+        }
+
+        return root;
+    }
+
+    private static double evaluate(final double[] coefficients, final double x) {
+        double value = 0;
+        for (int index = coefficients.length - 1; index >= 0; index--) {
+            value = value * x + coefficients[index];
+        }
+        return value;
+    }
+
+    /**
+     * Solves a linear system with Gaussian elimination and partial pivoting. The arguments are overwritten.
+     *
+     * @param matrix        the square coefficient matrix
+     * @param rightHandSide the right-hand side
+     * @param mathContext   the working precision
+     * @return the solution
+     */
+    private static BigDecimal[] solve(final BigDecimal[][] matrix, final BigDecimal[] rightHandSide, final MathContext mathContext) {
+        final int size = rightHandSide.length;
+        for (int pivot = 0; pivot < size; pivot++) {
+            int pivotRow = pivot;
+            for (int row = pivot + 1; row < size; row++) {
+                if (matrix[row][pivot].abs().compareTo(matrix[pivotRow][pivot].abs()) > 0) {
+                    pivotRow = row;
+                }
+            }
+
+            final BigDecimal[] swappedRow = matrix[pivot];
+            matrix[pivot] = matrix[pivotRow];
+            matrix[pivotRow] = swappedRow;
+            final BigDecimal swappedValue = rightHandSide[pivot];
+            rightHandSide[pivot] = rightHandSide[pivotRow];
+            rightHandSide[pivotRow] = swappedValue;
+
+            for (int row = pivot + 1; row < size; row++) {
+                if (matrix[row][pivot].signum() == 0) {
+                    continue;
+                }
+
+                final BigDecimal factor = matrix[row][pivot].divide(matrix[pivot][pivot], mathContext);
+                for (int column = pivot; column < size; column++) {
+                    matrix[row][column] = matrix[row][column].subtract(factor.multiply(matrix[pivot][column], mathContext), mathContext);
+                }
+                rightHandSide[row] = rightHandSide[row].subtract(factor.multiply(rightHandSide[pivot], mathContext), mathContext);
+            }
+        }
+
+        final BigDecimal[] solution = new BigDecimal[size];
+        for (int row = size - 1; row >= 0; row--) {
+            BigDecimal sum = rightHandSide[row];
+            for (int column = row + 1; column < size; column++) {
+                sum = sum.subtract(matrix[row][column].multiply(solution[column], mathContext), mathContext);
+            }
+            solution[row] = sum.divide(matrix[row][row], mathContext);
+        }
+
+        return solution;
+    }
+
+    private static BigInteger factorial(final int n) {
+        BigInteger result = BigInteger.ONE;
+        for (int factor = 2; factor <= n; factor++) {
+            result = result.multiply(BigInteger.valueOf(factor));
+        }
+        return result;
+    }
+
+    /**
+     * Computes one level of the tanh-sinh rule. The nodes end at the {@code t} where the weights drop below
+     * {@code 10^-(2 * precision)}, i.e. where {@code π sinh(t)} exceeds {@code 2 * precision * ln(10)}. Nodes with
+     * weights below {@code 10^-precision} still matter for integrands with a singularity at an end of the interval,
+     * such as {@code 1/sqrt(x)} at {@code 0}.
+     *
+     * @param level       the level
+     * @param mathContext the requested precision
+     * @return the level rounded to the requested precision
+     */
+    private static TanhSinhLevel computeTanhSinh(final int level, final MathContext mathContext) {
+        final MathContext workingMathContext = new MathContext(mathContext.getPrecision() + GUARD_DIGITS);
+        final BigDecimal halfPi = BigDecimalMath.pi(workingMathContext).divide(TWO, workingMathContext);
+        final double maximumT = asinh((2 * mathContext.getPrecision() * Math.log(10) + 10) / Math.PI);
+
+        final BigDecimal stepSize = BigDecimal.ONE.divide(new BigDecimal(BigInteger.TWO.pow(level)));
+        final long firstIndex = level == 0 ? 0 : 1;
+        final long indexIncrement = level == 0 ? 1 : 2;
+
+        final List<BigDecimal> complements = new ArrayList<>();
+        final List<BigDecimal> weights = new ArrayList<>();
+        for (long index = firstIndex; index * Math.pow(2, -level) <= maximumT; index += indexIncrement) {
+            final BigDecimal t = stepSize.multiply(BigDecimal.valueOf(index));
+            final BigDecimal u = halfPi.multiply(BigDecimalMath.sinh(t, workingMathContext), workingMathContext);
+            final BigDecimal expU = BigDecimalMath.exp(u, workingMathContext);
+            final BigDecimal coshU = expU.add(BigDecimal.ONE.divide(expU, workingMathContext)).divide(TWO, workingMathContext);
+
+            // 1 - tanh(u) = 2 / (e^(2u) + 1)
+            complements.add(TWO.divide(expU.multiply(expU).add(BigDecimal.ONE), mathContext));
+            weights.add(halfPi.multiply(BigDecimalMath.cosh(t, workingMathContext)).divide(coshU.multiply(coshU), mathContext));
+        }
+
+        return new TanhSinhLevel(List.copyOf(complements), List.copyOf(weights));
+    }
+
+    private static double asinh(final double x) {
+        return Math.log(x + Math.sqrt(x * x + 1));
+    }
+
+}
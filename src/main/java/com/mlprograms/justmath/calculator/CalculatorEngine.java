@@ -25,18 +25,26 @@
 package com.mlprograms.justmath.calculator;
 
 import com.mlprograms.justmath.bignumber.BigNumber;
+import com.mlprograms.justmath.bignumber.BigNumberList;
 import com.mlprograms.justmath.bignumber.BigNumbers;
+import com.mlprograms.justmath.bignumber.math.SeriesMath;
+import com.mlprograms.justmath.calculator.exceptions.CyclicVariableReferenceException;
+import com.mlprograms.justmath.calculator.expression.DualNumber;
 import com.mlprograms.justmath.calculator.internal.TrigonometricMode;
 import com.mlprograms.justmath.calculator.internal.Token;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NonNull;
 
 import java.math.MathContext;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 import static com.mlprograms.justmath.bignumber.BigNumbers.DEFAULT_DIVISION_PRECISION;
 import static com.mlprograms.justmath.calculator.CalculatorEngineUtils.*;
@@ -44,15 +52,18 @@ import static com.mlprograms.justmath.calculator.CalculatorEngineUtils.*;
 /**
  * Main entry point for evaluating mathematical expressions as strings with exact precision.
  * Converts the input to tokens, parses them to postfix (RPN), and evaluates the result.
+ * <p>
+ * An engine is immutable apart from its internal caches and may be shared between threads. Every evaluation keeps
+ * its state on its own stack, and the variables of nested expressions (e.g. the bodies of summations) are passed
+ * along explicitly instead of through thread-local storage.
  */
 @Getter
 public class CalculatorEngine {
 
     /**
-     * Static thread-local storage for the current variables in the evaluation context.
-     * This allows nested evaluations to access variables from the outer context.
+     * Number of variable sets whose dependency graph is kept per engine.
      */
-    private static final ThreadLocal<Map<String, String>> currentVariables = ThreadLocal.withInitial(HashMap::new);
+    private static final int VARIABLE_GRAPH_CACHE_SIZE = 16;
     /**
      * Tokenizer instance used to convert input expressions into tokens.
      */
@@ -65,6 +76,32 @@ public class CalculatorEngine {
      * Parser instance used to convert infix token lists to postfix notation.
      */
     private final PostfixParser postfixParser;
+    /**
+     * Math context specifying the precision and rounding mode for calculations.
+     */
+    private final MathContext mathContext;
+    /**
+     * The mode used for trigonometric calculations (e.g., degrees or radians).
+     */
+    private final TrigonometricMode trigonometricMode;
+    /**
+     * Cache of compiled expressions, disabled unless a cache size is configured.
+     */
+    private final ExpressionCache expressionCache;
+    /**
+     * The resource limits of every evaluation of this engine.
+     */
+    private final EvaluationLimits evaluationLimits;
+    /**
+     * Dependency graphs of the most recently used variable sets, the least recently used first.
+     */
+    @Getter(AccessLevel.NONE)
+    private final Map<Map<String, String>, VariableGraph> variableGraphs = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Map<String, String>, VariableGraph> eldest) {
+            return size() > VARIABLE_GRAPH_CACHE_SIZE;
+        }
+    };
 
     /**
      * Constructs a CalculatorEngine with default division precision and default trigonometric mode (DEG).
@@ -118,19 +155,107 @@ public class CalculatorEngine {
      * @param trigonometricMode the trigonometric mode (DEG or RAD)
      */
     public CalculatorEngine(@NonNull MathContext mathContext, @NonNull TrigonometricMode trigonometricMode) {
+        this(mathContext, trigonometricMode, 0);
+    }
+
+    /**
+     * Constructs a CalculatorEngine with the specified MathContext, trigonometric mode and expression cache size.
+     * <p>
+     * The engine keeps the compiled form of up to {@code expressionCacheSize} recently evaluated expressions, so
+     * evaluating the same expression again (with the same or different variable values) skips tokenizing, parsing
+     * and optimizing. A size of {@code 0} disables the cache.
+     *
+     * @param mathContext         the MathContext specifying precision and rounding mode
+     * @param trigonometricMode   the trigonometric mode (DEG or RAD)
+     * @param expressionCacheSize the maximum number of cached expressions
+     */
+    public CalculatorEngine(@NonNull MathContext mathContext, @NonNull TrigonometricMode trigonometricMode, int expressionCacheSize) {
+        this(mathContext, trigonometricMode, expressionCacheSize, EvaluationLimits.NONE, SeriesMath.Parallelism.DEFAULT);
+    }
+
+    private CalculatorEngine(final MathContext mathContext, final TrigonometricMode trigonometricMode, final int expressionCacheSize, final EvaluationLimits evaluationLimits, final SeriesMath.Parallelism seriesParallelism) {
         this.tokenizer = new Tokenizer();
-        this.evaluator = new Evaluator(mathContext, trigonometricMode);
+        this.evaluator = new Evaluator(mathContext, trigonometricMode, seriesParallelism);
         this.postfixParser = new PostfixParser();
+        this.mathContext = mathContext;
+        this.trigonometricMode = trigonometricMode;
+        this.expressionCache = new ExpressionCache(expressionCacheSize);
+        this.evaluationLimits = evaluationLimits;
+    }
+
+    /**
+     * Returns a copy of this engine whose evaluations are bounded by the given limits, e.g. to protect a server from
+     * expressions like {@code 999999!} or {@code summation(1;10^12;k)}. The limits also apply to the expressions
+     * compiled by the copy. The copy has its own, empty expression cache of the same size.
+     *
+     * @param evaluationLimits the limits of every evaluation
+     * @return the engine with the given limits
+     * @see EvaluationLimits
+     */
+    public CalculatorEngine withEvaluationLimits(@NonNull final EvaluationLimits evaluationLimits) {
+        return new CalculatorEngine(mathContext, trigonometricMode, expressionCache.getMaximumSize(), evaluationLimits, evaluator.getSeriesParallelism());
     }
 
     /**
-     * Gets the current variables in the evaluation context.
-     * This includes variables from outer evaluation contexts in nested evaluations.
+     * Returns a copy of this engine that evaluates the summations and products of its expressions in parallel
+     * according to the given settings, e.g. on a dedicated pool or never. The settings also apply to the expressions
+     * compiled by the copy and do not affect any other engine. The copy has its own, empty expression cache of the
+     * same size.
      *
-     * @return a map of variable names with their BigNumber values
+     * @param seriesParallelism decides when and where series run in parallel
+     * @return the engine with the given settings
+     * @see SeriesMath.Parallelism
      */
-    public static Map<String, String> getCurrentVariables() {
-        return new HashMap<>(currentVariables.get());
+    public CalculatorEngine withSeriesParallelism(@NonNull final SeriesMath.Parallelism seriesParallelism) {
+        return new CalculatorEngine(mathContext, trigonometricMode, expressionCache.getMaximumSize(), evaluationLimits, seriesParallelism);
+    }
+
+    /**
+     * Compiles a mathematical expression into a {@link CompiledExpression} that can be evaluated many times with
+     * different variable values.
+     * <p>
+     * Tokenizing, converting the expression to postfix notation and optimizing it happens once here (or not at all if
+     * the expression is cached), so every later evaluation only performs the arithmetic. The compiled expression uses
+     * the math context and trigonometric mode of this engine.
+     *
+     * @param expression the input string expression to compile (e.g. "x^2 + sqrt(y)")
+     * @return the compiled expression
+     */
+    public CompiledExpression compile(@NonNull final String expression) {
+        // Compiling evaluates constant subexpressions, which are bounded by the limits as well
+        return expressionCache.get(expression, uncachedExpression -> EvaluationGuard.run(evaluationLimits, () -> new CompiledExpression(this, uncachedExpression)));
+    }
+
+    /**
+     * Evaluates a mathematical expression once per row of the given columns, in parallel on the common
+     * {@link ForkJoinPool}. The expression is compiled once for all rows.
+     *
+     * @param expression the input string expression to evaluate
+     * @param columns    a map of variable names with one value per row
+     * @return one result per row, trimmed of trailing zeros
+     * @throws IllegalArgumentException if a variable has no column, a column has no value in some row or the columns
+     *                                  differ in length
+     * @see CompiledExpression#evaluateBatch(Map, int, Executor)
+     */
+    public BigNumberList evaluateBatch(@NonNull final String expression, @NonNull final Map<String, ? extends List<BigNumber>> columns) {
+        return compile(expression).evaluateBatch(columns);
+    }
+
+    /**
+     * Evaluates a mathematical expression once per row of the given columns, splitting the rows into
+     * {@code parallelism} chunks that are evaluated concurrently on the given executor.
+     *
+     * @param expression  the input string expression to evaluate
+     * @param columns     a map of variable names with one value per row
+     * @param parallelism the maximum number of chunks evaluated at the same time
+     * @param executor    the executor evaluating the chunks
+     * @return one result per row, trimmed of trailing zeros
+     * @throws IllegalArgumentException if {@code parallelism} is less than one, a variable has no column, a column has
+     *                                  no value in some row or the columns differ in length
+     * @see CompiledExpression#evaluateBatch(Map, int, Executor)
+     */
+    public BigNumberList evaluateBatch(@NonNull final String expression, @NonNull final Map<String, ? extends List<BigNumber>> columns, final int parallelism, @NonNull final Executor executor) {
+        return compile(expression).evaluateBatch(columns, parallelism, executor);
     }
 
     /**
@@ -147,32 +272,170 @@ public class CalculatorEngine {
      * Evaluates a mathematical expression with optional variable substitution.
      *
      * @param expression the input string expression to evaluate
-     * @param variables  a map of variable names with their BigNumber values
+     * @param variables  a map of variable names with the expressions defining their values
      * @return the result as a BigNumber, trimmed of trailing zeros
      */
     public BigNumber evaluate(@NonNull final String expression, @NonNull final Map<String, String> variables) {
+        return evaluate(expression, variables, Map.of());
+    }
+
+    /**
+     * Evaluates a mathematical expression with variables bound to numeric values and variables defined by
+     * expressions.
+     * <p>
+     * Numeric values are passed to the evaluation as they are, without being formatted and parsed again. Every
+     * expression-valued variable is evaluated at most once per call, no matter how often it is referenced by the
+     * expression or by other variables. If a name is bound in both maps, the numeric value is used.
+     *
+     * @param expression the input string expression to evaluate
+     * @param variables  a map of variable names with the expressions defining their values
+     * @param values     a map of variable names with their numeric values
+     * @return the result as a BigNumber, trimmed of trailing zeros
+     * @throws CyclicVariableReferenceException if the expression-valued variables reference each other cyclically
+     * @throws IllegalArgumentException         if a variable of the expression is not defined
+     */
+    public BigNumber evaluate(@NonNull final String expression, @NonNull final Map<String, String> variables, @NonNull final Map<String, BigNumber> values) {
         if (expression.isBlank()) {
             return BigNumbers.ZERO;
         }
 
-        // Store the current variables in the thread-local storage
-        Map<String, String> combinedVariables = new HashMap<>(getCurrentVariables());
-        combinedVariables.putAll(variables);
-        currentVariables.set(combinedVariables);
+        // Compile (or reuse the cached form) and resolve the variables late, so the compiled form fits any values
+        return EvaluationGuard.run(evaluationLimits, () -> compile(expression).evaluate(new VariableResolver(getVariableGraph(variables), values)));
+    }
 
-        // Replace the |n| in the expression to look like abs(n)
-        String expressionWithoutAbsValueSign = replaceAbsSigns(expression);
+    /**
+     * Evaluates a mathematical expression and its derivative with respect to one variable in a single pass.
+     *
+     * @param expression   the input string expression to evaluate (e.g. "sin(x) * x^2")
+     * @param variableName the variable to differentiate with respect to
+     * @param values       a map of variable names with their numeric values
+     * @return the result and its derivative, both trimmed of trailing zeros
+     * @throws IllegalArgumentException      if a variable of the expression has no value
+     * @throws UnsupportedOperationException if the result depends on the variable through an operator or function
+     *                                       that cannot be differentiated
+     * @see CompiledExpression#evaluateWithDerivative(String, Map)
+     */
+    public DualNumber evaluateWithDerivative(@NonNull final String expression, @NonNull final String variableName, @NonNull final Map<String, BigNumber> values) {
+        return compile(expression).evaluateWithDerivative(variableName, values);
+    }
 
-        // Tokenize the input string
-        List<Token> tokens = tokenizer.tokenize(expressionWithoutAbsValueSign);
+    /**
+     * Finds a root of an expression in one variable with Newton's method, starting at the given guess.
+     * <p>
+     * The derivative is computed exactly alongside the value (see {@link #evaluateWithDerivative(String, String, Map)}),
+     * and the early iterations run at a low precision that is doubled as the iterate converges, so only the last
+     * iterations run at the precision of this engine. A multiple root, at which Newton's method only converges
+     * linearly, is recognized from the ratio of successive steps, and the steps are scaled by its multiplicity.
+     *
+     * @param expression   the expression whose root is searched (e.g. "x^2 - 2")
+     * @param variableName the variable to solve for; the expression may not contain any other variable
+     * @param initialGuess the starting point, which should be close to the root
+     * @return the root, rounded to the precision of this engine
+     * @throws ArithmeticException if the derivative vanishes at an iterate or the iteration does not converge
+     */
+    public BigNumber solve(@NonNull final String expression, @NonNull final String variableName, @NonNull final BigNumber initialGuess) {
+        return EvaluationGuard.run(evaluationLimits, () -> new Solver(compile(expression), variableName, mathContext).findRoot(initialGuess));
+    }
 
-        replaceVariables(this, tokens, combinedVariables);
+    /**
+     * Finds a root of an expression in one variable between two bounds at which the expression has opposite signs.
+     * <p>
+     * Newton steps are safeguarded by bisection, so the search converges for every expression that is continuous
+     * within the bracket. Like {@link #solve(String, String, BigNumber)}, the precision is increased as the iterate
+     * converges.
+     *
+     * @param expression   the expression whose root is searched
+     * @param variableName the variable to solve for; the expression may not contain any other variable
+     * @param lowerBound   the lower bound of the bracket
+     * @param upperBound   the upper bound of the bracket
+     * @return a root within the bracket, rounded to the precision of this engine
+     * @throws IllegalArgumentException if the lower bound is not less than the upper bound or the expression has the
+     *                                  same sign at both bounds
+     * @throws ArithmeticException      if the iteration does not converge
+     */
+    public BigNumber solve(@NonNull final String expression, @NonNull final String variableName, @NonNull final BigNumber lowerBound, @NonNull final BigNumber upperBound) {
+        return EvaluationGuard.run(evaluationLimits, () -> new Solver(compile(expression), variableName, mathContext).findRoot(lowerBound, upperBound));
+    }
 
-        // Parse to postfix notation using shunting yard algorithm
-        List<Token> postfix = postfixParser.toPostfix(tokens);
+    /**
+     * Finds the position of a local minimum of an expression in one variable between two bounds, by searching for a
+     * root of its derivative. If the expression has no interior minimum, the bound with the smaller value is returned.
+     *
+     * @param expression   the expression to minimize (e.g. "x^2 - 4*x")
+     * @param variableName the variable to minimize over; the expression may not contain any other variable
+     * @param lowerBound   the lower bound of the interval
+     * @param upperBound   the upper bound of the interval
+     * @return the position of the minimum, rounded to the precision of this engine
+     * @throws IllegalArgumentException if the lower bound is not less than the upper bound
+     * @throws ArithmeticException      if the iteration does not converge
+     */
+    public BigNumber minimize(@NonNull final String expression, @NonNull final String variableName, @NonNull final BigNumber lowerBound, @NonNull final BigNumber upperBound) {
+        return EvaluationGuard.run(evaluationLimits, () -> new Solver(compile(expression), variableName, mathContext).findMinimum(lowerBound, upperBound));
+    }
 
-        // Evaluate the postfix expression to a BigDecimal result
-        return evaluator.evaluate(postfix).trim();
+    /**
+     * Evaluates a mathematical expression using no more precision than needed for the result to be accurate to the
+     * precision of this engine, so the math context does not have to be padded against cancellation.
+     *
+     * @param expression the input string expression to evaluate
+     * @return the result, rounded to the precision of this engine and trimmed of trailing zeros
+     * @see CompiledExpression#evaluateAdaptive(Map)
+     */
+    public BigNumber evaluateAdaptive(@NonNull final String expression) {
+        return evaluateAdaptive(expression, Map.of());
+    }
+
+    /**
+     * Evaluates a mathematical expression with variables bound to numeric values, using no more precision than
+     * needed for the result to be accurate to the precision of this engine.
+     *
+     * @param expression the input string expression to evaluate
+     * @param values     a map of variable names with their numeric values, which are taken as exact
+     * @return the result, rounded to the precision of this engine and trimmed of trailing zeros
+     * @throws IllegalArgumentException if a variable of the expression has no value
+     * @see CompiledExpression#evaluateAdaptive(Map)
+     */
+    public BigNumber evaluateAdaptive(@NonNull final String expression, @NonNull final Map<String, BigNumber> values) {
+        return compile(expression).evaluateAdaptive(values);
+    }
+
+    /**
+     * Returns the dependency graph of the given variables, building and caching it if this variable set has not
+     * been used recently. Building the graph checks the variables for cyclic references.
+     *
+     * @param variables a map of variable names with the expressions defining their values
+     * @return the dependency graph of the variables
+     * @throws CyclicVariableReferenceException if the variables reference each other cyclically
+     */
+    VariableGraph getVariableGraph(@NonNull final Map<String, String> variables) {
+        synchronized (variableGraphs) {
+            final VariableGraph variableGraph = variableGraphs.get(variables);
+            if (variableGraph != null) {
+                return variableGraph;
+            }
+        }
+
+        final VariableGraph variableGraph = new VariableGraph(this, variables);
+        synchronized (variableGraphs) {
+            variableGraphs.put(new HashMap<>(variables), variableGraph);
+        }
+
+        return variableGraph;
+    }
+
+    /**
+     * Converts an expression into its postfix form. Variable tokens are kept, so the result can be compiled for any
+     * variable values.
+     *
+     * @param expression the expression to parse
+     * @return the list of tokens in postfix (RPN) order
+     */
+    List<Token> parse(@NonNull final String expression) {
+        // Tokenize the input string, including |n| as abs(n)
+        List<Token> tokens = tokenizer.tokenize(expression);
+
+        // Parse to postfix notation using shunting yard algorithm
+        return postfixParser.toPostfix(tokens);
     }
 
     /**
@@ -24,16 +24,14 @@
 
 package com.mlprograms.justmath.calculator;
 
-import com.mlprograms.justmath.bignumber.BigNumbers;
 import com.mlprograms.justmath.calculator.exceptions.CyclicVariableReferenceException;
 import com.mlprograms.justmath.calculator.expression.ExpressionElements;
-import com.mlprograms.justmath.calculator.internal.Token;
 
 import lombok.NonNull;
 
 import java.math.MathContext;
 import java.math.RoundingMode;
-import java.util.*;
+import java.util.Map;
 
 public class CalculatorEngineUtils {
 
@@ -134,69 +132,17 @@ public class CalculatorEngineUtils {
     }
 
     /**
-     * Replaces variable tokens in the provided list with their corresponding values from the variable map.
-     * If a variable is not defined in the map, throws an IllegalArgumentException.
+     * Checks the given variables for cyclic references, e.g. {@code a = b + 1} and {@code b = a + 2}.
+     * <p>
+     * The check builds (or reuses) the dependency graph of the variables, so it is only performed once per variable
+     * set and engine. References to undefined variables and blank definitions are not reported here.
      *
-     * @param tokens    the list of tokens to process and replace variables in
-     * @param variables a map of variable names with their BigNumber values
-     * @throws IllegalArgumentException if a variable token does not have a corresponding value in the map
+     * @param calculatorEngine the engine used to compile the variable definitions
+     * @param variables        a map of variable names with the expressions defining their values
+     * @throws CyclicVariableReferenceException if the variables reference each other cyclically
      */
-    static void replaceVariables(@NonNull final CalculatorEngine calculatorEngine, @NonNull final List<Token> tokens, @NonNull final Map<String, String> variables) {
-        checkVariablesForRecursion(calculatorEngine, variables);
-
-        for (int i = 0; i < tokens.size(); i++) {
-            final Token token = tokens.get(i);
-            if (token.getType() == Token.Type.VARIABLE) {
-                final String value = variables.get(token.getValue());
-
-                if (value == null || value.isBlank()) {
-                    throw new IllegalArgumentException("Variable '" + token.getValue() + "' is not defined.");
-                }
-
-                // Add zero to the evaluated variable value to coerce coordinate-style results into a single numeric value.
-                // Example: evaluated value = "r=5; θ=53.13010235" -> "(r=5; θ=53.13010235) + 0 = 5"
-                final String evaluatedVariableValue = calculatorEngine.evaluate(value, variables).add(BigNumbers.ZERO).toString();
-                tokens.set(i, new Token(Token.Type.NUMBER, evaluatedVariableValue));
-            }
-        }
-    }
-
     static void checkVariablesForRecursion(@NonNull final CalculatorEngine calculatorEngine, @NonNull final Map<String, String> variables) {
-        Set<String> visitedVariables = new HashSet<>();
-        Set<String> currentPath = new HashSet<>();
-
-        for (final String variableName : variables.keySet()) {
-            checkVariable(calculatorEngine, variableName, variables, visitedVariables, currentPath);
-        }
-    }
-
-    private static void checkVariable(@NonNull final CalculatorEngine calculatorEngine, @NonNull final String variableName, @NonNull final Map<String, String> variables, @NonNull final Set<String> visitedVariables, @NonNull final Set<String> currentPath) {
-        if (currentPath.contains(variableName)) {
-            throw new CyclicVariableReferenceException("Cyclic variable reference detected in: " + variableName);
-        }
-
-        if (visitedVariables.contains(variableName)) {
-            return;
-        }
-
-        currentPath.add(variableName);
-
-        final String expression = variables.get(variableName);
-        if (expression != null && !expression.isEmpty()) {
-            final List<Token> tokens = calculatorEngine.getTokenizer().tokenize(expression);
-
-            for (final Token token : tokens) {
-                if (token.getType() != Token.Type.VARIABLE) {
-                    continue;
-                }
-
-                final String referencedVar = token.getValue();
-                checkVariable(calculatorEngine, referencedVar, variables, visitedVariables, currentPath);
-            }
-        }
-
-        currentPath.remove(variableName);
-        visitedVariables.add(variableName);
+        calculatorEngine.getVariableGraph(variables);
     }
 
     /**
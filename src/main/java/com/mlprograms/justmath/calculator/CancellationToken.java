@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2026 Max Lemberg
+ *
+ * This file is part of JustMath.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mlprograms.justmath.calculator;
+
+/**
+ * Lets one thread cancel evaluations running on other threads.
+ * <p>
+ * The token is passed to an engine with {@link EvaluationLimits#withCancellationToken(CancellationToken)}. Once
+ * {@link #cancel()} has been called, every evaluation using the token stops at its next checkpoint with an
+ * {@link com.mlprograms.justmath.calculator.exceptions.EvaluationCancelledException}. A cancelled token stays
+ * cancelled, so later evaluations using it fail immediately.
+ * <p>
+ * Tokens are safe for concurrent use.
+ */
+public final class CancellationToken {
+
+    private volatile boolean cancelled;
+
+    /**
+     * Cancels all evaluations using this token.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Returns whether {@link #cancel()} has been called.
+     *
+     * @return {@code true} if the token is cancelled
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+}
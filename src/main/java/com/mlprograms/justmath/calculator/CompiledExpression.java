@@ -0,0 +1,757 @@
+/*
+ * Copyright (c) 2026 Max Lemberg
+ *
+ * This file is part of JustMath.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.mlprograms.justmath.calculator;
+
+import com.mlprograms.justmath.bignumber.BigNumber;
+import com.mlprograms.justmath.bignumber.BigNumberList;
+import com.mlprograms.justmath.bignumber.BigNumbers;
+import com.mlprograms.justmath.calculator.exceptions.ProcessingErrorException;
+import com.mlprograms.justmath.calculator.exceptions.SyntaxErrorException;
+import com.mlprograms.justmath.calculator.expression.Ball;
+import com.mlprograms.justmath.calculator.expression.DualNumber;
+import com.mlprograms.justmath.calculator.expression.ExpressionElement;
+import com.mlprograms.justmath.calculator.expression.ExpressionElements;
+import com.mlprograms.justmath.calculator.internal.Token;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.lang.invoke.MethodHandle;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A mathematical expression that has been parsed once and can be evaluated many times.
+ * <p>
+ * Compiling tokenizes the expression, converts it to postfix notation and resolves every token into an
+ * {@link Instruction}: numeric literals are parsed into {@link BigNumber}s, operators, functions and constants are
+ * resolved from the {@link ExpressionElements} registry and every variable is assigned a slot. The plan is then
+ * optimized: constant subexpressions are evaluated once at compile time and repeated subexpressions only once per
+ * evaluation (see {@link ExpressionOptimizer}). Evaluating the compiled expression therefore only performs the
+ * remaining arithmetic.
+ * <p>
+ * Variable slots are numbered in the order in which the variables first appear in the expression (see
+ * {@link #getVariableNames()}). Values can be bound by name or positionally:
+ * <pre>{@code
+ * CompiledExpression expression = calculatorEngine.compile("x^2 + y");
+ * expression.evaluate(Map.of("x", new BigNumber("3"), "y", new BigNumber("1"))); // 10
+ * expression.evaluate(new BigNumber("3"), new BigNumber("1"));                  // 10
+ * }</pre>
+ * Tables of variable values are evaluated column-wise with {@link #evaluateBatch(Map, int, Executor)}.
+ * <p>
+ * Instances are immutable and may be shared between threads.
+ */
+public final class CompiledExpression {
+
+    /**
+     * Digits added to the precision of the engine by {@link #evaluateAdaptive(Map)}, both initially and whenever
+     * the precision has to be increased.
+     */
+    private static final int ADAPTIVE_GUARD_DIGITS = 5;
+
+    /**
+     * The expression this instance was compiled from.
+     */
+    @Getter
+    private final String expression;
+
+    /**
+     * The variable names in slot order.
+     */
+    @Getter
+    private final List<String> variableNames;
+
+    /**
+     * The optimized evaluation plan in postfix order.
+     */
+    @Getter(AccessLevel.PACKAGE)
+    private final List<Instruction> instructions;
+
+    /**
+     * The number of temporary slots, following the variable slots, that hold shared subexpression results.
+     */
+    private final int temporarySlotCount;
+
+    /**
+     * The instructions as parsed, before optimization.
+     */
+    private final List<Instruction> unoptimizedInstructions;
+
+    /**
+     * The plan used by {@link #evaluateAdaptive(Map)}: optimized like {@link #instructions}, but without folded
+     * constants, whose values would only be as precise as the engine. Created on first use.
+     */
+    private volatile ExpressionOptimizer.OptimizedPlan unfoldedPlan;
+
+    /**
+     * The plan compiled into a method handle of type {@code (BigNumber[]) BigNumber}, or {@code null} if the plan
+     * is interpreted (see {@link #withMethodHandleCompilation()}).
+     */
+    private final MethodHandle methodHandle;
+
+    /**
+     * Evaluator holding the math context and trigonometric mode of the compiling engine.
+     */
+    private final Evaluator evaluator;
+
+    /**
+     * The resource limits of the compiling engine, which apply to every evaluation of this expression.
+     */
+    private final EvaluationLimits evaluationLimits;
+
+    /**
+     * Whether the expression contains string arguments (e.g. the body of a summation) that are evaluated by a
+     * nested engine and therefore need the variable values as strings.
+     */
+    private final boolean hasNestedExpressions;
+
+    /**
+     * The variables referenced by nested expressions. Nested expressions are evaluated by their own engine, so
+     * derivatives with respect to these variables cannot be propagated through them.
+     */
+    private final Set<String> nestedVariableNames;
+
+    /**
+     * Whether every operator and function of the expression, including those of nested expressions, is
+     * deterministic (see {@link ExpressionElement#isDeterministic()}). Evaluating a deterministic expression with the
+     * same variable values always gives the same result, regardless of when or on which thread it is evaluated.
+     */
+    @Getter
+    private final boolean deterministic;
+
+    /**
+     * Compiles the given expression using the components of the given engine.
+     *
+     * @param calculatorEngine the engine whose tokenizer, parser and evaluator are used
+     * @param expression       the expression to compile
+     * @throws SyntaxErrorException if the expression is malformed or contains an unknown operator or function
+     */
+    CompiledExpression(@NonNull final CalculatorEngine calculatorEngine, @NonNull final String expression) {
+        this.expression = expression;
+        this.evaluator = calculatorEngine.getEvaluator();
+        this.evaluationLimits = calculatorEngine.getEvaluationLimits();
+
+        final List<Instruction> compiledInstructions = new ArrayList<>();
+        final Map<String, Integer> variableSlots = new LinkedHashMap<>();
+        final Set<String> nestedVariables = new HashSet<>();
+        boolean containsNestedExpressions = false;
+        boolean containsOnlyDeterministicElements = true;
+
+        if (!expression.isBlank()) {
+            for (final Token token : calculatorEngine.parse(expression)) {
+                compiledInstructions.add(switch (token.getType()) {
+                    case NUMBER -> Instruction.number(token.getNumber());
+                    case STRING -> {
+                        containsNestedExpressions = true;
+                        containsOnlyDeterministicElements &= collectNestedVariables(calculatorEngine.getTokenizer(), token.getValue(), variableSlots, nestedVariables);
+                        yield Instruction.string(token.getValue());
+                    }
+                    case VARIABLE -> Instruction.variable(variableSlots.computeIfAbsent(token.getValue(), name -> variableSlots.size()));
+                    case OPERATOR, FUNCTION, CONSTANT -> {
+                        if (token.getElement() == null) {
+                            throw new SyntaxErrorException("Unknown operator or function: " + token.getValue());
+                        }
+                        containsOnlyDeterministicElements &= token.getElement().isDeterministic();
+                        yield Instruction.element(token.getElement());
+                    }
+                    default -> throw new ProcessingErrorException("Unexpected token: " + token);
+                });
+            }
+        }
+
+        final ExpressionOptimizer.OptimizedPlan optimizedPlan = ExpressionOptimizer.optimize(compiledInstructions, variableSlots.size(), evaluator);
+        this.instructions = List.copyOf(optimizedPlan.instructions());
+        this.temporarySlotCount = optimizedPlan.temporarySlotCount();
+        this.unoptimizedInstructions = List.copyOf(compiledInstructions);
+        this.variableNames = List.copyOf(variableSlots.keySet());
+        this.hasNestedExpressions = containsNestedExpressions;
+        this.nestedVariableNames = Set.copyOf(nestedVariables);
+        this.deterministic = containsOnlyDeterministicElements;
+        this.methodHandle = null;
+    }
+
+    private CompiledExpression(final CompiledExpression compiledExpression, final MethodHandle methodHandle) {
+        this.expression = compiledExpression.expression;
+        this.variableNames = compiledExpression.variableNames;
+        this.instructions = compiledExpression.instructions;
+        this.temporarySlotCount = compiledExpression.temporarySlotCount;
+        this.unoptimizedInstructions = compiledExpression.unoptimizedInstructions;
+        this.unfoldedPlan = compiledExpression.unfoldedPlan;
+        this.evaluator = compiledExpression.evaluator;
+        this.evaluationLimits = compiledExpression.evaluationLimits;
+        this.hasNestedExpressions = compiledExpression.hasNestedExpressions;
+        this.nestedVariableNames = compiledExpression.nestedVariableNames;
+        this.deterministic = compiledExpression.deterministic;
+        this.methodHandle = methodHandle;
+    }
+
+    /**
+     * Returns a copy of this expression that is evaluated by a tree of method handles instead of the interpreter.
+     * <p>
+     * The handles call the operations of every operator and function directly, so the JIT compiler can compile a
+     * frequently evaluated expression like a hand-written method. Compiling takes considerably longer than
+     * interpreting a single evaluation and only pays off for expressions that are evaluated many times.
+     * Subexpressions with elements that cannot be compiled (e.g. {@code summation} or {@code avg}) are still
+     * interpreted. The results are identical to those of the interpreter.
+     *
+     * @return the compiled copy, or this instance if it is already compiled or cannot be compiled
+     */
+    public CompiledExpression withMethodHandleCompilation() {
+        if (methodHandle != null) {
+            return this;
+        }
+
+        final MethodHandle compiledHandle = MethodHandleCompiler.compile(instructions, variableNames, evaluator);
+        return compiledHandle == null ? this : new CompiledExpression(this, compiledHandle);
+    }
+
+    /**
+     * Returns whether this expression is evaluated by method handles (see {@link #withMethodHandleCompilation()}).
+     *
+     * @return {@code true} if compiled to method handles, {@code false} if interpreted
+     */
+    public boolean isMethodHandleCompiled() {
+        return methodHandle != null;
+    }
+
+    /**
+     * Assigns slots to the variables referenced by a nested expression (e.g. the {@code x} in
+     * {@code summation(1;3;k*x)}), so that they have to be bound like any other variable.
+     * The series variable {@code k} is provided by the series itself and therefore skipped.
+     *
+     * @param tokenizer        the tokenizer used to split the nested expression
+     * @param nestedExpression the nested expression
+     * @param variableSlots    the variable slots assigned so far
+     * @param nestedVariables  receives the names of the variables referenced by the nested expression
+     * @return whether all operators and functions of the nested expression are deterministic
+     */
+    private static boolean collectNestedVariables(final Tokenizer tokenizer, final String nestedExpression, final Map<String, Integer> variableSlots, final Set<String> nestedVariables) {
+        boolean deterministic = true;
+        for (final Token token : tokenizer.tokenize(nestedExpression)) {
+            if (token.getElement() != null) {
+                deterministic &= token.getElement().isDeterministic();
+            }
+
+            if (token.getType() == Token.Type.STRING) {
+                deterministic &= collectNestedVariables(tokenizer, token.getValue(), variableSlots, nestedVariables);
+            } else if (token.getType() == Token.Type.VARIABLE && !token.getValue().equals(ExpressionElements.K_SERIES_MATH_VARIABLE)) {
+                variableSlots.computeIfAbsent(token.getValue(), name -> variableSlots.size());
+                nestedVariables.add(token.getValue());
+            }
+        }
+
+        return deterministic;
+    }
+
+    /**
+     * Evaluates an expression without variables.
+     *
+     * @return the result as a BigNumber, trimmed of trailing zeros
+     * @throws IllegalArgumentException if the expression contains variables
+     */
+    public BigNumber evaluate() {
+        return evaluate(new BigNumber[0]);
+    }
+
+    /**
+     * Evaluates the expression with the variable values bound by name.
+     * Entries for names that do not occur in the expression are ignored.
+     *
+     * @param variables a map of variable names with their values
+     * @return the result as a BigNumber, trimmed of trailing zeros
+     * @throws IllegalArgumentException if a variable of the expression has no value in the map
+     */
+    public BigNumber evaluate(@NonNull final Map<String, BigNumber> variables) {
+        return evaluateBound(bindVariables(variables));
+    }
+
+    /**
+     * Evaluates the expression and its derivative with respect to one variable in a single pass, with the variable
+     * values bound by name.
+     * <p>
+     * Every operator and function propagates the derivative of its arguments alongside their values (forward-mode
+     * automatic differentiation), so the derivative is exact up to the precision of the engine, unlike a difference
+     * quotient, and costs about as much as a second evaluation. The expression is always interpreted, even if it has
+     * been compiled to method handles.
+     *
+     * @param variableName the variable to differentiate with respect to
+     * @param variables    a map of variable names with their values
+     * @return the result and its derivative, both trimmed of trailing zeros; the derivative is zero if the variable
+     * does not occur in the expression
+     * @throws IllegalArgumentException      if a variable of the expression has no value in the map
+     * @throws UnsupportedOperationException if the result depends on the variable through an operator or function
+     *                                       that cannot be differentiated (e.g. {@code !}), or if the variable occurs
+     *                                       in a nested expression (e.g. the body of a summation)
+     */
+    public DualNumber evaluateWithDerivative(@NonNull final String variableName, @NonNull final Map<String, BigNumber> variables) {
+        return EvaluationGuard.run(evaluationLimits, () -> evaluateWithDerivative(variableName, variables, evaluator));
+    }
+
+    /**
+     * Evaluates the expression and its derivative like {@link #evaluateWithDerivative(String, Map)}, but with the
+     * given math context instead of the one of the engine. Solvers use this to run early iterations at a lower
+     * precision.
+     *
+     * @param variableName the variable to differentiate with respect to
+     * @param variables    a map of variable names with their values
+     * @param mathContext  the math context for calculations
+     * @return the result and its derivative, both trimmed of trailing zeros
+     */
+    DualNumber evaluateWithDerivative(@NonNull final String variableName, @NonNull final Map<String, BigNumber> variables, @NonNull final MathContext mathContext) {
+        return evaluateWithDerivative(variableName, variables, mathContext.equals(evaluator.getMathContext())
+                ? evaluator
+                : new Evaluator(mathContext, evaluator.getTrigonometricMode(), evaluator.getSeriesParallelism()));
+    }
+
+    private DualNumber evaluateWithDerivative(final String variableName, final Map<String, BigNumber> variables, final Evaluator derivativeEvaluator) {
+        if (nestedVariableNames.contains(variableName)) {
+            throw new UnsupportedOperationException("Cannot differentiate with respect to '" + variableName + "' because it occurs in a nested expression.");
+        }
+
+        final BigNumber[] variableValues = bindVariables(variables);
+        if (instructions.isEmpty()) {
+            return DualNumber.constant(BigNumbers.ZERO);
+        }
+
+        final BigNumber[] slotValues = Arrays.copyOf(variableValues, variableValues.length + temporarySlotCount);
+        final BigNumber[] slotDerivatives = new BigNumber[slotValues.length];
+        final int variableSlot = variableNames.indexOf(variableName);
+        if (variableSlot >= 0) {
+            slotDerivatives[variableSlot] = BigNumbers.ONE;
+        }
+
+        final DualNumber result = derivativeEvaluator.evaluateWithDerivative(instructions, slotValues, slotDerivatives,
+                hasNestedExpressions ? toNestedVariables(variableNames, slotValues) : Map.of());
+        return new DualNumber(result.value().trim(), result.derivative().trim());
+    }
+
+    /**
+     * Evaluates the expression with the variable values bound by name, using no more precision than needed for the
+     * result to be accurate to the precision of the engine.
+     * <p>
+     * The expression is evaluated with error tracking (see {@link Ball}) at a few digits more than the precision of
+     * the engine. Only if the accumulated rounding errors, e.g. from cancellation, leave fewer correct digits than
+     * required is it evaluated again, at a precision increased by the number of digits lost. Well-conditioned
+     * expressions are therefore evaluated once at almost the precision of the engine, without padding the math
+     * context. The error bounds are propagated linearly, so they are reliable as long as no intermediate result is
+     * barely determined, e.g. the argument of a function right at a singularity.
+     * <p>
+     * Expressions with nested expressions (e.g. summations) or elements whose error cannot be bounded (see
+     * {@link ExpressionElement#applyWithRadius}) are evaluated like {@link #evaluate(Map)}. If the result cannot be
+     * determined even at four times the precision of the engine, for example because it is zero like
+     * {@code sin(pi)}, the most precise estimate is returned.
+     *
+     * @param variables a map of variable names with their values, which are taken as exact
+     * @return the result, rounded to the precision of the engine and trimmed of trailing zeros
+     * @throws IllegalArgumentException if a variable of the expression has no value in the map
+     */
+    public BigNumber evaluateAdaptive(@NonNull final Map<String, BigNumber> variables) {
+        final BigNumber[] variableValues = bindVariables(variables);
+        return EvaluationGuard.run(evaluationLimits, () -> evaluateAdaptive(variableValues));
+    }
+
+    private BigNumber evaluateAdaptive(final BigNumber[] variableValues) {
+        if (instructions.isEmpty()) {
+            return BigNumbers.ZERO;
+        }
+        if (hasNestedExpressions) {
+            return evaluateBound(variableValues);
+        }
+
+        final ExpressionOptimizer.OptimizedPlan plan = getUnfoldedPlan();
+        final MathContext targetContext = evaluator.getMathContext();
+        final int targetPrecision = targetContext.getPrecision();
+        final int maximumPrecision = 4 * targetPrecision + ADAPTIVE_GUARD_DIGITS;
+        int precision = targetPrecision + ADAPTIVE_GUARD_DIGITS;
+
+        while (true) {
+            final Evaluator adaptiveEvaluator = new Evaluator(new MathContext(precision, targetContext.getRoundingMode()), evaluator.getTrigonometricMode(), evaluator.getSeriesParallelism());
+            final Ball result;
+            try {
+                result = adaptiveEvaluator.evaluateWithRadius(plan.instructions(), Arrays.copyOf(variableValues, variableValues.length + plan.temporarySlotCount()), Map.of());
+            } catch (UnsupportedOperationException e) {
+                return evaluateBound(variableValues);
+            }
+
+            final int missingDigits = missingDigits(result, targetPrecision);
+            if (missingDigits <= 0 || precision >= maximumPrecision) {
+                return result.midpoint().round(targetContext).trim();
+            }
+            precision = Math.min(precision + missingDigits + ADAPTIVE_GUARD_DIGITS, maximumPrecision);
+        }
+    }
+
+    /**
+     * Evaluates the expression with the variable values bound positionally, in the order of
+     * {@link #getVariableNames()}.
+     *
+     * @param variableValues one value per variable slot
+     * @return the result as a BigNumber, trimmed of trailing zeros
+     * @throws IllegalArgumentException if the number of values does not match the number of variables
+     */
+    public BigNumber evaluate(@NonNull final BigNumber... variableValues) {
+        if (variableValues.length != variableNames.size()) {
+            throw new IllegalArgumentException("Expected " + variableNames.size() + " variable values " + variableNames + ", but got " + variableValues.length);
+        }
+
+        for (int slot = 0; slot < variableValues.length; slot++) {
+            if (variableValues[slot] == null) {
+                throw new IllegalArgumentException("Variable '" + variableNames.get(slot) + "' is not defined.");
+            }
+        }
+
+        return evaluateBound(variableValues.clone());
+    }
+
+    /**
+     * Evaluates the expression with the variable values supplied by a resolver.
+     *
+     * @param variableResolver resolves every variable of the expression to its value
+     * @return the result as a BigNumber, trimmed of trailing zeros
+     * @throws IllegalArgumentException if a variable cannot be resolved
+     */
+    BigNumber evaluate(@NonNull final VariableResolver variableResolver) {
+        final BigNumber[] variableValues = new BigNumber[variableNames.size()];
+
+        for (int slot = 0; slot < variableValues.length; slot++) {
+            variableValues[slot] = variableResolver.resolve(variableNames.get(slot));
+        }
+
+        return evaluateBound(variableValues);
+    }
+
+    /**
+     * Evaluates the expression once per row of the given columns, in parallel on the common {@link ForkJoinPool}.
+     *
+     * @param columns a map of variable names with one value per row
+     * @return one result per row, trimmed of trailing zeros
+     * @throws IllegalArgumentException if a variable has no column, a column has no value in some row or the columns
+     *                                  differ in length
+     * @see #evaluateBatch(Map, int, Executor)
+     */
+    public BigNumberList evaluateBatch(@NonNull final Map<String, ? extends List<BigNumber>> columns) {
+        return evaluateBatch(columns, ForkJoinPool.getCommonPoolParallelism(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Evaluates the expression once per row of the given columns.
+     * <p>
+     * Row {@code i} binds every variable to the {@code i}-th value of its column, so all columns need the same
+     * length; columns for names that do not occur in the expression are only checked for their length. The rows are
+     * split into {@code parallelism} contiguous chunks that are evaluated concurrently on the given executor, e.g. a
+     * {@link ForkJoinPool} or a virtual thread executor. Every chunk reuses a single slot array for all of its rows,
+     * so apart from the results no memory is allocated per row. A parallelism of {@code 1} evaluates all rows on the
+     * calling thread. The columns should support fast random access, like {@link BigNumberList} does.
+     * <p>
+     * The results are identical to evaluating every row separately and are returned in row order. If rows fail, the
+     * exception of one of them is thrown after all chunks have finished.
+     *
+     * @param columns     a map of variable names with one value per row
+     * @param parallelism the maximum number of chunks evaluated at the same time
+     * @param executor    the executor evaluating the chunks
+     * @return one result per row, trimmed of trailing zeros
+     * @throws IllegalArgumentException if {@code parallelism} is less than one, a variable has no column, a column has
+     *                                  no value in some row or the columns differ in length
+     */
+    public BigNumberList evaluateBatch(@NonNull final Map<String, ? extends List<BigNumber>> columns, final int parallelism, @NonNull final Executor executor) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+        }
+
+        int rowCount = -1;
+        for (final Map.Entry<String, ? extends List<BigNumber>> column : columns.entrySet()) {
+            if (rowCount == -1) {
+                rowCount = column.getValue().size();
+            } else if (column.getValue().size() != rowCount) {
+                throw new IllegalArgumentException("Column '" + column.getKey() + "' has " + column.getValue().size() + " rows, expected " + rowCount);
+            }
+        }
+
+        final List<List<BigNumber>> variableColumns = new ArrayList<>(variableNames.size());
+        for (final String variableName : variableNames) {
+            final List<BigNumber> column = columns.get(variableName);
+            if (column == null) {
+                throw new IllegalArgumentException("Variable '" + variableName + "' is not defined.");
+            }
+
+            variableColumns.add(column);
+        }
+
+        final BigNumber[] results = new BigNumber[Math.max(rowCount, 0)];
+        final int chunkCount = Math.min(parallelism, results.length);
+
+        return EvaluationGuard.run(evaluationLimits, () -> evaluateChunks(variableColumns, chunkCount, results, executor));
+    }
+
+    /**
+     * Evaluates the rows in contiguous chunks, concurrently on the given executor if there is more than one chunk.
+     * The chunks are evaluated under the guard of the calling thread, so they share its limits.
+     *
+     * @param variableColumns the column of every variable slot
+     * @param chunkCount      the number of chunks
+     * @param results         receives the result of every row
+     * @param executor        the executor evaluating the chunks
+     * @return the results
+     */
+    private BigNumberList evaluateChunks(final List<List<BigNumber>> variableColumns, final int chunkCount, final BigNumber[] results, final Executor executor) {
+        if (chunkCount <= 1) {
+            evaluateRows(variableColumns, 0, results.length, results);
+            return new BigNumberList(new ArrayList<>(Arrays.asList(results)));
+        }
+
+        final EvaluationGuard guard = EvaluationGuard.current();
+        final List<CompletableFuture<Void>> chunks = new ArrayList<>(chunkCount);
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            final int fromRow = (int) ((long) results.length * chunk / chunkCount);
+            final int toRow = (int) ((long) results.length * (chunk + 1) / chunkCount);
+            chunks.add(CompletableFuture.runAsync(() -> EvaluationGuard.runWith(guard, () -> {
+                evaluateRows(variableColumns, fromRow, toRow, results);
+                return null;
+            }), executor));
+        }
+
+        RuntimeException failure = null;
+        for (final CompletableFuture<Void> chunk : chunks) {
+            try {
+                chunk.join();
+            } catch (CompletionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException runtimeException ? runtimeException : e;
+                }
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+
+        return new BigNumberList(new ArrayList<>(Arrays.asList(results)));
+    }
+
+    /**
+     * Evaluates a range of rows, reusing one slot array for all of them.
+     *
+     * @param variableColumns the column of every variable slot
+     * @param fromRow         the first row to evaluate, inclusive
+     * @param toRow           the last row to evaluate, exclusive
+     * @param results         receives the result of every row
+     * @throws IllegalArgumentException if a column has no value in one of the rows
+     */
+    private void evaluateRows(final List<List<BigNumber>> variableColumns, final int fromRow, final int toRow, final BigNumber[] results) {
+        final int variableCount = variableColumns.size();
+        final BigNumber[] slotValues = new BigNumber[variableCount + temporarySlotCount];
+
+        for (int row = fromRow; row < toRow; row++) {
+            for (int slot = 0; slot < variableCount; slot++) {
+                final BigNumber value = variableColumns.get(slot).get(row);
+                if (value == null) {
+                    throw new IllegalArgumentException("Variable '" + variableNames.get(slot) + "' has no value in row " + row);
+                }
+
+                slotValues[slot] = value;
+            }
+
+            // Temporary slots must be empty at the start of every evaluation
+            Arrays.fill(slotValues, variableCount, slotValues.length, null);
+            results[row] = evaluateSlots(slotValues);
+        }
+    }
+
+    private ExpressionOptimizer.OptimizedPlan getUnfoldedPlan() {
+        ExpressionOptimizer.OptimizedPlan plan = unfoldedPlan;
+        if (plan == null) {
+            plan = ExpressionOptimizer.optimize(unoptimizedInstructions, variableNames.size(), null);
+            unfoldedPlan = plan;
+        }
+
+        return plan;
+    }
+
+    /**
+     * Returns how many more digits of precision a result needs to be accurate to the given number of significant
+     * digits, i.e. for its error to be at most half a unit in the last of these digits.
+     *
+     * @param result    the result with the bound on its error
+     * @param precision the required number of significant digits
+     * @return the estimated number of missing digits, or {@code 0} if the result is accurate enough
+     */
+    private static int missingDigits(final Ball result, final int precision) {
+        if (result.isExact()) {
+            return 0;
+        }
+
+        final BigDecimal radius = result.radius().toBigDecimal();
+        final BigDecimal allowedError = result.midpoint().toBigDecimal().abs().scaleByPowerOfTen(-precision).divide(BigDecimal.valueOf(2));
+        if (radius.compareTo(allowedError) <= 0) {
+            return 0;
+        }
+        if (allowedError.signum() == 0) {
+            return precision;
+        }
+
+        // Compare the orders of magnitude, i.e. the positions of the leading digits
+        return Math.max(1, (radius.precision() - radius.scale()) - (allowedError.precision() - allowedError.scale()) + 1);
+    }
+
+    /**
+     * Binds the variable values by name to the variable slots.
+     *
+     * @param variables a map of variable names with their values
+     * @return one value per variable slot
+     * @throws IllegalArgumentException if a variable of the expression has no value in the map
+     */
+    private BigNumber[] bindVariables(final Map<String, BigNumber> variables) {
+        final BigNumber[] variableValues = new BigNumber[variableNames.size()];
+
+        for (int slot = 0; slot < variableValues.length; slot++) {
+            final BigNumber value = variables.get(variableNames.get(slot));
+            if (value == null) {
+                throw new IllegalArgumentException("Variable '" + variableNames.get(slot) + "' is not defined.");
+            }
+
+            variableValues[slot] = value;
+        }
+
+        return variableValues;
+    }
+
+    /**
+     * Evaluates the plan once all variable slots are known to be bound. Every public evaluation ends up here, so this
+     * is where the limits of the compiling engine are enforced.
+     *
+     * @param variableValues one non-null value per variable slot
+     * @return the result as a BigNumber, trimmed of trailing zeros
+     */
+    private BigNumber evaluateBound(final BigNumber[] variableValues) {
+        final BigNumber[] slotValues = temporarySlotCount == 0
+                ? variableValues
+                : Arrays.copyOf(variableValues, variableValues.length + temporarySlotCount);
+        return EvaluationGuard.run(evaluationLimits, () -> evaluateSlots(slotValues));
+    }
+
+    /**
+     * Evaluates the plan with the given slots.
+     *
+     * @param slotValues one non-null value per variable slot followed by the empty temporary slots
+     * @return the result as a BigNumber, trimmed of trailing zeros
+     */
+    private BigNumber evaluateSlots(final BigNumber[] slotValues) {
+        if (instructions.isEmpty()) {
+            return BigNumbers.ZERO;
+        }
+
+        return evaluatePlan(slotValues).trim();
+    }
+
+    /**
+     * Evaluates the plan with the method handle if it has been compiled, otherwise with the interpreter.
+     *
+     * @param slotValues the variable values followed by room for the temporary slots
+     * @return the untrimmed result
+     */
+    private BigNumber evaluatePlan(final BigNumber[] slotValues) {
+        if (methodHandle == null) {
+            return evaluator.evaluate(instructions, slotValues, hasNestedExpressions ? toNestedVariables(variableNames, slotValues) : Map.of());
+        }
+
+        try {
+            return (BigNumber) methodHandle.invokeExact(slotValues);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new ProcessingErrorException("Failed to evaluate compiled expression: " + t.getMessage());
+        }
+    }
+
+    /**
+     * Converts the values of the variable slots into the variables of nested expressions. Nested expressions are
+     * evaluated by their own engine, which reads the variables as strings.
+     *
+     * @param variableNames the names of the variable slots
+     * @param slotValues    the slot values, starting with one value per variable
+     * @return the variable names with their values as strings
+     */
+    static Map<String, String> toNestedVariables(final List<String> variableNames, final BigNumber[] slotValues) {
+        if (variableNames.isEmpty()) {
+            return Map.of();
+        }
+
+        final Map<String, String> nestedVariables = new HashMap<>();
+        for (int slot = 0; slot < variableNames.size(); slot++) {
+            nestedVariables.put(variableNames.get(slot), slotValues[slot].toString());
+        }
+
+        return nestedVariables;
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+
+    /**
+     * A single step of a compiled evaluation plan.
+     * <p>
+     * Exactly one of the components is in use: an {@code element} is applied to the evaluation stack, a
+     * {@code number} (a parsed literal) or {@code string} (e.g. the body of a summation) is pushed as is, a
+     * {@code variableSlot} of zero or more pushes the value bound to that slot and a {@code storeSlot} of zero or
+     * more copies the number on top of the stack into that slot.
+     *
+     * @param element      the resolved operator, function or constant, or {@code null}
+     * @param number       the number to push, or {@code null}
+     * @param string       the string argument to push, or {@code null}
+     * @param variableSlot the variable or temporary slot to push, or {@code -1}
+     * @param storeSlot    the temporary slot to store into, or {@code -1}
+     */
+    record Instruction(ExpressionElement element, BigNumber number, String string, int variableSlot, int storeSlot) {
+
+        static Instruction element(final ExpressionElement element) {
+            return new Instruction(element, null, null, -1, -1);
+        }
+
+        static Instruction number(final BigNumber number) {
+            return new Instruction(null, number, null, -1, -1);
+        }
+
+        static Instruction string(final String string) {
+            return new Instruction(null, null, string, -1, -1);
+        }
+
+        static Instruction variable(final int variableSlot) {
+            return new Instruction(null, null, null, variableSlot, -1);
+        }
+
+        static Instruction store(final int storeSlot) {
+            return new Instruction(null, null, null, -1, storeSlot);
+        }
+
+    }
+
+}
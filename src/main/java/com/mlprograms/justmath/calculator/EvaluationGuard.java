@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2026 Max Lemberg
+ *
+ * This file is part of JustMath.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mlprograms.justmath.calculator;
+
+import com.mlprograms.justmath.calculator.exceptions.EvaluationCancelledException;
+import com.mlprograms.justmath.calculator.exceptions.EvaluationLimitExceededException;
+import lombok.NonNull;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Enforces the {@link EvaluationLimits} of the evaluation running on the current thread.
+ * <p>
+ * An engine installs a guard for the current thread for the duration of each evaluation (see
+ * {@link #run(EvaluationLimits, Supplier)}). The arithmetic reports its
+ * progress through the static checkpoints of this class: {@link #checkDigits(long)} before creating large numbers,
+ * {@link #countIterations(long)} in the loops of factorials, series and integrals and {@link #checkpoint()} in other
+ * long-running loops. Every checkpoint also stops the evaluation if it has been cancelled or has run out of time.
+ * Without a guard, the checkpoints do nothing, so the math functions can still be used on their own.
+ * <p>
+ * The math functions are static and also used outside of engines, so the guard cannot be passed to them as an
+ * argument and is held in a thread-local variable instead. Evaluations without limits install no guard, and as long
+ * as no thread has a guard installed, every checkpoint returns after reading a single counter, without touching the
+ * thread-local variable.
+ * <p>
+ * Evaluations nested in an evaluation (e.g. the terms of a series or the variables defined by expressions) run
+ * under the guard of the outer evaluation. Work that is handed to other threads carries the guard along with
+ * {@link #current()} and {@link #runWith(EvaluationGuard, Supplier)}.
+ */
+public final class EvaluationGuard {
+
+    /**
+     * The guard of the evaluation running on each thread, if any.
+     */
+    private static final ThreadLocal<EvaluationGuard> CURRENT = new ThreadLocal<>();
+
+    /**
+     * The number of threads that currently have a guard installed. While it is zero, the checkpoints can skip the
+     * lookup of {@link #CURRENT}.
+     */
+    private static final AtomicInteger INSTALLED_GUARD_COUNT = new AtomicInteger();
+
+    /**
+     * The guard of the enclosing evaluation with other limits, whose limits apply as well, or {@code null}.
+     */
+    private final EvaluationGuard parent;
+
+    private final EvaluationLimits limits;
+
+    /**
+     * The thread that started the evaluation. Interrupting it cancels the evaluation, also on other threads.
+     */
+    private final Thread owner;
+
+    /**
+     * The {@link System#nanoTime()} by which the evaluation has to finish, if it has a timeout.
+     */
+    private final long deadline;
+
+    private final AtomicLong iterationCount = new AtomicLong();
+
+    private EvaluationGuard(final EvaluationGuard parent, final EvaluationLimits limits) {
+        this.parent = parent;
+        this.limits = limits;
+        this.owner = Thread.currentThread();
+        this.deadline = limits.timeout() == null ? 0 : System.nanoTime() + Math.min(limits.timeout().toNanos(), Long.MAX_VALUE / 2);
+    }
+
+    /**
+     * Runs an evaluation under the given limits. Engines do this for every evaluation; it can also be used to bound
+     * direct calls of the math functions, e.g. of
+     * {@link com.mlprograms.justmath.bignumber.math.CalculusMath#integrate}. Without limits
+     * ({@link EvaluationLimits#NONE}), no guard is installed and the evaluation continues under the guard of the running
+     * evaluation, if any. If an evaluation with the same limits is already running on this thread, the evaluation
+     * continues under its guard; otherwise both the limits of the running evaluation and the given ones apply.
+     *
+     * @param limits     the limits of the evaluation
+     * @param evaluation the evaluation to run
+     * @param <T>        the type of the result
+     * @return the result of the evaluation
+     * @throws EvaluationLimitExceededException if the evaluation exceeds a limit
+     * @throws EvaluationCancelledException     if the evaluation is cancelled or the thread is interrupted
+     */
+    public static <T> T run(@NonNull final EvaluationLimits limits, @NonNull final Supplier<T> evaluation) {
+        if (limits.equals(EvaluationLimits.NONE)) {
+            return evaluation.get();
+        }
+
+        final EvaluationGuard current = current();
+        if (current != null && current.limits.equals(limits)) {
+            return evaluation.get();
+        }
+
+        return runWith(new EvaluationGuard(current, limits), evaluation);
+    }
+
+    /**
+     * Returns the guard of the evaluation running on the current thread.
+     *
+     * @return the guard, or {@code null} if no evaluation is running
+     */
+    public static EvaluationGuard current() {
+        return INSTALLED_GUARD_COUNT.get() == 0 ? null : CURRENT.get();
+    }
+
+    /**
+     * Runs a task under the given guard, e.g. a part of an evaluation that has been handed to another thread.
+     *
+     * @param guard the guard returned by {@link #current()} on the thread of the evaluation, or {@code null}
+     * @param task  the task to run
+     * @param <T>   the type of the result
+     * @return the result of the task
+     */
+    public static <T> T runWith(final EvaluationGuard guard, @NonNull final Supplier<T> task) {
+        final EvaluationGuard previous = current();
+        if (guard == previous) {
+            return task.get();
+        }
+
+        CURRENT.set(guard);
+        if (previous == null) {
+            INSTALLED_GUARD_COUNT.incrementAndGet();
+        }
+        try {
+            if (guard != null) {
+                guard.check();
+            }
+            return task.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+                INSTALLED_GUARD_COUNT.decrementAndGet();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Stops the running evaluation if it has been cancelled or has run out of time.
+     *
+     * @throws EvaluationLimitExceededException if the evaluation takes longer than its timeout
+     * @throws EvaluationCancelledException     if the evaluation is cancelled or the thread is interrupted
+     */
+    public static void checkpoint() {
+        final EvaluationGuard guard = current();
+        if (guard != null) {
+            guard.check();
+        }
+    }
+
+    /**
+     * Counts loop iterations of the running evaluation, like the terms of a series, and stops the evaluation if
+     * there are too many or it has been cancelled or has run out of time.
+     *
+     * @param count the number of iterations about to be performed
+     * @throws EvaluationLimitExceededException if the evaluation needs too many iterations or takes too long
+     * @throws EvaluationCancelledException     if the evaluation is cancelled or the thread is interrupted
+     */
+    public static void countIterations(final long count) {
+        final EvaluationGuard guard = current();
+        if (guard == null) {
+            return;
+        }
+
+        for (EvaluationGuard enclosingGuard = guard; enclosingGuard != null; enclosingGuard = enclosingGuard.parent) {
+            final long maxIterations = enclosingGuard.limits.maxIterations();
+            if (enclosingGuard.iterationCount.accumulateAndGet(count, (total, added) -> total > Long.MAX_VALUE - added ? Long.MAX_VALUE : total + added) > maxIterations) {
+                throw new EvaluationLimitExceededException("The evaluation needs more than " + maxIterations + " iterations.");
+            }
+        }
+
+        guard.check();
+    }
+
+    /**
+     * Stops the running evaluation if a number it is about to create has too many digits.
+     *
+     * @param digitCount the number of digits of the number, including the digits after the decimal point
+     * @throws EvaluationLimitExceededException if the number has more digits than allowed
+     */
+    public static void checkDigits(final long digitCount) {
+        for (EvaluationGuard guard = current(); guard != null; guard = guard.parent) {
+            final long maxDigits = guard.limits.maxDigits();
+            if (digitCount > maxDigits) {
+                throw new EvaluationLimitExceededException("A number of the evaluation would have " + digitCount + " digits, more than the maximum of " + maxDigits + ".");
+            }
+        }
+    }
+
+    /**
+     * Checks this guard and the guards of the enclosing evaluations for cancellation and timeouts.
+     */
+    private void check() {
+        for (EvaluationGuard guard = this; guard != null; guard = guard.parent) {
+            if (guard.owner.isInterrupted()) {
+                throw new EvaluationCancelledException("The evaluating thread was interrupted.");
+            }
+            if (guard.limits.cancellationToken() != null && guard.limits.cancellationToken().isCancelled()) {
+                throw new EvaluationCancelledException("The evaluation was cancelled.");
+            }
+            if (guard.limits.timeout() != null && System.nanoTime() - guard.deadline > 0) {
+                throw new EvaluationLimitExceededException("The evaluation took longer than " + guard.limits.timeout().toMillis() + " ms.");
+            }
+        }
+    }
+
+}
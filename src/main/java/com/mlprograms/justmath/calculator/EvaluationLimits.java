@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2026 Max Lemberg
+ *
+ * This file is part of JustMath.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mlprograms.justmath.calculator;
+
+import lombok.NonNull;
+
+import java.time.Duration;
+
+/**
+ * Bounds the resources a single evaluation of a {@link CalculatorEngine} may use, so that an expression like
+ * {@code 999999!}, {@code 10^10^10} or {@code summation(1;10^12;k)} fails quickly instead of running out of memory
+ * or blocking its thread indefinitely.
+ * <p>
+ * The limits are checked while the arithmetic runs (see {@link EvaluationGuard}): before every multiplication and
+ * every result, and in the loops of factorials, series and integrals. Exceeding {@code maxDigits},
+ * {@code maxIterations} or {@code timeout} raises an
+ * {@link com.mlprograms.justmath.calculator.exceptions.EvaluationLimitExceededException}; a cancelled token raises an
+ * {@link com.mlprograms.justmath.calculator.exceptions.EvaluationCancelledException}, as does interrupting the
+ * evaluating thread. Evaluations without any limits ({@link #NONE}) are not checked at all, so they cannot be
+ * interrupted either.
+ * <pre>{@code
+ * CalculatorEngine engine = new CalculatorEngine().withEvaluationLimits(EvaluationLimits.NONE
+ *         .withMaxDigits(100_000)
+ *         .withMaxIterations(1_000_000)
+ *         .withTimeout(Duration.ofSeconds(2)));
+ * }</pre>
+ *
+ * @param maxDigits         the maximum number of digits of a number, including the digits after the decimal point
+ * @param maxIterations     the maximum total number of loop iterations, e.g. terms of a series, factors of a
+ *                          factorial or evaluations of an integrand
+ * @param timeout           the maximum wall time of an evaluation, or {@code null} for no timeout
+ * @param cancellationToken the token to cancel evaluations with, or {@code null} for none
+ */
+public record EvaluationLimits(long maxDigits, long maxIterations, Duration timeout, CancellationToken cancellationToken) {
+
+    /**
+     * No limits; evaluations run unchecked and cannot be stopped.
+     */
+    public static final EvaluationLimits NONE = new EvaluationLimits(Long.MAX_VALUE, Long.MAX_VALUE, null, null);
+
+    /**
+     * @throws IllegalArgumentException if a limit is not positive
+     */
+    public EvaluationLimits {
+        if (maxDigits <= 0) {
+            throw new IllegalArgumentException("Maximum number of digits must be positive: " + maxDigits);
+        }
+        if (maxIterations <= 0) {
+            throw new IllegalArgumentException("Maximum number of iterations must be positive: " + maxIterations);
+        }
+        if (timeout != null && (timeout.isNegative() || timeout.isZero())) {
+            throw new IllegalArgumentException("Timeout must be positive: " + timeout);
+        }
+    }
+
+    /**
+     * Returns a copy of these limits with the given maximum number of digits.
+     *
+     * @param maxDigits the maximum number of digits of a number
+     * @return the new limits
+     */
+    public EvaluationLimits withMaxDigits(final long maxDigits) {
+        return new EvaluationLimits(maxDigits, maxIterations, timeout, cancellationToken);
+    }
+
+    /**
+     * Returns a copy of these limits with the given maximum number of loop iterations.
+     *
+     * @param maxIterations the maximum total number of loop iterations
+     * @return the new limits
+     */
+    public EvaluationLimits withMaxIterations(final long maxIterations) {
+        return new EvaluationLimits(maxDigits, maxIterations, timeout, cancellationToken);
+    }
+
+    /**
+     * Returns a copy of these limits with the given timeout.
+     *
+     * @param timeout the maximum wall time of an evaluation
+     * @return the new limits
+     */
+    public EvaluationLimits withTimeout(@NonNull final Duration timeout) {
+        return new EvaluationLimits(maxDigits, maxIterations, timeout, cancellationToken);
+    }
+
+    /**
+     * Returns a copy of these limits with the given cancellation token.
+     *
+     * @param cancellationToken the token to cancel evaluations with
+     * @return the new limits
+     */
+    public EvaluationLimits withCancellationToken(@NonNull final CancellationToken cancellationToken) {
+        return new EvaluationLimits(maxDigits, maxIterations, timeout, cancellationToken);
+    }
+
+}
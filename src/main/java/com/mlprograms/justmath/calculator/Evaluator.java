@@ -26,39 +26,48 @@ package com.mlprograms.justmath.calculator;
 
 import com.mlprograms.justmath.bignumber.BigNumber;
 import com.mlprograms.justmath.bignumber.BigNumberCoordinate;
+import com.mlprograms.justmath.bignumber.math.SeriesMath;
 import com.mlprograms.justmath.calculator.internal.TrigonometricMode;
 import com.mlprograms.justmath.calculator.exceptions.ProcessingErrorException;
 import com.mlprograms.justmath.calculator.exceptions.SyntaxErrorException;
+import com.mlprograms.justmath.calculator.expression.Ball;
+import com.mlprograms.justmath.calculator.expression.DualNumber;
+import com.mlprograms.justmath.calculator.expression.EvaluationStack;
 import com.mlprograms.justmath.calculator.expression.ExpressionElement;
-import com.mlprograms.justmath.calculator.expression.ExpressionElements;
 import com.mlprograms.justmath.calculator.internal.Token;
 import lombok.AllArgsConstructor;
-import lombok.NoArgsConstructor;
+import lombok.Getter;
 
 import java.math.MathContext;
-import java.util.ArrayDeque;
-import java.util.Deque;
 import java.util.List;
+import java.util.Map;
 
 import static com.mlprograms.justmath.bignumber.BigNumbers.CALCULATION_LOCALE;
 
 /**
  * Evaluates a mathematical expression represented as a list of tokens in Reverse Polish Notation.
  * Supports full precision using BigDecimal.
+ * <p>
+ * Instances are immutable; all state of an evaluation lives on its own {@link EvaluationStack}.
  */
-@NoArgsConstructor
+@Getter
 @AllArgsConstructor
 class Evaluator {
 
     /**
      * Math context specifying the precision and rounding mode for calculations.
      */
-    private MathContext mathContext;
+    private final MathContext mathContext;
 
     /**
      * The mode used for trigonometric calculations (e.g., degrees or radians).
      */
-    private TrigonometricMode trigonometricMode;
+    private final TrigonometricMode trigonometricMode;
+
+    /**
+     * Decides when and where the series of an evaluation run in parallel.
+     */
+    private final SeriesMath.Parallelism seriesParallelism;
 
     /**
      * Evaluates a list of tokens in Reverse Polish Notation (RPN) and returns the final result as a {@link BigNumber}.
@@ -80,15 +89,17 @@ class Evaluator {
      * @throws IllegalStateException    if the expression does not reduce to a single result or has an unsupported result type
      */
     public BigNumber evaluate(List<Token> reversePolishNotationTokens) {
-        Deque<Object> stack = new ArrayDeque<>();
+        EvaluationStack stack = new EvaluationStack(reversePolishNotationTokens.size(), Map.of(), seriesParallelism);
 
         for (Token token : reversePolishNotationTokens) {
             switch (token.getType()) {
-                case NUMBER -> stack.push(new BigNumber(token.getValue()));
+                case NUMBER -> stack.push(token.getNumber());
                 case STRING -> stack.push(token.getValue());
                 case OPERATOR, FUNCTION, CONSTANT -> {
-                    ExpressionElement expressionElement = ExpressionElements.findBySymbol(token.getValue())
-                            .orElseThrow(() -> new SyntaxErrorException("Unknown operator or function: " + token.getValue()));
+                    ExpressionElement expressionElement = token.getElement();
+                    if (expressionElement == null) {
+                        throw new SyntaxErrorException("Unknown operator or function: " + token.getValue());
+                    }
 
                     expressionElement.apply(stack, mathContext, trigonometricMode, CALCULATION_LOCALE);
                 }
@@ -96,6 +107,142 @@ class Evaluator {
             }
         }
 
+        return popResult(stack);
+    }
+
+    /**
+     * Evaluates a compiled plan (see {@link CompiledExpression}) and returns the final result as a {@link BigNumber}.
+     * <p>
+     * Unlike {@link #evaluate(List)}, every operator, function and constant has already been resolved and every
+     * numeric literal parsed, so this method only performs the arithmetic.
+     * </p>
+     *
+     * @param instructions   the compiled instructions in Reverse Polish Notation
+     * @param variableValues the values bound to the variable slots of the plan, followed by room for its temporary
+     *                       slots
+     * @param variables      the variables passed on to nested expressions, e.g. the bodies of summations
+     * @return the result of evaluating the plan as a {@link BigNumber}
+     * @throws IllegalStateException if the plan does not reduce to a single result or has an unsupported result type
+     */
+    BigNumber evaluate(List<CompiledExpression.Instruction> instructions, BigNumber[] variableValues, Map<String, String> variables) {
+        EvaluationStack stack = new EvaluationStack(instructions.size(), variables, seriesParallelism);
+
+        for (CompiledExpression.Instruction instruction : instructions) {
+            if (instruction.element() != null) {
+                instruction.element().apply(stack, mathContext, trigonometricMode, CALCULATION_LOCALE);
+            } else if (instruction.variableSlot() >= 0) {
+                stack.push(variableValues[instruction.variableSlot()]);
+            } else if (instruction.storeSlot() >= 0) {
+                variableValues[instruction.storeSlot()] = stack.peekNumber();
+            } else if (instruction.number() != null) {
+                stack.push(instruction.number());
+            } else {
+                stack.push(instruction.string());
+            }
+        }
+
+        return popResult(stack);
+    }
+
+    /**
+     * Evaluates a compiled plan like {@link #evaluate(List, BigNumber[], Map)}, and additionally computes the
+     * derivative of the result with respect to the variables whose slots have a derivative (forward-mode automatic
+     * differentiation, see {@link DualNumber}).
+     *
+     * @param instructions     the compiled instructions in Reverse Polish Notation
+     * @param slotValues       the values bound to the variable slots of the plan, followed by room for its temporary
+     *                         slots
+     * @param slotDerivatives  the derivatives of the variable slots, {@code null} for slots that are constant; the
+     *                         temporary slots receive the derivatives of the stored subexpressions
+     * @param variables        the variables passed on to nested expressions, e.g. the bodies of summations
+     * @return the result of evaluating the plan together with its derivative
+     * @throws UnsupportedOperationException if the result depends on the variable through an element that cannot be
+     *                                       differentiated
+     * @throws IllegalStateException         if the plan does not reduce to a single result
+     */
+    DualNumber evaluateWithDerivative(List<CompiledExpression.Instruction> instructions, BigNumber[] slotValues, BigNumber[] slotDerivatives, Map<String, String> variables) {
+        EvaluationStack stack = new EvaluationStack(instructions.size(), variables, seriesParallelism);
+
+        for (CompiledExpression.Instruction instruction : instructions) {
+            if (instruction.element() != null) {
+                instruction.element().applyWithDerivative(stack, mathContext, trigonometricMode, CALCULATION_LOCALE);
+            } else if (instruction.variableSlot() >= 0) {
+                BigNumber derivative = slotDerivatives[instruction.variableSlot()];
+                if (derivative == null) {
+                    stack.push(slotValues[instruction.variableSlot()]);
+                } else {
+                    stack.push(new DualNumber(slotValues[instruction.variableSlot()], derivative));
+                }
+            } else if (instruction.storeSlot() >= 0) {
+                DualNumber stored = stack.peekDual();
+                slotValues[instruction.storeSlot()] = stored.value();
+                slotDerivatives[instruction.storeSlot()] = stored.isConstant() ? null : stored.derivative();
+            } else if (instruction.number() != null) {
+                stack.push(instruction.number());
+            } else {
+                stack.push(instruction.string());
+            }
+        }
+
+        if (stack.size() != 1) {
+            throw new ProcessingErrorException("Invalid expression: expected a single result, but found " + stack.size());
+        }
+
+        return stack.popDual();
+    }
+
+    /**
+     * Evaluates a compiled plan like {@link #evaluate(List, BigNumber[], Map)}, and additionally bounds the error of
+     * the result caused by rounding at the precision of this evaluator (see {@link Ball}). The variable values are
+     * taken as exact.
+     *
+     * @param instructions the compiled instructions in Reverse Polish Notation
+     * @param slotValues   the values bound to the variable slots of the plan, followed by room for its temporary slots
+     * @param variables    the variables passed on to nested expressions, e.g. the bodies of summations
+     * @return the result of evaluating the plan together with the bound on its error
+     * @throws UnsupportedOperationException if the error of an element with inexact arguments cannot be bounded
+     * @throws IllegalStateException         if the plan does not reduce to a single result
+     */
+    Ball evaluateWithRadius(List<CompiledExpression.Instruction> instructions, BigNumber[] slotValues, Map<String, String> variables) {
+        EvaluationStack stack = new EvaluationStack(instructions.size(), variables, seriesParallelism);
+        BigNumber[] slotRadii = new BigNumber[slotValues.length];
+
+        for (CompiledExpression.Instruction instruction : instructions) {
+            if (instruction.element() != null) {
+                instruction.element().applyWithRadius(stack, mathContext, trigonometricMode, CALCULATION_LOCALE);
+            } else if (instruction.variableSlot() >= 0) {
+                BigNumber radius = slotRadii[instruction.variableSlot()];
+                if (radius == null) {
+                    stack.push(slotValues[instruction.variableSlot()]);
+                } else {
+                    stack.push(new Ball(slotValues[instruction.variableSlot()], radius));
+                }
+            } else if (instruction.storeSlot() >= 0) {
+                Ball stored = stack.peekBall();
+                slotValues[instruction.storeSlot()] = stored.midpoint();
+                slotRadii[instruction.storeSlot()] = stored.isExact() ? null : stored.radius();
+            } else if (instruction.number() != null) {
+                stack.push(instruction.number());
+            } else {
+                stack.push(instruction.string());
+            }
+        }
+
+        if (stack.size() != 1) {
+            throw new ProcessingErrorException("Invalid expression: expected a single result, but found " + stack.size());
+        }
+
+        return stack.popBall();
+    }
+
+    /**
+     * Removes the final result from the evaluation stack.
+     *
+     * @param stack the evaluation stack after all tokens have been processed
+     * @return the single remaining result
+     * @throws IllegalStateException if the stack does not hold exactly one {@link BigNumber}
+     */
+    private BigNumber popResult(EvaluationStack stack) {
         if (stack.size() != 1) {
             throw new ProcessingErrorException("Invalid expression: expected a single result, but found " + stack.size());
         }
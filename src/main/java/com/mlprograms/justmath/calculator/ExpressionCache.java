@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2026 Max Lemberg
+ *
+ * This file is part of JustMath.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.mlprograms.justmath.calculator;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Size-bounded least-recently-used cache that maps expression strings to their compiled form.
+ * <p>
+ * The cached {@link CompiledExpression}s are already optimized, so a hit skips tokenizing, parsing and folding the
+ * constant subexpressions. They keep their variable slots, so an entry can be reused for any variable values. The
+ * cache belongs to one engine, whose math context and trigonometric mode are fixed, so the expression string alone
+ * identifies an entry. A cache with a maximum size of {@code 0} is disabled and compiles every expression again.
+ * <p>
+ * The cache is safe for concurrent use. Lookups hold a lock only for the map access itself, expressions are compiled
+ * outside of it. Hits, misses and evictions are counted for monitoring.
+ */
+public final class ExpressionCache {
+
+    /**
+     * Maximum number of cached expressions.
+     */
+    @Getter
+    private final int maximumSize;
+
+    /**
+     * Cached compiled expressions in access order, the least recently used entry first.
+     */
+    private final Map<String, CompiledExpression> entries;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * Constructs a cache holding at most {@code maximumSize} expressions.
+     *
+     * @param maximumSize the maximum number of cached expressions, {@code 0} to disable caching
+     * @throws IllegalArgumentException if {@code maximumSize} is negative
+     */
+    public ExpressionCache(final int maximumSize) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("Maximum cache size must not be negative: " + maximumSize);
+        }
+
+        this.maximumSize = maximumSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, CompiledExpression> eldest) {
+                if (size() > ExpressionCache.this.maximumSize) {
+                    evictionCount.increment();
+                    return true;
+                }
+
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached compiled form of the expression, compiling and caching it on a miss.
+     *
+     * @param expression the expression to look up
+     * @param compiler   compiles the expression on a miss
+     * @return the compiled expression
+     */
+    CompiledExpression get(@NonNull final String expression, @NonNull final Function<String, CompiledExpression> compiler) {
+        if (maximumSize == 0) {
+            missCount.increment();
+            return compiler.apply(expression);
+        }
+
+        CompiledExpression compiledExpression;
+        synchronized (entries) {
+            compiledExpression = entries.get(expression);
+        }
+
+        if (compiledExpression != null) {
+            hitCount.increment();
+            return compiledExpression;
+        }
+
+        missCount.increment();
+        final CompiledExpression uncachedCompiledExpression = compiler.apply(expression);
+
+        synchronized (entries) {
+            compiledExpression = entries.putIfAbsent(expression, uncachedCompiledExpression);
+        }
+
+        return compiledExpression != null ? compiledExpression : uncachedCompiledExpression;
+    }
+
+    /**
+     * Returns the number of lookups that were answered from the cache.
+     *
+     * @return the hit count
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * Returns the number of lookups that had to compile the expression.
+     *
+     * @return the miss count
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * Returns the number of entries that were removed to make room for newer ones.
+     *
+     * @return the eviction count
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * Returns the number of currently cached expressions.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Removes all cached expressions. The counters are kept.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+}
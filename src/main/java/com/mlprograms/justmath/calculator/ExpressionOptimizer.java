@@ -0,0 +1,345 @@
+/*
+ * Copyright (c) 2026 Max Lemberg
+ *
+ * This file is part of JustMath.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.mlprograms.justmath.calculator;
+
+import com.mlprograms.justmath.bignumber.BigNumber;
+import com.mlprograms.justmath.calculator.CompiledExpression.Instruction;
+import com.mlprograms.justmath.calculator.exceptions.EvaluationCancelledException;
+import com.mlprograms.justmath.calculator.exceptions.EvaluationLimitExceededException;
+import com.mlprograms.justmath.calculator.expression.ExpressionElement;
+import com.mlprograms.justmath.calculator.expression.elements.Constant;
+import com.mlprograms.justmath.calculator.expression.elements.function.CoordinateFunction;
+import com.mlprograms.justmath.calculator.expression.elements.function.OneArgumentFunction;
+import com.mlprograms.justmath.calculator.expression.elements.function.OneArgumentTrigonometricFunction;
+import com.mlprograms.justmath.calculator.expression.elements.function.OneArgumentZeroParamFunction;
+import com.mlprograms.justmath.calculator.expression.elements.function.ThreeArgumentFunction;
+import com.mlprograms.justmath.calculator.expression.elements.function.TwoArgumentFunction;
+import com.mlprograms.justmath.calculator.expression.elements.function.UnlimitedArgumentFunction;
+import com.mlprograms.justmath.calculator.expression.elements.operator.BinaryOperator;
+import com.mlprograms.justmath.calculator.expression.elements.operator.PostfixUnaryOperator;
+import com.mlprograms.justmath.calculator.expression.elements.operator.SimpleBinaryOperator;
+
+import java.util.*;
+
+/**
+ * Optimizes the evaluation plan of a {@link CompiledExpression}.
+ * <p>
+ * The postfix plan is turned into an expression tree, on which two rewrites are applied:
+ * <ul>
+ *   <li><b>Constant folding:</b> subtrees without variables (e.g. {@code 2*π/360} or {@code sqrt(2)}) are evaluated
+ *       once at compile time, using the math context and trigonometric mode of the compiling engine, and replaced
+ *       by their value.</li>
+ *   <li><b>Common subexpression elimination:</b> identical subtrees (e.g. {@code sin(x)} used several times) are
+ *       evaluated only at their first occurrence. The result is kept in a temporary slot, placed after the variable
+ *       slots, and loaded at every further occurrence.</li>
+ * </ul>
+ * Only deterministic elements (see {@link ExpressionElement#isDeterministic()}) take part in either rewrite, so e.g.
+ * every {@code RandInt} call still draws its own number. Functions with a nested expression argument, such as
+ * {@code summation}, are left alone as well, because their result depends on the variables of the evaluation.
+ * <p>
+ * If the plan contains an element of unknown arity, is malformed or nests deeper than {@link #MAX_DEPTH}, it is
+ * returned unchanged and any error is reported when the expression is evaluated, exactly as without optimization.
+ */
+final class ExpressionOptimizer {
+
+    /**
+     * Maximum tree depth that is optimized. The rewrites are recursive, deeper trees are evaluated as parsed.
+     */
+    static final int MAX_DEPTH = 512;
+
+    private ExpressionOptimizer() {
+    }
+
+    /**
+     * The result of optimizing a plan.
+     *
+     * @param instructions       the optimized instructions
+     * @param temporarySlotCount the number of temporary slots used by the instructions
+     */
+    record OptimizedPlan(List<Instruction> instructions, int temporarySlotCount) {
+    }
+
+    /**
+     * Folds constant subtrees and eliminates common subexpressions of a plan.
+     *
+     * @param instructions  the plan in postfix order
+     * @param variableCount the number of variable slots of the plan; temporary slots are numbered after them
+     * @param evaluator     the evaluator used to fold constant subtrees, or {@code null} to keep them, e.g. because
+     *                      the plan is evaluated at other precisions than that of the evaluator
+     * @return the optimized plan, or the given plan without temporary slots if it cannot be optimized
+     */
+    static OptimizedPlan optimize(final List<Instruction> instructions, final int variableCount, final Evaluator evaluator) {
+        final Node root = buildTree(instructions, evaluator);
+        if (root == null) {
+            return new OptimizedPlan(instructions, 0);
+        }
+
+        final Map<Integer, Integer> occurrences = new HashMap<>();
+        countOccurrences(root, new HashSet<>(), rawOccurrences(root), occurrences);
+
+        final List<Instruction> optimizedInstructions = new ArrayList<>(instructions.size());
+        final Map<Integer, Integer> temporarySlots = new HashMap<>();
+        emit(root, occurrences, temporarySlots, variableCount, optimizedInstructions);
+
+        return new OptimizedPlan(List.copyOf(optimizedInstructions), temporarySlots.size());
+    }
+
+    /**
+     * Builds the expression tree of a plan, folding constant subtrees on the way.
+     *
+     * @return the root node, or {@code null} if the plan cannot be optimized
+     */
+    private static Node buildTree(final List<Instruction> instructions, final Evaluator evaluator) {
+        final Deque<Node> stack = new ArrayDeque<>();
+        final Map<String, Integer> canonicalIds = new HashMap<>();
+
+        for (final Instruction instruction : instructions) {
+            if (instruction.element() == null) {
+                final String key = instruction.number() != null ? "#" + instruction.number()
+                        : instruction.string() != null ? "\"" + instruction.string()
+                        : "$" + instruction.variableSlot();
+                stack.push(Node.leaf(instruction, canonicalIds.computeIfAbsent(key, ignored -> canonicalIds.size())));
+                continue;
+            }
+
+            final ExpressionElement element = instruction.element();
+            final Node top = stack.peek();
+            final int argumentCount = argumentCount(element, top != null && top.instruction != null ? top.instruction.number() : null);
+            if (argumentCount < 0 || stack.size() < argumentCount) {
+                return null;
+            }
+
+            final Node[] children = new Node[argumentCount];
+            for (int index = argumentCount - 1; index >= 0; index--) {
+                children[index] = stack.pop();
+            }
+
+            final Node node = Node.of(element, children, canonicalIds);
+            if (node.depth > MAX_DEPTH) {
+                return null;
+            }
+
+            stack.push(node.isConstant && evaluator != null ? fold(node, evaluator, canonicalIds) : node);
+        }
+
+        return stack.size() == 1 ? stack.pop() : null;
+    }
+
+    /**
+     * Returns the number of stack entries an element consumes.
+     *
+     * @param element        the element
+     * @param topNumberValue the number literal on top of the stack, or {@code null}; for functions with a variable
+     *                       number of arguments, this is the argument count pushed by the parser
+     * @return the number of consumed entries, or {@code -1} if it is not known
+     */
+    static int argumentCount(final ExpressionElement element, final BigNumber topNumberValue) {
+        if (element instanceof Constant) {
+            return 0;
+        }
+
+        if (element instanceof PostfixUnaryOperator || element instanceof OneArgumentFunction
+                || element instanceof OneArgumentTrigonometricFunction || element instanceof OneArgumentZeroParamFunction) {
+            return 1;
+        }
+
+        if (element instanceof BinaryOperator || element instanceof SimpleBinaryOperator
+                || element instanceof TwoArgumentFunction || element instanceof CoordinateFunction) {
+            return 2;
+        }
+
+        if (element instanceof ThreeArgumentFunction) {
+            return 3;
+        }
+
+        if (element instanceof UnlimitedArgumentFunction && topNumberValue != null) {
+            // The arguments plus the argument count literal
+            return topNumberValue.intValue() + 1;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Evaluates a constant subtree and replaces it by its value. If the evaluation fails, the subtree is kept, so
+     * that the error is raised when the expression is evaluated. Only exceeding the limits of the evaluation or
+     * cancelling it stops compiling right away.
+     */
+    private static Node fold(final Node node, final Evaluator evaluator, final Map<String, Integer> canonicalIds) {
+        final List<Instruction> subtreeInstructions = new ArrayList<>();
+        emit(node, Map.of(), new HashMap<>(), 0, subtreeInstructions);
+
+        final BigNumber value;
+        try {
+            value = evaluator.evaluate(subtreeInstructions, new BigNumber[0], Map.of());
+        } catch (EvaluationLimitExceededException | EvaluationCancelledException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            return node;
+        }
+
+        return Node.leaf(Instruction.number(value), canonicalIds.computeIfAbsent("#" + value, ignored -> canonicalIds.size()));
+    }
+
+    /**
+     * Counts how often every shareable subtree occurs in the tree, including occurrences inside repeated subtrees.
+     */
+    private static Map<Integer, Integer> rawOccurrences(final Node root) {
+        final Map<Integer, Integer> occurrences = new HashMap<>();
+        final Deque<Node> stack = new ArrayDeque<>();
+        stack.push(root);
+
+        while (!stack.isEmpty()) {
+            final Node node = stack.pop();
+            if (node.isShareable()) {
+                occurrences.merge(node.id, 1, Integer::sum);
+            }
+            for (final Node child : node.children) {
+                stack.push(child);
+            }
+        }
+
+        return occurrences;
+    }
+
+    /**
+     * Counts the occurrences of every shareable subtree that will actually be evaluated or loaded: a repeated
+     * subtree is only descended into at its first occurrence, because all further ones are loaded as a whole.
+     */
+    private static void countOccurrences(final Node node, final Set<Integer> visitedIds, final Map<Integer, Integer> rawOccurrences,
+                                         final Map<Integer, Integer> occurrences) {
+        if (node.isShareable()) {
+            occurrences.merge(node.id, 1, Integer::sum);
+            if (rawOccurrences.get(node.id) > 1 && !visitedIds.add(node.id)) {
+                return;
+            }
+        }
+
+        for (final Node child : node.children) {
+            countOccurrences(child, visitedIds, rawOccurrences, occurrences);
+        }
+    }
+
+    /**
+     * Emits the instructions of a subtree in postfix order. The first occurrence of a repeated subtree stores its
+     * value in a temporary slot; all further occurrences load it.
+     */
+    private static void emit(final Node node, final Map<Integer, Integer> occurrences, final Map<Integer, Integer> temporarySlots,
+                             final int variableCount, final List<Instruction> instructions) {
+        final boolean isRepeated = node.isShareable() && occurrences.getOrDefault(node.id, 0) > 1;
+        if (isRepeated && temporarySlots.containsKey(node.id)) {
+            instructions.add(Instruction.variable(temporarySlots.get(node.id)));
+            return;
+        }
+
+        if (node.instruction != null) {
+            instructions.add(node.instruction);
+            return;
+        }
+
+        for (final Node child : node.children) {
+            emit(child, occurrences, temporarySlots, variableCount, instructions);
+        }
+        instructions.add(Instruction.element(node.element));
+
+        if (isRepeated) {
+            final int temporarySlot = variableCount + temporarySlots.size();
+            temporarySlots.put(node.id, temporarySlot);
+            instructions.add(Instruction.store(temporarySlot));
+        }
+    }
+
+    /**
+     * A node of the expression tree: either a leaf holding an operand instruction or an element applied to its
+     * children. Structurally identical deterministic subtrees share the same {@code id}.
+     */
+    private static final class Node {
+
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private final Instruction instruction;
+        private final ExpressionElement element;
+        private final Node[] children;
+        private final int id;
+        private final int depth;
+
+        /**
+         * Whether the subtree consists of deterministic elements only.
+         */
+        private final boolean isDeterministic;
+
+        /**
+         * Whether the subtree is deterministic and contains no variables.
+         */
+        private final boolean isConstant;
+
+        private Node(final Instruction instruction, final ExpressionElement element, final Node[] children, final int id,
+                     final int depth, final boolean isDeterministic, final boolean isConstant) {
+            this.instruction = instruction;
+            this.element = element;
+            this.children = children;
+            this.id = id;
+            this.depth = depth;
+            this.isDeterministic = isDeterministic;
+            this.isConstant = isConstant;
+        }
+
+        static Node leaf(final Instruction instruction, final int id) {
+            return new Node(instruction, null, NO_CHILDREN, id, 1, true, instruction.variableSlot() < 0);
+        }
+
+        static Node of(final ExpressionElement element, final Node[] children, final Map<String, Integer> canonicalIds) {
+            // Nested expressions are evaluated with the variables of the evaluation, so they are never shared or folded
+            boolean isDeterministic = element.isDeterministic() && !(element instanceof ThreeArgumentFunction);
+            boolean isConstant = isDeterministic;
+            int depth = 0;
+
+            final StringBuilder key = new StringBuilder(element.getSymbol()).append('(');
+            for (final Node child : children) {
+                isDeterministic &= child.isDeterministic;
+                isConstant &= child.isConstant;
+                depth = Math.max(depth, child.depth);
+                key.append(child.id).append(',');
+            }
+            key.append(')');
+
+            // Non-deterministic subtrees get an id of their own, so that they never match another subtree
+            final int id = isDeterministic
+                    ? canonicalIds.computeIfAbsent(key.toString(), ignored -> canonicalIds.size())
+                    : canonicalIds.computeIfAbsent(key.append('@').append(canonicalIds.size()).toString(), ignored -> canonicalIds.size());
+
+            return new Node(null, element, children, id, depth + 1, isDeterministic, isConstant);
+        }
+
+        /**
+         * Whether the subtree can be evaluated once and shared between its occurrences.
+         */
+        boolean isShareable() {
+            return instruction == null && isDeterministic;
+        }
+
+    }
+
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2026 Max Lemberg
+ *
+ * This file is part of JustMath.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.mlprograms.justmath.calculator;
+
+import com.mlprograms.justmath.bignumber.BigNumber;
+import com.mlprograms.justmath.calculator.CompiledExpression.Instruction;
+import com.mlprograms.justmath.calculator.expression.ExpressionElement;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.*;
+
+import static com.mlprograms.justmath.bignumber.BigNumbers.CALCULATION_LOCALE;
+
+/**
+ * Compiles the evaluation plan of a {@link CompiledExpression} into a tree of {@link MethodHandle}s.
+ * <p>
+ * Every element that provides a handle (see {@link ExpressionElement#toMethodHandle}) is combined directly with the
+ * handles of its arguments, so evaluating the result calls the {@link BigNumber} operations without an evaluation
+ * stack or instruction dispatch, and the JIT compiler can inline the combined handles. Subexpressions containing an
+ * element without a handle, such as {@code summation} or {@code avg}, are evaluated by the interpreter instead.
+ * <p>
+ * The resulting handle has the type {@code (BigNumber[]) BigNumber} and takes the variable slots followed by the
+ * temporary slots of the plan. Temporary slots are computed on first use, so shared subexpressions are still
+ * evaluated once per call, regardless of the order in which the combined handles evaluate their arguments.
+ */
+final class MethodHandleCompiler {
+
+    private static final MethodType SLOT_HANDLE_TYPE = MethodType.methodType(BigNumber.class, BigNumber[].class);
+
+    private static final MethodHandle SLOT_GETTER = MethodHandles.arrayElementGetter(BigNumber[].class);
+    private static final MethodHandle IS_NULL;
+    private static final MethodHandle STORE;
+    private static final MethodHandle INTERPRET;
+
+    static {
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+            IS_NULL = lookup.findStatic(Objects.class, "isNull", MethodType.methodType(boolean.class, Object.class))
+                    .asType(MethodType.methodType(boolean.class, BigNumber.class));
+            STORE = lookup.findStatic(MethodHandleCompiler.class, "store",
+                    MethodType.methodType(BigNumber.class, BigNumber.class, BigNumber[].class, int.class));
+            INTERPRET = lookup.findStatic(MethodHandleCompiler.class, "interpret",
+                    MethodType.methodType(BigNumber.class, Evaluator.class, List.class, List.class, MethodHandle[].class, BigNumber[].class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private MethodHandleCompiler() {
+    }
+
+    /**
+     * A compiled subexpression.
+     *
+     * @param handle the handle computing the subexpression, or {@code null} for a string argument
+     * @param start  the index of the first instruction of the subexpression in the plan
+     * @param number the value if the subexpression is a number literal, otherwise {@code null}
+     */
+    private record Operand(MethodHandle handle, int start, BigNumber number) {
+    }
+
+    /**
+     * Compiles a plan into a method handle.
+     *
+     * @param instructions  the plan in postfix order
+     * @param variableNames the names of the variable slots; temporary slots are numbered after them
+     * @param evaluator     the evaluator whose math context and trigonometric mode are used, and which interprets the
+     *                      subexpressions that cannot be compiled
+     * @return a handle of type {@code (BigNumber[]) BigNumber}, or {@code null} if the plan is empty or malformed
+     */
+    static MethodHandle compile(final List<Instruction> instructions, final List<String> variableNames, final Evaluator evaluator) {
+        final int variableCount = variableNames.size();
+        final Deque<Operand> stack = new ArrayDeque<>();
+        final Map<Integer, MethodHandle> temporarySlotHandles = new HashMap<>();
+
+        for (int index = 0; index < instructions.size(); index++) {
+            final Instruction instruction = instructions.get(index);
+
+            if (instruction.number() != null) {
+                final MethodHandle constant = MethodHandles.constant(BigNumber.class, instruction.number());
+                stack.push(new Operand(MethodHandles.dropArguments(constant, 0, BigNumber[].class), index, instruction.number()));
+            } else if (instruction.string() != null) {
+                stack.push(new Operand(null, index, null));
+            } else if (instruction.variableSlot() >= variableCount) {
+                final MethodHandle temporarySlotHandle = temporarySlotHandles.get(instruction.variableSlot());
+                if (temporarySlotHandle == null) {
+                    return null;
+                }
+                stack.push(new Operand(temporarySlotHandle, index, null));
+            } else if (instruction.variableSlot() >= 0) {
+                stack.push(new Operand(slotGetter(instruction.variableSlot()), index, null));
+            } else if (instruction.storeSlot() >= 0) {
+                if (stack.isEmpty() || stack.peek().handle() == null) {
+                    return null;
+                }
+
+                final Operand operand = stack.pop();
+                final MethodHandle temporarySlotHandle = computeOnFirstUse(operand.handle(), instruction.storeSlot());
+                temporarySlotHandles.put(instruction.storeSlot(), temporarySlotHandle);
+                stack.push(new Operand(temporarySlotHandle, operand.start(), null));
+            } else {
+                final Operand operand = compileElement(instructions, index, stack, variableNames, temporarySlotHandles, evaluator);
+                if (operand == null) {
+                    return null;
+                }
+                stack.push(operand);
+            }
+        }
+
+        if (stack.size() != 1 || stack.peek().handle() == null) {
+            return null;
+        }
+
+        return stack.pop().handle();
+    }
+
+    /**
+     * Compiles the element at {@code index} together with its arguments on the stack.
+     *
+     * @return the compiled subexpression, or {@code null} if the arity of the element is unknown
+     */
+    private static Operand compileElement(final List<Instruction> instructions, final int index, final Deque<Operand> stack,
+                                          final List<String> variableNames, final Map<Integer, MethodHandle> temporarySlotHandles,
+                                          final Evaluator evaluator) {
+        final ExpressionElement element = instructions.get(index).element();
+        final int argumentCount = ExpressionOptimizer.argumentCount(element, stack.isEmpty() ? null : stack.peek().number());
+        if (argumentCount < 0 || stack.size() < argumentCount) {
+            return null;
+        }
+
+        final Operand[] arguments = new Operand[argumentCount];
+        for (int argumentIndex = argumentCount - 1; argumentIndex >= 0; argumentIndex--) {
+            arguments[argumentIndex] = stack.pop();
+        }
+        final int start = argumentCount == 0 ? index : arguments[0].start();
+
+        final MethodHandle elementHandle = element.toMethodHandle(evaluator.getMathContext(), evaluator.getTrigonometricMode(), CALCULATION_LOCALE);
+        if (elementHandle != null && elementHandle.type().parameterCount() == argumentCount
+                && Arrays.stream(arguments).allMatch(argument -> argument.handle() != null)) {
+            return new Operand(combine(elementHandle, arguments), start, null);
+        }
+
+        // Interpret the whole subexpression; shared values it loads but does not compute itself are computed first
+        final List<Instruction> subexpression = List.copyOf(instructions.subList(start, index + 1));
+        final Set<Integer> storedSlots = new HashSet<>();
+        final Set<MethodHandle> prerequisites = new LinkedHashSet<>();
+        boolean hasNestedExpressions = false;
+        for (final Instruction instruction : subexpression) {
+            if (instruction.storeSlot() >= 0) {
+                storedSlots.add(instruction.storeSlot());
+            } else if (instruction.variableSlot() >= variableNames.size() && !storedSlots.contains(instruction.variableSlot())) {
+                prerequisites.add(temporarySlotHandles.get(instruction.variableSlot()));
+            } else if (instruction.string() != null) {
+                hasNestedExpressions = true;
+            }
+        }
+
+        // Only nested expressions need the variables by name
+        final List<String> nestedVariableNames = hasNestedExpressions ? variableNames : List.of();
+        final MethodHandle interpreter = MethodHandles.insertArguments(INTERPRET, 0, evaluator, subexpression, nestedVariableNames, prerequisites.toArray(MethodHandle[]::new));
+        return new Operand(interpreter, start, null);
+    }
+
+    /**
+     * Combines an element handle with the handles of its arguments into a handle of type
+     * {@code (BigNumber[]) BigNumber}.
+     */
+    private static MethodHandle combine(final MethodHandle elementHandle, final Operand[] arguments) {
+        if (arguments.length == 0) {
+            return MethodHandles.dropArguments(elementHandle, 0, BigNumber[].class);
+        }
+
+        final MethodHandle[] argumentHandles = new MethodHandle[arguments.length];
+        for (int index = 0; index < arguments.length; index++) {
+            argumentHandles[index] = arguments[index].handle();
+        }
+
+        // (BigNumber[], ..., BigNumber[]) -> BigNumber, then pass the same slot array to every argument
+        final MethodHandle filtered = MethodHandles.filterArguments(elementHandle, 0, argumentHandles);
+        return MethodHandles.permuteArguments(filtered, SLOT_HANDLE_TYPE, new int[arguments.length]);
+    }
+
+    /**
+     * Returns a handle that reads a slot.
+     */
+    private static MethodHandle slotGetter(final int slot) {
+        return MethodHandles.insertArguments(SLOT_GETTER, 1, slot);
+    }
+
+    /**
+     * Returns a handle that returns the value of a temporary slot, computing and storing it on first use.
+     */
+    private static MethodHandle computeOnFirstUse(final MethodHandle valueHandle, final int slot) {
+        final MethodHandle getter = slotGetter(slot);
+        final MethodHandle isUnset = MethodHandles.filterReturnValue(getter, IS_NULL);
+
+        // values -> store(value(values), values, slot)
+        final MethodHandle store = MethodHandles.filterArguments(MethodHandles.insertArguments(STORE, 2, slot), 0, valueHandle);
+        final MethodHandle computeAndStore = MethodHandles.permuteArguments(store, SLOT_HANDLE_TYPE, 0, 0);
+
+        return MethodHandles.guardWithTest(isUnset, computeAndStore, getter);
+    }
+
+    private static BigNumber store(final BigNumber value, final BigNumber[] slotValues, final int slot) {
+        slotValues[slot] = value;
+        return value;
+    }
+
+    private static BigNumber interpret(final Evaluator evaluator, final List<Instruction> instructions, final List<String> nestedVariableNames,
+                                       final MethodHandle[] prerequisites, final BigNumber[] slotValues) throws Throwable {
+        for (final MethodHandle prerequisite : prerequisites) {
+            final BigNumber ignored = (BigNumber) prerequisite.invokeExact(slotValues);
+        }
+
+        return evaluator.evaluate(instructions, slotValues, CompiledExpression.toNestedVariables(nestedVariableNames, slotValues));
+    }
+
+}
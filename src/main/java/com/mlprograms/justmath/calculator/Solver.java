@@ -0,0 +1,384 @@
+/*
+ * Copyright (c) 2026 Max Lemberg
+ *
+ * This file is part of JustMath.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mlprograms.justmath.calculator;
+
+import com.mlprograms.justmath.bignumber.BigNumber;
+import com.mlprograms.justmath.bignumber.BigNumbers;
+import com.mlprograms.justmath.calculator.expression.DualNumber;
+import lombok.NonNull;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Map;
+
+/**
+ * Finds roots and minima of a compiled expression in one variable.
+ * <p>
+ * All methods use the derivative of the expression, which is computed exactly alongside its value (see
+ * {@link CompiledExpression#evaluateWithDerivative(String, Map)}), and converge quadratically (Newton's method) or
+ * super-linearly (secant method). The iterations start at a low precision, and the precision is doubled whenever
+ * the iterate is as accurate as the current precision allows, so only the last one or two iterations run at the full
+ * precision of the engine.
+ */
+final class Solver {
+
+    /**
+     * The precision, in significant digits, of the first iterations.
+     */
+    private static final int INITIAL_PRECISION = 16;
+
+    /**
+     * Extra digits used for the evaluations of every precision step, so that rounding errors of the expression do not
+     * limit the accuracy of the iterate.
+     */
+    private static final int GUARD_DIGITS = 10;
+
+    /**
+     * The maximum number of iterations of each search before it is considered not to converge.
+     */
+    private static final int MAX_ITERATIONS = 500;
+
+    /**
+     * The ratio of successive Newton steps from which the convergence is taken to be linear. Newton's method shrinks
+     * the step by {@code (m - 1) / m} at a root of multiplicity {@code m}, so at least by half, and quadratically
+     * faster at a simple root.
+     */
+    private static final BigDecimal LINEAR_CONVERGENCE_RATIO = new BigDecimal("0.4");
+
+    /**
+     * The number of significant digits of the iterate a Newton step must be below before a constant step ratio is
+     * taken as a multiple root. Far from a root like that of {@code x^10 - 1}, the steps shrink by a constant ratio
+     * as well.
+     */
+    private static final int MULTIPLICITY_DETECTION_DIGITS = 3;
+
+    private final CompiledExpression compiledExpression;
+    private final String variableName;
+    private final MathContext mathContext;
+
+    /**
+     * Creates a solver for the given expression.
+     *
+     * @param compiledExpression the expression; it may only depend on the given variable
+     * @param variableName       the variable to solve for
+     * @param mathContext        the math context of the result
+     */
+    Solver(@NonNull final CompiledExpression compiledExpression, @NonNull final String variableName, @NonNull final MathContext mathContext) {
+        this.compiledExpression = compiledExpression;
+        this.variableName = variableName;
+        this.mathContext = mathContext;
+    }
+
+    /**
+     * Finds a root of the expression with Newton's method, starting at the given guess.
+     *
+     * @param initialGuess the starting point, which should be close to the root
+     * @return the root, rounded to the math context of the solver
+     * @throws ArithmeticException if the derivative vanishes at an iterate or the iteration does not converge
+     */
+    BigNumber findRoot(@NonNull final BigNumber initialGuess) {
+        return newton(initialGuess, Math.min(INITIAL_PRECISION, mathContext.getPrecision()));
+    }
+
+    /**
+     * Finds a root of the expression between two bounds at which it has opposite signs.
+     * <p>
+     * The root is first located at a low precision with Newton's method, falling back to bisection whenever a
+     * Newton step would leave the bracket or does not shrink it fast enough, so the search converges for every
+     * continuous expression. The root is then refined with Newton's method and increasing precision.
+     *
+     * @param lowerBound the lower bound of the bracket
+     * @param upperBound the upper bound of the bracket
+     * @return a root within the bracket, rounded to the math context of the solver
+     * @throws IllegalArgumentException if the lower bound is not less than the upper bound or the expression has the
+     *                                  same sign at both bounds
+     * @throws ArithmeticException      if the iteration does not converge
+     */
+    BigNumber findRoot(@NonNull final BigNumber lowerBound, @NonNull final BigNumber upperBound) {
+        validateBounds(lowerBound, upperBound);
+
+        final int precision = Math.min(INITIAL_PRECISION, mathContext.getPrecision());
+        final MathContext workingContext = workingContext(precision);
+
+        final BigNumber lowerValue = evaluate(lowerBound, workingContext).value();
+        final BigNumber upperValue = evaluate(upperBound, workingContext).value();
+        if (lowerValue.signum() == 0) {
+            return newton(lowerBound, precision);
+        }
+        if (upperValue.signum() == 0) {
+            return newton(upperBound, precision);
+        }
+        if (lowerValue.signum() == upperValue.signum()) {
+            throw new IllegalArgumentException("The expression must have opposite signs at the bounds " + lowerBound + " and " + upperBound + ".");
+        }
+
+        // Orient the bracket so that the expression is negative at 'negative' and positive at 'positive'
+        BigNumber negative = lowerValue.signum() < 0 ? lowerBound : upperBound;
+        BigNumber positive = lowerValue.signum() < 0 ? upperBound : lowerBound;
+        BigNumber x = lowerBound.add(upperBound).divide(BigNumbers.TWO, workingContext);
+        BigNumber previousStep = upperBound.subtract(lowerBound);
+        BigNumber step = previousStep;
+
+        for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+            final DualNumber y = evaluate(x, workingContext);
+            if (y.value().signum() == 0) {
+                break;
+            }
+            if (y.value().signum() < 0) {
+                negative = x;
+            } else {
+                positive = x;
+            }
+
+            BigNumber next = null;
+            if (y.derivative().signum() != 0) {
+                final BigNumber newtonStep = y.value().divide(y.derivative(), workingContext);
+                final BigNumber candidate = x.subtract(newtonStep);
+                // Accept the Newton step only if it stays inside the bracket and at least halves the step before last
+                if (isBetween(candidate, negative, positive) && magnitude(newtonStep).multiply(BigDecimal.valueOf(2)).compareTo(magnitude(previousStep)) < 0) {
+                    previousStep = step;
+                    step = newtonStep;
+                    next = candidate;
+                }
+            }
+            if (next == null) {
+                previousStep = step;
+                step = positive.subtract(negative).divide(BigNumbers.TWO, workingContext);
+                next = negative.add(step);
+            }
+
+            x = next.round(workingContext);
+            if (isNegligible(step, x, (precision + 1) / 2) || isNegligible(positive.subtract(negative), x, precision)) {
+                break;
+            }
+        }
+
+        final BigNumber root = newton(x, precision);
+        if (root.isLessThan(lowerBound) || root.isGreaterThan(upperBound)) {
+            throw new ArithmeticException("The refined root " + root + " left the bracket [" + lowerBound + ", " + upperBound + "].");
+        }
+
+        return root;
+    }
+
+    /**
+     * Finds a local minimum of the expression between two bounds.
+     * <p>
+     * If the derivative is not positive at the lower and not negative at the upper bound, the sign change of the
+     * derivative is located by bisection at a low precision and then refined with the secant method on the derivative
+     * and increasing precision. Otherwise a bound is a local minimum: the lower one if the expression increases
+     * there, the upper one if it decreases there, and the one with the smaller value if both apply.
+     *
+     * @param lowerBound the lower bound of the interval
+     * @param upperBound the upper bound of the interval
+     * @return the position of the minimum, rounded to the math context of the solver
+     * @throws IllegalArgumentException if the lower bound is not less than the upper bound
+     * @throws ArithmeticException      if the iteration does not converge
+     */
+    BigNumber findMinimum(@NonNull final BigNumber lowerBound, @NonNull final BigNumber upperBound) {
+        validateBounds(lowerBound, upperBound);
+
+        final int precision = Math.min(INITIAL_PRECISION, mathContext.getPrecision());
+        final MathContext workingContext = workingContext(precision);
+
+        final BigNumber lowerSlope = evaluate(lowerBound, workingContext).derivative();
+        final BigNumber upperSlope = evaluate(upperBound, workingContext).derivative();
+        // A zero slope at a bound may belong to a maximum, so the interior is searched unless both slopes are zero
+        final boolean interiorMinimum = lowerSlope.signum() <= 0 && upperSlope.signum() >= 0 && (lowerSlope.signum() != 0 || upperSlope.signum() != 0);
+        if (!interiorMinimum) {
+            if (lowerSlope.signum() > 0 && upperSlope.signum() > 0) {
+                return round(lowerBound);
+            }
+            if (lowerSlope.signum() < 0 && upperSlope.signum() < 0) {
+                return round(upperBound);
+            }
+
+            final MathContext fullContext = workingContext(mathContext.getPrecision());
+            final boolean lowerIsSmaller = evaluate(lowerBound, fullContext).value().isLessThanOrEqualTo(evaluate(upperBound, fullContext).value());
+            return round(lowerIsSmaller ? lowerBound : upperBound);
+        }
+
+        BigNumber lower = lowerBound;
+        BigNumber upper = upperBound;
+        for (int iteration = 0; iteration < MAX_ITERATIONS && !isNegligible(upper.subtract(lower), lower, (precision + 1) / 2); iteration++) {
+            final BigNumber middle = lower.add(upper).divide(BigNumbers.TWO, workingContext);
+            final int slope = evaluate(middle, workingContext).derivative().signum();
+            if (slope == 0) {
+                lower = middle;
+                upper = middle;
+            } else if (slope < 0) {
+                lower = middle;
+            } else {
+                upper = middle;
+            }
+        }
+
+        return secant(lower, upper, precision);
+    }
+
+    /**
+     * Refines a root of the expression with Newton's method, doubling the precision whenever the iterate is as
+     * accurate as the current precision allows. Since the error is squared in every step, a step of at most half
+     * the current precision means that the next iterate is accurate to the full current precision.
+     * <p>
+     * At a root of multiplicity {@code m} the error only shrinks by {@code (m - 1) / m} per step, so a small step
+     * says nothing about the accuracy. Once two successive step ratios agree close to the root, the multiplicity is
+     * estimated from them and the steps are multiplied by it, which restores the quadratic convergence. A step is
+     * only taken as the last one if it shrank faster than linearly.
+     *
+     * @param start     the starting point
+     * @param precision the precision of the first iterations
+     * @return the root, rounded to the math context of the solver
+     */
+    private BigNumber newton(final BigNumber start, final int precision) {
+        BigNumber x = start;
+        int currentPrecision = precision;
+        int multiplicity = 1;
+        BigDecimal previousStep = null;
+        BigDecimal previousRatio = null;
+
+        for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+            final MathContext workingContext = workingContext(currentPrecision);
+            final DualNumber y = evaluate(x, workingContext);
+            if (y.value().signum() == 0) {
+                return round(x);
+            }
+            if (y.derivative().signum() == 0) {
+                throw new ArithmeticException("The derivative vanishes at " + x + ", so Newton's method cannot continue.");
+            }
+
+            final BigNumber step = y.value().multiply(new BigNumber(String.valueOf(multiplicity))).divide(y.derivative(), workingContext);
+            x = x.subtract(step).round(workingContext);
+
+            final BigDecimal ratio = previousStep == null || previousStep.signum() == 0
+                    ? null
+                    : magnitude(step).divide(previousStep, MathContext.DECIMAL64);
+            final boolean linear = ratio != null && ratio.compareTo(LINEAR_CONVERGENCE_RATIO) >= 0;
+            previousStep = magnitude(step);
+
+            if (linear && ratio.compareTo(BigDecimal.ONE) < 0 && previousRatio != null && isNegligible(step, x, MULTIPLICITY_DETECTION_DIGITS)
+                    && ratio.subtract(previousRatio).abs().compareTo(ratio.movePointLeft(1)) <= 0) {
+                // The remaining multiplicity m' shrinks the steps by (m' - 1) / m', so the ratio tells it
+                multiplicity = Math.max(multiplicity + 1, (int) Math.round(multiplicity / (1 - ratio.doubleValue())));
+                previousStep = null;
+                previousRatio = null;
+                continue;
+            }
+            previousRatio = ratio;
+
+            if (!linear && isNegligible(step, x, (currentPrecision + 1) / 2)) {
+                if (currentPrecision == mathContext.getPrecision()) {
+                    return round(x);
+                }
+                currentPrecision = Math.min(2 * currentPrecision, mathContext.getPrecision());
+            }
+        }
+
+        throw new ArithmeticException("Root finding did not converge within " + MAX_ITERATIONS + " iterations.");
+    }
+
+    /**
+     * Refines a root of the derivative of the expression with the secant method, doubling the precision whenever the
+     * iterate is as accurate as the current precision allows. The secant method converges with order 1.618, so a
+     * step of at most 5/8 of the current precision means that the next iterate is accurate to the full current
+     * precision.
+     *
+     * @param previous  the previous iterate
+     * @param start     the starting point
+     * @param precision the precision of the first iterations
+     * @return the root of the derivative, rounded to the math context of the solver
+     */
+    private BigNumber secant(final BigNumber previous, final BigNumber start, final int precision) {
+        BigNumber x0 = previous;
+        BigNumber x1 = start;
+        int currentPrecision = precision;
+        BigNumber slope0 = evaluate(x0, workingContext(currentPrecision)).derivative();
+
+        for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+            final MathContext workingContext = workingContext(currentPrecision);
+            final BigNumber slope1 = evaluate(x1, workingContext).derivative();
+            if (slope1.signum() == 0) {
+                return round(x1);
+            }
+
+            final BigNumber denominator = slope1.subtract(slope0);
+            final BigNumber step = denominator.signum() == 0
+                    ? BigNumbers.ZERO
+                    : slope1.multiply(x1.subtract(x0)).divide(denominator, workingContext);
+            x0 = x1;
+            slope0 = slope1;
+            x1 = x1.subtract(step).round(workingContext);
+
+            if (isNegligible(step, x1, (5 * currentPrecision + 7) / 8)) {
+                if (currentPrecision == mathContext.getPrecision()) {
+                    return round(x1);
+                }
+                currentPrecision = Math.min(2 * currentPrecision, mathContext.getPrecision());
+                slope0 = evaluate(x0, workingContext(currentPrecision)).derivative();
+            }
+        }
+
+        throw new ArithmeticException("Minimization did not converge within " + MAX_ITERATIONS + " iterations.");
+    }
+
+    private DualNumber evaluate(final BigNumber x, final MathContext workingContext) {
+        return compiledExpression.evaluateWithDerivative(variableName, Map.of(variableName, x), workingContext);
+    }
+
+    private MathContext workingContext(final int precision) {
+        return new MathContext(precision + GUARD_DIGITS, mathContext.getRoundingMode());
+    }
+
+    private BigNumber round(final BigNumber x) {
+        return x.round(mathContext).trim();
+    }
+
+    /**
+     * Returns whether a step is below the given number of significant digits of the iterate. Iterates with a
+     * magnitude below one are measured absolutely, so roots at zero are found as well.
+     */
+    private static boolean isNegligible(final BigNumber step, final BigNumber x, final int digits) {
+        final BigDecimal scale = magnitude(x).max(BigDecimal.ONE);
+        return magnitude(step).compareTo(scale.scaleByPowerOfTen(-digits)) <= 0;
+    }
+
+    private static boolean isBetween(final BigNumber x, final BigNumber bound, final BigNumber otherBound) {
+        return bound.isLessThan(otherBound)
+                ? x.isGreaterThan(bound) && x.isLessThan(otherBound)
+                : x.isGreaterThan(otherBound) && x.isLessThan(bound);
+    }
+
+    private static BigDecimal magnitude(final BigNumber number) {
+        return number.toBigDecimal().abs();
+    }
+
+    private static void validateBounds(final BigNumber lowerBound, final BigNumber upperBound) {
+        if (!lowerBound.isLessThan(upperBound)) {
+            throw new IllegalArgumentException("The lower bound " + lowerBound + " must be less than the upper bound " + upperBound + ".");
+        }
+    }
+
+}
@@ -64,97 +64,10 @@ import java.util.*;
  * The tokenizer is locale-agnostic but uses a {@link MathContext} to obtain precise representations
  * of mathematical constants like π and e.
  * <p>
- * This class is not thread-safe; each instance should be used by a single thread or
- * externally synchronized if shared.
+ * The tokenizer keeps no state between calls, so a single instance may be shared between threads.
  */
 public class Tokenizer {
 
-    /**
-     * Candidate descriptor for registered three-argument functions used by the tokenizer.
-     *
-     * <p>This record stores:
-     * <ul>
-     *   <li>{@code symbol} — the function symbol as registered in {@link ExpressionElements},</li>
-     *   <li>{@code symbolLength} — the precomputed length of the symbol (used to optimize matching),</li>
-     *   <li>{@code element} — the corresponding {@link ExpressionElement} instance.</li>
-     * </ul>
-     *
-     * <p>Instances of this record are sorted by {@code symbolLength} (longest first) to
-     * implement a maximal-munch lexical matching strategy.</p>
-     *
-     * @param symbol       the function symbol string
-     * @param symbolLength the length of the function symbol (precomputed)
-     * @param element      the associated ExpressionElement instance
-     */
-    private record ThreeArgCandidate(String symbol, int symbolLength, ExpressionElement element) {
-
-        /**
-         * Convenience constructor that computes {@code symbolLength} from the provided {@code symbol}
-         * and delegates to the canonical record constructor.
-         *
-         * @param symbol  the function symbol
-         * @param element the associated ExpressionElement instance
-         */
-        private ThreeArgCandidate(final String symbol, final ExpressionElement element) {
-            this(symbol, symbol.length(), element);
-        }
-
-    }
-
-    /**
-     * Cached view of the registered operator and function symbols.
-     * <p>
-     * This set references the key set of the {@link ExpressionElements} registry and is
-     * used during tokenization to quickly determine whether a substring corresponds to
-     * a known operator or function. It is a live view and will reflect changes in the
-     * registry.
-     */
-    private static final Set<String> VALID_OPERATORS_AND_FUNCTIONS = ExpressionElements.getRegistry().keySet();
-
-    /**
-     * Precomputed candidates for registered three-argument functions.
-     *
-     * <p>This array is constructed once at class initialization by scanning
-     * {@link ExpressionElements#getRegistry()} for instances of {@link ThreeArgumentFunction}.
-     * Candidates are sorted by decreasing symbol length to ensure a maximal-munch
-     * matching strategy during tokenization.</p>
-     */
-    private static final ThreeArgCandidate[] THREE_ARGUMENT_FUNCTION_CANDIDATES =
-            buildThreeArgumentFunctionCandidates();
-
-    /**
-     * Tracks whether the next encountered absolute value sign (|) should be treated as an opening or closing.
-     * Used to alternate between opening and closing absolute value contexts during tokenization.
-     */
-    private boolean nextAbsoluteIsOpen = true;
-
-    /**
-     * Scans the given token list for occurrences where a signed number directly follows
-     * a closing parenthesis token (e.g. ") -5"). In such cases, the signed number token
-     * is split into an operator token ('+' or '-') and a separate unsigned number token.
-     * This is necessary because expressions like "(-3) + 5" or "(2) -4" are tokenized
-     * initially with signed number tokens which must be separated for correct parsing.
-     * <p>
-     * This method modifies the list in place.
-     *
-     * @param tokens the list of tokens to scan and fix
-     * @throws NullPointerException if {@code tokens} is null
-     */
-    private void splitSignedNumbersAfterParentheses(List<Token> tokens) {
-        for (int i = 0; i < tokens.size() - 1; i++) {
-            Token current = tokens.get(i);
-            Token next = tokens.get(i + 1);
-            if (current.getType() == Token.Type.RIGHT_PAREN && next.getType() == Token.Type.NUMBER) {
-                String value = next.getValue();
-                if ((value.startsWith("+") || value.startsWith("-")) && value.length() > 1) {
-                    tokens.set(i + 1, new Token(Token.Type.OPERATOR, value.substring(0, 1)));
-                    tokens.add(i + 2, new Token(Token.Type.NUMBER, value.substring(1)));
-                    i++; // skip the inserted number token to avoid an infinite loop
-                }
-            }
-        }
-    }
-
     /**
      * Tokenizes the input mathematical expression string into a list of {@link Token} objects.
      * <p>
@@ -162,116 +75,128 @@ public class Tokenizer {
      * It recognizes numbers (including signed numbers), parentheses, separators, operators,
      * functions, constants (such as pi and e), and inserts implicit multiplication tokens where
      * applicable. It also merges consecutive '+' and '-' operators into a single operator token
-     * for normalization.
+     * for normalization. Absolute value signs ({@code |x|}) are tokenized like {@code abs(x)}.
+     * <p>
+     * All of this happens in a single pass over the expression (see {@link #addToken(List, Token)}), so the time
+     * taken grows linearly with the length of the expression.
      * <p>
      * The token list returned by this method is suitable for further syntactic parsing and evaluation.
      *
      * @param input the mathematical expression to tokenize, as a string
      * @return a list of tokens representing the lexemes of the expression
-     * @throws IllegalArgumentException if the input contains invalid characters or malformed expressions
+     * @throws IllegalArgumentException if the input contains invalid characters or malformed expressions, or an odd
+     *                                  number of absolute value signs
      * @throws NullPointerException     if the input string is null
      */
     public List<Token> tokenize(@NonNull final String input) {
         List<Token> tokens = new ArrayList<>();
         String expression = removeWhitespace(input);
         int index = 0;
+        // Absolute value signs (|) alternate between opening and closing
+        boolean nextAbsoluteIsOpen = true;
 
         while (index < expression.length()) {
             char character = expression.charAt(index);
-            Optional<ExpressionElement> matchedFunction = matchThreeArgumentFunction(expression, index);
 
             if (isSignedNumberStart(expression, index, tokens)) {
                 index = tokenizeNumber(expression, index, tokens);
             } else if (isLeftParenthesis(character)) {
-                tokens.add(new Token(Token.Type.LEFT_PAREN, String.valueOf(character)));
+                addToken(tokens, new Token(Token.Type.LEFT_PAREN, String.valueOf(character)));
                 index++;
             } else if (isRightParenthesis(character)) {
-                tokens.add(new Token(Token.Type.RIGHT_PAREN, String.valueOf(character)));
+                addToken(tokens, new Token(Token.Type.RIGHT_PAREN, String.valueOf(character)));
                 index++;
             } else if (isSeparator(character)) {
-                tokens.add(new Token(Token.Type.SEMICOLON, String.valueOf(character)));
+                addToken(tokens, new Token(Token.Type.SEMICOLON, String.valueOf(character)));
                 index++;
             } else if (isAbsoluteValueSign(character)) {
                 if (nextAbsoluteIsOpen) {
-                    tokens.add(new Token(Token.Type.FUNCTION, ExpressionElements.FUNC_ABS));
-                    tokens.add(new Token(Token.Type.LEFT_PAREN, ExpressionElements.PAR_LEFT));
+                    addToken(tokens, new Token(Token.Type.FUNCTION, ExpressionElements.FUNC_ABS));
+                    addToken(tokens, new Token(Token.Type.LEFT_PAREN, ExpressionElements.PAR_LEFT));
                 } else {
-                    tokens.add(new Token(Token.Type.RIGHT_PAREN, ExpressionElements.PAR_RIGHT));
+                    addToken(tokens, new Token(Token.Type.RIGHT_PAREN, ExpressionElements.PAR_RIGHT));
                 }
 
                 nextAbsoluteIsOpen = !nextAbsoluteIsOpen;
                 index++;
-            } else if (matchedFunction.isPresent()) {
-                ExpressionElement expressionElement = matchedFunction.get();
-                String symbol = expressionElement.getSymbol();
-
-                int functionStart = index + symbol.length();
-                int closingParenthesis = findClosingParenthesis(expression, functionStart);
-                if (closingParenthesis < 0) {
-                    throw new SyntaxErrorException("Unmatched '(' in function: " + symbol);
-                }
-
-                String inside = expression.substring(functionStart + 1, closingParenthesis);
-
-                String[] parts = inside.split(ExpressionElements.SEP_SEMICOLON, 3);
-                if (parts.length != 3) {
-                    throw new SyntaxErrorException("Function '" + symbol + "' must have three arguments");
-                }
-
-                tokens.add(new Token(Token.Type.NUMBER, parts[0]));
-                tokens.add(new Token(Token.Type.NUMBER, parts[1]));
-                tokens.add(new Token(Token.Type.STRING, parts[2]));
-                tokens.add(new Token(Token.Type.FUNCTION, symbol));
-
-                index = closingParenthesis + 1;
             } else {
-                int lengthOfMatch = getLengthOfMatchingOperatorOrFunction(expression, index, tokens);
-                if (lengthOfMatch > 0) {
-                    index += lengthOfMatch;
+                ExpressionElement matchedElement = ExpressionElements.findLongestMatch(expression, index);
+                if (isThreeArgumentFunctionCall(expression, index, matchedElement)) {
+                    index = tokenizeThreeArgumentFunction(expression, index, matchedElement.getSymbol(), tokens);
                 } else {
-                    throw new SyntaxErrorException("Invalid character at position " + index + ": " + character);
+                    int lengthOfMatch = getLengthOfMatchingOperatorOrFunction(expression, index, matchedElement, tokens);
+                    if (lengthOfMatch > 0) {
+                        index += lengthOfMatch;
+                    } else {
+                        throw new SyntaxErrorException("Invalid character at position " + index + ": " + character);
+                    }
                 }
             }
         }
 
-        // Fix cases like ") -5" → OPERATOR(-), NUMBER(5)
-        splitSignedNumbersAfterParentheses(tokens);
-
-        // Insert implicit multiplication tokens where necessary
-        insertImplicitMultiplicationTokens(tokens);
-
-        // Merge consecutive + and - operators
-        mergeConsecutiveSignOperators(tokens);
+        if (!nextAbsoluteIsOpen) {
+            throw new IllegalArgumentException("Expression must contain an even number (greater than 1) of abs sign functions ('|')");
+        }
 
         return tokens;
     }
 
     /**
-     * Inserts implicit multiplication tokens into the token list where a multiplication is implied
-     * by adjacent tokens like "(2)3", "2(3)", "π(4)", or "ka".
-     * <p>
-     * <strong>Note:</strong> Implicit multiplication for constants only works for symbols
-     * already defined as {@link ExpressionElements} in the registry. New or unregistered symbols
-     * will not be recognized and may lead to an {@link IllegalArgumentException}.
+     * Appends a token to the token list, applying the rewrites that depend on the token before it:
+     * <ul>
+     *   <li>A signed number directly following a closing parenthesis (e.g. ") -5") is split into an operator
+     *       token ('+' or '-') and an unsigned number token.</li>
+     *   <li>Consecutive '+' and '-' operators are merged into a single operator token: an even number of '-'
+     *       results in '+', an odd number in '-' (e.g. "--" becomes "+", "---" becomes "-").</li>
+     *   <li>An implicit multiplication token is inserted where a multiplication is implied by adjacent tokens
+     *       like "(2)3", "2(3)", "π(4)", or "ka" (see {@link #needsMultiplicationSign(Token, Token)}).</li>
+     * </ul>
+     * Every rewrite only looks at the last token of the list and never inserts into its middle, so tokenizing
+     * takes time linear in the length of the expression.
      *
-     * @param tokens the list of tokens to scan and modify
+     * @param tokens the tokens produced so far
+     * @param token  the token to append
      */
-    private void insertImplicitMultiplicationTokens(List<Token> tokens) {
-        for (int i = 0; i < tokens.size() - 1; i++) {
-            Token current = tokens.get(i);
-            Token next = tokens.get(i + 1);
-
-            // Skip if the next token is an operator or semicolon – no implicit * needed
-            if (next.getType() == Token.Type.OPERATOR || next.getType() == Token.Type.SEMICOLON) {
-                continue;
-            }
+    private void addToken(List<Token> tokens, Token token) {
+        if (tokens.isEmpty()) {
+            tokens.add(token);
+            return;
+        }
+
+        Token previous = tokens.getLast();
 
-            // Insert * where implicit multiplication is likely
-            if (needsMultiplicationSign(current, next)) {
-                tokens.add(i + 1, new Token(Token.Type.OPERATOR, ExpressionElements.OP_MULTIPLY));
-                i++; // Skip the inserted token
+        if (previous.getType() == Token.Type.RIGHT_PAREN && token.getType() == Token.Type.NUMBER) {
+            String value = token.getValue();
+            if ((value.startsWith("+") || value.startsWith("-")) && value.length() > 1) {
+                tokens.add(new Token(Token.Type.OPERATOR, value.substring(0, 1)));
+                tokens.add(new Token(Token.Type.NUMBER, value.substring(1)));
+                return;
             }
         }
+
+        if (isSignOperator(previous) && isSignOperator(token)) {
+            String resolvedOperator = previous.getValue().equals(token.getValue()) ? ExpressionElements.OP_PLUS : ExpressionElements.OP_MINUS;
+            tokens.set(tokens.size() - 1, new Token(Token.Type.OPERATOR, resolvedOperator));
+            return;
+        }
+
+        // No implicit * is needed before an operator or semicolon
+        if (token.getType() != Token.Type.OPERATOR && token.getType() != Token.Type.SEMICOLON && needsMultiplicationSign(previous, token)) {
+            tokens.add(new Token(Token.Type.OPERATOR, ExpressionElements.OP_MULTIPLY));
+        }
+
+        tokens.add(token);
+    }
+
+    /**
+     * Checks whether the token is a '+' or '-' operator.
+     *
+     * @param token the token to check
+     * @return true if the token is a '+' or '-' operator, false otherwise
+     */
+    private boolean isSignOperator(Token token) {
+        return token.getType() == Token.Type.OPERATOR
+                && (token.getValue().equals(ExpressionElements.OP_PLUS) || token.getValue().equals(ExpressionElements.OP_MINUS));
     }
 
     /**
@@ -557,85 +482,54 @@ public class Tokenizer {
     }
 
     /**
-     * Build an array of candidates representing registered three-argument functions.
-     *
-     * <p>This method performs two passes over the {@link ExpressionElements#getRegistry()}:
-     * <ol>
-     *   <li>First pass: counts how many registry entries are instances of {@link ThreeArgumentFunction}
-     *       to allocate an array of the exact required size.</li>
-     *   <li>Second pass: creates a {@link ThreeArgCandidate} for each matching entry and fills the array.</li>
-     * </ol>
-     *
-     * <p>Finally, the resulting array is sorted in descending order by symbol length. Sorting
-     * longest-first is important for lexical scanning: when attempting to match a function
-     * symbol in the input expression, longer symbols must be tested before shorter ones so
-     * that the tokenizer implements a maximal-munch strategy and avoids premature shorter matches.
-     *
-     * @return a non-null array of {@link ThreeArgCandidate} instances sorted by decreasing symbol length;
-     * the array may be empty if no three-argument functions are registered
+     * Checks whether the matched element is a three-argument function (e.g. {@code summation}) called at the given
+     * position, i.e. whether its symbol is directly followed by a left parenthesis.
+     *
+     * @param expression     the full input expression
+     * @param index          the position at which the element was matched
+     * @param matchedElement the element with the longest symbol at that position, or {@code null}
+     * @return true if a three-argument function call starts at {@code index}
      */
-    private static ThreeArgCandidate[] buildThreeArgumentFunctionCandidates() {
-        int count = 0;
-        for (final var element : ExpressionElements.getRegistry().values()) {
-            if (element instanceof ThreeArgumentFunction) {
-                count++;
-            }
-        }
-
-        final ThreeArgCandidate[] candidates = new ThreeArgCandidate[count];
-        int writeIndex = 0;
-
-        for (final var entry : ExpressionElements.getRegistry().entrySet()) {
-            final ExpressionElement element = entry.getValue();
-            if (element instanceof ThreeArgumentFunction) {
-                final String symbol = entry.getKey();
-                candidates[writeIndex++] = new ThreeArgCandidate(symbol, element);
-            }
+    private boolean isThreeArgumentFunctionCall(String expression, int index, ExpressionElement matchedElement) {
+        if (!(matchedElement instanceof ThreeArgumentFunction)) {
+            return false;
         }
 
-        Arrays.sort(candidates, (a, b) -> Integer.compare(b.symbolLength, a.symbolLength));
-        return candidates;
+        int afterSymbolIndex = index + matchedElement.getSymbol().length();
+        return afterSymbolIndex < expression.length() && expression.charAt(afterSymbolIndex) == ExpressionElements.PAR_LEFT.charAt(0);
     }
 
     /**
-     * Tries to match a three-argument function starting at the given index.
+     * Tokenizes a three-argument function call such as {@code summation(1;10;k^2)}. The first two arguments become
+     * number tokens and the third one, an expression evaluated by the function itself, a string token.
      *
      * @param expression the full input expression
-     * @param index      the index to start checking from
-     * @return an Optional containing the matched function symbol, or empty if not found
-     */
-    private Optional<ExpressionElement> matchThreeArgumentFunction(String expression, int index) {
-        if (expression == null) {
-            return Optional.empty();
-        }
-
-        final int expressionLength = expression.length();
-        if (index < 0 || index >= expressionLength) {
-            return Optional.empty();
+     * @param index      the position at which the function symbol starts
+     * @param symbol     the function symbol
+     * @param tokens     the list to which the tokens of the call are appended
+     * @return the index immediately after the closing parenthesis of the call
+     * @throws SyntaxErrorException if the call is not closed or does not have three arguments
+     */
+    private int tokenizeThreeArgumentFunction(String expression, int index, String symbol, List<Token> tokens) {
+        int functionStart = index + symbol.length();
+        int closingParenthesis = findClosingParenthesis(expression, functionStart);
+        if (closingParenthesis < 0) {
+            throw new SyntaxErrorException("Unmatched '(' in function: " + symbol);
         }
 
-        final char firstChar = expression.charAt(index);
+        String inside = expression.substring(functionStart + 1, closingParenthesis);
 
-        for (final ThreeArgCandidate candidate : THREE_ARGUMENT_FUNCTION_CANDIDATES) {
-            if (candidate.symbol.charAt(0) != firstChar) {
-                continue;
-            }
-
-            final int afterSymbolIndex = index + candidate.symbolLength;
-            if (afterSymbolIndex >= expressionLength) {
-                continue;
-            }
-
-            if (expression.charAt(afterSymbolIndex) != ExpressionElements.PAR_LEFT.charAt(0)) {
-                continue;
-            }
-
-            if (expression.regionMatches(index, candidate.symbol, 0, candidate.symbolLength)) {
-                return Optional.of(candidate.element);
-            }
+        String[] parts = inside.split(ExpressionElements.SEP_SEMICOLON, 3);
+        if (parts.length != 3) {
+            throw new SyntaxErrorException("Function '" + symbol + "' must have three arguments");
         }
 
-        return Optional.empty();
+        addToken(tokens, new Token(Token.Type.NUMBER, parts[0]));
+        addToken(tokens, new Token(Token.Type.NUMBER, parts[1]));
+        addToken(tokens, new Token(Token.Type.STRING, parts[2]));
+        addToken(tokens, new Token(Token.Type.FUNCTION, symbol));
+
+        return closingParenthesis + 1;
     }
 
     /**
@@ -765,112 +659,55 @@ public class Tokenizer {
             rawNumber = rawNumber.substring(1);
         }
 
-        tokens.add(new Token(Token.Type.NUMBER, rawNumber));
+        addToken(tokens, new Token(Token.Type.NUMBER, rawNumber));
         return currentIndex;
     }
 
     /**
-     * Collapses sequences of consecutive '+' and '-' operator tokens in the token list
-     * into a single operator token. The result is determined by the parity of the number
-     * of '-' operators in the sequence: an even number of '-' results in '+', an odd number in '-'.
-     * <p>
-     * For example, the sequence "--" becomes "+", "---" becomes "-".
-     * <p>
-     * This method modifies the list of tokens in place.
-     *
-     * @param tokens the list of tokens to be processed and mutated
-     * @throws NullPointerException if {@code tokens} is null
-     */
-    private void mergeConsecutiveSignOperators(List<Token> tokens) {
-        List<Token> mergedTokens = new ArrayList<>();
-        int i = 0;
-
-        while (i < tokens.size()) {
-            Token token = tokens.get(i);
-
-            if (token.getType() == Token.Type.OPERATOR && (token.getValue().equals("+") || token.getValue().equals("-"))) {
-                int minusCount = 0;
-
-                while (i < tokens.size()
-                        && tokens.get(i).getType() == Token.Type.OPERATOR
-                        && (tokens.get(i).getValue().equals("+") || tokens.get(i).getValue().equals("-"))) {
-                    if (tokens.get(i).getValue().equals("-")) {
-                        minusCount++;
-                    }
-                    i++;
-                }
-
-                String resolvedOperator = (minusCount % 2 == 0) ? "+" : "-";
-                mergedTokens.add(new Token(Token.Type.OPERATOR, resolvedOperator));
-            } else {
-                mergedTokens.add(token);
-                i++;
-            }
-        }
-
-        tokens.clear();
-        tokens.addAll(mergedTokens);
-    }
-
-    /**
-     * Attempts to match and consume an operator, function, or constant symbol from the
-     * expression starting at the given index. It tries to match the longest possible symbol
-     * first, based on the known set of valid operators and functions.
-     * <p>
-     * Special cases are handled for the constants "pi" and "e" which are converted to number tokens
-     * with their corresponding {@link BigNumbers} values.
+     * Consumes the operator, function, or constant symbol matched at the given index, or a variable name if no
+     * symbol matched. The matched symbol is the longest registered symbol starting at that index (see
+     * {@link ExpressionElements#findLongestMatch(CharSequence, int)}).
      * <p>
      * The method also verifies the validity of the factorial operator '!' to ensure it follows
      * a number or closing parenthesis.
      * <p>
-     * If a valid operator or function is matched, a corresponding token is added to the token list.
+     * If a valid operator, function or variable is matched, a corresponding token is added to the token list.
      *
-     * @param expression the input mathematical expression string to parse
-     * @param startIndex the position in the expression to start matching from
-     * @param tokens     the list of tokens to append new tokens to if a match is found
+     * @param expression     the input mathematical expression string to parse
+     * @param startIndex     the position in the expression to start matching from
+     * @param matchedElement the element with the longest symbol starting at {@code startIndex}, or {@code null}
+     * @param tokens         the list of tokens to append new tokens to if a match is found
      * @return the length of the matched symbol (number of characters consumed),
      * or 0 if no operator or function matched at the current position
      * @throws IllegalArgumentException if the factorial operator '!' is found in an invalid position
      * @throws NullPointerException     if expression or tokens is null
      */
-    private int getLengthOfMatchingOperatorOrFunction(String expression, int startIndex, List<Token> tokens) {
-        int maxTokenLength = ExpressionElements.getMaxTokenLength();
-
-        for (int length = maxTokenLength; length > 0; length--) {
-            int endIndex = startIndex + length;
-            if (endIndex > expression.length()) {
-                continue;
-            }
-
-            String candidate = expression.substring(startIndex, endIndex);
-
-            Optional<ExpressionElement> zeroArg = ExpressionElements.findBySymbol(candidate).filter(element -> element instanceof Constant);
-            if (zeroArg.isPresent()) {
-                tokens.add(new Token(Token.Type.CONSTANT, zeroArg.get().getSymbol()));
-                return length;
-            }
-
-            if (VALID_OPERATORS_AND_FUNCTIONS.contains(candidate)) {
-                if (candidate.equalsIgnoreCase(ExpressionElements.OP_FACTORIAL)) {
-                    // must not be in the beginning or after another expressionElement
-                    Token previous = tokens.getLast();
-                    if (tokens.isEmpty() ||
-                            !(previous.getType() == Token.Type.NUMBER
-                                    || previous.getType() == Token.Type.RIGHT_PAREN
-                                    || previous.getType() == Token.Type.VARIABLE
-                                    || previous.getType() == Token.Type.CONSTANT)) {
-                        throw new SyntaxErrorException("Factorial '!' must follow a number, constant, variable, or closing parenthesis");
-                    }
+    private int getLengthOfMatchingOperatorOrFunction(String expression, int startIndex, ExpressionElement matchedElement, List<Token> tokens) {
+        if (matchedElement instanceof Constant) {
+            addToken(tokens, new Token(Token.Type.CONSTANT, matchedElement.getSymbol()));
+            return matchedElement.getSymbol().length();
+        }
 
-                    tokens.add(new Token(Token.Type.OPERATOR, ExpressionElements.OP_FACTORIAL));
-                    return length;
+        if (matchedElement != null) {
+            String symbol = matchedElement.getSymbol();
+            if (symbol.equalsIgnoreCase(ExpressionElements.OP_FACTORIAL)) {
+                // must not be in the beginning or after another expressionElement
+                Token previous = tokens.getLast();
+                if (tokens.isEmpty() ||
+                        !(previous.getType() == Token.Type.NUMBER
+                                || previous.getType() == Token.Type.RIGHT_PAREN
+                                || previous.getType() == Token.Type.VARIABLE
+                                || previous.getType() == Token.Type.CONSTANT)) {
+                    throw new SyntaxErrorException("Factorial '!' must follow a number, constant, variable, or closing parenthesis");
                 }
 
-                ExpressionElement expressionElement = ExpressionElements.findBySymbol(candidate).orElseThrow();
-                Token.Type type = expressionElement.isFunction() ? Token.Type.FUNCTION : Token.Type.OPERATOR;
-                tokens.add(new Token(type, candidate));
-                return length;
+                addToken(tokens, new Token(Token.Type.OPERATOR, ExpressionElements.OP_FACTORIAL));
+                return symbol.length();
             }
+
+            Token.Type type = matchedElement.isFunction() ? Token.Type.FUNCTION : Token.Type.OPERATOR;
+            addToken(tokens, new Token(type, symbol));
+            return symbol.length();
         }
 
         StringBuilder variable = new StringBuilder();
@@ -879,7 +716,7 @@ public class Tokenizer {
             startIndex++;
         }
         if (!variable.isEmpty()) {
-            tokens.add(new Token(Token.Type.VARIABLE, variable.toString()));
+            addToken(tokens, new Token(Token.Type.VARIABLE, variable.toString()));
             return variable.length();
         }
 
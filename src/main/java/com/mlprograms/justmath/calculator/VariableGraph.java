@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2026 Max Lemberg
+ *
+ * This file is part of JustMath.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.mlprograms.justmath.calculator;
+
+import com.mlprograms.justmath.calculator.exceptions.CyclicVariableReferenceException;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.*;
+
+/**
+ * Dependency graph of a set of expression-valued variables.
+ * <p>
+ * Every variable definition is compiled once and its references to other variables become the edges of the graph.
+ * The graph is checked for cycles when it is built and the variables are put into a topological order, in which
+ * every variable comes after all variables it depends on. Evaluating the variables in this order computes each of
+ * them exactly once and never needs to revisit the graph.
+ * <p>
+ * Blank definitions are ignored, and references to variables without a definition are allowed; they have to be
+ * bound to a value when the variables are evaluated. Instances are immutable.
+ */
+final class VariableGraph {
+
+    /**
+     * The compiled definitions of all non-blank variables.
+     */
+    private final Map<String, CompiledExpression> definitions;
+
+    /**
+     * The position of every defined variable in the topological order.
+     */
+    private final Map<String, Integer> topologicalIndices;
+
+    /**
+     * The defined variables, each after all variables it depends on.
+     */
+    @Getter
+    private final List<String> topologicalOrder;
+
+    /**
+     * Builds the dependency graph of the given variables.
+     *
+     * @param calculatorEngine the engine used to compile the variable definitions
+     * @param variables        a map of variable names with the expressions defining their values
+     * @throws CyclicVariableReferenceException if the variables reference each other cyclically
+     */
+    VariableGraph(@NonNull final CalculatorEngine calculatorEngine, @NonNull final Map<String, String> variables) {
+        final Map<String, CompiledExpression> compiledDefinitions = new HashMap<>();
+        for (final Map.Entry<String, String> variable : variables.entrySet()) {
+            if (variable.getValue() != null && !variable.getValue().isBlank()) {
+                compiledDefinitions.put(variable.getKey(), calculatorEngine.compile(variable.getValue()));
+            }
+        }
+
+        this.definitions = Map.copyOf(compiledDefinitions);
+        this.topologicalOrder = List.copyOf(sortTopologically(compiledDefinitions));
+
+        final Map<String, Integer> indices = new HashMap<>();
+        for (int index = 0; index < topologicalOrder.size(); index++) {
+            indices.put(topologicalOrder.get(index), index);
+        }
+        this.topologicalIndices = Map.copyOf(indices);
+    }
+
+    /**
+     * Orders the variables with a depth-first search, emitting every variable after all of its dependencies.
+     * The search keeps its own stack, so long chains of variables cannot overflow the call stack.
+     *
+     * @param definitions the compiled variable definitions
+     * @return the variables in topological order
+     * @throws CyclicVariableReferenceException if the variables reference each other cyclically
+     */
+    private static List<String> sortTopologically(final Map<String, CompiledExpression> definitions) {
+        final List<String> order = new ArrayList<>(definitions.size());
+        final Set<String> visitedVariables = new HashSet<>();
+        final Set<String> currentPath = new HashSet<>();
+
+        for (final String root : definitions.keySet()) {
+            if (visitedVariables.contains(root)) {
+                continue;
+            }
+
+            // Each frame holds a variable and the index of the next dependency to visit
+            final Deque<String> variableStack = new ArrayDeque<>();
+            final Deque<Integer> dependencyIndexStack = new ArrayDeque<>();
+            variableStack.push(root);
+            dependencyIndexStack.push(0);
+            currentPath.add(root);
+
+            while (!variableStack.isEmpty()) {
+                final String variableName = variableStack.peek();
+                final List<String> dependencies = definitions.get(variableName).getVariableNames();
+                final int dependencyIndex = dependencyIndexStack.pop();
+
+                if (dependencyIndex == dependencies.size()) {
+                    variableStack.pop();
+                    currentPath.remove(variableName);
+                    visitedVariables.add(variableName);
+                    order.add(variableName);
+                    continue;
+                }
+
+                dependencyIndexStack.push(dependencyIndex + 1);
+
+                final String dependency = dependencies.get(dependencyIndex);
+                if (currentPath.contains(dependency)) {
+                    throw new CyclicVariableReferenceException("Cyclic variable reference detected in: " + dependency);
+                }
+
+                if (visitedVariables.contains(dependency) || !definitions.containsKey(dependency)) {
+                    continue;
+                }
+
+                variableStack.push(dependency);
+                dependencyIndexStack.push(0);
+                currentPath.add(dependency);
+            }
+        }
+
+        return order;
+    }
+
+    /**
+     * Returns the compiled definition of a variable.
+     *
+     * @param variableName the name of the variable
+     * @return the compiled definition, or {@code null} if the variable has no (non-blank) definition
+     */
+    CompiledExpression getDefinition(@NonNull final String variableName) {
+        return definitions.get(variableName);
+    }
+
+    /**
+     * Returns the position of a defined variable in the topological order.
+     *
+     * @param variableName the name of a defined variable
+     * @return the topological index
+     */
+    int getTopologicalIndex(@NonNull final String variableName) {
+        return topologicalIndices.get(variableName);
+    }
+
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2026 Max Lemberg
+ *
+ * This file is part of JustMath.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.mlprograms.justmath.calculator;
+
+import com.mlprograms.justmath.bignumber.BigNumber;
+import com.mlprograms.justmath.bignumber.BigNumbers;
+import lombok.NonNull;
+
+import java.util.*;
+
+/**
+ * Resolves the variables of a single evaluation to their numeric values.
+ * <p>
+ * Variables are either bound to a {@link BigNumber} directly or defined by an expression. Numeric values are used
+ * as they are. Expression-valued variables are taken from a {@link VariableGraph}: when one of them is needed, the
+ * variables it depends on are evaluated in topological order, so every definition is evaluated at most once per
+ * evaluation and only if it is actually needed. The results are memoized for the rest of the evaluation.
+ */
+final class VariableResolver {
+
+    /**
+     * The compiled and ordered expression-valued variables.
+     */
+    private final VariableGraph variableGraph;
+
+    /**
+     * Variables bound to a numeric value. These take precedence over expression-valued variables of the same name.
+     */
+    private final Map<String, BigNumber> values;
+
+    /**
+     * Values of the expression-valued variables evaluated so far.
+     */
+    private final Map<String, BigNumber> evaluatedVariables = new HashMap<>();
+
+    VariableResolver(@NonNull final VariableGraph variableGraph, @NonNull final Map<String, BigNumber> values) {
+        this.variableGraph = variableGraph;
+        this.values = values;
+    }
+
+    /**
+     * Returns the value of the given variable, evaluating it and the variables it depends on if necessary.
+     *
+     * @param variableName the name of the variable
+     * @return the numeric value of the variable
+     * @throws IllegalArgumentException if the variable (or one it depends on) is neither bound to a value nor
+     *                                  defined by an expression
+     */
+    BigNumber resolve(@NonNull final String variableName) {
+        final BigNumber value = values.get(variableName);
+        if (value != null) {
+            return value;
+        }
+
+        final BigNumber evaluatedVariable = evaluatedVariables.get(variableName);
+        if (evaluatedVariable != null) {
+            return evaluatedVariable;
+        }
+
+        if (variableGraph.getDefinition(variableName) == null) {
+            throw new IllegalArgumentException("Variable '" + variableName + "' is not defined.");
+        }
+
+        for (final String pendingVariable : collectPendingVariables(variableName)) {
+            // Add zero to the evaluated variable value to coerce coordinate-style results into a single numeric value.
+            // Example: evaluated value = "r=5; θ=53.13010235" -> "(r=5; θ=53.13010235) + 0 = 5"
+            final BigNumber result = variableGraph.getDefinition(pendingVariable).evaluate(this).add(BigNumbers.ZERO);
+            evaluatedVariables.put(pendingVariable, result);
+        }
+
+        return evaluatedVariables.get(variableName);
+    }
+
+    /**
+     * Collects the given variable and all expression-valued variables it (transitively) depends on that have not
+     * been evaluated yet, in topological order.
+     *
+     * @param variableName the name of a defined variable
+     * @return the variables to evaluate, each after all variables it depends on
+     */
+    private List<String> collectPendingVariables(final String variableName) {
+        final List<String> pendingVariables = new ArrayList<>();
+        final Set<String> seenVariables = new HashSet<>();
+        final Deque<String> stack = new ArrayDeque<>();
+
+        stack.push(variableName);
+        seenVariables.add(variableName);
+
+        while (!stack.isEmpty()) {
+            final String pendingVariable = stack.pop();
+            pendingVariables.add(pendingVariable);
+
+            for (final String dependency : variableGraph.getDefinition(pendingVariable).getVariableNames()) {
+                if (!values.containsKey(dependency)
+                        && !evaluatedVariables.containsKey(dependency)
+                        && variableGraph.getDefinition(dependency) != null
+                        && seenVariables.add(dependency)) {
+                    stack.push(dependency);
+                }
+            }
+        }
+
+        pendingVariables.sort(Comparator.comparingInt(variableGraph::getTopologicalIndex));
+        return pendingVariables;
+    }
+
+}
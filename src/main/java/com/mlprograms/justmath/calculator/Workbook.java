@@ -0,0 +1,417 @@
+/*
+ * Copyright (c) 2026 Max Lemberg
+ *
+ * This file is part of JustMath.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.mlprograms.justmath.calculator;
+
+import com.mlprograms.justmath.bignumber.BigNumber;
+import com.mlprograms.justmath.bignumber.BigNumbers;
+import com.mlprograms.justmath.calculator.exceptions.CyclicVariableReferenceException;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A set of named cells that are recalculated incrementally, like the cells of a spreadsheet.
+ * <p>
+ * A cell either holds an input value or a formula. Formulas are compiled once when they are registered and may
+ * reference inputs as well as other formulas by name. Changing a cell only marks the formulas that (transitively)
+ * depend on it as dirty; nothing is evaluated until a value is read. Reading a formula recalculates just the dirty
+ * formulas it depends on, every one of them exactly once:
+ * <pre>{@code
+ * Workbook workbook = new Workbook(new CalculatorEngine());
+ * workbook.setValue("price", new BigNumber("20"));
+ * workbook.setValue("quantity", new BigNumber("3"));
+ * workbook.setFormula("net", "price * quantity");
+ * workbook.setFormula("gross", "net * 1.19");
+ * workbook.getValue("gross");                       // 71.4
+ * workbook.setValue("quantity", new BigNumber("4")); // marks net and gross as dirty
+ * workbook.getValue("gross");                       // 95.2
+ * }</pre>
+ * Alternatively, {@link #recalculate(Executor)} recalculates all dirty formulas eagerly, evaluating formulas that do
+ * not depend on each other in parallel.
+ * <p>
+ * Like the engine's variables, formula results are coerced into a single numeric value. Instances are not safe for
+ * concurrent use; only the evaluation inside {@link #recalculate(Executor)} runs on multiple threads.
+ */
+public final class Workbook {
+
+    /**
+     * The engine used to compile the formulas.
+     */
+    @Getter
+    private final CalculatorEngine calculatorEngine;
+
+    /**
+     * The compiled formulas by cell name.
+     */
+    private final Map<String, CompiledExpression> formulas = new HashMap<>();
+
+    /**
+     * The input values and the results of all formulas that are not dirty.
+     * Concurrent, because parallel recalculation stores its results from several threads.
+     */
+    private final Map<String, BigNumber> values = new ConcurrentHashMap<>();
+
+    /**
+     * For every cell name, the formulas that reference it directly. Names may be referenced before they are defined.
+     */
+    private final Map<String, Set<String>> dependents = new HashMap<>();
+
+    /**
+     * The formulas whose value has to be recalculated.
+     */
+    private final Set<String> dirtyFormulas = new HashSet<>();
+
+    /**
+     * Constructs an empty workbook whose formulas are compiled by the given engine.
+     *
+     * @param calculatorEngine the engine used to compile the formulas
+     */
+    public Workbook(@NonNull final CalculatorEngine calculatorEngine) {
+        this.calculatorEngine = calculatorEngine;
+    }
+
+    /**
+     * Sets a cell to an input value, replacing a formula of the same name. All formulas depending on the cell are
+     * marked dirty.
+     *
+     * @param name  the name of the cell
+     * @param value the new value
+     */
+    public void setValue(@NonNull final String name, @NonNull final BigNumber value) {
+        removeFormula(name);
+        values.put(name, value);
+        invalidateDependents(name);
+    }
+
+    /**
+     * Sets a cell to a formula, replacing a value or formula of the same name. The formula is compiled immediately
+     * but evaluated only when it is needed. The cell and all formulas depending on it are marked dirty.
+     *
+     * @param name       the name of the cell
+     * @param expression the formula; cells are referenced by their names
+     * @throws CyclicVariableReferenceException if the formula would (transitively) reference its own cell; the
+     *                                          workbook is left unchanged in this case
+     */
+    public void setFormula(@NonNull final String name, @NonNull final String expression) {
+        final CompiledExpression formula = calculatorEngine.compile(expression);
+        checkForCycle(name, formula);
+
+        removeFormula(name);
+        formulas.put(name, formula);
+        for (final String dependency : formula.getVariableNames()) {
+            dependents.computeIfAbsent(dependency, dependencyName -> new HashSet<>()).add(name);
+        }
+
+        values.remove(name);
+        dirtyFormulas.add(name);
+        invalidateDependents(name);
+    }
+
+    /**
+     * Removes a cell. Formulas referencing it are marked dirty and fail to evaluate until the cell is defined again.
+     *
+     * @param name the name of the cell
+     */
+    public void remove(@NonNull final String name) {
+        removeFormula(name);
+        values.remove(name);
+        invalidateDependents(name);
+    }
+
+    /**
+     * Returns the value of a cell, recalculating the dirty formulas it depends on first.
+     *
+     * @param name the name of the cell
+     * @return the input value or the result of the formula
+     * @throws IllegalArgumentException if the cell, or a cell its formula depends on, is not defined
+     */
+    public BigNumber getValue(@NonNull final String name) {
+        if (dirtyFormulas.contains(name)) {
+            for (final String dirtyFormula : sortTopologically(collectDirtyDependencies(name))) {
+                evaluateFormula(dirtyFormula);
+                dirtyFormulas.remove(dirtyFormula);
+            }
+        }
+
+        final BigNumber value = values.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Variable '" + name + "' is not defined.");
+        }
+
+        return value;
+    }
+
+    /**
+     * Returns the formula of a cell.
+     *
+     * @param name the name of the cell
+     * @return the formula, or {@code null} if the cell is not defined by a formula
+     */
+    public String getFormula(@NonNull final String name) {
+        final CompiledExpression formula = formulas.get(name);
+        return formula == null ? null : formula.getExpression();
+    }
+
+    /**
+     * Returns whether a cell is a formula that has to be recalculated before its value can be read.
+     *
+     * @param name the name of the cell
+     * @return {@code true} if the cell is a dirty formula
+     */
+    public boolean isDirty(@NonNull final String name) {
+        return dirtyFormulas.contains(name);
+    }
+
+    /**
+     * Returns the names of all defined cells.
+     *
+     * @return an unmodifiable snapshot of the cell names
+     */
+    public Set<String> getNames() {
+        final Set<String> names = new HashSet<>(values.keySet());
+        names.addAll(formulas.keySet());
+        return Set.copyOf(names);
+    }
+
+    /**
+     * Recalculates all dirty formulas on the calling thread.
+     *
+     * @throws IllegalArgumentException if a formula references a cell that is not defined
+     */
+    public void recalculate() {
+        for (final String dirtyFormula : sortTopologically(new HashSet<>(dirtyFormulas))) {
+            evaluateFormula(dirtyFormula);
+            dirtyFormulas.remove(dirtyFormula);
+        }
+    }
+
+    /**
+     * Recalculates all dirty formulas using the common {@link ForkJoinPool}.
+     *
+     * @throws IllegalArgumentException if a formula references a cell that is not defined
+     * @see #recalculate(Executor)
+     */
+    public void recalculateInParallel() {
+        recalculate(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Recalculates all dirty formulas on the given executor. Every formula is evaluated as soon as the dirty formulas
+     * it depends on are done, so independent branches of the dependency graph are evaluated in parallel. The method
+     * returns when all formulas are recalculated. If a formula fails, the formulas depending on it are skipped and
+     * stay dirty together with it.
+     *
+     * @param executor the executor evaluating the formulas
+     * @throws IllegalArgumentException if a formula references a cell that is not defined
+     */
+    public void recalculate(@NonNull final Executor executor) {
+        final Map<String, CompletableFuture<Void>> evaluations = new HashMap<>();
+
+        for (final String dirtyFormula : sortTopologically(new HashSet<>(dirtyFormulas))) {
+            final List<CompletableFuture<Void>> dependencies = new ArrayList<>();
+            for (final String dependency : formulas.get(dirtyFormula).getVariableNames()) {
+                final CompletableFuture<Void> dependencyEvaluation = evaluations.get(dependency);
+                if (dependencyEvaluation != null) {
+                    dependencies.add(dependencyEvaluation);
+                }
+            }
+
+            evaluations.put(dirtyFormula, CompletableFuture.allOf(dependencies.toArray(CompletableFuture[]::new))
+                    .thenRunAsync(() -> evaluateFormula(dirtyFormula), executor));
+        }
+
+        RuntimeException failure = null;
+        for (final Map.Entry<String, CompletableFuture<Void>> evaluation : evaluations.entrySet()) {
+            try {
+                evaluation.getValue().join();
+                dirtyFormulas.remove(evaluation.getKey());
+            } catch (CompletionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException runtimeException ? runtimeException : e;
+                }
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Evaluates a formula whose dependencies all have a value and stores its result.
+     *
+     * @param name the name of the formula
+     * @throws IllegalArgumentException if a referenced cell is not defined
+     */
+    private void evaluateFormula(final String name) {
+        final CompiledExpression formula = formulas.get(name);
+        final List<String> variableNames = formula.getVariableNames();
+        final BigNumber[] variableValues = new BigNumber[variableNames.size()];
+
+        for (int slot = 0; slot < variableValues.length; slot++) {
+            variableValues[slot] = values.get(variableNames.get(slot));
+            if (variableValues[slot] == null) {
+                throw new IllegalArgumentException("Variable '" + variableNames.get(slot) + "' is not defined.");
+            }
+        }
+
+        // Add zero to coerce coordinate-style results into a single numeric value, as done for engine variables
+        values.put(name, formula.evaluate(variableValues).add(BigNumbers.ZERO));
+    }
+
+    /**
+     * Removes the formula of a cell and its edges from the dependency graph. Does nothing for input cells.
+     *
+     * @param name the name of the cell
+     */
+    private void removeFormula(final String name) {
+        final CompiledExpression formula = formulas.remove(name);
+        if (formula == null) {
+            return;
+        }
+
+        dirtyFormulas.remove(name);
+        for (final String dependency : formula.getVariableNames()) {
+            final Set<String> dependencyDependents = dependents.get(dependency);
+            dependencyDependents.remove(name);
+            if (dependencyDependents.isEmpty()) {
+                dependents.remove(dependency);
+            }
+        }
+    }
+
+    /**
+     * Marks all formulas that (transitively) depend on a cell as dirty and discards their values.
+     *
+     * @param name the name of the changed cell
+     */
+    private void invalidateDependents(final String name) {
+        final Deque<String> stack = new ArrayDeque<>();
+        stack.push(name);
+
+        while (!stack.isEmpty()) {
+            for (final String dependent : dependents.getOrDefault(stack.pop(), Set.of())) {
+                // A formula that is already dirty has its dependents marked as well
+                if (dirtyFormulas.add(dependent)) {
+                    values.remove(dependent);
+                    stack.push(dependent);
+                }
+            }
+        }
+    }
+
+    /**
+     * Collects a dirty formula together with all dirty formulas it (transitively) depends on.
+     *
+     * @param name the name of a dirty formula
+     * @return the dirty formulas that have to be evaluated to obtain the value of the given one
+     */
+    private Set<String> collectDirtyDependencies(final String name) {
+        final Set<String> collectedFormulas = new HashSet<>();
+        final Deque<String> stack = new ArrayDeque<>();
+        stack.push(name);
+        collectedFormulas.add(name);
+
+        while (!stack.isEmpty()) {
+            for (final String dependency : formulas.get(stack.pop()).getVariableNames()) {
+                if (dirtyFormulas.contains(dependency) && collectedFormulas.add(dependency)) {
+                    stack.push(dependency);
+                }
+            }
+        }
+
+        return collectedFormulas;
+    }
+
+    /**
+     * Orders formulas so that every formula comes after the formulas of the set it depends on (Kahn's algorithm).
+     *
+     * @param formulaNames the formulas to order
+     * @return the formulas in topological order
+     */
+    private List<String> sortTopologically(final Set<String> formulaNames) {
+        final Map<String, Integer> pendingDependencyCounts = new HashMap<>();
+        final Deque<String> readyFormulas = new ArrayDeque<>();
+
+        for (final String formulaName : formulaNames) {
+            int pendingDependencies = 0;
+            for (final String dependency : formulas.get(formulaName).getVariableNames()) {
+                if (formulaNames.contains(dependency)) {
+                    pendingDependencies++;
+                }
+            }
+
+            pendingDependencyCounts.put(formulaName, pendingDependencies);
+            if (pendingDependencies == 0) {
+                readyFormulas.add(formulaName);
+            }
+        }
+
+        final List<String> order = new ArrayList<>(formulaNames.size());
+        while (!readyFormulas.isEmpty()) {
+            final String formulaName = readyFormulas.poll();
+            order.add(formulaName);
+
+            for (final String dependent : dependents.getOrDefault(formulaName, Set.of())) {
+                if (formulaNames.contains(dependent) && pendingDependencyCounts.merge(dependent, -1, Integer::sum) == 0) {
+                    readyFormulas.add(dependent);
+                }
+            }
+        }
+
+        return order;
+    }
+
+    /**
+     * Checks that a formula for the given cell would not create a cyclic reference.
+     *
+     * @param name    the name of the cell
+     * @param formula the new formula of the cell
+     * @throws CyclicVariableReferenceException if the formula (transitively) references the cell
+     */
+    private void checkForCycle(final String name, final CompiledExpression formula) {
+        final Set<String> visitedCells = new HashSet<>();
+        final Deque<String> stack = new ArrayDeque<>(formula.getVariableNames());
+
+        while (!stack.isEmpty()) {
+            final String cell = stack.pop();
+            if (cell.equals(name)) {
+                throw new CyclicVariableReferenceException("Cyclic variable reference detected in: " + name);
+            }
+
+            final CompiledExpression cellFormula = formulas.get(cell);
+            if (cellFormula != null && visitedCells.add(cell)) {
+                stack.addAll(cellFormula.getVariableNames());
+            }
+        }
+    }
+
+}
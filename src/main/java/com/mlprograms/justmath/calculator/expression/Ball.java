@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2026 Max Lemberg
+ *
+ * This file is part of JustMath.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mlprograms.justmath.calculator.expression;
+
+import com.mlprograms.justmath.bignumber.BigNumber;
+import com.mlprograms.justmath.bignumber.BigNumbers;
+import lombok.NonNull;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * A value together with a bound on its error, as used for evaluations with error tracking (ball arithmetic): the
+ * exact result lies within {@code radius} of {@code midpoint}.
+ * <p>
+ * Radii are only needed to a few significant digits, so they are always rounded up to {@link #RADIUS_CONTEXT}.
+ *
+ * @param midpoint
+ * 	the computed value
+ * @param radius
+ * 	the bound on the absolute error of the computed value; never negative
+ */
+public record Ball(@NonNull BigNumber midpoint, @NonNull BigNumber radius) {
+
+	/**
+	 * The precision of radii and of the partial derivatives used to propagate them. Radii are rounded up, so they
+	 * stay upper bounds.
+	 */
+	public static final MathContext RADIUS_CONTEXT = new MathContext(8, RoundingMode.UP);
+
+	/**
+	 * Creates a ball for an exactly known value.
+	 *
+	 * @param midpoint
+	 * 	the value
+	 *
+	 * @return the value with a radius of zero
+	 */
+	public static Ball exact(@NonNull BigNumber midpoint) {
+		return new Ball(midpoint, BigNumbers.ZERO);
+	}
+
+	/**
+	 * Returns a bound on the rounding error of a value that has been computed with the given math context, i.e. one
+	 * unit in its last place. Some operations, like division, round tiny results to a fixed number of decimal
+	 * places instead (e.g. {@code 1 / 10^30} is {@code 0} with a precision of 25), so the bound also includes one
+	 * unit in the decimal place of the precision.
+	 *
+	 * @param value
+	 * 	the computed value
+	 * @param mathContext
+	 * 	the math context the value has been computed with
+	 *
+	 * @return the bound on the rounding error
+	 */
+	public static BigNumber roundingError(@NonNull BigNumber value, @NonNull MathContext mathContext) {
+		BigDecimal magnitude = value.toBigDecimal().abs().add(BigDecimal.ONE);
+		return new BigNumber(magnitude.scaleByPowerOfTen(1 - mathContext.getPrecision()).round(RADIUS_CONTEXT));
+	}
+
+	/**
+	 * Returns a bound on the error of passing a value to an operation that rounds its arguments to the given math
+	 * context, i.e. one unit in the last place if the value has more significant digits than the math context and
+	 * zero otherwise. Exact operations like addition can produce such values, e.g. {@code 1 + 10^-30}.
+	 *
+	 * @param value
+	 * 	the argument
+	 * @param mathContext
+	 * 	the math context of the operation
+	 *
+	 * @return the bound on the error caused by rounding the argument
+	 */
+	public static BigNumber argumentRoundingError(@NonNull BigNumber value, @NonNull MathContext mathContext) {
+		if (value.toBigDecimal().stripTrailingZeros().precision() <= mathContext.getPrecision()) {
+			return BigNumbers.ZERO;
+		}
+
+		return roundingError(value, mathContext);
+	}
+
+	/**
+	 * Returns whether the value is known exactly.
+	 *
+	 * @return {@code true} if the radius is zero
+	 */
+	public boolean isExact() {
+		return radius.signum() == 0;
+	}
+
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2026 Max Lemberg
+ *
+ * This file is part of JustMath.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mlprograms.justmath.calculator.expression;
+
+import com.mlprograms.justmath.bignumber.BigNumber;
+import com.mlprograms.justmath.bignumber.BigNumbers;
+import com.mlprograms.justmath.calculator.expression.operations.DerivativeOperation;
+import com.mlprograms.justmath.calculator.internal.TrigonometricMode;
+
+import java.math.MathContext;
+import java.util.Locale;
+
+/**
+ * The derivative rules of the built-in operators and functions, registered alongside them in
+ * {@link ExpressionElements}.
+ * <p>
+ * Every rule has the signature of {@link DerivativeOperation} and returns the derivative of the result, i.e. the
+ * derivative of the outer function multiplied by the derivatives of its arguments (chain rule). In
+ * {@link TrigonometricMode#DEG degree mode}, angles are measured in degrees, so the derivatives of the trigonometric
+ * functions and their inverses carry an additional factor of π/180 or 180/π respectively.
+ */
+final class Derivatives {
+
+	private Derivatives() {
+	}
+
+	static BigNumber add(DualNumber[] arguments, BigNumber value, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		return arguments[0].derivative().add(arguments[1].derivative());
+	}
+
+	static BigNumber subtract(DualNumber[] arguments, BigNumber value, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		return arguments[0].derivative().subtract(arguments[1].derivative());
+	}
+
+	static BigNumber multiply(DualNumber[] arguments, BigNumber value, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		DualNumber a = arguments[0];
+		DualNumber b = arguments[1];
+		return a.derivative().multiply(b.value()).add(a.value().multiply(b.derivative()));
+	}
+
+	static BigNumber divide(DualNumber[] arguments, BigNumber value, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		// (a / b)' = (a' - (a / b) * b') / b
+		DualNumber a = arguments[0];
+		DualNumber b = arguments[1];
+		return a.derivative().subtract(value.multiply(b.derivative())).divide(b.value(), mathContext, locale);
+	}
+
+	static BigNumber power(DualNumber[] arguments, BigNumber value, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		DualNumber base = arguments[0];
+		DualNumber exponent = arguments[1];
+
+		if (exponent.isConstant()) {
+			// (a^n)' = n * a^(n - 1) * a', which also holds for a negative or zero base
+			if (exponent.value().signum() == 0) {
+				return BigNumbers.ZERO;
+			}
+			BigNumber outer = exponent.value().multiply(base.value().power(exponent.value().subtract(BigNumbers.ONE), mathContext, locale));
+			return outer.multiply(base.derivative());
+		}
+
+		// (a^b)' = a^b * (b' * ln(a) + b * a' / a)
+		BigNumber derivative = exponent.derivative().multiply(base.value().ln(mathContext, locale));
+		if (!base.isConstant()) {
+			derivative = derivative.add(exponent.value().multiply(base.derivative()).divide(base.value(), mathContext, locale));
+		}
+		return value.multiply(derivative);
+	}
+
+	static BigNumber squareRoot(DualNumber[] arguments, BigNumber value, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		return arguments[0].derivative().divide(BigNumbers.TWO.multiply(value), mathContext, locale);
+	}
+
+	static BigNumber cubicRoot(DualNumber[] arguments, BigNumber value, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		return arguments[0].derivative().divide(BigNumbers.THREE.multiply(value).multiply(value), mathContext, locale);
+	}
+
+	static BigNumber nthRoot(DualNumber[] arguments, BigNumber value, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		// rootn(a; n)' = rootn(a; n) / n * (a' / a - ln(a) * n' / n)
+		DualNumber radicand = arguments[0];
+		DualNumber degree = arguments[1];
+
+		BigNumber derivative = radicand.derivative().divide(radicand.value(), mathContext, locale);
+		if (!degree.isConstant()) {
+			derivative = derivative.subtract(radicand.value().ln(mathContext, locale).multiply(degree.derivative()).divide(degree.value(), mathContext, locale));
+		}
+		return value.multiply(derivative).divide(degree.value(), mathContext, locale);
+	}
+
+	static BigNumber sin(DualNumber[] arguments, BigNumber value, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		DualNumber a = arguments[0];
+		return a.value().cos(mathContext, trigonometricMode, locale).multiply(a.derivative()).multiply(angleFactor(mathContext, trigonometricMode, locale));
+	}
+
+	static BigNumber cos(DualNumber[] arguments, BigNumber value, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		DualNumber a = arguments[0];
+		return a.value().sin(mathContext, trigonometricMode, locale).negate().multiply(a.derivative()).multiply(angleFactor(mathContext, trigonometricMode, locale));
+	}
+
+	static BigNumber tan(DualNumber[] arguments, BigNumber value, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		// tan(a)' = (1 + tan(a)^2) * a'
+		return BigNumbers.ONE.add(value.multiply(value)).multiply(arguments[0].derivative()).multiply(angleFactor(mathContext, trigonometricMode, locale));
+	}
+
+	static BigNumber cot(DualNumber[] arguments, BigNumber value, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		// cot(a)' = -(1 + cot(a)^2) * a'
+		return BigNumbers.ONE.add(value.multiply(value)).negate().multiply(arguments[0].derivative()).multiply(angleFactor(mathContext, trigonometricMode, locale));
+	}
+
+	static BigNumber asin(DualNumber[] arguments, BigNumber value, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		DualNumber a = arguments[0];
+		BigNumber root = BigNumbers.ONE.subtract(a.value().multiply(a.value())).squareRoot(mathContext, locale);
+		return a.derivative().divide(root.multiply(angleFactor(mathContext, trigonometricMode, locale)), mathContext, locale);
+	}
+
+	static BigNumber acos(DualNumber[] arguments, BigNumber value, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		return asin(arguments, value, mathContext, trigonometricMode, locale).negate();
+	}
+
+	static BigNumber atan(DualNumber[] arguments, BigNumber value, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		DualNumber a = arguments[0];
+		BigNumber denominator = BigNumbers.ONE.add(a.value().multiply(a.value()));
+		return a.derivative().divide(denominator.multiply(angleFactor(mathContext, trigonometricMode, locale)), mathContext, locale);
+	}
+
+	static BigNumber acot(DualNumber[] arguments, BigNumber value, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		return atan(arguments, value, mathContext, trigonometricMode, locale).negate();
+	}
+
+	static BigNumber sinh(DualNumber[] arguments, BigNumber value, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		DualNumber a = arguments[0];
+		return a.value().cosh(mathContext, locale).multiply(a.derivative());
+	}
+
+	static BigNumber cosh(DualNumber[] arguments, BigNumber value, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		DualNumber a = arguments[0];
+		return a.value().sinh(mathContext, locale).multiply(a.derivative());
+	}
+
+	static BigNumber tanh(DualNumber[] arguments, BigNumber value, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		// tanh(a)' = (1 - tanh(a)^2) * a', and likewise for coth
+		return BigNumbers.ONE.subtract(value.multiply(value)).multiply(arguments[0].derivative());
+	}
+
+	static BigNumber asinh(DualNumber[] arguments, BigNumber value, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		DualNumber a = arguments[0];
+		return a.derivative().divide(a.value().multiply(a.value()).add(BigNumbers.ONE).squareRoot(mathContext, locale), mathContext, locale);
+	}
+
+	static BigNumber acosh(DualNumber[] arguments, BigNumber value, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		DualNumber a = arguments[0];
+		return a.derivative().divide(a.value().multiply(a.value()).subtract(BigNumbers.ONE).squareRoot(mathContext, locale), mathContext, locale);
+	}
+
+	static BigNumber atanh(DualNumber[] arguments, BigNumber value, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		// atanh(a)' = a' / (1 - a^2), and likewise for acoth
+		DualNumber a = arguments[0];
+		return a.derivative().divide(BigNumbers.ONE.subtract(a.value().multiply(a.value())), mathContext, locale);
+	}
+
+	static BigNumber ln(DualNumber[] arguments, BigNumber value, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		DualNumber a = arguments[0];
+		return a.derivative().divide(a.value(), mathContext, locale);
+	}
+
+	static BigNumber log2(DualNumber[] arguments, BigNumber value, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		return ln(arguments, value, mathContext, trigonometricMode, locale).divide(BigNumbers.TWO.ln(mathContext, locale), mathContext, locale);
+	}
+
+	static BigNumber log10(DualNumber[] arguments, BigNumber value, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		return ln(arguments, value, mathContext, trigonometricMode, locale).divide(BigNumbers.TEN.ln(mathContext, locale), mathContext, locale);
+	}
+
+	static BigNumber logBase(DualNumber[] arguments, BigNumber value, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		// logbase(a; b)' = (a' / a - logbase(a; b) * b' / b) / ln(b)
+		DualNumber a = arguments[0];
+		DualNumber base = arguments[1];
+
+		BigNumber derivative = a.derivative().divide(a.value(), mathContext, locale);
+		if (!base.isConstant()) {
+			derivative = derivative.subtract(value.multiply(base.derivative()).divide(base.value(), mathContext, locale));
+		}
+		return derivative.divide(base.value().ln(mathContext, locale), mathContext, locale);
+	}
+
+	static BigNumber abs(DualNumber[] arguments, BigNumber value, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		DualNumber a = arguments[0];
+		return a.value().signum() < 0 ? a.derivative().negate() : a.derivative();
+	}
+
+	/**
+	 * Returns the derivative of an angle with respect to its value in radians, i.e. π/180 in degree mode and 1 in
+	 * radian mode.
+	 */
+	private static BigNumber angleFactor(MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		if (trigonometricMode == TrigonometricMode.DEG) {
+			return BigNumbers.pi(mathContext, locale).divide(BigNumbers.ONE_HUNDRED_EIGHTY, mathContext, locale);
+		}
+
+		return BigNumbers.ONE;
+	}
+
+}
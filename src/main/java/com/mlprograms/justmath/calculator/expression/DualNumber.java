@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2026 Max Lemberg
+ *
+ * This file is part of JustMath.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mlprograms.justmath.calculator.expression;
+
+import com.mlprograms.justmath.bignumber.BigNumber;
+import com.mlprograms.justmath.bignumber.BigNumbers;
+import lombok.NonNull;
+
+/**
+ * A value together with its derivative with respect to one variable, as used for forward-mode automatic
+ * differentiation.
+ * <p>
+ * Evaluating an expression on dual numbers applies the chain rule at every operator and function, so a single pass
+ * yields both the value and the exact derivative of the expression at the working precision, without the
+ * cancellation of a difference quotient.
+ *
+ * @param value
+ * 	the value
+ * @param derivative
+ * 	the derivative of the value with respect to the differentiated variable
+ */
+public record DualNumber(@NonNull BigNumber value, @NonNull BigNumber derivative) {
+
+	/**
+	 * Creates a dual number for a value that does not depend on the differentiated variable.
+	 *
+	 * @param value
+	 * 	the value
+	 *
+	 * @return the value with a derivative of zero
+	 */
+	public static DualNumber constant(@NonNull BigNumber value) {
+		return new DualNumber(value, BigNumbers.ZERO);
+	}
+
+	/**
+	 * Returns whether the derivative is zero, i.e. whether the value does not depend on the differentiated variable.
+	 *
+	 * @return {@code true} if the derivative is zero
+	 */
+	public boolean isConstant() {
+		return derivative.signum() == 0;
+	}
+
+}
@@ -0,0 +1,447 @@
+/*
+ * Copyright (c) 2025 Max Lemberg
+ *
+ * This file is part of JustMath.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.mlprograms.justmath.calculator.expression;
+
+import com.mlprograms.justmath.bignumber.BigNumber;
+import com.mlprograms.justmath.bignumber.math.SeriesMath;
+import lombok.NonNull;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Array-based operand stack used to evaluate expressions in Reverse Polish Notation.
+ * <p>
+ * Every entry is either a {@link BigNumber} or a string argument (e.g. the body of a summation). Both kinds are kept
+ * in parallel typed arrays, so numbers are pushed and popped without type checks or casts.
+ * <p>
+ * For forward-mode differentiation, numeric entries can additionally carry a derivative (see {@link DualNumber}), and
+ * for error tracking an error radius (see {@link Ball}). Either is kept in a third parallel array that is only
+ * allocated once the first one is pushed, so plain evaluations pay nothing for it.
+ * <p>
+ * The stack also carries the variables of the evaluation as strings, so elements that evaluate nested expressions
+ * (e.g. the body of a summation) can pass them on without any shared or thread-local state.
+ * <p>
+ * Instances are not thread-safe; every evaluation uses its own stack.
+ */
+public final class EvaluationStack {
+
+	/**
+	 * The numeric entries; {@code null} where the entry at the same position is a string.
+	 */
+	private BigNumber[] numbers;
+
+	/**
+	 * The string entries; {@code null} where the entry at the same position is a number.
+	 */
+	private String[] strings;
+
+	/**
+	 * The derivatives or error radii of the numeric entries, depending on the kind of evaluation; {@code null} until
+	 * the first {@link DualNumber} or {@link Ball} is pushed, and {@code null} at every position whose entry has no
+	 * derivative or an exact value.
+	 */
+	private BigNumber[] annotations;
+
+	/**
+	 * The number of entries on the stack.
+	 */
+	private int size;
+
+	/**
+	 * The variables visible to nested expressions evaluated by elements on this stack.
+	 */
+	private final Map<String, String> variables;
+
+	/**
+	 * Decides when and where series evaluated by elements on this stack run in parallel.
+	 */
+	private final SeriesMath.Parallelism seriesParallelism;
+
+	/**
+	 * Constructs an empty stack with a default initial capacity.
+	 */
+	public EvaluationStack() {
+		this(16);
+	}
+
+	/**
+	 * Constructs an empty stack that holds {@code initialCapacity} entries before it has to grow.
+	 *
+	 * @param initialCapacity
+	 * 	the initial capacity, e.g. the number of tokens of the evaluated expression
+	 */
+	public EvaluationStack(int initialCapacity) {
+		this(initialCapacity, Map.of());
+	}
+
+	/**
+	 * Constructs an empty stack that holds {@code initialCapacity} entries before it has to grow and passes the given
+	 * variables on to nested expressions.
+	 *
+	 * @param initialCapacity
+	 * 	the initial capacity, e.g. the number of tokens of the evaluated expression
+	 * @param variables
+	 * 	the variable names with their values as strings
+	 */
+	public EvaluationStack(int initialCapacity, @NonNull Map<String, String> variables) {
+		this(initialCapacity, variables, SeriesMath.Parallelism.DEFAULT);
+	}
+
+	/**
+	 * Constructs an empty stack that holds {@code initialCapacity} entries before it has to grow and passes the given
+	 * variables and series settings on to nested expressions.
+	 *
+	 * @param initialCapacity
+	 * 	the initial capacity, e.g. the number of tokens of the evaluated expression
+	 * @param variables
+	 * 	the variable names with their values as strings
+	 * @param seriesParallelism
+	 * 	decides when and where series run in parallel
+	 */
+	public EvaluationStack(int initialCapacity, @NonNull Map<String, String> variables, @NonNull SeriesMath.Parallelism seriesParallelism) {
+		int capacity = Math.max(initialCapacity, 1);
+		this.numbers = new BigNumber[capacity];
+		this.strings = new String[capacity];
+		this.variables = variables;
+		this.seriesParallelism = seriesParallelism;
+	}
+
+	/**
+	 * Returns the variables visible to nested expressions.
+	 *
+	 * @return the variable names with their values as strings
+	 */
+	public Map<String, String> getVariables() {
+		return variables;
+	}
+
+	/**
+	 * Returns the settings deciding when and where series run in parallel.
+	 *
+	 * @return the series parallelism
+	 */
+	public SeriesMath.Parallelism getSeriesParallelism() {
+		return seriesParallelism;
+	}
+
+	/**
+	 * Pushes a number onto the stack.
+	 *
+	 * @param number
+	 * 	the number to push
+	 */
+	public void push(@NonNull BigNumber number) {
+		ensureCapacity();
+		if (annotations != null) {
+			annotations[size] = null;
+		}
+		numbers[size++] = number;
+	}
+
+	/**
+	 * Pushes a number together with its derivative onto the stack.
+	 *
+	 * @param dualNumber
+	 * 	the number and its derivative
+	 */
+	public void push(@NonNull DualNumber dualNumber) {
+		ensureCapacity();
+		if (annotations == null) {
+			annotations = new BigNumber[numbers.length];
+		}
+		annotations[size] = dualNumber.derivative();
+		numbers[size++] = dualNumber.value();
+	}
+
+	/**
+	 * Pushes a string argument onto the stack.
+	 *
+	 * @param string
+	 * 	the string to push
+	 */
+	public void push(@NonNull String string) {
+		ensureCapacity();
+		if (annotations != null) {
+			annotations[size] = null;
+		}
+		strings[size++] = string;
+	}
+
+	/**
+	 * Removes the top entry, which has to be a number.
+	 *
+	 * @return the number
+	 *
+	 * @throws NoSuchElementException
+	 * 	if the stack is empty
+	 * @throws IllegalArgumentException
+	 * 	if the top entry is a string
+	 */
+	public BigNumber popNumber() {
+		int index = removeTop();
+		BigNumber number = numbers[index];
+		if (number == null) {
+			String string = strings[index];
+			strings[index] = null;
+			throw new IllegalArgumentException("Expected BigNumber but got: " + string);
+		}
+
+		numbers[index] = null;
+		return number;
+	}
+
+	/**
+	 * Returns the top entry without removing it; it has to be a number.
+	 *
+	 * @return the number
+	 *
+	 * @throws NoSuchElementException
+	 * 	if the stack is empty
+	 * @throws IllegalArgumentException
+	 * 	if the top entry is a string
+	 */
+	public BigNumber peekNumber() {
+		if (size == 0) {
+			throw new NoSuchElementException("Evaluation stack is empty");
+		}
+
+		BigNumber number = numbers[size - 1];
+		if (number == null) {
+			throw new IllegalArgumentException("Expected BigNumber but got: " + strings[size - 1]);
+		}
+
+		return number;
+	}
+
+	/**
+	 * Removes the top entry, which has to be a number, together with its derivative. Numbers pushed without a
+	 * derivative have a derivative of zero.
+	 *
+	 * @return the number and its derivative
+	 *
+	 * @throws NoSuchElementException
+	 * 	if the stack is empty
+	 * @throws IllegalArgumentException
+	 * 	if the top entry is a string
+	 */
+	public DualNumber popDual() {
+		BigNumber derivative = annotations != null && size > 0 ? annotations[size - 1] : null;
+		BigNumber number = popNumber();
+		if (derivative == null) {
+			return DualNumber.constant(number);
+		}
+
+		annotations[size] = null;
+		return new DualNumber(number, derivative);
+	}
+
+	/**
+	 * Returns the top entry together with its derivative without removing it; it has to be a number.
+	 *
+	 * @return the number and its derivative
+	 *
+	 * @throws NoSuchElementException
+	 * 	if the stack is empty
+	 * @throws IllegalArgumentException
+	 * 	if the top entry is a string
+	 */
+	public DualNumber peekDual() {
+		BigNumber number = peekNumber();
+		BigNumber derivative = annotations != null ? annotations[size - 1] : null;
+		return derivative == null ? DualNumber.constant(number) : new DualNumber(number, derivative);
+	}
+
+	/**
+	 * Pushes a number together with its error radius onto the stack.
+	 *
+	 * @param ball
+	 * 	the number and its error radius
+	 */
+	public void push(@NonNull Ball ball) {
+		if (ball.isExact()) {
+			push(ball.midpoint());
+			return;
+		}
+
+		ensureCapacity();
+		if (annotations == null) {
+			annotations = new BigNumber[numbers.length];
+		}
+		annotations[size] = ball.radius();
+		numbers[size++] = ball.midpoint();
+	}
+
+	/**
+	 * Removes the top entry, which has to be a number, together with its error radius. Numbers pushed without a
+	 * radius are exact.
+	 *
+	 * @return the number and its error radius
+	 *
+	 * @throws NoSuchElementException
+	 * 	if the stack is empty
+	 * @throws IllegalArgumentException
+	 * 	if the top entry is a string
+	 */
+	public Ball popBall() {
+		BigNumber radius = annotations != null && size > 0 ? annotations[size - 1] : null;
+		BigNumber number = popNumber();
+		if (radius == null) {
+			return Ball.exact(number);
+		}
+
+		annotations[size] = null;
+		return new Ball(number, radius);
+	}
+
+	/**
+	 * Returns the top entry together with its error radius without removing it; it has to be a number.
+	 *
+	 * @return the number and its error radius
+	 *
+	 * @throws NoSuchElementException
+	 * 	if the stack is empty
+	 * @throws IllegalArgumentException
+	 * 	if the top entry is a string
+	 */
+	public Ball peekBall() {
+		BigNumber number = peekNumber();
+		BigNumber radius = annotations != null ? annotations[size - 1] : null;
+		return radius == null ? Ball.exact(number) : new Ball(number, radius);
+	}
+
+	/**
+	 * Returns the position of the topmost entry that carries a derivative or an error radius.
+	 *
+	 * @return the index of the entry counted from the bottom of the stack, or {@code -1} if no entry carries one
+	 */
+	public int getHighestAnnotatedIndex() {
+		if (annotations != null) {
+			for (int index = size - 1; index >= 0; index--) {
+				if (annotations[index] != null) {
+					return index;
+				}
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Returns a copy of the derivatives or error radii of the lowest {@code count} entries.
+	 *
+	 * @param count
+	 * 	the number of entries, counted from the bottom of the stack
+	 *
+	 * @return the derivatives or error radii, or {@code null} if no entry carries one
+	 */
+	BigNumber[] copyAnnotations(int count) {
+		return annotations == null || count <= 0 ? null : Arrays.copyOf(annotations, count);
+	}
+
+	/**
+	 * Restores derivatives or error radii previously copied with {@link #copyAnnotations(int)} to the entries at the
+	 * same positions.
+	 *
+	 * @param copiedAnnotations
+	 * 	the copied derivatives or error radii, or {@code null} to restore nothing
+	 */
+	void restoreAnnotations(BigNumber[] copiedAnnotations) {
+		if (copiedAnnotations == null) {
+			return;
+		}
+
+		if (annotations == null) {
+			annotations = new BigNumber[numbers.length];
+		}
+		System.arraycopy(copiedAnnotations, 0, annotations, 0, Math.min(copiedAnnotations.length, size));
+	}
+
+	/**
+	 * Removes the top entry and returns it as a string. Numbers are converted with {@link BigNumber#toString()}.
+	 *
+	 * @return the string, or the string representation of the number
+	 *
+	 * @throws NoSuchElementException
+	 * 	if the stack is empty
+	 */
+	public String popString() {
+		return String.valueOf(pop());
+	}
+
+	/**
+	 * Removes the top entry, whatever its type.
+	 *
+	 * @return the {@link BigNumber} or {@link String} on top of the stack
+	 *
+	 * @throws NoSuchElementException
+	 * 	if the stack is empty
+	 */
+	public Object pop() {
+		int index = removeTop();
+		Object value = numbers[index] != null ? numbers[index] : strings[index];
+		numbers[index] = null;
+		strings[index] = null;
+		return value;
+	}
+
+	/**
+	 * Returns the number of entries on the stack.
+	 *
+	 * @return the stack size
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns whether the stack has no entries.
+	 *
+	 * @return {@code true} if the stack is empty
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	private int removeTop() {
+		if (size == 0) {
+			throw new NoSuchElementException("Evaluation stack is empty");
+		}
+
+		return --size;
+	}
+
+	private void ensureCapacity() {
+		if (size == numbers.length) {
+			numbers = Arrays.copyOf(numbers, size * 2);
+			strings = Arrays.copyOf(strings, size * 2);
+			if (annotations != null) {
+				annotations = Arrays.copyOf(annotations, size * 2);
+			}
+		}
+	}
+
+}
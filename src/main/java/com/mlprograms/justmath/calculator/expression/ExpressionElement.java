@@ -24,10 +24,22 @@
 
 package com.mlprograms.justmath.calculator.expression;
 
+import com.mlprograms.justmath.bignumber.BigNumber;
+import com.mlprograms.justmath.bignumber.BigNumbers;
+import com.mlprograms.justmath.calculator.expression.operations.DerivativeOperation;
 import com.mlprograms.justmath.calculator.internal.TrigonometricMode;
 import lombok.Getter;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.math.MathContext;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Deque;
 import java.util.Locale;
 
@@ -44,6 +56,282 @@ public abstract class ExpressionElement {
 		this.precedence = precedence;
 	}
 
+	/**
+	 * Returns whether this element always produces the same result for the same arguments, math context and
+	 * trigonometric mode. Only deterministic elements are folded into constants or shared between identical
+	 * subexpressions when an expression is compiled.
+	 *
+	 * @return {@code true} unless overridden
+	 */
+	public boolean isDeterministic() {
+		return true;
+	}
+
+	/**
+	 * Returns a method handle that computes this element directly, without an evaluation stack. The handle takes
+	 * one {@link BigNumber} per argument and returns the {@link BigNumber} result; the math context, trigonometric
+	 * mode and locale are already bound.
+	 *
+	 * @param mathContext
+	 * 	the math context for calculations
+	 * @param trigonometricMode
+	 * 	the trigonometric mode to use
+	 * @param locale
+	 * 	the locale for formatting or parsing
+	 *
+	 * @return the method handle, or {@code null} if this element can only be applied to a stack (e.g. because it
+	 * 	takes a variable number of arguments or non-numeric ones)
+	 */
+	public MethodHandle toMethodHandle(MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		return null;
+	}
+
+	/**
+	 * Creates the method handle of an element that delegates to a functional operation. The operation's
+	 * {@code apply} method has to take the numeric arguments first, followed by the given context arguments.
+	 *
+	 * @param operationType
+	 * 	the functional interface of the operation
+	 * @param operation
+	 * 	the operation
+	 * @param argumentCount
+	 * 	the number of numeric arguments
+	 * @param contextArguments
+	 * 	the arguments bound after the numeric ones, e.g. the math context and locale
+	 *
+	 * @return a handle of type {@code (BigNumber, ...) BigNumber}, or {@code null} if the operation is not accessible
+	 */
+	protected static MethodHandle bindOperation(Class<?> operationType, Object operation, int argumentCount, Object... contextArguments) {
+		try {
+			Method applyMethod = Arrays.stream(operationType.getMethods())
+				.filter(method -> method.getName().equals("apply") && Modifier.isAbstract(method.getModifiers()))
+				.findFirst()
+				.orElse(null);
+			if (applyMethod == null) {
+				return null;
+			}
+
+			MethodHandle handle = MethodHandles.publicLookup().unreflect(applyMethod).bindTo(operation);
+			handle = MethodHandles.insertArguments(handle, argumentCount, contextArguments);
+			return handle.asType(MethodType.methodType(BigNumber.class, Collections.nCopies(argumentCount, BigNumber.class)));
+		} catch (IllegalAccessException | IllegalArgumentException | ClassCastException | WrongMethodTypeException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Applies this expression element to the given stack using the specified math context, trigonometric mode, and
+	 * locale.
+	 * <p>
+	 * All built-in elements override this method. For elements that only implement
+	 * {@link #apply(Deque, MathContext, TrigonometricMode, Locale)}, the entries are moved into a {@link Deque} and
+	 * back, which is considerably slower.
+	 *
+	 * @param stack
+	 * 	the stack to operate on
+	 * @param mathContext
+	 * 	the math context for calculations
+	 * @param trigonometricMode
+	 * 	the trigonometric mode to use
+	 * @param locale
+	 * 	the locale for formatting or parsing
+	 *
+	 * @throws UnsupportedOperationException
+	 * 	if not implemented by subclass
+	 */
+	public void apply(EvaluationStack stack, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		Deque<Object> deque = new ArrayDeque<>(stack.size());
+		while (!stack.isEmpty()) {
+			deque.addLast(stack.pop());
+		}
+
+		apply(deque, mathContext, trigonometricMode, locale);
+
+		while (!deque.isEmpty()) {
+			Object value = deque.pollLast();
+			if (value instanceof BigNumber bigNumber) {
+				stack.push(bigNumber);
+			} else {
+				stack.push(String.valueOf(value));
+			}
+		}
+	}
+
+	/**
+	 * Applies this expression element to the given stack like
+	 * {@link #apply(EvaluationStack, MathContext, TrigonometricMode, Locale)}, and additionally computes the derivative
+	 * of the result from the derivatives of the arguments (see {@link DualNumber}).
+	 * <p>
+	 * Elements with a derivative rule override this method. The default implementation applies the element as usual
+	 * and gives the result a derivative of zero, which is only correct if none of the consumed arguments carries a
+	 * derivative; otherwise the element cannot be differentiated and an exception is thrown.
+	 *
+	 * @param stack
+	 * 	the stack to operate on
+	 * @param mathContext
+	 * 	the math context for calculations
+	 * @param trigonometricMode
+	 * 	the trigonometric mode to use
+	 * @param locale
+	 * 	the locale for formatting or parsing
+	 *
+	 * @throws UnsupportedOperationException
+	 * 	if an argument depends on the differentiated variable but this element has no derivative rule
+	 */
+	public void applyWithDerivative(EvaluationStack stack, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		int highestDifferentiatedIndex = stack.getHighestAnnotatedIndex();
+		BigNumber[] derivatives = stack.copyAnnotations(highestDifferentiatedIndex + 1);
+
+		apply(stack, mathContext, trigonometricMode, locale);
+
+		if (highestDifferentiatedIndex >= stack.size() - 1) {
+			throw new UnsupportedOperationException("Cannot differentiate: " + symbol);
+		}
+		stack.restoreAnnotations(derivatives);
+	}
+
+	/**
+	 * Computes the derivative of a result with the given derivative rule.
+	 *
+	 * @param derivative
+	 * 	the derivative rule, or {@code null} if the element has none
+	 * @param value
+	 * 	the result of the element for the given arguments
+	 * @param mathContext
+	 * 	the math context for calculations
+	 * @param trigonometricMode
+	 * 	the trigonometric mode to use
+	 * @param locale
+	 * 	the locale for formatting or parsing
+	 * @param arguments
+	 * 	the arguments with their derivatives, in argument order
+	 *
+	 * @return the result and its derivative, rounded to the math context
+	 *
+	 * @throws UnsupportedOperationException
+	 * 	if an argument depends on the differentiated variable but there is no derivative rule
+	 */
+	protected DualNumber differentiate(DerivativeOperation derivative, BigNumber value, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale, DualNumber... arguments) {
+		boolean constant = true;
+		for (DualNumber argument : arguments) {
+			constant &= argument.isConstant();
+		}
+
+		if (constant) {
+			return new DualNumber(value, BigNumbers.ZERO);
+		}
+		if (derivative == null) {
+			throw new UnsupportedOperationException("Cannot differentiate: " + symbol);
+		}
+
+		return new DualNumber(value, derivative.apply(arguments, value, mathContext, trigonometricMode, locale).round(mathContext));
+	}
+
+	/**
+	 * Applies this expression element to the given stack like
+	 * {@link #apply(EvaluationStack, MathContext, TrigonometricMode, Locale)}, and additionally bounds the error of the
+	 * result from the errors of the arguments and the rounding error of the element itself (see {@link Ball}).
+	 * <p>
+	 * Elements with a derivative rule override this method. The default implementation applies the element as usual
+	 * and bounds the error of the result by its rounding error, which is only correct if all consumed arguments are
+	 * exact; otherwise the error of the result cannot be bounded and an exception is thrown.
+	 *
+	 * @param stack
+	 * 	the stack to operate on
+	 * @param mathContext
+	 * 	the math context for calculations
+	 * @param trigonometricMode
+	 * 	the trigonometric mode to use
+	 * @param locale
+	 * 	the locale for formatting or parsing
+	 *
+	 * @throws UnsupportedOperationException
+	 * 	if an argument is inexact but this element has no derivative rule
+	 */
+	public void applyWithRadius(EvaluationStack stack, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		int highestInexactIndex = stack.getHighestAnnotatedIndex();
+		BigNumber[] radii = stack.copyAnnotations(highestInexactIndex + 1);
+
+		apply(stack, mathContext, trigonometricMode, locale);
+
+		if (highestInexactIndex >= stack.size() - 1) {
+			throw new UnsupportedOperationException("Cannot bound the error of: " + symbol);
+		}
+		stack.restoreAnnotations(radii);
+
+		if (!stack.isEmpty()) {
+			Object result = stack.pop();
+			if (result instanceof BigNumber value) {
+				stack.push(new Ball(value, Ball.roundingError(value, mathContext)));
+			} else {
+				stack.push(String.valueOf(result));
+			}
+		}
+	}
+
+	/**
+	 * Bounds the error of a result by the errors of the arguments, weighted with the magnitudes of the partial
+	 * derivatives of the given derivative rule (linear error propagation), plus the rounding error of the result.
+	 * Elements that round their result are assumed to round their arguments to the math context as well, so
+	 * arguments with more significant digits count as inexact for them.
+	 *
+	 * @param derivative
+	 * 	the derivative rule, or {@code null} if the element has none
+	 * @param value
+	 * 	the result of the element for the midpoints of the arguments
+	 * @param exact
+	 * 	whether the element computes its result without rounding (e.g. addition)
+	 * @param mathContext
+	 * 	the math context the result has been computed with
+	 * @param trigonometricMode
+	 * 	the trigonometric mode to use
+	 * @param locale
+	 * 	the locale for formatting or parsing
+	 * @param arguments
+	 * 	the arguments with their error radii, in argument order
+	 *
+	 * @return the result and the bound on its error
+	 *
+	 * @throws UnsupportedOperationException
+	 * 	if an argument is inexact but there is no derivative rule, or the rule cannot be applied to the arguments
+	 */
+	protected Ball bound(DerivativeOperation derivative, BigNumber value, boolean exact, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale, Ball... arguments) {
+		BigNumber radius = exact ? BigNumbers.ZERO : Ball.roundingError(value, mathContext);
+
+		for (int index = 0; index < arguments.length; index++) {
+			BigNumber argumentRadius = arguments[index].radius();
+			if (!exact) {
+				argumentRadius = argumentRadius.add(Ball.argumentRoundingError(arguments[index].midpoint(), mathContext));
+			}
+			if (argumentRadius.signum() == 0) {
+				continue;
+			}
+			if (derivative == null) {
+				throw new UnsupportedOperationException("Cannot bound the error of: " + symbol);
+			}
+
+			// The partial derivative with respect to this argument is the derivative with a unit seed in its place
+			DualNumber[] seeds = new DualNumber[arguments.length];
+			for (int seedIndex = 0; seedIndex < arguments.length; seedIndex++) {
+				seeds[seedIndex] = seedIndex == index
+					? new DualNumber(arguments[seedIndex].midpoint(), BigNumbers.ONE)
+					: DualNumber.constant(arguments[seedIndex].midpoint());
+			}
+
+			BigNumber partialDerivative;
+			try {
+				partialDerivative = derivative.apply(seeds, value, Ball.RADIUS_CONTEXT, trigonometricMode, locale).round(Ball.RADIUS_CONTEXT);
+			} catch (ArithmeticException e) {
+				throw new UnsupportedOperationException("Cannot bound the error of: " + symbol, e);
+			}
+
+			BigNumber magnitude = partialDerivative.signum() < 0 ? partialDerivative.negate() : partialDerivative;
+			radius = radius.add(magnitude.multiply(argumentRadius)).round(Ball.RADIUS_CONTEXT);
+		}
+
+		return new Ball(value, radius);
+	}
+
 	/**
 	 * Applies this expression element to the given stack using the specified math context, trigonometric mode, and
 	 * locale.
@@ -59,7 +347,9 @@ public abstract class ExpressionElement {
 	 *
 	 * @throws UnsupportedOperationException
 	 * 	if not implemented by subclass
+	 * @deprecated override {@link #apply(EvaluationStack, MathContext, TrigonometricMode, Locale)} instead
 	 */
+	@Deprecated
 	public void apply(Deque<Object> stack, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
 		throw new UnsupportedOperationException("apply(stack, mathContext, trigonometricMode, locale) not supported for: " + symbol);
 	}
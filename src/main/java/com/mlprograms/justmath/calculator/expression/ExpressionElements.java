@@ -26,6 +26,7 @@ package com.mlprograms.justmath.calculator.expression;
 
 import com.mlprograms.justmath.bignumber.BigNumber;
 import com.mlprograms.justmath.bignumber.BigNumbers;
+import com.mlprograms.justmath.bignumber.math.SeriesMath;
 import com.mlprograms.justmath.calculator.expression.elements.Constant;
 import com.mlprograms.justmath.calculator.expression.elements.Parenthesis;
 import com.mlprograms.justmath.calculator.expression.elements.Separator;
@@ -58,6 +59,11 @@ public class ExpressionElements {
     @Getter
     private static int maxTokenLength = -1;
 
+    /**
+     * Trie over the symbols of the registry, rebuilt whenever an element is registered.
+     */
+    private static volatile SymbolTrie symbolTrie;
+
     public static final String PI = "pi";
     public static final String PI_S = "π";
     public static final String EULERS_NUMBER = "e";
@@ -162,56 +168,56 @@ public class ExpressionElements {
                 new Parenthesis(Parenthesis.Type.RIGHT),
                 new Separator(SEP_SEMICOLON),
                 //
-                new SimpleBinaryOperator(OP_PLUS, 2, BigNumber::add),
-                new SimpleBinaryOperator(OP_MINUS, 2, BigNumber::subtract),
-                new SimpleBinaryOperator(OP_MULTIPLY, 3, BigNumber::multiply),
-                new SimpleBinaryOperator(OP_MULTIPLY_S, 3, BigNumber::multiply),
-                new BinaryOperator(OP_DIVIDE, 3, BigNumber::divide),
-                new BinaryOperator(OP_DIVIDE_S, 3, BigNumber::divide),
+                new SimpleBinaryOperator(OP_PLUS, 2, BigNumber::add, Derivatives::add),
+                new SimpleBinaryOperator(OP_MINUS, 2, BigNumber::subtract, Derivatives::subtract),
+                new SimpleBinaryOperator(OP_MULTIPLY, 3, BigNumber::multiply, Derivatives::multiply),
+                new SimpleBinaryOperator(OP_MULTIPLY_S, 3, BigNumber::multiply, Derivatives::multiply),
+                new BinaryOperator(OP_DIVIDE, 3, BigNumber::divide, Derivatives::divide),
+                new BinaryOperator(OP_DIVIDE_S, 3, BigNumber::divide, Derivatives::divide),
                 new SimpleBinaryOperator(OP_MODULO, 3, BigNumber::modulo),
-                new BinaryOperator(OP_POWER, 4, BigNumber::power),
+                new BinaryOperator(OP_POWER, 4, BigNumber::power, Derivatives::power),
                 new BinaryOperator(OP_PERMUTATION, 6, BigNumber::permutation),
                 new BinaryOperator(OP_COMBINATION, 6, BigNumber::combination),
                 //
                 new PostfixUnaryOperator(OP_FACTORIAL, 5, BigNumber::factorial),
-                new OneArgumentFunction(FUNC_SQRT, 4, BigNumber::squareRoot),
-                new OneArgumentFunction(FUNC_SQRT_S, 4, BigNumber::squareRoot),
-                new OneArgumentFunction(FUNC_CBRT, 4, BigNumber::cubicRoot),
-                new OneArgumentFunction(FUNC_CBRT_S, 4, BigNumber::cubicRoot),
-                new TwoArgumentFunction(FUNC_ROOTN, 4, BigNumber::nthRoot),
+                new OneArgumentFunction(FUNC_SQRT, 4, BigNumber::squareRoot, Derivatives::squareRoot),
+                new OneArgumentFunction(FUNC_SQRT_S, 4, BigNumber::squareRoot, Derivatives::squareRoot),
+                new OneArgumentFunction(FUNC_CBRT, 4, BigNumber::cubicRoot, Derivatives::cubicRoot),
+                new OneArgumentFunction(FUNC_CBRT_S, 4, BigNumber::cubicRoot, Derivatives::cubicRoot),
+                new TwoArgumentFunction(FUNC_ROOTN, 4, BigNumber::nthRoot, Derivatives::nthRoot),
                 //
-                new OneArgumentTrigonometricFunction(FUNC_SIN, 6, BigNumber::sin),
-                new OneArgumentTrigonometricFunction(FUNC_COS, 6, BigNumber::cos),
-                new OneArgumentTrigonometricFunction(FUNC_TAN, 6, BigNumber::tan),
-                new OneArgumentTrigonometricFunction(FUNC_COT, 6, BigNumber::cot),
+                new OneArgumentTrigonometricFunction(FUNC_SIN, 6, BigNumber::sin, Derivatives::sin),
+                new OneArgumentTrigonometricFunction(FUNC_COS, 6, BigNumber::cos, Derivatives::cos),
+                new OneArgumentTrigonometricFunction(FUNC_TAN, 6, BigNumber::tan, Derivatives::tan),
+                new OneArgumentTrigonometricFunction(FUNC_COT, 6, BigNumber::cot, Derivatives::cot),
                 //
-                new OneArgumentFunction(FUNC_SINH, 6, BigNumber::sinh),
-                new OneArgumentFunction(FUNC_COSH, 6, BigNumber::cosh),
-                new OneArgumentFunction(FUNC_TANH, 6, BigNumber::tanh),
-                new OneArgumentFunction(FUNC_COTH, 6, BigNumber::coth),
+                new OneArgumentFunction(FUNC_SINH, 6, BigNumber::sinh, Derivatives::sinh),
+                new OneArgumentFunction(FUNC_COSH, 6, BigNumber::cosh, Derivatives::cosh),
+                new OneArgumentFunction(FUNC_TANH, 6, BigNumber::tanh, Derivatives::tanh),
+                new OneArgumentFunction(FUNC_COTH, 6, BigNumber::coth, Derivatives::tanh),
                 //
-                new OneArgumentTrigonometricFunction(FUNC_ASIN, 6, BigNumber::asin),
-                new OneArgumentTrigonometricFunction(FUNC_ACOS, 6, BigNumber::acos),
-                new OneArgumentTrigonometricFunction(FUNC_ATAN, 6, BigNumber::atan),
-                new OneArgumentTrigonometricFunction(FUNC_ACOT, 6, BigNumber::acot),
-                new OneArgumentTrigonometricFunction(FUNC_SIN_S, 6, BigNumber::asin),
-                new OneArgumentTrigonometricFunction(FUNC_COS_S, 6, BigNumber::acos),
-                new OneArgumentTrigonometricFunction(FUNC_TAN_S, 6, BigNumber::atan),
-                new OneArgumentTrigonometricFunction(FUNC_COT_S, 6, BigNumber::acot),
+                new OneArgumentTrigonometricFunction(FUNC_ASIN, 6, BigNumber::asin, Derivatives::asin),
+                new OneArgumentTrigonometricFunction(FUNC_ACOS, 6, BigNumber::acos, Derivatives::acos),
+                new OneArgumentTrigonometricFunction(FUNC_ATAN, 6, BigNumber::atan, Derivatives::atan),
+                new OneArgumentTrigonometricFunction(FUNC_ACOT, 6, BigNumber::acot, Derivatives::acot),
+                new OneArgumentTrigonometricFunction(FUNC_SIN_S, 6, BigNumber::asin, Derivatives::asin),
+                new OneArgumentTrigonometricFunction(FUNC_COS_S, 6, BigNumber::acos, Derivatives::acos),
+                new OneArgumentTrigonometricFunction(FUNC_TAN_S, 6, BigNumber::atan, Derivatives::atan),
+                new OneArgumentTrigonometricFunction(FUNC_COT_S, 6, BigNumber::acot, Derivatives::acot),
                 //
-                new OneArgumentFunction(FUNC_ASINH, 6, BigNumber::asinh),
-                new OneArgumentFunction(FUNC_ACOSH, 6, BigNumber::acosh),
-                new OneArgumentFunction(FUNC_ATANH, 6, BigNumber::atanh),
-                new OneArgumentFunction(FUNC_ACOTH, 6, BigNumber::acoth),
-                new OneArgumentFunction(FUNC_ASINH_S, 6, BigNumber::asinh),
-                new OneArgumentFunction(FUNC_ACOS_S, 6, BigNumber::acosh),
-                new OneArgumentFunction(FUNC_ATANH_S, 6, BigNumber::atanh),
-                new OneArgumentFunction(FUNC_ACOTH_S, 6, BigNumber::acoth),
+                new OneArgumentFunction(FUNC_ASINH, 6, BigNumber::asinh, Derivatives::asinh),
+                new OneArgumentFunction(FUNC_ACOSH, 6, BigNumber::acosh, Derivatives::acosh),
+                new OneArgumentFunction(FUNC_ATANH, 6, BigNumber::atanh, Derivatives::atanh),
+                new OneArgumentFunction(FUNC_ACOTH, 6, BigNumber::acoth, Derivatives::atanh),
+                new OneArgumentFunction(FUNC_ASINH_S, 6, BigNumber::asinh, Derivatives::asinh),
+                new OneArgumentFunction(FUNC_ACOS_S, 6, BigNumber::acosh, Derivatives::acosh),
+                new OneArgumentFunction(FUNC_ATANH_S, 6, BigNumber::atanh, Derivatives::atanh),
+                new OneArgumentFunction(FUNC_ACOTH_S, 6, BigNumber::acoth, Derivatives::atanh),
                 //
-                new OneArgumentFunction(FUNC_LOG_2, 6, BigNumber::log2),
-                new OneArgumentFunction(FUNC_LOG_10, 6, BigNumber::log10),
-                new OneArgumentFunction(FUNC_LN, 6, BigNumber::ln),
-                new TwoArgumentFunction(FUNC_LOGBASE, 6, BigNumber::logBase),
+                new OneArgumentFunction(FUNC_LOG_2, 6, BigNumber::log2, Derivatives::log2),
+                new OneArgumentFunction(FUNC_LOG_10, 6, BigNumber::log10, Derivatives::log10),
+                new OneArgumentFunction(FUNC_LN, 6, BigNumber::ln, Derivatives::ln),
+                new TwoArgumentFunction(FUNC_LOGBASE, 6, BigNumber::logBase, Derivatives::logBase),
                 //
                 new TwoArgumentFunction(FUNC_ATAN_2, 6, BigNumber::atan2),
                 new TwoArgumentFunction(FUNC_ATAN_2_S, 6, BigNumber::atan2),
@@ -226,20 +232,25 @@ public class ExpressionElements {
                 new CoordinateFunction(FUNC_REC, 6, BigNumber::polarToCartesianCoordinates),
                 new SimpleCoordinateFunction(FUNC_POL, 6, BigNumber::cartesianToPolarCoordinates),
                 //
-                new SimpleTwoArgumentFunction(FUNC_RANDINT, 6, BigNumber::randomIntegerForRange),
+                new SimpleTwoArgumentFunction(FUNC_RANDINT, 6, BigNumber::randomIntegerForRange) {
+                    @Override
+                    public boolean isDeterministic() {
+                        return false;
+                    }
+                },
                 //
-                new ThreeArgumentFunction(FUNC_SUMM, 6, BigNumber::summation),
-                new ThreeArgumentFunction(FUNC_SUMM_S, 6, BigNumber::summation),
-                new ThreeArgumentFunction(FUNC_PROD, 6, BigNumber::product),
-                new ThreeArgumentFunction(FUNC_PROD_S, 6, BigNumber::product),
+                new ThreeArgumentFunction(FUNC_SUMM, 6, SeriesMath::summation),
+                new ThreeArgumentFunction(FUNC_SUMM_S, 6, SeriesMath::summation),
+                new ThreeArgumentFunction(FUNC_PROD, 6, SeriesMath::product),
+                new ThreeArgumentFunction(FUNC_PROD_S, 6, SeriesMath::product),
                 //
                 new OneArgumentFunction(FUNC_GAMMA, 6, BigNumber::gamma),
                 new OneArgumentFunction(FUNC_GAMMA_S, 6, BigNumber::gamma),
                 new TwoArgumentFunction(FUNC_BETA, 6, BigNumber::beta),
                 new TwoArgumentFunction(FUNC_BETA_S, 6, BigNumber::beta),
                 //
-                new OneArgumentZeroParamFunction(FUNC_ABS, 6, BigNumber::abs),
-                new OneArgumentZeroParamFunction(SURRFUNC_ABS_S, 6, BigNumber::abs),
+                new OneArgumentZeroParamFunction(FUNC_ABS, 6, BigNumber::abs, Derivatives::abs),
+                new OneArgumentZeroParamFunction(SURRFUNC_ABS_S, 6, BigNumber::abs, Derivatives::abs),
                 //
                 new UnlimitedArgumentFunction(FUNC_AVG, 6, BigNumber::average),
                 new UnlimitedArgumentFunction(FUNC_AVG_S, 6, BigNumber::average),
@@ -250,8 +261,9 @@ public class ExpressionElements {
         );
 
         for (ExpressionElement expressionElement : expressionElementList) {
-            register(expressionElement);
+            addToRegistry(expressionElement);
         }
+        symbolTrie = new SymbolTrie(registry.values());
     }
 
     /**
@@ -264,13 +276,30 @@ public class ExpressionElements {
         return Optional.ofNullable(registry.get(symbol));
     }
 
+    /**
+     * Finds the {@link ExpressionElement} with the longest symbol that starts at the given position of a text.
+     * The lookup scans the text once and allocates nothing.
+     *
+     * @param text      the text to match, e.g. an expression being tokenized
+     * @param fromIndex the position at which the symbol has to start
+     * @return the matched element, or {@code null} if no registered symbol starts at that position
+     */
+    public static ExpressionElement findLongestMatch(CharSequence text, int fromIndex) {
+        return symbolTrie.findLongestMatch(text, fromIndex);
+    }
+
     /**
      * Registers an {@link ExpressionElement} in the registry.
-     * The element is mapped by its symbol for a later lookup.
+     * The element is mapped by its symbol for a later lookup, and the symbol trie used by the tokenizer is rebuilt.
      *
      * @param element the {@code ExpressionElement} to register
      */
     public static void register(ExpressionElement element) {
+        addToRegistry(element);
+        symbolTrie = new SymbolTrie(registry.values());
+    }
+
+    private static void addToRegistry(ExpressionElement element) {
         maxTokenLength = Math.max(element.getSymbol().length(), maxTokenLength);
         registry.put(element.getSymbol(), element);
     }
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2025 Max Lemberg
+ *
+ * This file is part of JustMath.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.mlprograms.justmath.calculator.expression;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Character trie over the symbols of a set of {@link ExpressionElement}s.
+ * <p>
+ * Looking up the longest symbol at a position of an expression walks the trie once, character by character, and
+ * stops as soon as no symbol continues with the next character. Unlike trying every possible symbol length, this
+ * allocates nothing and touches every character at most once.
+ * <p>
+ * Instances are immutable and may be shared between threads.
+ */
+final class SymbolTrie {
+
+    /**
+     * The root node, matching the empty prefix.
+     */
+    private final Node root;
+
+    /**
+     * Builds the trie of the given elements. If several elements share a symbol, the last one wins.
+     *
+     * @param elements the elements whose symbols are added
+     */
+    SymbolTrie(final Collection<ExpressionElement> elements) {
+        final NodeBuilder rootBuilder = new NodeBuilder();
+        for (final ExpressionElement element : elements) {
+            NodeBuilder nodeBuilder = rootBuilder;
+            for (int index = 0; index < element.getSymbol().length(); index++) {
+                nodeBuilder = nodeBuilder.children.computeIfAbsent(element.getSymbol().charAt(index), character -> new NodeBuilder());
+            }
+            nodeBuilder.element = element;
+        }
+
+        this.root = rootBuilder.build();
+    }
+
+    /**
+     * Returns the element with the longest symbol that starts at the given position.
+     *
+     * @param text      the text to match
+     * @param fromIndex the position at which the symbol has to start
+     * @return the matched element, or {@code null} if no symbol starts at that position
+     */
+    ExpressionElement findLongestMatch(final CharSequence text, final int fromIndex) {
+        ExpressionElement longestMatch = null;
+        Node node = root;
+
+        for (int index = fromIndex; index < text.length(); index++) {
+            node = node.child(text.charAt(index));
+            if (node == null) {
+                break;
+            }
+
+            if (node.element != null) {
+                longestMatch = node.element;
+            }
+        }
+
+        return longestMatch;
+    }
+
+    /**
+     * A trie node with its outgoing characters in ascending order.
+     *
+     * @param characters the characters leading to the children, sorted ascending
+     * @param children   the child reached by the character at the same position
+     * @param element    the element whose symbol ends at this node, or {@code null}
+     */
+    private record Node(char[] characters, Node[] children, ExpressionElement element) {
+
+        Node child(final char character) {
+            int low = 0;
+            int high = characters.length - 1;
+
+            while (low <= high) {
+                final int middle = (low + high) >>> 1;
+                if (characters[middle] < character) {
+                    low = middle + 1;
+                } else if (characters[middle] > character) {
+                    high = middle - 1;
+                } else {
+                    return children[middle];
+                }
+            }
+
+            return null;
+        }
+
+    }
+
+    /**
+     * Mutable node used while the trie is built.
+     */
+    private static final class NodeBuilder {
+
+        private final Map<Character, NodeBuilder> children = new TreeMap<>();
+        private ExpressionElement element;
+
+        Node build() {
+            final char[] characters = new char[children.size()];
+            final Node[] childNodes = new Node[children.size()];
+
+            int index = 0;
+            for (final Map.Entry<Character, NodeBuilder> child : children.entrySet()) {
+                characters[index] = child.getKey();
+                childNodes[index] = child.getValue().build();
+                index++;
+            }
+
+            return new Node(characters, childNodes, element);
+        }
+
+    }
+
+}
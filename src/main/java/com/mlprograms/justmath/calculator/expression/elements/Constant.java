@@ -27,9 +27,10 @@ package com.mlprograms.justmath.calculator.expression.elements;
 import com.mlprograms.justmath.calculator.internal.TrigonometricMode;
 import com.mlprograms.justmath.calculator.expression.elements.function.Function;
 import com.mlprograms.justmath.calculator.expression.operations.ConstantOperation;
+import com.mlprograms.justmath.calculator.expression.EvaluationStack;
 
+import java.lang.invoke.MethodHandle;
 import java.math.MathContext;
-import java.util.Deque;
 import java.util.Locale;
 
 public class Constant extends Function {
@@ -42,8 +43,13 @@ public class Constant extends Function {
 	}
 
 	@Override
-	public void apply(Deque<Object> stack, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+	public void apply(EvaluationStack stack, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
 		stack.push(operation.apply(mathContext, locale));
 	}
 
+	@Override
+	public MethodHandle toMethodHandle(MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		return bindOperation(ConstantOperation.class, operation, 0, mathContext, locale);
+	}
+
 }
@@ -27,13 +27,12 @@ package com.mlprograms.justmath.calculator.expression.elements.function;
 import com.mlprograms.justmath.bignumber.BigNumber;
 import com.mlprograms.justmath.calculator.internal.TrigonometricMode;
 import com.mlprograms.justmath.calculator.expression.operations.function.CoordinateFunctionOperation;
+import com.mlprograms.justmath.calculator.expression.EvaluationStack;
 
+import java.lang.invoke.MethodHandle;
 import java.math.MathContext;
-import java.util.Deque;
 import java.util.Locale;
 
-import static com.mlprograms.justmath.bignumber.math.utils.MathUtils.ensureBigNumber;
-
 public class CoordinateFunction extends Function {
 
 	private final CoordinateFunctionOperation operation;
@@ -44,10 +43,15 @@ public class CoordinateFunction extends Function {
 	}
 
 	@Override
-	public void apply(Deque<Object> stack, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
-		BigNumber b = ensureBigNumber(stack.pop());
-		BigNumber a = ensureBigNumber(stack.pop());
+	public void apply(EvaluationStack stack, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		BigNumber b = stack.popNumber();
+		BigNumber a = stack.popNumber();
 		stack.push(operation.apply(a, b, mathContext, trigonometricMode, locale));
 	}
 
+	@Override
+	public MethodHandle toMethodHandle(MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		return bindOperation(CoordinateFunctionOperation.class, operation, 2, mathContext, trigonometricMode, locale);
+	}
+
 }
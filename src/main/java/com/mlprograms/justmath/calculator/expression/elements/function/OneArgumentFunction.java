@@ -27,26 +27,51 @@ package com.mlprograms.justmath.calculator.expression.elements.function;
 import com.mlprograms.justmath.bignumber.BigNumber;
 import com.mlprograms.justmath.calculator.internal.TrigonometricMode;
 import com.mlprograms.justmath.calculator.expression.operations.function.OneArgumentFunctionOperation;
+import com.mlprograms.justmath.calculator.expression.Ball;
+import com.mlprograms.justmath.calculator.expression.DualNumber;
+import com.mlprograms.justmath.calculator.expression.EvaluationStack;
+import com.mlprograms.justmath.calculator.expression.operations.DerivativeOperation;
 
+import java.lang.invoke.MethodHandle;
 import java.math.MathContext;
-import java.util.Deque;
 import java.util.Locale;
 
-import static com.mlprograms.justmath.bignumber.math.utils.MathUtils.ensureBigNumber;
-
 public class OneArgumentFunction extends Function {
 
 	private final OneArgumentFunctionOperation operation;
+	private final DerivativeOperation derivative;
 
 	public OneArgumentFunction(String symbol, int precedence, OneArgumentFunctionOperation operation) {
+		this(symbol, precedence, operation, null);
+	}
+
+	public OneArgumentFunction(String symbol, int precedence, OneArgumentFunctionOperation operation, DerivativeOperation derivative) {
 		super(symbol, precedence);
 		this.operation = operation;
+		this.derivative = derivative;
 	}
 
 	@Override
-	public void apply(Deque<Object> stack, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
-		BigNumber a = ensureBigNumber(stack.pop());
+	public void apply(EvaluationStack stack, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		BigNumber a = stack.popNumber();
 		stack.push(operation.apply(a, mathContext, locale));
 	}
 
+	@Override
+	public void applyWithDerivative(EvaluationStack stack, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		DualNumber a = stack.popDual();
+		stack.push(differentiate(derivative, operation.apply(a.value(), mathContext, locale), mathContext, trigonometricMode, locale, a));
+	}
+
+	@Override
+	public void applyWithRadius(EvaluationStack stack, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		Ball a = stack.popBall();
+		stack.push(bound(derivative, operation.apply(a.midpoint(), mathContext, locale), false, mathContext, trigonometricMode, locale, a));
+	}
+
+	@Override
+	public MethodHandle toMethodHandle(MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		return bindOperation(OneArgumentFunctionOperation.class, operation, 1, mathContext, locale);
+	}
+
 }
@@ -27,26 +27,53 @@ package com.mlprograms.justmath.calculator.expression.elements.function;
 import com.mlprograms.justmath.bignumber.BigNumber;
 import com.mlprograms.justmath.calculator.internal.TrigonometricMode;
 import com.mlprograms.justmath.calculator.expression.operations.function.OneArgumentZeroParamFunctionOperation;
+import com.mlprograms.justmath.calculator.expression.Ball;
+import com.mlprograms.justmath.calculator.expression.DualNumber;
+import com.mlprograms.justmath.calculator.expression.EvaluationStack;
+import com.mlprograms.justmath.calculator.expression.operations.DerivativeOperation;
 
+import java.lang.invoke.MethodHandle;
 import java.math.MathContext;
-import java.util.Deque;
 import java.util.Locale;
 
-import static com.mlprograms.justmath.bignumber.math.utils.MathUtils.ensureBigNumber;
-
 public class OneArgumentZeroParamFunction extends Function {
 
 	private final OneArgumentZeroParamFunctionOperation operation;
+	private final DerivativeOperation derivative;
 
 	public OneArgumentZeroParamFunction(String symbol, int precedence, OneArgumentZeroParamFunctionOperation operation) {
+		this(symbol, precedence, operation, null);
+	}
+
+	public OneArgumentZeroParamFunction(String symbol, int precedence, OneArgumentZeroParamFunctionOperation operation, DerivativeOperation derivative) {
 		super(symbol, precedence);
 		this.operation = operation;
+		this.derivative = derivative;
 	}
 
 	@Override
-	public void apply(Deque<Object> stack, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
-		BigNumber a = ensureBigNumber(stack.pop());
+	public void apply(EvaluationStack stack, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		BigNumber a = stack.popNumber();
 		stack.push(operation.apply(a));
 	}
 
+	@Override
+	public void applyWithDerivative(EvaluationStack stack, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		DualNumber a = stack.popDual();
+		// The operation may modify its argument in place (e.g. abs), so it gets a copy and the derivative rule the original
+		stack.push(differentiate(derivative, operation.apply(a.value().clone()), mathContext, trigonometricMode, locale, a));
+	}
+
+	@Override
+	public void applyWithRadius(EvaluationStack stack, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		Ball a = stack.popBall();
+		// The operation may modify its argument in place (e.g. abs), so it gets a copy
+		stack.push(bound(derivative, operation.apply(a.midpoint().clone()), true, mathContext, trigonometricMode, locale, a));
+	}
+
+	@Override
+	public MethodHandle toMethodHandle(MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		return bindOperation(OneArgumentZeroParamFunctionOperation.class, operation, 1);
+	}
+
 }
@@ -28,13 +28,12 @@ import com.mlprograms.justmath.bignumber.BigNumber;
 import com.mlprograms.justmath.calculator.internal.TrigonometricMode;
 import com.mlprograms.justmath.calculator.expression.operations.function.CoordinateFunctionOperation;
 import com.mlprograms.justmath.calculator.expression.operations.function.SimpleCoordinateFunctionOperation;
+import com.mlprograms.justmath.calculator.expression.EvaluationStack;
 
+import java.lang.invoke.MethodHandle;
 import java.math.MathContext;
-import java.util.Deque;
 import java.util.Locale;
 
-import static com.mlprograms.justmath.bignumber.math.utils.MathUtils.ensureBigNumber;
-
 public class SimpleCoordinateFunction extends CoordinateFunction {
 
 	private final SimpleCoordinateFunctionOperation operation;
@@ -58,10 +57,15 @@ public class SimpleCoordinateFunction extends CoordinateFunction {
 	}
 
 	@Override
-	public void apply(Deque<Object> stack, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
-		BigNumber b = ensureBigNumber(stack.pop());
-		BigNumber a = ensureBigNumber(stack.pop());
+	public void apply(EvaluationStack stack, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		BigNumber b = stack.popNumber();
+		BigNumber a = stack.popNumber();
 		stack.push(operation.apply(a, b, mathContext, locale));
 	}
 
+	@Override
+	public MethodHandle toMethodHandle(MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		return bindOperation(SimpleCoordinateFunctionOperation.class, operation, 2, mathContext, locale);
+	}
+
 }
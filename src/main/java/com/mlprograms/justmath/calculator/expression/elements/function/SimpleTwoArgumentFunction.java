@@ -28,13 +28,12 @@ import com.mlprograms.justmath.bignumber.BigNumber;
 import com.mlprograms.justmath.calculator.internal.TrigonometricMode;
 import com.mlprograms.justmath.calculator.expression.operations.function.SimpleTwoArgumentFunctionOperation;
 import com.mlprograms.justmath.calculator.expression.operations.function.TwoArgumentFunctionOperation;
+import com.mlprograms.justmath.calculator.expression.EvaluationStack;
 
+import java.lang.invoke.MethodHandle;
 import java.math.MathContext;
-import java.util.Deque;
 import java.util.Locale;
 
-import static com.mlprograms.justmath.bignumber.math.utils.MathUtils.ensureBigNumber;
-
 public class SimpleTwoArgumentFunction extends TwoArgumentFunction {
 
 	private final SimpleTwoArgumentFunctionOperation operation;
@@ -58,9 +57,14 @@ public class SimpleTwoArgumentFunction extends TwoArgumentFunction {
 	}
 
 	@Override
-	public void apply(Deque<Object> stack, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
-		BigNumber b = ensureBigNumber(stack.pop());
-		BigNumber a = ensureBigNumber(stack.pop());
+	public void apply(EvaluationStack stack, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		BigNumber b = stack.popNumber();
+		BigNumber a = stack.popNumber();
 		stack.push(operation.apply(a, b, locale));
 	}
+
+	@Override
+	public MethodHandle toMethodHandle(MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		return bindOperation(SimpleTwoArgumentFunctionOperation.class, operation, 2, locale);
+	}
 }
\ No newline at end of file
@@ -27,6 +27,7 @@ package com.mlprograms.justmath.calculator.expression.elements.function;
 import com.mlprograms.justmath.calculator.internal.TrigonometricMode;
 import com.mlprograms.justmath.calculator.expression.operations.function.SimpleUnlimitedArgumentFunctionOperation;
 import com.mlprograms.justmath.calculator.expression.operations.function.UnlimitedArgumentFunctionOperation;
+import com.mlprograms.justmath.calculator.expression.EvaluationStack;
 
 import java.math.MathContext;
 import java.util.*;
@@ -42,7 +43,7 @@ public class SimpleUnlimitedArgumentFunction extends UnlimitedArgumentFunction {
     }
 
     @Override
-    public void apply(Deque<Object> stack, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+    public void apply(EvaluationStack stack, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
         super.apply(stack, mathContext, trigonometricMode, locale);
     }
 
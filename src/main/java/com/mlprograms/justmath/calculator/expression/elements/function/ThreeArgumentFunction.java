@@ -27,13 +27,11 @@ package com.mlprograms.justmath.calculator.expression.elements.function;
 import com.mlprograms.justmath.bignumber.BigNumber;
 import com.mlprograms.justmath.calculator.internal.TrigonometricMode;
 import com.mlprograms.justmath.calculator.expression.operations.function.ThreeArgumentFunctionOperation;
+import com.mlprograms.justmath.calculator.expression.EvaluationStack;
 
 import java.math.MathContext;
-import java.util.Deque;
 import java.util.Locale;
 
-import static com.mlprograms.justmath.bignumber.math.utils.MathUtils.ensureBigNumber;
-
 public class ThreeArgumentFunction extends Function {
 
 	private final ThreeArgumentFunctionOperation operation;
@@ -44,11 +42,11 @@ public class ThreeArgumentFunction extends Function {
 	}
 
 	@Override
-	public void apply(Deque<Object> stack, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
-		String c = String.valueOf(stack.pop());
-		BigNumber b = ensureBigNumber(stack.pop());
-		BigNumber a = ensureBigNumber(stack.pop());
-		stack.push(operation.apply(a, b, c, mathContext, trigonometricMode, locale));
+	public void apply(EvaluationStack stack, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		String c = stack.popString();
+		BigNumber b = stack.popNumber();
+		BigNumber a = stack.popNumber();
+		stack.push(operation.apply(a, b, c, mathContext, trigonometricMode, locale, stack.getVariables(), stack.getSeriesParallelism()));
 	}
 
 }
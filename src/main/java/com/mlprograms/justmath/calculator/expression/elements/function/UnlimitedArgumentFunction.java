@@ -28,6 +28,7 @@ import com.mlprograms.justmath.bignumber.BigNumber;
 import com.mlprograms.justmath.calculator.internal.TrigonometricMode;
 import com.mlprograms.justmath.calculator.exceptions.ProcessingErrorException;
 import com.mlprograms.justmath.calculator.expression.operations.function.UnlimitedArgumentFunctionOperation;
+import com.mlprograms.justmath.calculator.expression.EvaluationStack;
 
 import java.math.MathContext;
 import java.util.*;
@@ -42,7 +43,7 @@ public class UnlimitedArgumentFunction extends Function {
     }
 
     @Override
-    public void apply(Deque<Object> stack, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+    public void apply(EvaluationStack stack, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
         if (stack.isEmpty()) {
             throw new ProcessingErrorException("Function '" + getSymbol() + "' requires an argument count on the stack");
         }
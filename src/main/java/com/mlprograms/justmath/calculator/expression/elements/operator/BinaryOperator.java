@@ -27,27 +27,54 @@ package com.mlprograms.justmath.calculator.expression.elements.operator;
 import com.mlprograms.justmath.bignumber.BigNumber;
 import com.mlprograms.justmath.calculator.internal.TrigonometricMode;
 import com.mlprograms.justmath.calculator.expression.operations.operator.BinaryOperatorOperation;
+import com.mlprograms.justmath.calculator.expression.Ball;
+import com.mlprograms.justmath.calculator.expression.DualNumber;
+import com.mlprograms.justmath.calculator.expression.EvaluationStack;
+import com.mlprograms.justmath.calculator.expression.operations.DerivativeOperation;
 
+import java.lang.invoke.MethodHandle;
 import java.math.MathContext;
-import java.util.Deque;
 import java.util.Locale;
 
-import static com.mlprograms.justmath.bignumber.math.utils.MathUtils.ensureBigNumber;
-
 public class BinaryOperator extends Operator {
 
 	private final BinaryOperatorOperation operation;
+	private final DerivativeOperation derivative;
 
 	public BinaryOperator(String symbol, int precedence, BinaryOperatorOperation operation) {
+		this(symbol, precedence, operation, null);
+	}
+
+	public BinaryOperator(String symbol, int precedence, BinaryOperatorOperation operation, DerivativeOperation derivative) {
 		super(symbol, precedence);
 		this.operation = operation;
+		this.derivative = derivative;
 	}
 
 	@Override
-	public void apply(Deque<Object> stack, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
-		BigNumber b = ensureBigNumber(stack.pop());
-		BigNumber a = ensureBigNumber(stack.pop());
+	public void apply(EvaluationStack stack, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		BigNumber b = stack.popNumber();
+		BigNumber a = stack.popNumber();
 		stack.push(operation.apply(a, b, mathContext, locale));
 	}
 
+	@Override
+	public void applyWithDerivative(EvaluationStack stack, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		DualNumber b = stack.popDual();
+		DualNumber a = stack.popDual();
+		stack.push(differentiate(derivative, operation.apply(a.value(), b.value(), mathContext, locale), mathContext, trigonometricMode, locale, a, b));
+	}
+
+	@Override
+	public void applyWithRadius(EvaluationStack stack, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		Ball b = stack.popBall();
+		Ball a = stack.popBall();
+		stack.push(bound(derivative, operation.apply(a.midpoint(), b.midpoint(), mathContext, locale), false, mathContext, trigonometricMode, locale, a, b));
+	}
+
+	@Override
+	public MethodHandle toMethodHandle(MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		return bindOperation(BinaryOperatorOperation.class, operation, 2, mathContext, locale);
+	}
+
 }
@@ -27,13 +27,12 @@ package com.mlprograms.justmath.calculator.expression.elements.operator;
 import com.mlprograms.justmath.bignumber.BigNumber;
 import com.mlprograms.justmath.calculator.internal.TrigonometricMode;
 import com.mlprograms.justmath.calculator.expression.operations.function.OneArgumentFunctionOperation;
+import com.mlprograms.justmath.calculator.expression.EvaluationStack;
 
+import java.lang.invoke.MethodHandle;
 import java.math.MathContext;
-import java.util.Deque;
 import java.util.Locale;
 
-import static com.mlprograms.justmath.bignumber.math.utils.MathUtils.ensureBigNumber;
-
 public class PostfixUnaryOperator extends Operator {
 
 	private final OneArgumentFunctionOperation operation;
@@ -44,8 +43,13 @@ public class PostfixUnaryOperator extends Operator {
 	}
 
 	@Override
-	public void apply(Deque<Object> stack, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
-		BigNumber value = ensureBigNumber(stack.pop());
+	public void apply(EvaluationStack stack, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		BigNumber value = stack.popNumber();
 		stack.push(operation.apply(value, mathContext, locale));
 	}
+
+	@Override
+	public MethodHandle toMethodHandle(MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		return bindOperation(OneArgumentFunctionOperation.class, operation, 1, mathContext, locale);
+	}
 }
@@ -28,27 +28,54 @@ import com.mlprograms.justmath.bignumber.BigNumber;
 import com.mlprograms.justmath.calculator.internal.TrigonometricMode;
 import com.mlprograms.justmath.calculator.expression.ExpressionElement;
 import com.mlprograms.justmath.calculator.expression.operations.operator.SimpleBinaryOperatorOperation;
+import com.mlprograms.justmath.calculator.expression.Ball;
+import com.mlprograms.justmath.calculator.expression.DualNumber;
+import com.mlprograms.justmath.calculator.expression.EvaluationStack;
+import com.mlprograms.justmath.calculator.expression.operations.DerivativeOperation;
 
+import java.lang.invoke.MethodHandle;
 import java.math.MathContext;
-import java.util.Deque;
 import java.util.Locale;
 
-import static com.mlprograms.justmath.bignumber.math.utils.MathUtils.ensureBigNumber;
-
 public class SimpleBinaryOperator extends ExpressionElement {
 
 	private final SimpleBinaryOperatorOperation operation;
+	private final DerivativeOperation derivative;
 
 	public SimpleBinaryOperator(String symbol, int precedence, SimpleBinaryOperatorOperation operation) {
+		this(symbol, precedence, operation, null);
+	}
+
+	public SimpleBinaryOperator(String symbol, int precedence, SimpleBinaryOperatorOperation operation, DerivativeOperation derivative) {
 		super(symbol, false, precedence);
 		this.operation = operation;
+		this.derivative = derivative;
 	}
 
 	@Override
-	public void apply(Deque<Object> stack, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
-		BigNumber b = ensureBigNumber(stack.pop());
-		BigNumber a = ensureBigNumber(stack.pop());
+	public void apply(EvaluationStack stack, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		BigNumber b = stack.popNumber();
+		BigNumber a = stack.popNumber();
 		stack.push(operation.apply(a, b, locale));
 	}
 
+	@Override
+	public void applyWithDerivative(EvaluationStack stack, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		DualNumber b = stack.popDual();
+		DualNumber a = stack.popDual();
+		stack.push(differentiate(derivative, operation.apply(a.value(), b.value(), locale), mathContext, trigonometricMode, locale, a, b));
+	}
+
+	@Override
+	public void applyWithRadius(EvaluationStack stack, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		Ball b = stack.popBall();
+		Ball a = stack.popBall();
+		stack.push(bound(derivative, operation.apply(a.midpoint(), b.midpoint(), locale), true, mathContext, trigonometricMode, locale, a, b));
+	}
+
+	@Override
+	public MethodHandle toMethodHandle(MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale) {
+		return bindOperation(SimpleBinaryOperatorOperation.class, operation, 2, locale);
+	}
+
 }
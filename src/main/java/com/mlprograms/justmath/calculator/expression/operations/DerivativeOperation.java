@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2026 Max Lemberg
+ *
+ * This file is part of JustMath.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.mlprograms.justmath.calculator.expression.operations;
+
+import com.mlprograms.justmath.bignumber.BigNumber;
+import com.mlprograms.justmath.calculator.expression.DualNumber;
+import com.mlprograms.justmath.calculator.internal.TrigonometricMode;
+
+import java.math.MathContext;
+import java.util.Locale;
+
+/**
+ * Computes the derivative of the result of an operator or function from its arguments, applying the chain rule.
+ */
+@FunctionalInterface
+public interface DerivativeOperation {
+
+	/**
+	 * Computes the derivative of the result.
+	 *
+	 * @param arguments
+	 * 	the arguments of the operator or function with their derivatives, in argument order
+	 * @param value
+	 * 	the result of the operator or function for the given arguments
+	 * @param mathContext
+	 * 	the math context for calculations
+	 * @param trigonometricMode
+	 * 	the trigonometric mode to use
+	 * @param locale
+	 * 	the locale for formatting or parsing
+	 *
+	 * @return the derivative of the result
+	 */
+	BigNumber apply(DualNumber[] arguments, BigNumber value, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale);
+
+}
@@ -25,14 +25,16 @@
 package com.mlprograms.justmath.calculator.expression.operations.function;
 
 import com.mlprograms.justmath.bignumber.BigNumber;
+import com.mlprograms.justmath.bignumber.math.SeriesMath;
 import com.mlprograms.justmath.calculator.internal.TrigonometricMode;
 
 import java.math.MathContext;
 import java.util.Locale;
+import java.util.Map;
 
 @FunctionalInterface
 public interface ThreeArgumentFunctionOperation {
 
-	BigNumber apply(BigNumber a, BigNumber b, String c, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale);
+	BigNumber apply(BigNumber a, BigNumber b, String c, MathContext mathContext, TrigonometricMode trigonometricMode, Locale locale, Map<String, String> variables, SeriesMath.Parallelism seriesParallelism);
 
 }
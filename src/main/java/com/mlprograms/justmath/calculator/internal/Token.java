@@ -24,9 +24,10 @@
 
 package com.mlprograms.justmath.calculator.internal;
 
+import com.mlprograms.justmath.bignumber.BigNumber;
 import com.mlprograms.justmath.calculator.expression.ExpressionElement;
 import com.mlprograms.justmath.calculator.expression.ExpressionElements;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.ToString;
@@ -36,15 +37,42 @@ import java.util.Optional;
 /**
  * Represents a lexical token extracted from a mathematical expression.
  * Tokens can be numbers, operators, functions, parentheses, or special symbols.
+ * <p>
+ * Operator, function and constant tokens carry the {@link ExpressionElement} their symbol resolved to when the token
+ * was created, and number tokens parse their literal once on first use, so that evaluating the same token list again
+ * (e.g. from the expression cache) needs neither registry lookups nor number parsing.
  */
 @Getter
 @EqualsAndHashCode
 @ToString
-@AllArgsConstructor
 public class Token {
 
-	private Type type;
-	private String value;
+	private final Type type;
+	private final String value;
+
+	/**
+	 * The resolved operator, function or constant, or {@code null} for other token types and unknown symbols.
+	 */
+	@EqualsAndHashCode.Exclude
+	@ToString.Exclude
+	private final ExpressionElement element;
+
+	/**
+	 * The parsed numeric literal of a number token, or {@code null} while it has not been parsed yet.
+	 */
+	@Getter(AccessLevel.NONE)
+	@EqualsAndHashCode.Exclude
+	@ToString.Exclude
+	private volatile BigNumber number;
+
+	public Token(Type type, String value) {
+		this.type = type;
+		this.value = value;
+		this.element = switch (type) {
+			case OPERATOR, FUNCTION, CONSTANT -> ExpressionElements.findBySymbol(value).orElse(null);
+			default -> null;
+		};
+	}
 
 	/**
 	 * Returns the matching ArithmeticOperator if available.
@@ -52,7 +80,22 @@ public class Token {
 	 * @return Optional of ArithmeticOperator
 	 */
 	public Optional<ExpressionElement> asArithmeticOperator() {
-		return ExpressionElements.findBySymbol(value);
+		return element != null ? Optional.of(element) : ExpressionElements.findBySymbol(value);
+	}
+
+	/**
+	 * Returns the numeric literal of a number token. The literal is parsed on the first call and reused afterwards.
+	 *
+	 * @return the parsed number
+	 */
+	public BigNumber getNumber() {
+		BigNumber parsedNumber = number;
+		if (parsedNumber == null) {
+			parsedNumber = new BigNumber(value);
+			number = parsedNumber;
+		}
+
+		return parsedNumber;
 	}
 
 	/**
@@ -125,4 +125,27 @@ public class CustomErrorException extends RuntimeException {
         this.detailedMessage = detailedMessage;
     }
 
+    /**
+     * Creates a new exception for the given error category with an explicit detailed message and the
+     * exception that caused it.
+     *
+     * <p>
+     * The exception's primary message ({@link #getMessage()}) will be set to
+     * {@code customExceptionMessages.getMessage()}.
+     * </p>
+     *
+     * @param customExceptionMessages the standardized error category; must not be {@code null}
+     * @param detailedMessage additional context describing the failure; must not be {@code null}
+     * @param cause the exception that caused this one; must not be {@code null}
+     */
+    public CustomErrorException(
+            @NonNull final CustomExceptionMessages customExceptionMessages,
+            @NonNull final String detailedMessage,
+            @NonNull final Throwable cause
+    ) {
+        super(customExceptionMessages.getMessage(), cause);
+        this.customExceptionMessages = customExceptionMessages;
+        this.detailedMessage = detailedMessage;
+    }
+
 }
\ No newline at end of file
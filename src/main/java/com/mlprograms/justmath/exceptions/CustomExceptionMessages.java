@@ -85,7 +85,26 @@ public enum CustomExceptionMessages {
      *   <li>{@code a = a + 1}</li>
      * </ul>
      */
-    CYCLIC_VARIABLE_REFERENCE("Cyclic Variable Reference");
+    CYCLIC_VARIABLE_REFERENCE("Cyclic Variable Reference"),
+
+    /**
+     * Indicates that an evaluation was stopped because it exceeded one of its resource limits.
+     * <p>
+     * Typical examples:
+     * </p>
+     * <ul>
+     *   <li>a result with more digits than allowed, e.g. {@code 999999!}</li>
+     *   <li>a series with more terms than allowed, e.g. {@code summation(1;10^12;k)}</li>
+     *   <li>an evaluation that takes longer than its timeout</li>
+     * </ul>
+     */
+    EVALUATION_LIMIT_EXCEEDED("Evaluation Limit Exceeded"),
+
+    /**
+     * Indicates that an evaluation was stopped because it was cancelled, either through a cancellation token or by
+     * interrupting the evaluating thread.
+     */
+    EVALUATION_CANCELLED("Evaluation Cancelled");
 
     /**
      * The default human-readable message text for this error category.
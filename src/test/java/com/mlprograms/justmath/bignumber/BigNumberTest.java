@@ -24,6 +24,8 @@
 
 package com.mlprograms.justmath.bignumber;
 
+import ch.obermuhlner.math.big.BigDecimalMath;
+import com.mlprograms.justmath.bignumber.math.utils.QuadratureNodes;
 import com.mlprograms.justmath.calculator.CalculatorEngine;
 import com.mlprograms.justmath.calculator.internal.TrigonometricMode;
 import org.junit.jupiter.api.Nested;
@@ -34,6 +36,9 @@ import org.junit.jupiter.params.provider.CsvSource;
 import java.math.BigDecimal;
 import java.math.MathContext;
 import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -142,6 +147,69 @@ public class BigNumberTest {
             assertEquals(expectedResult, result.toString());
         }
 
+        @ParameterizedTest
+        @CsvSource({
+                "3.7,2.3456,30",
+                "3.7,2.3456,150",
+                "0.0123,-1.75,100",
+                "123456.789,0.333,200",
+                "1.0000000001,12345.5,60"
+        })
+        void powerHighPrecisionTest(String inputBase, String inputExponent, int precision) {
+            MathContext mathContext = new MathContext(precision, RoundingMode.HALF_EVEN);
+            BigNumber result = new BigNumber(inputBase, Locale.US).power(new BigNumber(inputExponent, Locale.US), mathContext, Locale.US);
+
+            BigDecimal expected = BigDecimalMath.pow(new BigDecimal(inputBase), new BigDecimal(inputExponent), new MathContext(precision + 20));
+            BigDecimal relativeError = result.toBigDecimal().subtract(expected).abs().divide(expected, MathContext.DECIMAL64);
+            assertTrue(relativeError.compareTo(BigDecimal.ONE.scaleByPowerOfTen(1 - precision)) <= 0, () -> "Relative error too large: " + relativeError);
+        }
+
+        @ParameterizedTest
+        @CsvSource({
+                "-0.37,16",
+                "-0.37,64",
+                "-2.75,20",
+                "-2.75,64",
+                "-0.001,32"
+        })
+        void expNegativeArgumentRoundedOnceTest(String inputX, int precision) {
+            MathContext mathContext = new MathContext(precision, RoundingMode.HALF_EVEN);
+            BigNumber result = new BigNumber(inputX, Locale.US).exp(mathContext, Locale.US);
+
+            BigDecimal expected = BigDecimalMath.exp(new BigDecimal(inputX), new MathContext(precision + 20)).round(mathContext);
+            assertEquals(0, expected.compareTo(result.toBigDecimal()), () -> "Expected " + expected + " but was " + result);
+        }
+
+        @ParameterizedTest
+        @CsvSource({
+                "0.999,0.37,16",
+                "0.999,0.37,20",
+                "0.999,0.37,120",
+                "0.5,13.7,20"
+        })
+        void powerNonIntegerRoundedOnceTest(String inputBase, String inputExponent, int precision) {
+            MathContext mathContext = new MathContext(precision, RoundingMode.HALF_EVEN);
+            BigNumber result = new BigNumber(inputBase, Locale.US).power(new BigNumber(inputExponent, Locale.US), mathContext, Locale.US);
+
+            BigDecimal expected = BigDecimalMath.pow(new BigDecimal(inputBase), new BigDecimal(inputExponent), new MathContext(precision + 20)).round(mathContext);
+            assertEquals(0, expected.compareTo(result.toBigDecimal()), () -> "Expected " + expected + " but was " + result);
+        }
+
+        @ParameterizedTest
+        @CsvSource({
+                "2,0.5,300",
+                "7.3,-2.25,300",
+                "0.999,0.37,600",
+                "2,0.5,1000"
+        })
+        void powerNonIntegerHighPrecisionTimeTest(String inputBase, String inputExponent, int precision) {
+            MathContext mathContext = new MathContext(precision, RoundingMode.HALF_EVEN);
+            BigNumber result = assertTimeoutPreemptively(Duration.ofSeconds(10), () -> new BigNumber(inputBase, Locale.US).power(new BigNumber(inputExponent, Locale.US), mathContext, Locale.US));
+
+            BigDecimal expected = BigDecimalMath.pow(new BigDecimal(inputBase), new BigDecimal(inputExponent), new MathContext(precision + 20)).round(mathContext);
+            assertEquals(0, expected.compareTo(result.toBigDecimal()), () -> "Expected " + expected + " but was " + result);
+        }
+
         @ParameterizedTest
         @CsvSource({
                 "10,3,1",
@@ -181,6 +249,124 @@ public class BigNumberTest {
 
     }
 
+    @Nested
+    public class CalculusMath {
+
+        @ParameterizedTest
+        @CsvSource(value = {
+                "0#1#4/(1+x^2)#TANH_SINH#3.14159265358979323846264338328",
+                "0#1#1/sqrt(x)#TANH_SINH#2",
+                "1#2#ln(x)#TANH_SINH#0.386294361119890618834464242916",
+                "0#2#x^2#GAUSS_KRONROD#2.66666666666666666666666666667",
+                "0#1#4/(1+x^2)#GAUSS_KRONROD#3.14159265358979323846264338328",
+                "3#3#x^2#TANH_SINH#0"
+        }, delimiter = '#')
+        void integrate(String from, String to, String expression, String integrationMethod, String expectedResult) {
+            BigNumber result = com.mlprograms.justmath.bignumber.math.CalculusMath.integrate(
+                    new BigNumber(from), new BigNumber(to), expression, new BigNumber("1e-30"),
+                    com.mlprograms.justmath.bignumber.math.CalculusMath.IntegrationMethod.valueOf(integrationMethod),
+                    new MathContext(30), TrigonometricMode.RAD, Locale.US);
+            assertEquals(expectedResult, result.toString());
+        }
+
+        @Test
+        void integrate_defaultsToFullPrecision() {
+            BigNumber result = com.mlprograms.justmath.bignumber.math.CalculusMath.integrate(
+                    new BigNumber("0"), new BigNumber("1"), "e^x", new MathContext(40), TrigonometricMode.RAD, Locale.US);
+            assertEquals(BigDecimalMath.exp(BigDecimal.ONE, new MathContext(45)).subtract(BigDecimal.ONE).round(new MathContext(40)).toPlainString(), result.toString());
+        }
+
+        @Test
+        void integrate_quadratureNodesSurviveSaveAndLoad() throws Exception {
+            MathContext mathContext = new MathContext(25);
+            BigNumber expected = com.mlprograms.justmath.bignumber.math.CalculusMath.integrate(
+                    new BigNumber("0"), new BigNumber("1"), "1/(1+x)", mathContext, TrigonometricMode.RAD, Locale.US);
+            assertTrue(QuadratureNodes.getCachedDigits() > 0);
+
+            Path file = Files.createTempFile("quadrature", ".nodes");
+            try {
+                QuadratureNodes.save(file);
+                long cachedDigits = QuadratureNodes.getCachedDigits();
+
+                QuadratureNodes.clear();
+                assertEquals(0, QuadratureNodes.getCachedDigits());
+                assertTrue(QuadratureNodes.load(file) > 0);
+                assertEquals(cachedDigits, QuadratureNodes.getCachedDigits());
+
+                BigNumber result = com.mlprograms.justmath.bignumber.math.CalculusMath.integrate(
+                        new BigNumber("0"), new BigNumber("1"), "1/(1+x)", mathContext, TrigonometricMode.RAD, Locale.US);
+                assertEquals(expected.toString(), result.toString());
+                assertEquals(cachedDigits, QuadratureNodes.getCachedDigits());
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        }
+
+        @ParameterizedTest
+        @CsvSource({
+                "TANH_SINH 0 48 2 2000000000",
+                "TANH_SINH 0 48 2 1|1|0.1234567890123456",
+                "TANH_SINH 0 50 2 1|1|1",
+                "GAUSS_KRONROD 1 48 3 1|0|2|2",
+                "GAUSS_KRONROD 1 48 4 2|0|0|0|0|0|0|0|0"
+        })
+        void integrate_quadratureNodesRejectMalformedFiles(String content) throws Exception {
+            Path file = Files.createTempFile("quadrature", ".nodes");
+            try {
+                Files.writeString(file, "JustMath quadrature nodes 1\n" + content.replace('|', '\n') + "\n");
+                long cachedDigits = QuadratureNodes.getCachedDigits();
+
+                assertThrows(java.io.IOException.class, () -> QuadratureNodes.load(file));
+                assertEquals(cachedDigits, QuadratureNodes.getCachedDigits());
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        }
+
+        @ParameterizedTest
+        @CsvSource(value = {
+                "sqrt(x)#1e-15#0.666666666666666666666666666667",
+                "sqrt(x)#1e-25#0.666666666666666666666666666667",
+                "ln(x)#1e-10#-1",
+                "ln(x)#1e-20#-1",
+                "x^(1/3)#1e-10#0.75",
+                "x^(1/3)#1e-20#0.75"
+        }, delimiter = '#')
+        void integrate_gaussKronrodEndpointSingularity(String expression, String tolerance, String expectedResult) {
+            BigNumber result = com.mlprograms.justmath.bignumber.math.CalculusMath.integrate(
+                    new BigNumber("0"), new BigNumber("1"), expression, new BigNumber(tolerance),
+                    com.mlprograms.justmath.bignumber.math.CalculusMath.IntegrationMethod.GAUSS_KRONROD,
+                    new MathContext(30), TrigonometricMode.RAD, Locale.US);
+            BigDecimal error = result.toBigDecimal().subtract(new BigDecimal(expectedResult)).abs();
+            assertTrue(error.compareTo(new BigDecimal(tolerance)) <= 0, () -> "Error " + error + " of " + result + " exceeds " + tolerance);
+        }
+
+        @ParameterizedTest
+        @CsvSource(value = {
+                "0#1#5#TANH_SINH#5",
+                "0#1#5#GAUSS_KRONROD#5",
+                "-1#2#pi#GAUSS_KRONROD#9.42477796076937971538793014984",
+                "1#0#x^2#TANH_SINH#-0.333333333333333333333333333333",
+                "2#0#x^2#GAUSS_KRONROD#-2.66666666666666666666666666667",
+                "1#0#7#TANH_SINH#-7"
+        }, delimiter = '#')
+        void integrate_constantIntegrandAndReversedBounds(String from, String to, String expression, String integrationMethod, String expectedResult) {
+            BigNumber result = com.mlprograms.justmath.bignumber.math.CalculusMath.integrate(
+                    new BigNumber(from), new BigNumber(to), expression, new BigNumber("1e-30"),
+                    com.mlprograms.justmath.bignumber.math.CalculusMath.IntegrationMethod.valueOf(integrationMethod),
+                    new MathContext(30), TrigonometricMode.RAD, Locale.US);
+            assertEquals(expectedResult, result.toString());
+        }
+
+        @Test
+        void integrate_invalidArguments_throw() {
+            MathContext mathContext = new MathContext(20);
+            assertThrows(IllegalArgumentException.class, () -> com.mlprograms.justmath.bignumber.math.CalculusMath.integrate(
+                    new BigNumber("0"), new BigNumber("1"), "x*y", mathContext, TrigonometricMode.RAD, Locale.US));
+        }
+
+    }
+
     @Nested
     public class CombinatoricsMath {
 
@@ -342,6 +528,59 @@ public class BigNumberTest {
             assertThrows(IllegalArgumentException.class, zero::coth, "coth(0) should throw ArithmeticException (division by zero)");
         }
 
+        @ParameterizedTest
+        @CsvSource({
+                "1,1.1752011936438014568823818505956008151557179813341",
+                "0.000001,0.0000010000000000001666666666666750000000000001984126984",
+                "-1,-1.1752011936438014568823818505956008151557179813341"
+        })
+        void sinhCorrectlyRoundedTest(String input, String expectedResult) {
+            BigNumber num = new BigNumber(input, Locale.US);
+            BigNumber result = num.sinh(new MathContext(50, RoundingMode.HALF_UP));
+
+            assertEquals(expectedResult, result.toString());
+        }
+
+        @ParameterizedTest
+        @CsvSource({
+                "0.000001,0.0000010000000000001666666666666750000000000001984126984,1.0000000000005000000000000416666666666680555555556",
+                "-2,-3.6268604078470187676682139828012617048863420123211,3.7621956910836314595622134777737461082939735582307"
+        })
+        void sinhCoshTest(String input, String expectedSinh, String expectedCosh) {
+            MathContext mathContext = new MathContext(50, RoundingMode.HALF_UP);
+            var result = com.mlprograms.justmath.bignumber.math.HyperbolicTrigonometricMath.sinhCosh(new BigNumber(input, Locale.US), mathContext, Locale.US);
+
+            assertEquals(expectedSinh, result.sinh().toString());
+            assertEquals(expectedCosh, result.cosh().toString());
+        }
+
+        @ParameterizedTest
+        @CsvSource({
+                "0.000001,0.00000099999999999966666666666679999999999994603174603177",
+                "-0.5,-0.46211715726000975850231848364367254873028928033011"
+        })
+        void tanhCorrectlyRoundedTest(String input, String expectedResult) {
+            BigNumber num = new BigNumber(input, Locale.US);
+            BigNumber result = num.tanh(new MathContext(50, RoundingMode.HALF_UP));
+
+            assertEquals(expectedResult, result.toString());
+        }
+
+        @ParameterizedTest
+        @CsvSource({
+                "0.00000000000000000001,0.00000000000000000001,0.00000000000000000001,100000000000000000000",
+                "0.000000000000000000000000000001,0.000000000000000000000000000001,0.000000000000000000000000000001,1000000000000000000000000000000",
+                "-0.0000000000000000000123456789123,-0.00000000000000000001234567891,-0.00000000000000000001234567891,-81000000660000000000"
+        })
+        void tinyArgumentTest(String input, String expectedSinh, String expectedTanh, String expectedCoth) {
+            MathContext mathContext = new MathContext(10, RoundingMode.HALF_EVEN);
+            BigNumber num = new BigNumber(input, Locale.US);
+
+            assertEquals(expectedSinh, num.sinh(mathContext).toString());
+            assertEquals(expectedTanh, num.tanh(mathContext).toString());
+            assertEquals(expectedCoth, num.coth(mathContext).toString());
+        }
+
     }
 
     @Nested
@@ -582,6 +821,20 @@ public class BigNumberTest {
             assertThrows(ArithmeticException.class, () -> neg.ln(new MathContext(10, RoundingMode.HALF_UP), Locale.US));
         }
 
+        @ParameterizedTest
+        @CsvSource({
+                "7.123456789",
+                "0.00012",
+                "1.0000000001"
+        })
+        void lnHighPrecisionTest(String input) {
+            MathContext mathContext = new MathContext(1600, RoundingMode.HALF_EVEN);
+            BigNumber result = new BigNumber(input).ln(mathContext, Locale.US);
+
+            BigDecimal expected = BigDecimalMath.log(new BigDecimal(input), new MathContext(1650)).round(mathContext);
+            assertEquals(0, expected.compareTo(result.toBigDecimal()));
+        }
+
         @ParameterizedTest
         @CsvSource({
                 "8,2,3",
@@ -610,6 +863,39 @@ public class BigNumberTest {
                     () -> arg.logBase(b, new MathContext(10, RoundingMode.HALF_UP), Locale.US));
         }
 
+        @ParameterizedTest
+        @CsvSource({
+                "1.000000000000000000000000000001,FLOOR,0.0000000000000000000000000000009999999999",
+                "1.000000000000000000000000000001,CEILING,0.000000000000000000000000000001",
+                "0.999999999999999999999999999999,CEILING,-0.000000000000000000000000000001",
+                "1,FLOOR,0"
+        })
+        void lnDirectedRoundingTest(String input, RoundingMode roundingMode, String expectedResult) {
+            BigNumber result = new BigNumber(input).ln(new MathContext(10, roundingMode), Locale.US);
+            assertEquals(expectedResult, result.toString());
+        }
+
+        @ParameterizedTest
+        @CsvSource({
+                "0.125,2,FLOOR,-3",
+                "0.125,2,CEILING,-3",
+                "1000,10,FLOOR,3",
+                "0.001,10,CEILING,-3",
+                "81,3,DOWN,4",
+                "0.0016,0.2,FLOOR,4"
+        })
+        void logBaseExactDirectedRoundingTest(String number, String base, RoundingMode roundingMode, String expectedResult) {
+            MathContext mathContext = new MathContext(10, roundingMode);
+            BigNumber arg = new BigNumber(number);
+
+            assertEquals(expectedResult, arg.logBase(new BigNumber(base), mathContext, Locale.US).toString());
+            if (base.equals("2")) {
+                assertEquals(expectedResult, arg.log2(mathContext, Locale.US).toString());
+            } else if (base.equals("10")) {
+                assertEquals(expectedResult, arg.log10(mathContext, Locale.US).toString());
+            }
+        }
+
     }
 
     @Nested
@@ -741,6 +1027,21 @@ public class BigNumberTest {
                     "Even root of negative number should throw exception");
         }
 
+        @ParameterizedTest
+        @CsvSource({
+                "4,2,FLOOR,2",
+                "4,2,CEILING,2",
+                "-1.030301,3,FLOOR,-1.01",
+                "-1.030301,3,CEILING,-1.01",
+                "0.0625,-4,DOWN,2",
+                "2.25,2,UP,1.5"
+        })
+        void nthRootExactDirectedRoundingTest(String inputNum, String rootNum, RoundingMode roundingMode, String expectedResult) {
+            BigNumber num = new BigNumber(inputNum, Locale.US);
+            BigNumber result = num.nthRoot(new BigNumber(rootNum, Locale.US), new MathContext(10, roundingMode), Locale.US);
+            assertEquals(expectedResult, result.toString());
+        }
+
     }
 
     @Nested
@@ -840,6 +1141,52 @@ public class BigNumberTest {
             }
         }
 
+        @ParameterizedTest
+        @CsvSource({
+                "sin, 180",
+                "sin, -540",
+                "cos, 90",
+                "cos, 270",
+                "cos, -90",
+                "tan, 360",
+                "cot, 90"
+        })
+        void exactZeroDegreesTest(String function, String input) {
+            BigNumber angle = new BigNumber(input, Locale.US);
+            MathContext mathContext = new MathContext(30, RoundingMode.HALF_EVEN);
+            BigNumber result = switch (function) {
+                case "sin" -> angle.sin(mathContext, TrigonometricMode.DEG, Locale.US);
+                case "cos" -> angle.cos(mathContext, TrigonometricMode.DEG, Locale.US);
+                case "tan" -> angle.tan(mathContext, TrigonometricMode.DEG, Locale.US);
+                default -> angle.cot(mathContext, TrigonometricMode.DEG, Locale.US);
+            };
+
+            assertEquals("0", result.toString());
+        }
+
+        @ParameterizedTest
+        @CsvSource({
+                "cos, 1.5707963267948966, RAD",
+                "sin, 3.14159265358979, RAD",
+                "sin, 1e20, RAD",
+                "cos, 89.9999999999, DEG",
+                "sin, 179.99999999999999, DEG"
+        })
+        void nearZeroResultTest(String function, String input, TrigonometricMode trigonometricMode) {
+            BigNumber angle = new BigNumber(input, Locale.US);
+            MathContext mathContext = new MathContext(30, RoundingMode.HALF_EVEN);
+            BigNumber result = function.equals("sin")
+                    ? angle.sin(mathContext, trigonometricMode, Locale.US)
+                    : angle.cos(mathContext, trigonometricMode, Locale.US);
+
+            MathContext referenceContext = new MathContext(80);
+            BigDecimal radians = trigonometricMode == TrigonometricMode.RAD
+                    ? new BigDecimal(input)
+                    : new BigDecimal(input).multiply(BigDecimalMath.pi(referenceContext)).divide(BigDecimal.valueOf(180), referenceContext);
+            BigDecimal expected = (function.equals("sin") ? BigDecimalMath.sin(radians, referenceContext) : BigDecimalMath.cos(radians, referenceContext)).round(mathContext);
+            assertEquals(0, expected.compareTo(result.toBigDecimal()), () -> "Expected " + expected + " but was " + result);
+        }
+
     }
 
     @Nested
@@ -977,6 +1324,37 @@ public class BigNumberTest {
             assertEquals(expected, result.roundAfterDecimals(6).toString());
         }
 
+        @ParameterizedTest
+        @CsvSource({
+                "3.7",
+                "-2.5",
+                "0.1",
+                "45.25",
+                "123.456"
+        })
+        void testGammaHighPrecision(String input) {
+            MathContext mathContext = new MathContext(80, RoundingMode.HALF_EVEN);
+            BigNumber result = new BigNumber(input, Locale.US).gamma(mathContext, Locale.US);
+
+            BigDecimal expected = BigDecimalMath.gamma(new BigDecimal(input), new MathContext(120)).round(mathContext);
+            assertEquals(0, expected.compareTo(result.toBigDecimal()));
+        }
+
+        @ParameterizedTest
+        @CsvSource({
+                "0.5, 0.572365",
+                "3.7, 1.428072",
+                "10, 12.801827",
+                "100, 359.134205",
+                "-2.5, -0.056244",
+                "1000.25, 5906.947268"
+        })
+        void testLogGamma(String input, String expected) {
+            BigNumber x = new BigNumber(input, Locale.US, MathContext.DECIMAL128, TrigonometricMode.RAD);
+            BigNumber result = x.logGamma(MathContext.DECIMAL128);
+            assertEquals(expected, result.roundAfterDecimals(6).toString());
+        }
+
         @ParameterizedTest
         @CsvSource({
                 "1, 1, 1",
@@ -25,7 +25,14 @@
 package com.mlprograms.justmath.calculator;
 
 import com.mlprograms.justmath.bignumber.BigNumber;
+import com.mlprograms.justmath.bignumber.BigNumberList;
+import com.mlprograms.justmath.bignumber.BigNumbers;
+import com.mlprograms.justmath.bignumber.math.CalculusMath;
+import com.mlprograms.justmath.bignumber.math.SeriesMath;
 import com.mlprograms.justmath.calculator.exceptions.CyclicVariableReferenceException;
+import com.mlprograms.justmath.calculator.exceptions.EvaluationCancelledException;
+import com.mlprograms.justmath.calculator.exceptions.EvaluationLimitExceededException;
+import com.mlprograms.justmath.calculator.expression.DualNumber;
 import com.mlprograms.justmath.calculator.internal.TrigonometricMode;
 
 import org.junit.jupiter.api.Nested;
@@ -35,8 +42,16 @@ import org.junit.jupiter.params.provider.CsvSource;
 
 import java.math.MathContext;
 import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -84,6 +99,8 @@ public class CalculatorEngineTest {
             "summation(1;4;k^2)-product(1;3;k)#24",
             "product(1;4;k)+summation(1;4;k)#34",
             "summation(1;5;2*k)#30",
+            "summation(1;3;product(1;2;k+1))#18",
+            "summation(1;1000;k)#500500",
             // --- Fakultät + Modulo + Potenzen ---
             "5!%7#1",
             "10%3+3!#7",
@@ -143,6 +160,408 @@ public class CalculatorEngineTest {
         assertEquals(expectedResult, actualResult.roundAfterDecimals(9).toString());
     }
 
+    @ParameterizedTest
+    @CsvSource(value = {
+            "x+y#30",
+            "z*2#60",
+            "y+z#55",
+            "x*y*z#3750",
+            "summation(1;3;k*y)#150",
+            "sqrt(y)-x#0"
+    }, delimiter = '#')
+    void evaluationResultWithValuesTest(String calculationString, String expectedResult) {
+        Map<String, String> variables = Map.of("y", "x^2", "z", "y+x");
+        Map<String, BigNumber> values = Map.of("x", new BigNumber("5"));
+
+        BigNumber actualResult = calculatorEngineRad.evaluate(calculationString, variables, values);
+        assertEquals(expectedResult, actualResult.roundAfterDecimals(9).toString());
+    }
+
+    @ParameterizedTest
+    @CsvSource(value = {
+            "x+2#7",
+            "y*3#15",
+            "z^2#49",
+            "a+b#9",
+            "a^a#256",
+            "|x-z|#2",
+            "2x+3y#25",
+            "summation(1;3;k)+x#11",
+            "summation(1;3;k*x)#30",
+            "product(1;3;k)+y#11",
+            "average(x;y;z)#5.666666667",
+            "abs(x)+sqrt(z)#7.645751311"
+    }, delimiter = '#')
+    void compiledExpressionTest(String calculationString, String expectedResult) {
+        Map<String, BigNumber> variables =
+                Map.of("x", new BigNumber("5"),
+                        "y", new BigNumber("5"),
+                        "z", new BigNumber("7"),
+                        "a", new BigNumber("4"),
+                        "b", new BigNumber("5")
+                );
+
+        CompiledExpression compiledExpression = calculatorEngineRad.compile(calculationString);
+        BigNumber[] positionalValues = compiledExpression.getVariableNames().stream().map(variables::get).toArray(BigNumber[]::new);
+
+        assertEquals(expectedResult, compiledExpression.evaluate(variables).roundAfterDecimals(9).toString());
+        assertEquals(expectedResult, compiledExpression.evaluate(positionalValues).roundAfterDecimals(9).toString());
+    }
+
+    @Test
+    void compiledExpressionReuseTest() {
+        CompiledExpression compiledExpression = calculatorEngineRad.compile("x^2-2y");
+
+        assertEquals(List.of("x", "y"), compiledExpression.getVariableNames());
+        assertEquals("7", compiledExpression.evaluate(new BigNumber("3"), new BigNumber("1")).toString());
+        assertEquals("-4", compiledExpression.evaluate(new BigNumber("0"), new BigNumber("2")).toString());
+        assertThrows(IllegalArgumentException.class, () -> compiledExpression.evaluate(Map.of("x", new BigNumber("1"))));
+        assertThrows(IllegalArgumentException.class, () -> compiledExpression.evaluate(new BigNumber("1")));
+    }
+
+    @Test
+    void variableChainTest() {
+        Map<String, String> variables = new HashMap<>();
+        variables.put("qaa", "x");
+
+        String previousName = "qaa";
+        for (int i = 1; i < 200; i++) {
+            String name = "q" + (char) ('a' + i / 26) + (char) ('a' + i % 26);
+            variables.put(name, previousName + "+" + previousName + "-x");
+            previousName = name;
+        }
+
+        assertEquals("12", calculatorEngineRad.evaluate(previousName + "+2", variables, Map.of("x", new BigNumber("10"))).toString());
+
+        variables.put("qaa", previousName);
+        assertThrows(CyclicVariableReferenceException.class, () -> calculatorEngineRad.evaluate("qaa", variables, Map.of("x", new BigNumber("10"))));
+    }
+
+    @Test
+    void expressionCacheTest() {
+        CalculatorEngine calculatorEngine = new CalculatorEngine(new MathContext(50, RoundingMode.HALF_UP), TrigonometricMode.RAD, 2);
+        ExpressionCache expressionCache = calculatorEngine.getExpressionCache();
+
+        assertEquals("7", calculatorEngine.compile("x+2").evaluate(new BigNumber("5")).toString());
+        assertEquals("12", calculatorEngine.compile("x+2").evaluate(new BigNumber("10")).toString());
+        assertEquals("6", calculatorEngine.compile("3!").evaluate().toString());
+        assertEquals("4", calculatorEngine.compile("sqrt(16)").evaluate().toString());
+        assertEquals("8", calculatorEngine.compile("x+2").evaluate(new BigNumber("6")).toString());
+
+        assertEquals(1, expressionCache.getHitCount());
+        assertEquals(4, expressionCache.getMissCount());
+        assertEquals(2, expressionCache.getEvictionCount());
+        assertEquals(2, expressionCache.size());
+
+        // Hits reuse the optimized plan, including its folded constants
+        assertSame(calculatorEngine.compile("sqrt(16)"), calculatorEngine.compile("sqrt(16)"));
+        assertEquals("9", calculatorEngine.evaluate("sqrt(16)+5").toString());
+        assertSame(calculatorEngine.compile("sqrt(16)+5"), calculatorEngine.compile("sqrt(16)+5"));
+    }
+
+    @ParameterizedTest
+    @CsvSource(value = {
+            "sin(x)+sin(x)*sin(x)#7#1.7361",
+            "2*pi/360+x#3#2.0175",
+            "sqrt(2)*x+sqrt(2)*x#6#5.6569",
+            "(x+1)^2/(x+1)#8#3",
+            "summation(1;3;k*x)+summation(1;3;k*x)#9#24",
+            "avg(x;x^2;x^2)+x^2#10#7.3333"
+    }, delimiter = '#')
+    void optimizerTest(String expression, int expectedInstructionCount, String expectedResult) {
+        CompiledExpression compiledExpression = calculatorEngineRad.compile(expression);
+
+        assertEquals(expectedInstructionCount, compiledExpression.getInstructions().size());
+        assertEquals(expectedResult, compiledExpression.evaluate(new BigNumber("2"))
+                .roundAfterDecimals(new MathContext(4, RoundingMode.HALF_UP)).toString());
+        assertEquals(calculatorEngineRad.evaluate(expression, Map.of("x", "2")).toString(),
+                compiledExpression.evaluate(new BigNumber("2")).toString());
+    }
+
+    @ParameterizedTest
+    @CsvSource(value = {
+            "sin(x)+sin(x)*sin(x)#3",
+            "2*pi/360+x^2#4",
+            "(x+1)^2/(x+1)+x!#4",
+            "summation(1;3;k*x)+sqrt(x)#0.25",
+            "avg(x;x^2;x^2)+x^2#7",
+            "|x-5|*gcd(x;12)#4"
+    }, delimiter = '#')
+    void methodHandleCompilationTest(String expression, String value) {
+        CompiledExpression interpretedExpression = calculatorEngineRad.compile(expression);
+        CompiledExpression methodHandleExpression = interpretedExpression.withMethodHandleCompilation();
+
+        assertFalse(interpretedExpression.isMethodHandleCompiled());
+        assertTrue(methodHandleExpression.isMethodHandleCompiled());
+        for (int run = 0; run < 3; run++) {
+            assertEquals(interpretedExpression.evaluate(new BigNumber(value)).toString(),
+                    methodHandleExpression.evaluate(new BigNumber(value)).toString());
+        }
+    }
+
+    @Test
+    void optimizerKeepsNonDeterministicElementsTest() {
+        CompiledExpression compiledExpression = calculatorEngineRad.compile("RandInt(1;1000000)-RandInt(1;1000000)");
+        assertEquals(7, compiledExpression.getInstructions().size());
+
+        boolean hasNonZeroDifference = false;
+        for (int attempt = 0; attempt < 5 && !hasNonZeroDifference; attempt++) {
+            hasNonZeroDifference = !compiledExpression.evaluate().isEqualTo(BigNumbers.ZERO);
+        }
+        assertTrue(hasNonZeroDifference);
+
+        assertThrows(ArithmeticException.class, () -> calculatorEngineRad.compile("1/0+x").evaluate(BigNumbers.ONE));
+    }
+
+    @Test
+    void sharedEngineConcurrencyTest() throws Exception {
+        CalculatorEngine sharedEngine = new CalculatorEngine(new MathContext(32), TrigonometricMode.RAD);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int task = 0; task < 64; task++) {
+                int a = task;
+                results.add(executor.submit(() -> {
+                    BigNumber expected = new BigNumber(String.valueOf(6 * a + Math.abs(a - 10) * Math.abs(a - 20)));
+                    for (int run = 0; run < 10; run++) {
+                        BigNumber result = sharedEngine.evaluate("summation(1;3;k*a)+|a-10|*|a-20|", Map.of("a", String.valueOf(a)));
+                        if (!result.isEqualTo(expected)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void parallelSeriesTest() {
+        String expression = "product(1;1500;(k%3)+1)+summation(1;5000;1/k)";
+        BigNumber sequentialResult = calculatorEngineRad.evaluate(expression);
+
+        BigNumber parallelResult = null;
+        for (int parallelism : new int[]{1, 2, 7}) {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                CalculatorEngine parallelEngine = calculatorEngineRad.withSeriesParallelism(SeriesMath.Parallelism.DEFAULT.withThreshold(1000).withPool(pool));
+                BigNumber result = parallelEngine.evaluate(expression);
+                assertEquals("12502500", parallelEngine.evaluate("summation(1;5000;k)").toString());
+                assertEquals("12502500", parallelEngine.compile("summation(1;5000;k*x)").evaluate(new BigNumber("1")).toString());
+                if (parallelResult != null) {
+                    assertEquals(parallelResult.toString(), result.toString());
+                }
+                parallelResult = result;
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        assertEquals(sequentialResult.roundAfterDecimals(20).toString(), parallelResult.roundAfterDecimals(20).toString());
+
+        // The settings of one engine do not leak into others
+        ForkJoinPool shutdownPool = new ForkJoinPool(1);
+        shutdownPool.shutdown();
+        CalculatorEngine rejectingEngine = calculatorEngineRad.withSeriesParallelism(SeriesMath.Parallelism.DEFAULT.withThreshold(1).withPool(shutdownPool));
+        assertThrows(RuntimeException.class, () -> rejectingEngine.evaluate("summation(1;5000;k)"));
+        assertEquals("12502500", calculatorEngineRad.evaluate("summation(1;5000;k)").toString());
+
+        assertThrows(IllegalArgumentException.class, () -> SeriesMath.Parallelism.DEFAULT.withThreshold(0));
+    }
+
+    @Test
+    void batchEvaluationTest() {
+        BigNumberList xColumn = new BigNumberList();
+        BigNumberList yColumn = new BigNumberList();
+        for (int row = 0; row < 200; row++) {
+            xColumn.add(new BigNumber(String.valueOf(row)));
+            yColumn.add(new BigNumber(String.valueOf(row % 7)));
+        }
+
+        CompiledExpression compiledExpression = calculatorEngineRad.compile("x^2/(y+1)+summation(1;3;k*y)+x^2");
+        Map<String, BigNumberList> columns = Map.of("x", xColumn, "y", yColumn);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            BigNumberList parallelResults = compiledExpression.evaluateBatch(columns, 4, executor);
+            BigNumberList sequentialResults = compiledExpression.evaluateBatch(columns, 1, executor);
+            BigNumberList commonPoolResults = calculatorEngineRad.evaluateBatch("x^2/(y+1)+summation(1;3;k*y)+x^2", columns);
+
+            assertEquals(200, parallelResults.size());
+            for (int row = 0; row < 200; row++) {
+                String expected = compiledExpression.evaluate(xColumn.get(row), yColumn.get(row)).toString();
+                assertEquals(expected, parallelResults.get(row).toString());
+                assertEquals(expected, sequentialResults.get(row).toString());
+                assertEquals(expected, commonPoolResults.get(row).toString());
+            }
+
+            assertThrows(IllegalArgumentException.class, () -> compiledExpression.evaluateBatch(Map.of("x", xColumn), 4, executor));
+            assertThrows(IllegalArgumentException.class, () -> compiledExpression.evaluateBatch(Map.of("x", xColumn, "y", BigNumberList.of(BigNumbers.ONE)), 4, executor));
+            assertThrows(IllegalArgumentException.class, () -> compiledExpression.evaluateBatch(columns, 0, executor));
+            assertThrows(ArithmeticException.class, () -> calculatorEngineRad.compile("1/(x-150)").evaluateBatch(Map.of("x", xColumn), 4, executor));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource(value = {
+            "x^3#2#8#12",
+            "x^x#2#4#6.7725887222",
+            "ln(x)/x#1#0#1",
+            "e^x#1#2.7182818285#2.7182818285",
+            "sqrt(x)#4#2#0.25",
+            "1/x#4#0.25#-0.0625",
+            "atan(x)#0#0#1",
+            "sin(x)*x^2#0#0#0",
+            "(x^2+1)*(x^2+1)#1#4#8",
+            "log10(x)#10#1#0.0434294482",
+            "abs(x-3)#1#2#-1",
+            "x*2+summation(1;3;k)#5#16#2",
+            "y+1#5#4#0"
+    }, delimiter = '#')
+    void derivativeTest(String expression, String x, String expectedValue, String expectedDerivative) {
+        MathContext mathContext = new MathContext(10, RoundingMode.HALF_UP);
+        DualNumber result = calculatorEngineRad.evaluateWithDerivative(expression, "x", Map.of("x", new BigNumber(x), "y", BigNumbers.THREE));
+
+        assertEquals(expectedValue, result.value().roundAfterDecimals(mathContext).toString());
+        assertEquals(expectedDerivative, result.derivative().roundAfterDecimals(mathContext).toString());
+    }
+
+    @Test
+    void derivativeDegModeAndUnsupportedElementsTest() {
+        MathContext mathContext = new MathContext(10, RoundingMode.HALF_UP);
+        Map<String, BigNumber> values = Map.of("x", BigNumbers.ZERO);
+
+        assertEquals("0.0174532925", calculatorEngineDeg.evaluateWithDerivative("sin(x)", "x", values).derivative().roundAfterDecimals(mathContext).toString());
+        assertEquals("57.2957795131", calculatorEngineDeg.evaluateWithDerivative("asin(x)", "x", values).derivative().roundAfterDecimals(mathContext).toString());
+
+        CompiledExpression compiledExpression = calculatorEngineRad.compile("x^2+x").withMethodHandleCompilation();
+        assertEquals("5", compiledExpression.evaluateWithDerivative("x", Map.of("x", BigNumbers.TWO)).derivative().toString());
+
+        assertThrows(UnsupportedOperationException.class, () -> calculatorEngineRad.evaluateWithDerivative("(x+1)!", "x", Map.of("x", BigNumbers.TWO)));
+        assertThrows(UnsupportedOperationException.class, () -> calculatorEngineRad.evaluateWithDerivative("summation(1;3;k*x)", "x", Map.of("x", BigNumbers.TWO)));
+        assertThrows(IllegalArgumentException.class, () -> calculatorEngineRad.evaluateWithDerivative("x+y", "x", Map.of("x", BigNumbers.TWO)));
+    }
+
+    @ParameterizedTest
+    @CsvSource(value = {
+            "x^2-2#1#0#5#1.4142135624",
+            "cos(x)-x#1#0#1#0.7390851332",
+            "e^x-3#0#0#2#1.0986122887",
+            "x^5-x-1#1#-10#10#1.1673039783",
+            "sin(x)#3#3#4#3.1415926536"
+    }, delimiter = '#')
+    void solveTest(String expression, String initialGuess, String lowerBound, String upperBound, String expectedRoot) {
+        MathContext mathContext = new MathContext(10, RoundingMode.HALF_UP);
+
+        assertEquals(expectedRoot, calculatorEngineRad.solve(expression, "x", new BigNumber(initialGuess)).roundAfterDecimals(mathContext).toString());
+        assertEquals(expectedRoot, calculatorEngineRad.solve(expression, "x", new BigNumber(lowerBound), new BigNumber(upperBound)).roundAfterDecimals(mathContext).toString());
+    }
+
+    @ParameterizedTest
+    @CsvSource(value = {
+            "(x-1)^3#2#1",
+            "x^2#1#0",
+            "(x-2)^2*(x+1)#3#2",
+            "(x-0.5)^5#3#0.5",
+            "x^10-1#10#1"
+    }, delimiter = '#')
+    void solveMultipleRootTest(String expression, String initialGuess, String expectedRoot) {
+        CalculatorEngine calculatorEngine = new CalculatorEngine(new MathContext(50), TrigonometricMode.RAD);
+
+        assertEquals(expectedRoot, calculatorEngine.solve(expression, "x", new BigNumber(initialGuess)).toString());
+    }
+
+    @ParameterizedTest
+    @CsvSource(value = {
+            "(x-1)^3#0#3#1",
+            "(x-0.3)^5#0#1#0.3",
+            "x^3#-1#2#0"
+    }, delimiter = '#')
+    void solveMultipleRootInBracketTest(String expression, String lowerBound, String upperBound, String expectedRoot) {
+        CalculatorEngine calculatorEngine = new CalculatorEngine(new MathContext(50), TrigonometricMode.RAD);
+
+        assertEquals(expectedRoot, calculatorEngine.solve(expression, "x", new BigNumber(lowerBound), new BigNumber(upperBound)).toString());
+    }
+
+    @Test
+    void solveAndMinimizeTest() {
+        MathContext mathContext = new MathContext(10, RoundingMode.HALF_UP);
+
+        BigNumber root = calculatorEngineRad.solve("x^2-2", "x", BigNumbers.ONE);
+        assertEquals(calculatorEngineRad.evaluate("sqrt(2)").toString(), root.toString());
+        assertEquals("30", calculatorEngineDeg.solve("sin(x)-0.5", "x", BigNumbers.ZERO, new BigNumber("90")).roundAfterDecimals(mathContext).toString());
+
+        assertEquals("2", calculatorEngineRad.minimize("x^2-4*x", "x", BigNumbers.ZERO, BigNumbers.TEN).toString());
+        assertEquals(calculatorEngineRad.evaluate("pi").toString(), calculatorEngineRad.minimize("cos(x)", "x", BigNumbers.ZERO, BigNumbers.FIVE).toString());
+        assertEquals("0.3678794412", calculatorEngineRad.minimize("x*ln(x)", "x", new BigNumber("0.1"), BigNumbers.TWO).roundAfterDecimals(mathContext).toString());
+        assertEquals("0", calculatorEngineRad.minimize("x", "x", BigNumbers.ZERO, BigNumbers.ONE).toString());
+        assertEquals("2", calculatorEngineRad.minimize("0-x^2", "x", BigNumbers.NEGATIVE_ONE, BigNumbers.TWO).toString());
+
+        assertThrows(IllegalArgumentException.class, () -> calculatorEngineRad.solve("x^2+1", "x", BigNumbers.ZERO, BigNumbers.ONE));
+        assertThrows(IllegalArgumentException.class, () -> calculatorEngineRad.solve("x-1", "x", BigNumbers.ONE, BigNumbers.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> calculatorEngineRad.minimize("x^2", "x", BigNumbers.ONE, BigNumbers.ONE));
+        assertThrows(ArithmeticException.class, () -> calculatorEngineRad.solve("x^2+1", "x", BigNumbers.ZERO));
+    }
+
+    @ParameterizedTest
+    @CsvSource(value = {
+            "1/3#0.33333333333333333333",
+            "2^0.5#1.4142135623730950488",
+            "sqrt(x+1)-sqrt(x)#0.0000000000000005",
+            "ln(1+1/x)*x#1",
+            "sin(1)^2+cos(1)^2#1",
+            "e^(10)-e^(10)+1/7#0.14285714285714285714",
+            "3*4-2#10",
+            "summation(1;10;1/k)#2.92896825396825396825"
+    }, delimiter = '#')
+    void evaluateAdaptiveTest(String expression, String expectedResult) {
+        CalculatorEngine calculatorEngine = new CalculatorEngine(20, TrigonometricMode.RAD);
+
+        assertEquals(expectedResult, calculatorEngine.evaluateAdaptive(expression, Map.of("x", new BigNumber("1000000000000000000000000000000"))).toString());
+    }
+
+    @Test
+    void evaluationLimitsTest() {
+        CalculatorEngine digitLimitedEngine = calculatorEngineRad.withEvaluationLimits(EvaluationLimits.NONE.withMaxDigits(1000));
+        assertThrows(EvaluationLimitExceededException.class, () -> digitLimitedEngine.evaluate("999999!"));
+        assertThrows(EvaluationLimitExceededException.class, () -> digitLimitedEngine.evaluate("10^10^10"));
+        assertThrows(EvaluationLimitExceededException.class, () -> digitLimitedEngine.compile("x!").evaluate(Map.of("x", new BigNumber("999999"))));
+        assertThrows(EvaluationLimitExceededException.class, () -> digitLimitedEngine.compile("x!").evaluate(new BigNumber("999999")));
+        assertThrows(EvaluationLimitExceededException.class, () -> digitLimitedEngine.compile("10^x").evaluate(new BigNumber("200000")));
+        assertEquals(calculatorEngineRad.evaluate("100!"), digitLimitedEngine.evaluate("100!"));
+
+        CalculatorEngine iterationLimitedEngine = calculatorEngineRad.withEvaluationLimits(EvaluationLimits.NONE.withMaxIterations(1000));
+        assertThrows(EvaluationLimitExceededException.class, () -> iterationLimitedEngine.evaluate("summation(1;1000000000000;k)"));
+        assertEquals("5050", iterationLimitedEngine.evaluate("summation(1;100;k)").toString());
+        assertThrows(EvaluationLimitExceededException.class, () -> EvaluationGuard.run(EvaluationLimits.NONE.withMaxIterations(10), () -> CalculusMath.integrate(BigNumbers.ZERO, BigNumbers.ONE, "x^2", new MathContext(20), TrigonometricMode.RAD, Locale.US)));
+
+        CalculatorEngine timeLimitedEngine = calculatorEngineRad.withEvaluationLimits(EvaluationLimits.NONE.withTimeout(Duration.ofMillis(200)));
+        assertThrows(EvaluationLimitExceededException.class, () -> timeLimitedEngine.evaluate("summation(1;1000000000000;k)"));
+
+        CancellationToken cancellationToken = new CancellationToken();
+        CalculatorEngine cancellableEngine = calculatorEngineRad.withEvaluationLimits(EvaluationLimits.NONE.withCancellationToken(cancellationToken));
+        CompiledExpression compiledExpression = cancellableEngine.compile("2^100");
+        assertEquals("2", cancellableEngine.evaluate("1+1").toString());
+        cancellationToken.cancel();
+        assertThrows(EvaluationCancelledException.class, () -> cancellableEngine.evaluate("1+1"));
+        assertThrows(EvaluationCancelledException.class, compiledExpression::evaluate);
+
+        CalculatorEngine interruptibleEngine = calculatorEngineRad.withEvaluationLimits(EvaluationLimits.NONE.withTimeout(Duration.ofMinutes(1)));
+        Thread.currentThread().interrupt();
+        assertThrows(EvaluationCancelledException.class, () -> interruptibleEngine.evaluate("2^100"));
+        assertEquals(calculatorEngineRad.evaluate("2^100"), calculatorEngineRad.withEvaluationLimits(EvaluationLimits.NONE).evaluate("2^100"));
+        assertTrue(Thread.interrupted());
+
+        assertThrows(IllegalArgumentException.class, () -> EvaluationLimits.NONE.withMaxDigits(0));
+    }
+
     @ParameterizedTest
     @CsvSource(value = {
             // --- DEG Modus ---
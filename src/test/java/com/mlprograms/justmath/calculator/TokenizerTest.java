@@ -24,7 +24,10 @@
 
 package com.mlprograms.justmath.calculator;
 
+import com.mlprograms.justmath.bignumber.BigNumber;
 import com.mlprograms.justmath.calculator.exceptions.SyntaxErrorException;
+import com.mlprograms.justmath.calculator.expression.ExpressionElements;
+import com.mlprograms.justmath.calculator.expression.elements.function.OneArgumentZeroParamFunction;
 import com.mlprograms.justmath.calculator.internal.Token;
 import org.junit.jupiter.api.Test;
 
@@ -673,6 +676,44 @@ class TokenizerTest {
         ), tokens3);
     }
 
+    @Test
+    void testLongestSymbolIsMatched() {
+        List<Token> tokens = tokenizer.tokenize("sinh(1)+asinh(1)");
+
+        assertEquals(new Token(Token.Type.FUNCTION, "sinh"), tokens.get(0));
+        assertEquals(new Token(Token.Type.FUNCTION, "asinh"), tokens.get(5));
+    }
+
+    @Test
+    void testRegisteredElementIsTokenized() {
+        assertEquals(new Token(Token.Type.VARIABLE, "tokenizertestabs"), tokenizer.tokenize("tokenizertestabs(2)").get(0));
+
+        ExpressionElements.register(new OneArgumentZeroParamFunction("tokenizertestabs", 6, BigNumber::abs));
+
+        assertEquals(List.of(
+                new Token(Token.Type.FUNCTION, "tokenizertestabs"),
+                new Token(Token.Type.LEFT_PAREN, "("),
+                new Token(Token.Type.NUMBER, "2"),
+                new Token(Token.Type.RIGHT_PAREN, ")")
+        ), tokenizer.tokenize("tokenizertestabs(2)"));
+    }
+
+    @Test
+    void testLargeGeneratedExpression() {
+        String term = "2(x)--3|y|+";
+        int termTokenCount = tokenizer.tokenize(term + "1").size() - 1;
+
+        List<Token> tokens = tokenizer.tokenize(term.repeat(50_000) + "1");
+
+        assertEquals(50_000 * termTokenCount + 1, tokens.size());
+        assertEquals(tokenizer.tokenize(term + "1").subList(0, termTokenCount), tokens.subList(termTokenCount, 2 * termTokenCount));
+    }
+
+    @Test
+    void testOddNumberOfAbsoluteValueSignsThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> tokenizer.tokenize("|2"));
+    }
+
     @Test
     void testVariableAndVariableImplicitMultiplication() {
         List<Token> tokens = tokenizer.tokenize("xy");
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2025-2026 Max Lemberg
+ *
+ * This file is part of JustMath.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.mlprograms.justmath.calculator;
+
+import com.mlprograms.justmath.bignumber.BigNumber;
+import com.mlprograms.justmath.calculator.exceptions.CyclicVariableReferenceException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WorkbookTest {
+
+    private Workbook workbook;
+
+    @BeforeEach
+    void setUp() {
+        workbook = new Workbook(new CalculatorEngine());
+        workbook.setValue("price", new BigNumber("20"));
+        workbook.setValue("quantity", new BigNumber("3"));
+        workbook.setValue("shipping", new BigNumber("5"));
+        workbook.setFormula("net", "price * quantity");
+        workbook.setFormula("gross", "net * 1.19");
+        workbook.setFormula("total", "gross + shipping");
+        workbook.setFormula("weight", "quantity * 2");
+    }
+
+    @Test
+    void lazyRecalculationTest() {
+        assertEquals("76.4", workbook.getValue("total").toString());
+        assertFalse(workbook.isDirty("net"));
+        assertTrue(workbook.isDirty("weight"));
+
+        workbook.setValue("shipping", new BigNumber("7"));
+        assertTrue(workbook.isDirty("total"));
+        assertFalse(workbook.isDirty("gross"));
+        assertFalse(workbook.isDirty("net"));
+
+        workbook.setValue("quantity", new BigNumber("4"));
+        assertTrue(workbook.isDirty("net"));
+        assertTrue(workbook.isDirty("gross"));
+
+        assertEquals("95.2", workbook.getValue("gross").toString());
+        assertTrue(workbook.isDirty("total"));
+        assertEquals("102.2", workbook.getValue("total").toString());
+        assertEquals("8", workbook.getValue("weight").toString());
+    }
+
+    @Test
+    void formulaChangeTest() {
+        assertEquals("76.4", workbook.getValue("total").toString());
+
+        workbook.setFormula("gross", "net * 2");
+        assertEquals("net * 2", workbook.getFormula("gross"));
+        assertFalse(workbook.isDirty("net"));
+        assertTrue(workbook.isDirty("total"));
+        assertEquals("125", workbook.getValue("total").toString());
+
+        workbook.setValue("gross", new BigNumber("10"));
+        assertNull(workbook.getFormula("gross"));
+        assertEquals("15", workbook.getValue("total").toString());
+    }
+
+    @Test
+    void parallelRecalculationTest() {
+        for (int index = 0; index < 50; index++) {
+            final String name = "branch" + (char) ('a' + index / 26) + (char) ('a' + index % 26);
+            workbook.setFormula(name, "net + " + index);
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            workbook.recalculate(executor);
+        } finally {
+            executor.shutdown();
+        }
+
+        for (final String name : workbook.getNames()) {
+            assertFalse(workbook.isDirty(name), name);
+        }
+        assertEquals("60", workbook.getValue("branchaa").toString());
+        assertEquals("109", workbook.getValue("branchbx").toString());
+        assertEquals("76.4", workbook.getValue("total").toString());
+    }
+
+    @Test
+    void undefinedAndCyclicCellsTest() {
+        workbook.remove("price");
+        assertTrue(workbook.isDirty("total"));
+        assertThrows(IllegalArgumentException.class, () -> workbook.getValue("total"));
+        assertThrows(IllegalArgumentException.class, () -> workbook.getValue("unknown"));
+
+        workbook.setValue("price", new BigNumber("10"));
+        assertEquals("40.7", workbook.getValue("total").toString());
+
+        assertThrows(CyclicVariableReferenceException.class, () -> workbook.setFormula("net", "total * 2"));
+        assertEquals("price * quantity", workbook.getFormula("net"));
+        assertFalse(workbook.isDirty("total"));
+    }
+
+}